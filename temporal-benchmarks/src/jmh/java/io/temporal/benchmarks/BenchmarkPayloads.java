@@ -0,0 +1,68 @@
+package io.temporal.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Deterministic generators of payload values shared by the converter and codec benchmarks. */
+public final class BenchmarkPayloads {
+
+  /** Simple POJO that is serialized by the Jackson based converter. */
+  public static class Record {
+    public String id;
+    public long timestamp;
+    public double amount;
+    public List<String> tags;
+
+    public Record() {}
+
+    public Record(String id, long timestamp, double amount, List<String> tags) {
+      this.id = id;
+      this.timestamp = timestamp;
+      this.amount = amount;
+      this.tags = tags;
+    }
+  }
+
+  /** Document that contains enough records to reach approximately {@code sizeBytes} as JSON. */
+  public static class Document {
+    public String name;
+    public List<Record> records;
+
+    public Document() {}
+
+    public Document(String name, List<Record> records) {
+      this.name = name;
+      this.records = records;
+    }
+  }
+
+  // An average record is about 100 bytes long when serialized to JSON
+  private static final int APPROXIMATE_RECORD_SIZE = 100;
+
+  private BenchmarkPayloads() {}
+
+  public static Document newDocument(int sizeBytes) {
+    Random random = new Random(sizeBytes);
+    int recordCount = Math.max(1, sizeBytes / APPROXIMATE_RECORD_SIZE);
+    List<Record> records = new ArrayList<>(recordCount);
+    for (int i = 0; i < recordCount; i++) {
+      List<String> tags = new ArrayList<>(2);
+      tags.add("tag-" + random.nextInt(16));
+      tags.add("tag-" + random.nextInt(16));
+      records.add(
+          new Record(
+              "record-" + i,
+              1_700_000_000_000L + random.nextInt(1_000_000),
+              random.nextInt(100_000) / 100.0,
+              tags));
+    }
+    return new Document("document-" + sizeBytes, records);
+  }
+
+  public static byte[] newBytes(int sizeBytes) {
+    byte[] result = new byte[sizeBytes];
+    new Random(sizeBytes).nextBytes(result);
+    return result;
+  }
+}
@@ -0,0 +1,63 @@
+package io.temporal.benchmarks.codec;
+
+import io.temporal.api.common.v1.Payload;
+import io.temporal.benchmarks.BenchmarkPayloads;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.payload.codec.Lz4PayloadCodec;
+import io.temporal.payload.codec.PayloadCodec;
+import io.temporal.payload.codec.ZlibPayloadCodec;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/** Measures encoding and decoding of JSON payloads of different sizes by {@link PayloadCodec}s. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PayloadCodecBenchmark {
+
+  @Param({"1024", "16384", "262144", "2097152"})
+  public int sizeBytes;
+
+  @Param({"zlib", "lz4"})
+  public String codecName;
+
+  private PayloadCodec codec;
+  private List<Payload> decoded;
+  private List<Payload> encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    codec = newCodec(codecName);
+    Payload payload =
+        DefaultDataConverter.STANDARD_INSTANCE
+            .toPayload(BenchmarkPayloads.newDocument(sizeBytes))
+            .get();
+    decoded = Collections.singletonList(payload);
+    encoded = codec.encode(decoded);
+  }
+
+  @Benchmark
+  public List<Payload> encode() {
+    return codec.encode(decoded);
+  }
+
+  @Benchmark
+  public List<Payload> decode() {
+    return codec.decode(encoded);
+  }
+
+  static PayloadCodec newCodec(String name) {
+    switch (name) {
+      case "zlib":
+        return new ZlibPayloadCodec();
+      case "lz4":
+        return new Lz4PayloadCodec();
+      default:
+        throw new IllegalArgumentException("Unknown codec: " + name);
+    }
+  }
+}
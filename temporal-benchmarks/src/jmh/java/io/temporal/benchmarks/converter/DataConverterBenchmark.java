@@ -0,0 +1,114 @@
+package io.temporal.benchmarks.converter;
+
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.benchmarks.BenchmarkPayloads;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.converter.ProtobufPayloadConverter;
+import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures {@link DefaultDataConverter#toPayloads(Object...)} and {@link
+ * DataConverter#fromPayloads(int, Optional, Class, Type)} for the value kinds handled by the
+ * standard payload converters: Jackson JSON, protobuf JSON, binary protobuf and raw bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DataConverterBenchmark {
+
+  @Param({"1024", "65536", "2097152"})
+  public int sizeBytes;
+
+  private final DataConverter converter = DefaultDataConverter.STANDARD_INSTANCE;
+  private final DataConverter binaryProtobufConverter =
+      new DefaultDataConverter(new ProtobufPayloadConverter());
+
+  private BenchmarkPayloads.Document document;
+  private byte[] bytes;
+  private WorkflowExecution proto;
+
+  private Optional<Payloads> documentPayloads;
+  private Optional<Payloads> bytesPayloads;
+  private Optional<Payloads> protoPayloads;
+  private Optional<Payloads> binaryProtoPayloads;
+  private Optional<Payloads> multiArgumentPayloads;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    document = BenchmarkPayloads.newDocument(sizeBytes);
+    bytes = BenchmarkPayloads.newBytes(sizeBytes);
+    StringBuilder runId = new StringBuilder(sizeBytes);
+    while (runId.length() < sizeBytes) {
+      runId.append("0123456789abcdef");
+    }
+    proto =
+        WorkflowExecution.newBuilder()
+            .setWorkflowId("benchmark")
+            .setRunId(runId.substring(0, sizeBytes))
+            .build();
+
+    documentPayloads = converter.toPayloads(document);
+    bytesPayloads = converter.toPayloads((Object) bytes);
+    protoPayloads = converter.toPayloads(proto);
+    binaryProtoPayloads = binaryProtobufConverter.toPayloads(proto);
+    multiArgumentPayloads = converter.toPayloads("first", document, 42, proto);
+  }
+
+  @Benchmark
+  public Optional<Payloads> jacksonToPayloads() {
+    return converter.toPayloads(document);
+  }
+
+  @Benchmark
+  public BenchmarkPayloads.Document jacksonFromPayloads() {
+    return converter.fromPayloads(
+        0, documentPayloads, BenchmarkPayloads.Document.class, BenchmarkPayloads.Document.class);
+  }
+
+  @Benchmark
+  public Optional<Payloads> bytesToPayloads() {
+    return converter.toPayloads((Object) bytes);
+  }
+
+  @Benchmark
+  public byte[] bytesFromPayloads() {
+    return converter.fromPayloads(0, bytesPayloads, byte[].class, byte[].class);
+  }
+
+  @Benchmark
+  public Optional<Payloads> protobufToPayloads() {
+    return converter.toPayloads(proto);
+  }
+
+  @Benchmark
+  public WorkflowExecution protobufFromPayloads() {
+    return converter.fromPayloads(
+        0, protoPayloads, WorkflowExecution.class, WorkflowExecution.class);
+  }
+
+  @Benchmark
+  public WorkflowExecution binaryProtobufFromPayloads() {
+    return binaryProtobufConverter.fromPayloads(
+        0, binaryProtoPayloads, WorkflowExecution.class, WorkflowExecution.class);
+  }
+
+  /** Decodes every argument of a multi-argument payload like a workflow method invocation does. */
+  @Benchmark
+  public Object[] multiArgumentFromPayloads() {
+    return converter.fromPayloads(
+        multiArgumentPayloads,
+        new Class<?>[] {
+          String.class, BenchmarkPayloads.Document.class, Integer.class, WorkflowExecution.class
+        },
+        new Type[] {
+          String.class, BenchmarkPayloads.Document.class, Integer.class, WorkflowExecution.class
+        });
+  }
+}
@@ -0,0 +1,67 @@
+package io.temporal.benchmarks.metrics;
+
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.ScopeCloseException;
+import com.uber.m3.util.ImmutableMap;
+import io.temporal.serviceclient.MetricsTag;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures deriving a scope tagged with a workflow type from a worker scope, which workers do for
+ * every workflow task. Building a tags map for {@link com.uber.m3.tally.Scope#tagged} every time
+ * is compared to {@link MetricsTag#tagged(com.uber.m3.tally.Scope, String, String)} that caches
+ * tagged scopes. Allocation rates are reported by the gc profiler enabled for the module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TaggedScopeBenchmark {
+
+  /** Number of distinct workflow types the tasks are spread across. */
+  @Param({"1", "100"})
+  public int workflowTypeCount;
+
+  private com.uber.m3.tally.Scope rootScope;
+  private com.uber.m3.tally.Scope workerScope;
+  private String[] workflowTypes;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    rootScope = new RootScopeBuilder().reportEvery(com.uber.m3.util.Duration.ofSeconds(10));
+    workerScope =
+        rootScope.tagged(
+            new ImmutableMap.Builder<String, String>(2)
+                .put(MetricsTag.NAMESPACE, "default")
+                .put(MetricsTag.TASK_QUEUE, "benchmark")
+                .build());
+    workflowTypes = new String[workflowTypeCount];
+    for (int i = 0; i < workflowTypeCount; i++) {
+      workflowTypes[i] = "BenchmarkWorkflow" + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws ScopeCloseException {
+    rootScope.close();
+  }
+
+  @Benchmark
+  public com.uber.m3.tally.Scope taggedWithMap() {
+    return workerScope.tagged(ImmutableMap.of(MetricsTag.WORKFLOW_TYPE, nextWorkflowType()));
+  }
+
+  @Benchmark
+  public com.uber.m3.tally.Scope taggedWithCache() {
+    return MetricsTag.tagged(workerScope, MetricsTag.WORKFLOW_TYPE, nextWorkflowType());
+  }
+
+  private String nextWorkflowType() {
+    String result = workflowTypes[next];
+    next = next + 1 == workflowTypes.length ? 0 : next + 1;
+    return result;
+  }
+}
@@ -0,0 +1,82 @@
+package io.temporal.benchmarks.replay;
+
+import io.temporal.activity.ActivityInterface;
+import io.temporal.activity.ActivityOptions;
+import io.temporal.workflow.Async;
+import io.temporal.workflow.Promise;
+import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Workflows and activities used to produce and replay synthetic histories. */
+public final class BenchmarkWorkflows {
+
+  /** Number of activities or timers started concurrently before waiting for them. */
+  static final int BATCH_SIZE = 100;
+
+  private BenchmarkWorkflows() {}
+
+  @ActivityInterface
+  public interface BenchmarkActivities {
+    int increment(int value);
+  }
+
+  public static class BenchmarkActivitiesImpl implements BenchmarkActivities {
+    @Override
+    public int increment(int value) {
+      return value + 1;
+    }
+  }
+
+  @WorkflowInterface
+  public interface FanOutWorkflow {
+    @WorkflowMethod
+    int execute(int activities, int timers, int signals);
+
+    @SignalMethod
+    void signal(int value);
+  }
+
+  public static class FanOutWorkflowImpl implements FanOutWorkflow {
+    private final BenchmarkActivities activities =
+        Workflow.newActivityStub(
+            BenchmarkActivities.class,
+            ActivityOptions.newBuilder().setStartToCloseTimeout(Duration.ofSeconds(10)).build());
+
+    private int signalSum;
+    private int signalCount;
+
+    @Override
+    public int execute(int activityCount, int timerCount, int signalCount) {
+      int result = 0;
+      for (int batchStart = 0; batchStart < activityCount; batchStart += BATCH_SIZE) {
+        List<Promise<Integer>> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = batchStart; i < Math.min(activityCount, batchStart + BATCH_SIZE); i++) {
+          batch.add(Async.function(activities::increment, i));
+        }
+        for (Promise<Integer> promise : batch) {
+          result += promise.get();
+        }
+      }
+      for (int batchStart = 0; batchStart < timerCount; batchStart += BATCH_SIZE) {
+        List<Promise<Void>> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = batchStart; i < Math.min(timerCount, batchStart + BATCH_SIZE); i++) {
+          batch.add(Workflow.newTimer(Duration.ofSeconds(1 + i % 10)));
+        }
+        Promise.allOf(batch).get();
+      }
+      Workflow.await(() -> this.signalCount >= signalCount);
+      return result + signalSum;
+    }
+
+    @Override
+    public void signal(int value) {
+      signalSum += value;
+      signalCount++;
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package io.temporal.benchmarks.replay;
+
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.common.WorkflowExecutionHistory;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures a full replay of a workflow history after a sticky cache miss. The history is produced
+ * in {@link #setUp()} by running {@link BenchmarkWorkflows.FanOutWorkflow} against the in-process
+ * test server, so it contains real activity, timer and signal events. The benchmark replays it
+ * through {@link Worker#replayWorkflowExecution(WorkflowExecutionHistory)} which exercises the
+ * state machines, the deterministic runner and the data converter together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class ReplayBenchmark {
+
+  private static final String TASK_QUEUE = "replay-benchmark";
+
+  /** Approximate number of events in the replayed history. */
+  @Param({"1000", "10000", "50000"})
+  public int eventCount;
+
+  /** Kind of events the history mostly consists of. */
+  @Param({"activities", "timers", "signals"})
+  public String scenario;
+
+  private TestWorkflowEnvironment testEnvironment;
+  private Worker worker;
+  private WorkflowExecutionHistory history;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    testEnvironment = TestWorkflowEnvironment.newInstance();
+    worker = testEnvironment.newWorker(TASK_QUEUE);
+    worker.registerWorkflowImplementationTypes(BenchmarkWorkflows.FanOutWorkflowImpl.class);
+    worker.registerActivitiesImplementations(new BenchmarkWorkflows.BenchmarkActivitiesImpl());
+    testEnvironment.start();
+
+    int activities = 0;
+    int timers = 0;
+    int signals = 0;
+    switch (scenario) {
+      case "activities":
+        // scheduled, started and completed events per activity
+        activities = eventCount / 3;
+        break;
+      case "timers":
+        // started and fired events per timer
+        timers = eventCount / 2;
+        break;
+      case "signals":
+        // one signaled event per signal, workflow tasks are mostly coalesced
+        signals = eventCount;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown scenario: " + scenario);
+    }
+
+    WorkflowClient client = testEnvironment.getWorkflowClient();
+    String workflowId = "replay-benchmark-" + scenario + "-" + eventCount;
+    BenchmarkWorkflows.FanOutWorkflow workflow =
+        client.newWorkflowStub(
+            BenchmarkWorkflows.FanOutWorkflow.class,
+            WorkflowOptions.newBuilder()
+                .setWorkflowId(workflowId)
+                .setTaskQueue(TASK_QUEUE)
+                .build());
+    WorkflowClient.start(workflow::execute, activities, timers, signals);
+    for (int i = 0; i < signals; i++) {
+      workflow.signal(i);
+    }
+    WorkflowStub.fromTyped(workflow).getResult(Integer.class);
+    history = client.fetchHistory(workflowId);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    testEnvironment.close();
+  }
+
+  @Benchmark
+  public void replay() throws Exception {
+    worker.replayWorkflowExecution(history);
+  }
+}
@@ -0,0 +1,58 @@
+package io.temporal.benchmarks.worker;
+
+import io.temporal.internal.common.MethodInvoker;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the overhead of dispatching an activity or workflow method call with the arguments
+ * decoded by a data converter: reflective {@link Method#invoke(Object, Object...)} that workers
+ * used to do is compared to a cached {@link MethodInvoker} and to a direct interface call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MethodDispatchBenchmark {
+
+  public interface BenchmarkActivity {
+    String process(String input, int count, long timestamp);
+  }
+
+  public static class BenchmarkActivityImpl implements BenchmarkActivity {
+    @Override
+    public String process(String input, int count, long timestamp) {
+      return count == 0 && timestamp == 0 ? null : input;
+    }
+  }
+
+  private BenchmarkActivity activity;
+  private Method method;
+  private MethodInvoker invoker;
+  private Object[] arguments;
+
+  @Setup(Level.Trial)
+  public void setUp() throws NoSuchMethodException {
+    activity = new BenchmarkActivityImpl();
+    method = BenchmarkActivity.class.getMethod("process", String.class, int.class, long.class);
+    invoker = MethodInvoker.of(method);
+    arguments = new Object[] {"input", 42, 1_700_000_000_000L};
+  }
+
+  @Benchmark
+  public Object reflection() throws Exception {
+    return method.invoke(activity, arguments);
+  }
+
+  @Benchmark
+  public Object methodInvoker() throws Exception {
+    return invoker.invoke(activity, arguments);
+  }
+
+  @Benchmark
+  public Object direct() {
+    return activity.process((String) arguments[0], (Integer) arguments[1], (Long) arguments[2]);
+  }
+}
@@ -0,0 +1,48 @@
+package io.temporal.benchmarks.worker;
+
+import com.uber.m3.tally.NoopScope;
+import io.temporal.internal.worker.TimingWheelScheduler;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the cost of scheduling a local activity timeout that is cancelled when the attempt
+ * completes, which is what happens to almost all of them: a single-thread {@link
+ * java.util.concurrent.ScheduledThreadPoolExecutor} that workers used to use is compared to a
+ * {@link TimingWheelScheduler}, with several threads scheduling concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+public class TimeoutSchedulingBenchmark {
+
+  @Param({"threadPool", "timingWheel"})
+  public String scheduler;
+
+  private ScheduledExecutorService executor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    executor =
+        "timingWheel".equals(scheduler)
+            ? new TimingWheelScheduler(Thread::new, new NoopScope())
+            : Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public boolean scheduleAndCancel() {
+    ScheduledFuture<?> timeout = executor.schedule(() -> {}, 10, TimeUnit.SECONDS);
+    return timeout.cancel(false);
+  }
+}
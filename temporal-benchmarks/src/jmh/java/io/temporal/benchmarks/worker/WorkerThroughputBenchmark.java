@@ -0,0 +1,85 @@
+package io.temporal.benchmarks.worker;
+
+import io.temporal.benchmarks.replay.BenchmarkWorkflows;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.testing.TestEnvironmentOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.worker.WorkerOptions;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * End-to-end throughput of workflow and activity pollers running against the in-process test
+ * service. Each invocation starts a workflow that executes a batch of activities and waits for its
+ * result, so the numbers include polling, task handling, sticky cache and completion RPCs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(16)
+public class WorkerThroughputBenchmark {
+
+  private static final String TASK_QUEUE = "worker-throughput-benchmark";
+
+  /** Number of activities executed by each workflow. */
+  @Param({"1", "10"})
+  public int activitiesPerWorkflow;
+
+  @Param({"2", "16"})
+  public int pollerCount;
+
+  /** See {@link WorkerFactoryOptions.Builder#setUsingSpinningWorkflowThreadHandOff(boolean)}. */
+  @Param({"false", "true"})
+  public boolean spinningHandOff;
+
+  private final AtomicLong workflowIdSequence = new AtomicLong();
+  private TestWorkflowEnvironment testEnvironment;
+  private WorkflowClient client;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    testEnvironment =
+        TestWorkflowEnvironment.newInstance(
+            TestEnvironmentOptions.newBuilder()
+                .setUseTimeskipping(false)
+                .setWorkerFactoryOptions(
+                    WorkerFactoryOptions.newBuilder()
+                        .setUsingSpinningWorkflowThreadHandOff(spinningHandOff)
+                        .build())
+                .build());
+    Worker worker =
+        testEnvironment.newWorker(
+            TASK_QUEUE,
+            WorkerOptions.newBuilder()
+                .setMaxConcurrentWorkflowTaskPollers(pollerCount)
+                .setMaxConcurrentActivityTaskPollers(pollerCount)
+                .build());
+    worker.registerWorkflowImplementationTypes(BenchmarkWorkflows.FanOutWorkflowImpl.class);
+    worker.registerActivitiesImplementations(new BenchmarkWorkflows.BenchmarkActivitiesImpl());
+    testEnvironment.start();
+    client = testEnvironment.getWorkflowClient();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    testEnvironment.close();
+  }
+
+  @Benchmark
+  public int executeWorkflow() {
+    BenchmarkWorkflows.FanOutWorkflow workflow =
+        client.newWorkflowStub(
+            BenchmarkWorkflows.FanOutWorkflow.class,
+            WorkflowOptions.newBuilder()
+                .setWorkflowId("throughput-" + workflowIdSequence.incrementAndGet())
+                .setTaskQueue(TASK_QUEUE)
+                .build());
+    return workflow.execute(activitiesPerWorkflow, 0, 0);
+  }
+}
@@ -0,0 +1,229 @@
+package io.temporal.internal.statemachines;
+
+import io.temporal.activity.ActivityCancellationType;
+import io.temporal.api.command.v1.Command;
+import io.temporal.api.command.v1.ScheduleActivityTaskCommandAttributes;
+import io.temporal.api.command.v1.StartTimerCommandAttributes;
+import io.temporal.api.common.v1.ActivityType;
+import io.temporal.api.enums.v1.EventType;
+import io.temporal.api.history.v1.*;
+import io.temporal.internal.common.UpdateMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Replays a synthetic history through {@link WorkflowStateMachines#handleEvent(HistoryEvent,
+ * boolean)} without any workflow threads involved. The history consists of a single workflow task
+ * that schedules the same number of timers and activities, followed by all of them completing and
+ * a final workflow task that completes the workflow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class WorkflowStateMachinesBenchmark {
+
+  private static final ActivityType ACTIVITY_TYPE =
+      ActivityType.newBuilder().setName("benchmarkActivity").build();
+
+  /** Approximate number of events in the replayed history. */
+  @Param({"1000", "10000", "50000"})
+  public int eventCount;
+
+  /** Keep full transition history of the state machines, as the unit tests do. */
+  @Param({"false", "true"})
+  public boolean fullTransitionHistory;
+
+  private List<HistoryEvent> history;
+  private int entityCount;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // WorkflowExecutionStarted + 2 full workflow tasks = 6 events,
+    // each timer takes 2 events and each activity takes 3 events
+    entityCount = Math.max(1, (eventCount - 6) / 5);
+    history = buildHistory(entityCount);
+  }
+
+  @Benchmark
+  public void replayHistory(Blackhole blackhole) {
+    TimersAndActivitiesCallback callback = new TimersAndActivitiesCallback(entityCount);
+    WorkflowStateMachines stateMachines =
+        new WorkflowStateMachines(callback, fullTransitionHistory ? (sm) -> {} : null);
+    callback.setStateMachines(stateMachines);
+    stateMachines.setWorkflowStartedEventId(history.get(history.size() - 1).getEventId());
+    stateMachines.setReplaying(true);
+    for (int i = 0; i < history.size(); i++) {
+      stateMachines.handleEvent(history.get(i), i < history.size() - 1);
+    }
+    List<Command> commands = stateMachines.takeCommands();
+    blackhole.consume(commands);
+  }
+
+  private static List<HistoryEvent> buildHistory(int entityCount) {
+    List<HistoryEvent> events = new ArrayList<>();
+    add(
+        events,
+        HistoryEvent.newBuilder()
+            .setEventType(EventType.EVENT_TYPE_WORKFLOW_EXECUTION_STARTED)
+            .setWorkflowExecutionStartedEventAttributes(
+                WorkflowExecutionStartedEventAttributes.getDefaultInstance()));
+    long completedEventId = addWorkflowTask(events, true);
+
+    long[] timerStartedIds = new long[entityCount];
+    long[] activityScheduledIds = new long[entityCount];
+    for (int i = 0; i < entityCount; i++) {
+      timerStartedIds[i] =
+          add(
+              events,
+              HistoryEvent.newBuilder()
+                  .setEventType(EventType.EVENT_TYPE_TIMER_STARTED)
+                  .setTimerStartedEventAttributes(
+                      TimerStartedEventAttributes.newBuilder()
+                          .setTimerId(timerId(i))
+                          .setWorkflowTaskCompletedEventId(completedEventId)));
+      activityScheduledIds[i] =
+          add(
+              events,
+              HistoryEvent.newBuilder()
+                  .setEventType(EventType.EVENT_TYPE_ACTIVITY_TASK_SCHEDULED)
+                  .setActivityTaskScheduledEventAttributes(
+                      ActivityTaskScheduledEventAttributes.newBuilder()
+                          .setActivityId(activityId(i))
+                          .setActivityType(ACTIVITY_TYPE)
+                          .setWorkflowTaskCompletedEventId(completedEventId)));
+    }
+    for (int i = 0; i < entityCount; i++) {
+      add(
+          events,
+          HistoryEvent.newBuilder()
+              .setEventType(EventType.EVENT_TYPE_TIMER_FIRED)
+              .setTimerFiredEventAttributes(
+                  TimerFiredEventAttributes.newBuilder()
+                      .setTimerId(timerId(i))
+                      .setStartedEventId(timerStartedIds[i])));
+      long activityStartedId =
+          add(
+              events,
+              HistoryEvent.newBuilder()
+                  .setEventType(EventType.EVENT_TYPE_ACTIVITY_TASK_STARTED)
+                  .setActivityTaskStartedEventAttributes(
+                      ActivityTaskStartedEventAttributes.newBuilder()
+                          .setScheduledEventId(activityScheduledIds[i])));
+      add(
+          events,
+          HistoryEvent.newBuilder()
+              .setEventType(EventType.EVENT_TYPE_ACTIVITY_TASK_COMPLETED)
+              .setActivityTaskCompletedEventAttributes(
+                  ActivityTaskCompletedEventAttributes.newBuilder()
+                      .setScheduledEventId(activityScheduledIds[i])
+                      .setStartedEventId(activityStartedId)));
+    }
+    addWorkflowTask(events, false);
+    return events;
+  }
+
+  private static long addWorkflowTask(List<HistoryEvent> events, boolean completed) {
+    long scheduledEventId =
+        add(
+            events,
+            HistoryEvent.newBuilder()
+                .setEventType(EventType.EVENT_TYPE_WORKFLOW_TASK_SCHEDULED)
+                .setWorkflowTaskScheduledEventAttributes(
+                    WorkflowTaskScheduledEventAttributes.getDefaultInstance()));
+    long startedEventId =
+        add(
+            events,
+            HistoryEvent.newBuilder()
+                .setEventType(EventType.EVENT_TYPE_WORKFLOW_TASK_STARTED)
+                .setWorkflowTaskStartedEventAttributes(
+                    WorkflowTaskStartedEventAttributes.newBuilder()
+                        .setScheduledEventId(scheduledEventId)));
+    if (!completed) {
+      return startedEventId;
+    }
+    return add(
+        events,
+        HistoryEvent.newBuilder()
+            .setEventType(EventType.EVENT_TYPE_WORKFLOW_TASK_COMPLETED)
+            .setWorkflowTaskCompletedEventAttributes(
+                WorkflowTaskCompletedEventAttributes.newBuilder()
+                    .setScheduledEventId(scheduledEventId)
+                    .setStartedEventId(startedEventId)));
+  }
+
+  private static long add(List<HistoryEvent> events, HistoryEvent.Builder event) {
+    long eventId = events.size() + 1;
+    events.add(event.setEventId(eventId).build());
+    return eventId;
+  }
+
+  private static String timerId(int i) {
+    return "timer-" + i;
+  }
+
+  private static String activityId(int i) {
+    return "activity-" + i;
+  }
+
+  /**
+   * Minimal workflow "code" that schedules all timers and activities in the first workflow task
+   * and completes the workflow once all of them are resolved.
+   */
+  private static final class TimersAndActivitiesCallback implements StatesMachinesCallback {
+    private final int entityCount;
+    private WorkflowStateMachines stateMachines;
+    private boolean scheduled;
+    private boolean completed;
+    private int resolved;
+
+    private TimersAndActivitiesCallback(int entityCount) {
+      this.entityCount = entityCount;
+    }
+
+    void setStateMachines(WorkflowStateMachines stateMachines) {
+      this.stateMachines = stateMachines;
+    }
+
+    @Override
+    public void start(HistoryEvent startWorkflowEvent) {}
+
+    @Override
+    public void signal(HistoryEvent signalEvent) {}
+
+    @Override
+    public void update(UpdateMessage message) {}
+
+    @Override
+    public void cancel(HistoryEvent cancelEvent) {}
+
+    @Override
+    public void eventLoop() {
+      if (!scheduled) {
+        scheduled = true;
+        for (int i = 0; i < entityCount; i++) {
+          stateMachines.newTimer(
+              StartTimerCommandAttributes.newBuilder().setTimerId(timerId(i)).build(),
+              null,
+              (event) -> resolved++);
+          stateMachines.scheduleActivityTask(
+              new ExecuteActivityParameters(
+                  ScheduleActivityTaskCommandAttributes.newBuilder()
+                      .setActivityId(activityId(i))
+                      .setActivityType(ACTIVITY_TYPE),
+                  ActivityCancellationType.TRY_CANCEL,
+                  null),
+              (result, failure) -> resolved++);
+        }
+      } else if (!completed && resolved == entityCount * 2) {
+        completed = true;
+        stateMachines.completeWorkflow(Optional.empty());
+      }
+    }
+  }
+}
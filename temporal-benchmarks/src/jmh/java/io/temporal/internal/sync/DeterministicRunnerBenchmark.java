@@ -0,0 +1,96 @@
+package io.temporal.internal.sync;
+
+import io.temporal.workflow.Async;
+import io.temporal.workflow.CompletablePromise;
+import io.temporal.workflow.Promise;
+import io.temporal.workflow.Workflow;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures {@link DeterministicRunnerImpl#runUntilAllBlocked(long)} for a workflow that fans out
+ * to many workflow threads, each blocked on its own promise. Promises are completed one by one
+ * with a {@code runUntilAllBlocked} call after each completion, which is how a workflow observes
+ * activity results arriving in separate workflow tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DeterministicRunnerBenchmark {
+
+  /** Number of workflow threads started by the root workflow thread. */
+  @Param({"10", "100", "1000"})
+  public int threadCount;
+
+  /** Busy-wait time of workflow thread hand-offs, see {@link WorkflowThreadExecutor}. */
+  @Param({"0", "50000"})
+  public long handOffSpinTimeNanos;
+
+  private ThreadPoolExecutor threadPool;
+  private WorkflowThreadExecutor workflowThreadExecutor;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    threadPool = new ThreadPoolExecutor(1, 5000, 1, TimeUnit.SECONDS, new SynchronousQueue<>());
+    workflowThreadExecutor =
+        new WorkflowThreadExecutor() {
+          @Override
+          public Future<?> submit(Runnable task) {
+            return threadPool.submit(task);
+          }
+
+          @Override
+          public long getHandOffSpinTimeNanos() {
+            return handOffSpinTimeNanos;
+          }
+        };
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    threadPool.shutdownNow();
+  }
+
+  @Benchmark
+  public int fanOutAndJoin() {
+    List<CompletablePromise<Integer>> inputs = new ArrayList<>(threadCount);
+    int[] result = new int[1];
+    DeterministicRunner runner =
+        new DeterministicRunnerImpl(
+            workflowThreadExecutor,
+            DummySyncWorkflowContext.newDummySyncWorkflowContext(),
+            () -> {
+              List<Promise<Integer>> outputs = new ArrayList<>(threadCount);
+              for (int i = 0; i < threadCount; i++) {
+                CompletablePromise<Integer> input = Workflow.newPromise();
+                inputs.add(input);
+                outputs.add(Async.function(() -> input.get() + 1));
+              }
+              int sum = 0;
+              for (Promise<Integer> output : outputs) {
+                sum += output.get();
+              }
+              result[0] = sum;
+            });
+    try {
+      runner.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+      for (CompletablePromise<Integer> input : inputs) {
+        input.complete(1);
+        runner.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+      }
+      if (!runner.isDone()) {
+        throw new IllegalStateException("Runner is expected to be done");
+      }
+      return result[0];
+    } finally {
+      runner.close();
+    }
+  }
+}
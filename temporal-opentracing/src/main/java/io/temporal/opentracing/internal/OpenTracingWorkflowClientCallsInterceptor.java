@@ -8,6 +8,8 @@ import io.temporal.common.interceptors.WorkflowClientCallsInterceptor;
 import io.temporal.common.interceptors.WorkflowClientCallsInterceptorBase;
 import io.temporal.opentracing.OpenTracingOptions;
 import io.temporal.opentracing.SpanOperationType;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCallsInterceptorBase {
   private final SpanFactory spanFactory;
@@ -27,11 +29,7 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
 
   @Override
   public WorkflowStartOutput start(WorkflowStartInput input) {
-    Span workflowStartSpan =
-        contextAccessor.writeSpanContextToHeader(
-            () -> createWorkflowStartSpanBuilder(input, SpanOperationType.START_WORKFLOW).start(),
-            input.getHeader(),
-            tracer);
+    Span workflowStartSpan = startWorkflowStartSpan(input, SpanOperationType.START_WORKFLOW);
     try (Scope ignored = tracer.scopeManager().activate(workflowStartSpan)) {
       return super.start(input);
     } finally {
@@ -39,20 +37,16 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
     }
   }
 
+  @Override
+  public CompletableFuture<WorkflowStartOutput> startAsync(WorkflowStartInput input) {
+    return finishSpanOnCompletion(
+        startWorkflowStartSpan(input, SpanOperationType.START_WORKFLOW),
+        () -> super.startAsync(input));
+  }
+
   @Override
   public WorkflowSignalOutput signal(WorkflowSignalInput input) {
-    Span workflowSignalSpan =
-        contextAccessor.writeSpanContextToHeader(
-            () ->
-                spanFactory
-                    .createWorkflowSignalSpan(
-                        tracer,
-                        input.getSignalName(),
-                        input.getWorkflowExecution().getWorkflowId(),
-                        input.getWorkflowExecution().getRunId())
-                    .start(),
-            input.getHeader(),
-            tracer);
+    Span workflowSignalSpan = startWorkflowSignalSpan(input);
     try (Scope ignored = tracer.scopeManager().activate(workflowSignalSpan)) {
       return super.signal(input);
     } finally {
@@ -60,17 +54,16 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
     }
   }
 
+  @Override
+  public CompletableFuture<WorkflowSignalOutput> signalAsync(WorkflowSignalInput input) {
+    return finishSpanOnCompletion(startWorkflowSignalSpan(input), () -> super.signalAsync(input));
+  }
+
   @Override
   public WorkflowSignalWithStartOutput signalWithStart(WorkflowSignalWithStartInput input) {
-    WorkflowStartInput workflowStartInput = input.getWorkflowStartInput();
     Span workflowStartSpan =
-        contextAccessor.writeSpanContextToHeader(
-            () ->
-                createWorkflowStartSpanBuilder(
-                        workflowStartInput, SpanOperationType.SIGNAL_WITH_START_WORKFLOW)
-                    .start(),
-            workflowStartInput.getHeader(),
-            tracer);
+        startWorkflowStartSpan(
+            input.getWorkflowStartInput(), SpanOperationType.SIGNAL_WITH_START_WORKFLOW);
     try (Scope ignored = tracer.scopeManager().activate(workflowStartSpan)) {
       return super.signalWithStart(input);
     } finally {
@@ -78,20 +71,18 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
     }
   }
 
+  @Override
+  public CompletableFuture<WorkflowSignalWithStartOutput> signalWithStartAsync(
+      WorkflowSignalWithStartInput input) {
+    return finishSpanOnCompletion(
+        startWorkflowStartSpan(
+            input.getWorkflowStartInput(), SpanOperationType.SIGNAL_WITH_START_WORKFLOW),
+        () -> super.signalWithStartAsync(input));
+  }
+
   @Override
   public <R> QueryOutput<R> query(QueryInput<R> input) {
-    Span workflowQuerySpan =
-        contextAccessor.writeSpanContextToHeader(
-            () ->
-                spanFactory
-                    .createWorkflowQuerySpan(
-                        tracer,
-                        input.getQueryType(),
-                        input.getWorkflowExecution().getWorkflowId(),
-                        input.getWorkflowExecution().getRunId())
-                    .start(),
-            input.getHeader(),
-            tracer);
+    Span workflowQuerySpan = startWorkflowQuerySpan(input);
     try (Scope ignored = tracer.scopeManager().activate(workflowQuerySpan)) {
       return super.query(input);
     } finally {
@@ -99,20 +90,14 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
     }
   }
 
+  @Override
+  public <R> CompletableFuture<QueryOutput<R>> queryAsync(QueryInput<R> input) {
+    return finishSpanOnCompletion(startWorkflowQuerySpan(input), () -> super.queryAsync(input));
+  }
+
   @Override
   public <R> WorkflowUpdateHandle<R> startUpdate(StartUpdateInput<R> input) {
-    Span workflowStartUpdateSpan =
-        contextAccessor.writeSpanContextToHeader(
-            () ->
-                spanFactory
-                    .createWorkflowStartUpdateSpan(
-                        tracer,
-                        input.getUpdateName(),
-                        input.getWorkflowExecution().getWorkflowId(),
-                        input.getWorkflowExecution().getRunId())
-                    .start(),
-            input.getHeader(),
-            tracer);
+    Span workflowStartUpdateSpan = startWorkflowStartUpdateSpan(input);
     try (Scope ignored = tracer.scopeManager().activate(workflowStartUpdateSpan)) {
       return super.startUpdate(input);
     } finally {
@@ -120,6 +105,78 @@ public class OpenTracingWorkflowClientCallsInterceptor extends WorkflowClientCal
     }
   }
 
+  @Override
+  public <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(
+      StartUpdateInput<R> input) {
+    return finishSpanOnCompletion(
+        startWorkflowStartUpdateSpan(input), () -> super.startUpdateAsync(input));
+  }
+
+  /**
+   * Calls {@code call} with the span active and finishes the span when the returned future
+   * completes, the same way the synchronous methods finish it when the call returns.
+   */
+  private <T> CompletableFuture<T> finishSpanOnCompletion(
+      Span span, Supplier<CompletableFuture<T>> call) {
+    CompletableFuture<T> result;
+    try (Scope ignored = tracer.scopeManager().activate(span)) {
+      result = call.get();
+    } catch (RuntimeException e) {
+      span.finish();
+      throw e;
+    }
+    return result.whenComplete((r, e) -> span.finish());
+  }
+
+  private Span startWorkflowStartSpan(WorkflowStartInput input, SpanOperationType operationType) {
+    return contextAccessor.writeSpanContextToHeader(
+        () -> createWorkflowStartSpanBuilder(input, operationType).start(),
+        input.getHeader(),
+        tracer);
+  }
+
+  private Span startWorkflowSignalSpan(WorkflowSignalInput input) {
+    return contextAccessor.writeSpanContextToHeader(
+        () ->
+            spanFactory
+                .createWorkflowSignalSpan(
+                    tracer,
+                    input.getSignalName(),
+                    input.getWorkflowExecution().getWorkflowId(),
+                    input.getWorkflowExecution().getRunId())
+                .start(),
+        input.getHeader(),
+        tracer);
+  }
+
+  private <R> Span startWorkflowQuerySpan(QueryInput<R> input) {
+    return contextAccessor.writeSpanContextToHeader(
+        () ->
+            spanFactory
+                .createWorkflowQuerySpan(
+                    tracer,
+                    input.getQueryType(),
+                    input.getWorkflowExecution().getWorkflowId(),
+                    input.getWorkflowExecution().getRunId())
+                .start(),
+        input.getHeader(),
+        tracer);
+  }
+
+  private <R> Span startWorkflowStartUpdateSpan(StartUpdateInput<R> input) {
+    return contextAccessor.writeSpanContextToHeader(
+        () ->
+            spanFactory
+                .createWorkflowStartUpdateSpan(
+                    tracer,
+                    input.getUpdateName(),
+                    input.getWorkflowExecution().getWorkflowId(),
+                    input.getWorkflowExecution().getRunId())
+                .start(),
+        input.getHeader(),
+        tracer);
+  }
+
   private Tracer.SpanBuilder createWorkflowStartSpanBuilder(
       WorkflowStartInput input, SpanOperationType operationType) {
     return spanFactory.createWorkflowStartSpan(
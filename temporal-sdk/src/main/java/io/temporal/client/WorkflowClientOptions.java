@@ -1,5 +1,6 @@
 package io.temporal.client;
 
+import com.google.common.base.Preconditions;
 import io.temporal.api.enums.v1.QueryRejectCondition;
 import io.temporal.common.Experimental;
 import io.temporal.common.context.ContextPropagator;
@@ -49,6 +50,8 @@ public final class WorkflowClientOptions {
     private List<ContextPropagator> contextPropagators;
     private QueryRejectCondition queryRejectCondition;
     private WorkflowClientPlugin[] plugins;
+    private int maxConcurrentResultPolls;
+    private int maxConcurrentAsyncCalls;
 
     private Builder() {}
 
@@ -64,6 +67,8 @@ public final class WorkflowClientOptions {
       contextPropagators = options.contextPropagators;
       queryRejectCondition = options.queryRejectCondition;
       plugins = options.plugins;
+      maxConcurrentResultPolls = options.maxConcurrentResultPolls;
+      maxConcurrentAsyncCalls = options.maxConcurrentAsyncCalls;
     }
 
     public Builder setNamespace(String namespace) {
@@ -153,6 +158,50 @@ public final class WorkflowClientOptions {
       return this;
     }
 
+    /**
+     * Enables multiplexing of the long polls that wait for workflow results in {@link
+     * WorkflowStub#getResult(Class)}, {@link WorkflowStub#getResultAsync(Class)} and their
+     * overloads. Concurrent waits on the same workflow execution share one long poll, and at most
+     * {@code maxConcurrentResultPolls} long polls are open at the same time. Executions that are
+     * waiting for a poll are queued and polled in a round-robin order. Asynchronous waits don't
+     * occupy a thread.
+     *
+     * <p>Useful for clients that wait for results of a large number of workflows at once. Results
+     * of the waiting workflows are delivered later when there are more of them than the limit.
+     *
+     * <p>Default is 0, which means that each wait opens its own long poll.
+     */
+    @Experimental
+    public Builder setMaxConcurrentResultPolls(int maxConcurrentResultPolls) {
+      Preconditions.checkArgument(
+          maxConcurrentResultPolls >= 0,
+          "maxConcurrentResultPolls should be non-negative: %s",
+          maxConcurrentResultPolls);
+      this.maxConcurrentResultPolls = maxConcurrentResultPolls;
+      return this;
+    }
+
+    /**
+     * Limits the number of asynchronous calls of {@link WorkflowStub#startAsync(Object...)}, {@link
+     * WorkflowStub#signalAsync(String, Object...)}, {@link WorkflowStub#queryAsync(String, Class,
+     * Object...)} and other {@code *Async} methods of {@link WorkflowStub} that are in flight at
+     * the same time, as well as the page requests of {@link WorkflowClient#listExecutions(String)}.
+     * Calls over the limit are queued and sent in the order they were made when the calls in
+     * flight complete, no thread is blocked while a call is queued. Callers that issue the next
+     * call when a previous one completes get a backpressure this way.
+     *
+     * <p>Default is 0, which means no limit.
+     */
+    @Experimental
+    public Builder setMaxConcurrentAsyncCalls(int maxConcurrentAsyncCalls) {
+      Preconditions.checkArgument(
+          maxConcurrentAsyncCalls >= 0,
+          "maxConcurrentAsyncCalls should be non-negative: %s",
+          maxConcurrentAsyncCalls);
+      this.maxConcurrentAsyncCalls = maxConcurrentAsyncCalls;
+      return this;
+    }
+
     public WorkflowClientOptions build() {
       return new WorkflowClientOptions(
           namespace,
@@ -162,7 +211,9 @@ public final class WorkflowClientOptions {
           binaryChecksum,
           contextPropagators,
           queryRejectCondition,
-          plugins == null ? EMPTY_PLUGINS : plugins);
+          plugins == null ? EMPTY_PLUGINS : plugins,
+          maxConcurrentResultPolls,
+          maxConcurrentAsyncCalls);
     }
 
     /**
@@ -188,7 +239,9 @@ public final class WorkflowClientOptions {
           queryRejectCondition == null
               ? QueryRejectCondition.QUERY_REJECT_CONDITION_UNSPECIFIED
               : queryRejectCondition,
-          plugins == null ? EMPTY_PLUGINS : plugins);
+          plugins == null ? EMPTY_PLUGINS : plugins,
+          maxConcurrentResultPolls,
+          maxConcurrentAsyncCalls);
     }
   }
 
@@ -215,6 +268,10 @@ public final class WorkflowClientOptions {
 
   private final WorkflowClientPlugin[] plugins;
 
+  private final int maxConcurrentResultPolls;
+
+  private final int maxConcurrentAsyncCalls;
+
   private WorkflowClientOptions(
       String namespace,
       DataConverter dataConverter,
@@ -223,7 +280,9 @@ public final class WorkflowClientOptions {
       String binaryChecksum,
       List<ContextPropagator> contextPropagators,
       QueryRejectCondition queryRejectCondition,
-      WorkflowClientPlugin[] plugins) {
+      WorkflowClientPlugin[] plugins,
+      int maxConcurrentResultPolls,
+      int maxConcurrentAsyncCalls) {
     this.namespace = namespace;
     this.dataConverter = dataConverter;
     this.interceptors = interceptors;
@@ -232,6 +291,8 @@ public final class WorkflowClientOptions {
     this.contextPropagators = contextPropagators;
     this.queryRejectCondition = queryRejectCondition;
     this.plugins = plugins;
+    this.maxConcurrentResultPolls = maxConcurrentResultPolls;
+    this.maxConcurrentAsyncCalls = maxConcurrentAsyncCalls;
   }
 
   /**
@@ -289,6 +350,25 @@ public final class WorkflowClientOptions {
     return plugins;
   }
 
+  /**
+   * @return maximum number of multiplexed long polls waiting for workflow results, 0 if the long
+   *     polls are not multiplexed
+   * @see Builder#setMaxConcurrentResultPolls(int)
+   */
+  @Experimental
+  public int getMaxConcurrentResultPolls() {
+    return maxConcurrentResultPolls;
+  }
+
+  /**
+   * @return maximum number of asynchronous calls in flight, 0 if not limited
+   * @see Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  public int getMaxConcurrentAsyncCalls() {
+    return maxConcurrentAsyncCalls;
+  }
+
   @Override
   public String toString() {
     return "WorkflowClientOptions{"
@@ -311,6 +391,10 @@ public final class WorkflowClientOptions {
         + queryRejectCondition
         + ", plugins="
         + Arrays.toString(plugins)
+        + ", maxConcurrentResultPolls="
+        + maxConcurrentResultPolls
+        + ", maxConcurrentAsyncCalls="
+        + maxConcurrentAsyncCalls
         + '}';
   }
 
@@ -326,7 +410,9 @@ public final class WorkflowClientOptions {
         && com.google.common.base.Objects.equal(binaryChecksum, that.binaryChecksum)
         && com.google.common.base.Objects.equal(contextPropagators, that.contextPropagators)
         && queryRejectCondition == that.queryRejectCondition
-        && Arrays.equals(plugins, that.plugins);
+        && Arrays.equals(plugins, that.plugins)
+        && maxConcurrentResultPolls == that.maxConcurrentResultPolls
+        && maxConcurrentAsyncCalls == that.maxConcurrentAsyncCalls;
   }
 
   @Override
@@ -339,6 +425,8 @@ public final class WorkflowClientOptions {
         binaryChecksum,
         contextPropagators,
         queryRejectCondition,
-        Arrays.hashCode(plugins));
+        Arrays.hashCode(plugins),
+        maxConcurrentResultPolls,
+        maxConcurrentAsyncCalls);
   }
 }
@@ -3,6 +3,7 @@ package io.temporal.client;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.enums.v1.QueryRejectCondition;
 import io.temporal.api.enums.v1.WorkflowIdConflictPolicy;
+import io.temporal.common.Experimental;
 import io.temporal.failure.CanceledFailure;
 import io.temporal.failure.TerminatedFailure;
 import io.temporal.failure.TimeoutFailure;
@@ -54,6 +55,21 @@ public interface WorkflowStub {
    */
   void signal(String signalName, Object... args);
 
+  /**
+   * Asynchronously signals a workflow by invoking its signal handler. Unlike {@link #signal}, the
+   * calling thread is not blocked while the signal is delivered.
+   *
+   * @param signalName name of the signal handler. Usually it is a method name.
+   * @param args signal method arguments
+   * @return future that completes when the signal is delivered, or with an exception
+   * @see #signal(String, Object...) as a sync version of this method for detailed information
+   *     about exceptions that may be thrown from {@link CompletableFuture#get()} wrapped by {@link
+   *     ExecutionException}
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  CompletableFuture<Void> signalAsync(String signalName, Object... args);
+
   /**
    * Synchronously update a workflow execution by invoking its update handler. Usually a update
    * handler is a method annotated with {@link io.temporal.workflow.UpdateMethod}.
@@ -104,6 +120,23 @@ public interface WorkflowStub {
    */
   <R> WorkflowUpdateHandle<R> startUpdate(UpdateOptions<R> options, Object... args);
 
+  /**
+   * Asynchronously update a workflow execution by invoking its update handler. Unlike {@link
+   * #startUpdate(UpdateOptions, Object...)}, the calling thread is not blocked while the update
+   * request reaches the stage specified in the options.
+   *
+   * @param options options that will be used to configure and start a new update request.
+   * @param args update method arguments
+   * @return future of the update handle that can be used to get the result of the update.
+   * @see #startUpdate(UpdateOptions, Object...) as a sync version of this method for detailed
+   *     information about exceptions that may be thrown from {@link CompletableFuture#get()}
+   *     wrapped by {@link ExecutionException}
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(
+      UpdateOptions<R> options, Object... args);
+
   /**
    * Get an update handle to a previously started update request. Getting an update handle does not
    * guarantee the update ID exists.
@@ -131,6 +164,18 @@ public interface WorkflowStub {
 
   WorkflowExecution start(Object... args);
 
+  /**
+   * Asynchronously starts a workflow execution. Unlike {@link #start(Object...)}, the calling
+   * thread is not blocked while the start request is sent. The workflow task of the started
+   * execution is never dispatched eagerly to a local worker.
+   *
+   * @param args workflow start arguments
+   * @return future of the started workflow execution
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  CompletableFuture<WorkflowExecution> startAsync(Object... args);
+
   /**
    * Asynchronously update a workflow execution by invoking its update handler, and start the
    * workflow according to the option's {@link WorkflowIdConflictPolicy}. It returns a handle to the
@@ -170,6 +215,21 @@ public interface WorkflowStub {
    */
   WorkflowExecution signalWithStart(String signalName, Object[] signalArgs, Object[] startArgs);
 
+  /**
+   * Asynchronously sends a signal to a workflow, starting the workflow if it is not already
+   * running. Unlike {@link #signalWithStart(String, Object[], Object[])}, the calling thread is not
+   * blocked while the request is sent.
+   *
+   * @param signalName name of the signal handler. Usually it is a method name.
+   * @param signalArgs signal method arguments
+   * @param startArgs workflow start arguments
+   * @return future of the workflow execution
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  CompletableFuture<WorkflowExecution> signalWithStartAsync(
+      String signalName, Object[] signalArgs, Object[] startArgs);
+
   /**
    * @return workflow type name if it was provided when the stub was created.
    */
@@ -367,6 +427,43 @@ public interface WorkflowStub {
    */
   <R> R query(String queryType, Class<R> resultClass, Type resultType, Object... args);
 
+  /**
+   * Asynchronously queries workflow by invoking its query handler. Unlike {@link #query(String,
+   * Class, Object...)}, the calling thread is not blocked while the query is executed.
+   *
+   * @param queryType name of the query handler. Usually it is a method name.
+   * @param resultClass class of the query result type
+   * @param args optional query arguments
+   * @param <R> type of the query result
+   * @return future completed with the query result or an exception
+   * @see #query(String, Class, Object...) as a sync version of this method for detailed
+   *     information about exceptions that may be thrown from {@link CompletableFuture#get()}
+   *     wrapped by {@link ExecutionException}
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  <R> CompletableFuture<R> queryAsync(String queryType, Class<R> resultClass, Object... args);
+
+  /**
+   * Asynchronously queries workflow by invoking its query handler. Unlike {@link #query(String,
+   * Class, Type, Object...)}, the calling thread is not blocked while the query is executed.
+   *
+   * @param queryType name of the query handler. Usually it is a method name.
+   * @param resultClass class of the query result type
+   * @param resultType type of the workflow return value. Differs from {@code resultClass} for
+   *     generic types.
+   * @param args optional query arguments
+   * @param <R> type of the query result
+   * @return future completed with the query result or an exception
+   * @see #query(String, Class, Type, Object...) as a sync version of this method for detailed
+   *     information about exceptions that may be thrown from {@link CompletableFuture#get()}
+   *     wrapped by {@link ExecutionException}
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  <R> CompletableFuture<R> queryAsync(
+      String queryType, Class<R> resultClass, Type resultType, Object... args);
+
   /**
    * Request cancellation of a workflow execution.
    *
@@ -411,6 +508,21 @@ public interface WorkflowStub {
    */
   void terminate(@Nullable String reason, Object... details);
 
+  /**
+   * Asynchronously terminates a workflow execution. Unlike {@link #terminate(String, Object...)},
+   * the calling thread is not blocked while the termination request is sent.
+   *
+   * @param reason optional reason for the termination request
+   * @param details additional details about the termination reason
+   * @return future that completes when the workflow execution is terminated, or with an exception
+   * @see #terminate(String, Object...) as a sync version of this method for detailed information
+   *     about exceptions that may be thrown from {@link CompletableFuture#get()} wrapped by {@link
+   *     ExecutionException}
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  CompletableFuture<Void> terminateAsync(@Nullable String reason, Object... details);
+
   /**
    * Get the current description of this workflow.
    *
@@ -421,6 +533,18 @@ public interface WorkflowStub {
    */
   WorkflowExecutionDescription describe();
 
+  /**
+   * Asynchronously gets the current description of this workflow.
+   *
+   * @return future of the current description of this workflow
+   * @see #describe() as a sync version of this method for detailed information about exceptions
+   *     that may be thrown from {@link CompletableFuture#get()} wrapped by {@link
+   *     ExecutionException}
+   * @see WorkflowClientOptions.Builder#setMaxConcurrentAsyncCalls(int)
+   */
+  @Experimental
+  CompletableFuture<WorkflowExecutionDescription> describeAsync();
+
   /**
    * @return workflow options if they were provided when the stub was created.
    */
@@ -19,6 +19,7 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -87,6 +88,24 @@ class WorkflowStubImpl implements WorkflowStub {
     }
   }
 
+  @Override
+  public CompletableFuture<Void> signalAsync(String signalName, Object... args) {
+    checkStarted();
+    WorkflowExecution targetExecution = currentExecutionCheckLegacy();
+    return invokeAsync(
+            () ->
+                workflowClientInvoker.signalAsync(
+                    new WorkflowClientCallsInterceptor.WorkflowSignalInput(
+                        targetExecution, signalName, Header.empty(), args)))
+        .handle(
+            (output, e) -> {
+              if (e != null) {
+                throw wrapAsyncFailure(e, targetExecution);
+              }
+              return null;
+            });
+  }
+
   private WorkflowExecution startWithOptions(WorkflowOptions options, Object... args) {
     checkExecutionIsNotStarted();
     String workflowId = getWorkflowIdForStart(options);
@@ -121,6 +140,30 @@ class WorkflowStubImpl implements WorkflowStub {
     return startWithOptions(WorkflowOptions.merge(null, null, options), args);
   }
 
+  @Override
+  public CompletableFuture<WorkflowExecution> startAsync(Object... args) {
+    if (options == null) {
+      throw new IllegalStateException("Required parameter WorkflowOptions is missing");
+    }
+    checkExecutionIsNotStarted();
+    WorkflowOptions mergedOptions = WorkflowOptions.merge(null, null, options);
+    String workflowId = getWorkflowIdForStart(mergedOptions);
+    return invokeAsync(
+            () ->
+                workflowClientInvoker.startAsync(
+                    new WorkflowClientCallsInterceptor.WorkflowStartInput(
+                        workflowId, workflowType.get(), Header.empty(), args, mergedOptions)))
+        .handle(
+            (output, e) -> {
+              if (e != null) {
+                throw wrapAsyncStartFailure(e, workflowId);
+              }
+              WorkflowExecution workflowExecution = output.getWorkflowExecution();
+              populateExecutionAfterStart(workflowExecution);
+              return workflowExecution;
+            });
+  }
+
   @Override
   public <R> WorkflowUpdateHandle<R> startUpdateWithStart(
       UpdateOptions<R> updateOptions, Object[] updateArgs, Object[] startArgs) {
@@ -227,6 +270,39 @@ class WorkflowStubImpl implements WorkflowStub {
         WorkflowOptions.merge(null, null, options), signalName, signalArgs, startArgs);
   }
 
+  @Override
+  public CompletableFuture<WorkflowExecution> signalWithStartAsync(
+      String signalName, Object[] signalArgs, Object[] startArgs) {
+    if (options == null) {
+      throw new IllegalStateException("Required parameter WorkflowOptions is missing");
+    }
+    checkExecutionIsNotStarted();
+    WorkflowOptions mergedOptions = WorkflowOptions.merge(null, null, options);
+    String workflowId = getWorkflowIdForStart(mergedOptions);
+    return invokeAsync(
+            () ->
+                workflowClientInvoker.signalWithStartAsync(
+                    new WorkflowClientCallsInterceptor.WorkflowSignalWithStartInput(
+                        new WorkflowClientCallsInterceptor.WorkflowStartInput(
+                            workflowId,
+                            workflowType.get(),
+                            Header.empty(),
+                            startArgs,
+                            mergedOptions),
+                        signalName,
+                        signalArgs)))
+        .handle(
+            (output, e) -> {
+              if (e != null) {
+                throw wrapAsyncStartFailure(e, workflowId);
+              }
+              WorkflowExecution workflowExecution =
+                  output.getWorkflowStartOutput().getWorkflowExecution();
+              populateExecutionAfterStart(workflowExecution);
+              return workflowExecution;
+            });
+  }
+
   @Override
   public Optional<String> getWorkflowType() {
     return workflowType;
@@ -340,6 +416,39 @@ class WorkflowStubImpl implements WorkflowStub {
     return result.getResult();
   }
 
+  @Override
+  public <R> CompletableFuture<R> queryAsync(
+      String queryType, Class<R> resultClass, Object... args) {
+    return queryAsync(queryType, resultClass, resultClass, args);
+  }
+
+  @Override
+  public <R> CompletableFuture<R> queryAsync(
+      String queryType, Class<R> resultClass, Type resultType, Object... args) {
+    checkStarted();
+    WorkflowExecution targetExecution = execution.get();
+    return invokeAsync(
+            () ->
+                workflowClientInvoker.queryAsync(
+                    new WorkflowClientCallsInterceptor.QueryInput<>(
+                        targetExecution, queryType, Header.empty(), args, resultClass, resultType)))
+        .handle(
+            (result, e) -> {
+              if (e != null) {
+                return throwAsWorkflowFailureExceptionForQuery(e, resultClass, targetExecution);
+              }
+              if (result.isQueryRejected()) {
+                throw new WorkflowQueryConditionallyRejectedException(
+                    targetExecution,
+                    workflowType.orElse(null),
+                    clientOptions.getQueryRejectCondition(),
+                    result.getQueryRejectedStatus(),
+                    null);
+              }
+              return result.getResult();
+            });
+  }
+
   @Override
   public <R> R update(String updateName, Class<R> resultClass, Object... args) {
     checkStarted();
@@ -392,6 +501,25 @@ class WorkflowStubImpl implements WorkflowStub {
     }
   }
 
+  @Override
+  public <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(
+      UpdateOptions<R> options, Object... args) {
+    checkStarted();
+    options.validate();
+    WorkflowExecution targetExecution = execution.get();
+    return invokeAsync(
+            () ->
+                workflowClientInvoker.startUpdateAsync(
+                    startUpdateInput(options, args, targetExecution)))
+        .handle(
+            (handle, e) -> {
+              if (e != null) {
+                throw wrapAsyncFailure(e, targetExecution);
+              }
+              return handle;
+            });
+  }
+
   private <R> WorkflowClientCallsInterceptor.StartUpdateInput<R> startUpdateInput(
       UpdateOptions<R> options, Object[] args, WorkflowExecution targetExecution) {
     String updateId =
@@ -469,6 +597,24 @@ class WorkflowStubImpl implements WorkflowStub {
     }
   }
 
+  @Override
+  public CompletableFuture<Void> terminateAsync(@Nullable String reason, Object... details) {
+    checkStarted();
+    WorkflowExecution targetExecution = currentExecutionCheckLegacy();
+    return invokeAsync(
+            () ->
+                workflowClientInvoker.terminateAsync(
+                    new WorkflowClientCallsInterceptor.TerminateInput(
+                        targetExecution, firstExecutionRunId, reason, details)))
+        .handle(
+            (output, e) -> {
+              if (e != null) {
+                throw wrapAsyncFailure(e, targetExecution);
+              }
+              return null;
+            });
+  }
+
   @Override
   public WorkflowExecutionDescription describe() {
     checkStarted();
@@ -484,6 +630,23 @@ class WorkflowStubImpl implements WorkflowStub {
     }
   }
 
+  @Override
+  public CompletableFuture<WorkflowExecutionDescription> describeAsync() {
+    checkStarted();
+    WorkflowExecution targetExecution = execution.get();
+    return invokeAsync(
+            () ->
+                workflowClientInvoker.describeAsync(
+                    new WorkflowClientCallsInterceptor.DescribeWorkflowInput(targetExecution)))
+        .handle(
+            (result, e) -> {
+              if (e != null) {
+                throw wrapAsyncFailure(e, targetExecution);
+              }
+              return result.getDescription();
+            });
+  }
+
   @Override
   public Optional<WorkflowOptions> getOptions() {
     return Optional.ofNullable(options);
@@ -606,6 +769,40 @@ class WorkflowStubImpl implements WorkflowStub {
     return failure;
   }
 
+  /**
+   * Calls the invoker making the failures that it throws instead of returning a failed future go
+   * through the same exception mapping as the failures of the future.
+   */
+  private static <T> CompletableFuture<T> invokeAsync(Supplier<CompletableFuture<T>> call) {
+    try {
+      return call.get();
+    } catch (Exception e) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      result.completeExceptionally(e);
+      return result;
+    }
+  }
+
+  private RuntimeException wrapAsyncFailure(Throwable e, WorkflowExecution targetExecution) {
+    Throwable failure = throwAsWorkflowFailureException(e, targetExecution);
+    return new WorkflowServiceException(targetExecution, workflowType.orElse(null), failure);
+  }
+
+  private RuntimeException wrapAsyncStartFailure(Throwable e, String workflowId) {
+    if (e instanceof CompletionException) {
+      e = e.getCause();
+    }
+    if (e instanceof StatusRuntimeException) {
+      return wrapStartException(workflowId, workflowType.orElse(null), (StatusRuntimeException) e);
+    }
+    // WorkflowServiceException requires not null workflowExecution, there is no valid workflow
+    // execution populated from the server if the start failed
+    return new WorkflowServiceException(
+        WorkflowExecution.newBuilder().setWorkflowId(workflowId).build(),
+        workflowType.orElse(null),
+        e);
+  }
+
   private void populateExecutionAfterStart(WorkflowExecution startedExecution) {
     // Currently we don't set the firstExecutionRunId on the stub after start because if the
     // start request didn't create a new execution (e.g. because of WorkflowIdReusePolicy),
@@ -135,10 +135,7 @@ public class CodecDataConverter implements DataConverter, PayloadCodec {
     Optional<Payloads> payloads =
         ConverterUtils.withContext(dataConverter, serializationContext).toPayloads(values);
     if (payloads.isPresent()) {
-      List<Payload> encodedPayloads =
-          ConverterUtils.withContext(chainCodec, serializationContext)
-              .encode(payloads.get().getPayloadsList());
-      payloads = Optional.of(Payloads.newBuilder().addAllPayloads(encodedPayloads).build());
+      payloads = Optional.of(encodePayloads(payloads.get()));
     }
     return payloads;
   }
@@ -147,6 +144,7 @@ public class CodecDataConverter implements DataConverter, PayloadCodec {
   public <T> T fromPayloads(
       int index, Optional<Payloads> content, Class<T> valueType, Type valueGenericType)
       throws DataConverterException {
+    // The whole list is decoded at once as codecs are free to change the number of payloads
     if (content.isPresent()) {
       content = Optional.of(decodePayloads(content.get()));
     }
@@ -165,6 +163,21 @@ public class CodecDataConverter implements DataConverter, PayloadCodec {
         .fromPayloads(content, parameterTypes, genericParameterTypes);
   }
 
+  /**
+   * Decodes {@code content} with the codecs once, so that several values can be read from the
+   * result with {@link #decodedPayloadsConverter()} without running the codecs for each of them.
+   */
+  Optional<Payloads> decodePayloads(Optional<Payloads> content) {
+    return content.isPresent() ? Optional.of(decodePayloads(content.get())) : content;
+  }
+
+  /**
+   * @return converter of the payloads returned by {@link #decodePayloads(Optional)}
+   */
+  DataConverter decodedPayloadsConverter() {
+    return ConverterUtils.withContext(dataConverter, serializationContext);
+  }
+
   @Override
   @Nonnull
   public Failure exceptionToFailure(@Nonnull Throwable throwable) {
@@ -320,11 +333,29 @@ public class CodecDataConverter implements DataConverter, PayloadCodec {
   }
 
   private Payloads encodePayloads(Payloads decodedPayloads) {
-    return Payloads.newBuilder().addAllPayloads(encode(decodedPayloads.getPayloadsList())).build();
+    return toPayloads(decodedPayloads, encode(decodedPayloads.getPayloadsList()));
   }
 
   private Payloads decodePayloads(Payloads encodedPayloads) {
-    return Payloads.newBuilder().addAllPayloads(decode(encodedPayloads.getPayloadsList())).build();
+    return toPayloads(encodedPayloads, decode(encodedPayloads.getPayloadsList()));
+  }
+
+  /**
+   * @return {@code original} itself if the codecs passed all its payloads through unchanged, a new
+   *     {@link Payloads} message with the {@code converted} payloads otherwise
+   */
+  private static Payloads toPayloads(Payloads original, List<Payload> converted) {
+    List<Payload> originalList = original.getPayloadsList();
+    if (converted.size() == originalList.size()) {
+      boolean unchanged = true;
+      for (int i = 0; i < converted.size() && unchanged; i++) {
+        unchanged = converted.get(i) == originalList.get(i);
+      }
+      if (unchanged) {
+        return original;
+      }
+    }
+    return Payloads.newBuilder().addAllPayloads(converted).build();
   }
 
   static class EncodedAttributes {
@@ -9,6 +9,8 @@ public final class EncodedValues implements Values {
   private Optional<Payloads> payloads;
   private DataConverter converter;
   private final Object[] values;
+  // Payloads decoded by the codecs of a CodecDataConverter, shared by all the values
+  private Optional<Payloads> decodedPayloads;
 
   public EncodedValues(Optional<Payloads> payloads, DataConverter converter) {
     this.payloads = Objects.requireNonNull(payloads);
@@ -36,6 +38,7 @@ public final class EncodedValues implements Values {
 
   public void setDataConverter(DataConverter converter) {
     this.converter = Objects.requireNonNull(converter);
+    this.decodedPayloads = null;
   }
 
   @Override
@@ -67,6 +70,15 @@ public final class EncodedValues implements Values {
       if (converter == null) {
         throw new IllegalStateException("converter not set");
       }
+      if (converter instanceof CodecDataConverter) {
+        CodecDataConverter codecConverter = (CodecDataConverter) converter;
+        if (decodedPayloads == null) {
+          decodedPayloads = codecConverter.decodePayloads(payloads);
+        }
+        return codecConverter
+            .decodedPayloadsConverter()
+            .fromPayloads(index, decodedPayloads, parameterType, genericParameterType);
+      }
       return converter.fromPayloads(index, payloads, parameterType, genericParameterType);
     }
   }
@@ -6,18 +6,33 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import io.temporal.api.common.v1.Payload;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.Objects;
 import java.util.Optional;
 
 public class JacksonJsonPayloadConverter implements PayloadConverter {
 
+  /**
+   * Bounds the number of cached readers, which keep value classes reachable. Generic value types
+   * that are built dynamically could otherwise grow the cache without a limit.
+   */
+  private static final int MAX_CACHED_READERS = 1000;
+
   private final ObjectMapper mapper;
+  private final ObjectWriter writer;
+  private final Cache<ReaderKey, ObjectReader> readers =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_READERS).build();
 
   /**
    * Can be used as a starting point for custom user configurations of ObjectMapper.
@@ -42,8 +57,13 @@ public class JacksonJsonPayloadConverter implements PayloadConverter {
     this(newDefaultObjectMapper());
   }
 
+  /**
+   * @param mapper a fully configured mapper. The converter caches readers and writers created from
+   *     it, so later configuration changes of the mapper are not guaranteed to be picked up.
+   */
   public JacksonJsonPayloadConverter(ObjectMapper mapper) {
     this.mapper = mapper;
+    this.writer = mapper.writer();
   }
 
   @Override
@@ -54,11 +74,12 @@ public class JacksonJsonPayloadConverter implements PayloadConverter {
   @Override
   public Optional<Payload> toData(Object value) throws DataConverterException {
     try {
-      byte[] serialized = mapper.writeValueAsBytes(value);
+      byte[] serialized = writer.writeValueAsBytes(value);
       return Optional.of(
           Payload.newBuilder()
               .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, EncodingKeys.METADATA_ENCODING_JSON)
-              .setData(ByteString.copyFrom(serialized))
+              // the array is freshly allocated by Jackson and never modified, no need to copy it
+              .setData(UnsafeByteOperations.unsafeWrap(serialized))
               .build());
 
     } catch (JsonProcessingException e) {
@@ -74,11 +95,46 @@ public class JacksonJsonPayloadConverter implements PayloadConverter {
       return null;
     }
     try {
-      @SuppressWarnings("deprecation")
-      JavaType reference = mapper.getTypeFactory().constructType(valueType, valueClass);
-      return mapper.readValue(content.getData().toByteArray(), reference);
+      // Jackson reads the stream through its own recycled buffers, which avoids a copy of the
+      // whole payload
+      return getReader(valueClass, valueType).readValue(data.newInput());
     } catch (IOException e) {
       throw new DataConverterException(e);
     }
   }
+
+  private ObjectReader getReader(Class<?> valueClass, Type valueType) {
+    ReaderKey key = new ReaderKey(valueClass, valueType);
+    ObjectReader reader = readers.getIfPresent(key);
+    if (reader == null) {
+      @SuppressWarnings("deprecation")
+      JavaType reference = mapper.getTypeFactory().constructType(valueType, valueClass);
+      reader = mapper.readerFor(reference);
+      readers.put(key, reader);
+    }
+    return reader;
+  }
+
+  private static final class ReaderKey {
+    private final Class<?> valueClass;
+    private final Type valueType;
+
+    ReaderKey(Class<?> valueClass, Type valueType) {
+      this.valueClass = valueClass;
+      this.valueType = valueType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ReaderKey that = (ReaderKey) o;
+      return valueClass.equals(that.valueClass) && Objects.equals(valueType, that.valueType);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(valueClass, valueType);
+    }
+  }
 }
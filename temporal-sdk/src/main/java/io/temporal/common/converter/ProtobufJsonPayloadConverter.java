@@ -8,7 +8,6 @@ import com.google.protobuf.Message;
 import com.google.protobuf.MessageOrBuilder;
 import com.google.protobuf.util.JsonFormat;
 import io.temporal.api.common.v1.Payload;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Objects;
 import java.util.Optional;
@@ -75,8 +74,7 @@ public final class ProtobufJsonPayloadConverter extends AbstractProtobufPayloadC
       throw new IllegalArgumentException("Not a protobuf. valueClass=" + valueClass.getName());
     }
     try {
-      Method toBuilder = valueClass.getMethod("newBuilder");
-      Message.Builder builder = (Message.Builder) toBuilder.invoke(null);
+      Message.Builder builder = ProtobufMessages.newBuilder(valueClass);
       parser.merge(data.toString(UTF_8), builder);
       Message instance = builder.build();
       super.checkMessageType(content, instance);
@@ -0,0 +1,49 @@
+package io.temporal.common.converter;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Per class cache of protobuf default instances. Converters use it to get a {@link Parser} or a
+ * new builder of a message class without looking up and invoking its static methods reflectively
+ * for every payload.
+ */
+final class ProtobufMessages {
+  private static final ClassValue<MessageLite> DEFAULT_INSTANCES =
+      new ClassValue<MessageLite>() {
+        @Override
+        protected MessageLite computeValue(Class<?> type) {
+          try {
+            return (MessageLite) type.getMethod("getDefaultInstance").invoke(null);
+          } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(
+                "Not a generated protobuf message class: " + type.getName(), e);
+          } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException(
+                "Failed to get default instance of " + type.getName(), e.getCause());
+          }
+        }
+      };
+
+  private ProtobufMessages() {}
+
+  static MessageLite getDefaultInstance(Class<?> messageClass) {
+    return DEFAULT_INSTANCES.get(messageClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> Parser<T> getParser(Class<T> messageClass) {
+    return (Parser<T>) getDefaultInstance(messageClass).getParserForType();
+  }
+
+  static Message.Builder newBuilder(Class<?> messageClass) {
+    MessageLite defaultInstance = getDefaultInstance(messageClass);
+    if (!(defaultInstance instanceof Message)) {
+      throw new IllegalArgumentException(
+          "Not a full protobuf message class: " + messageClass.getName());
+    }
+    return ((Message) defaultInstance).newBuilderForType();
+  }
+}
@@ -2,9 +2,7 @@ package io.temporal.common.converter;
 
 import com.google.protobuf.MessageLite;
 import io.temporal.api.common.v1.Payload;
-import java.lang.reflect.Method;
 import java.lang.reflect.Type;
-import java.nio.ByteBuffer;
 import java.util.Optional;
 
 public final class ProtobufPayloadConverter extends AbstractProtobufPayloadConverter
@@ -42,17 +40,15 @@ public final class ProtobufPayloadConverter extends AbstractProtobufPayloadConve
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> T fromData(Payload content, Class<T> valueClass, Type valueType)
       throws DataConverterException {
     if (!MessageLite.class.isAssignableFrom(valueClass)) {
       throw new IllegalArgumentException("Not a protobuf. valueClass=" + valueClass.getName());
     }
     try {
-      Method parseFrom = valueClass.getMethod("parseFrom", ByteBuffer.class);
-      Object instance = parseFrom.invoke(null, content.getData().asReadOnlyByteBuffer());
+      T instance = ProtobufMessages.getParser(valueClass).parseFrom(content.getData());
       super.checkMessageType(content, instance);
-      return (T) instance;
+      return instance;
     } catch (Exception e) {
       throw new DataConverterException(e);
     }
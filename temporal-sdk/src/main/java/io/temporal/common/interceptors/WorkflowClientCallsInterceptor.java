@@ -33,6 +33,13 @@ public interface WorkflowClientCallsInterceptor {
    */
   WorkflowStartOutput start(WorkflowStartInput input);
 
+  /**
+   * Asynchronous version of {@link #start} that doesn't block the calling thread. If you implement
+   * {@link #start}, this method most likely needs to be implemented too.
+   */
+  @Experimental
+  CompletableFuture<WorkflowStartOutput> startAsync(WorkflowStartInput input);
+
   /**
    * If you implement this method, {@link #signalWithStart} most likely needs to be implemented too.
    *
@@ -40,8 +47,23 @@ public interface WorkflowClientCallsInterceptor {
    */
   WorkflowSignalOutput signal(WorkflowSignalInput input);
 
+  /**
+   * Asynchronous version of {@link #signal} that doesn't block the calling thread. If you implement
+   * {@link #signal}, this method most likely needs to be implemented too.
+   */
+  @Experimental
+  CompletableFuture<WorkflowSignalOutput> signalAsync(WorkflowSignalInput input);
+
   WorkflowSignalWithStartOutput signalWithStart(WorkflowSignalWithStartInput input);
 
+  /**
+   * Asynchronous version of {@link #signalWithStart} that doesn't block the calling thread. If you
+   * implement {@link #signalWithStart}, this method most likely needs to be implemented too.
+   */
+  @Experimental
+  CompletableFuture<WorkflowSignalWithStartOutput> signalWithStartAsync(
+      WorkflowSignalWithStartInput input);
+
   /**
    * Intercepts calls from {@link WorkflowStub#startUpdateWithStart} and {@link
    * WorkflowStub#executeUpdateWithStart} as well as {@link WorkflowClient#startUpdateWithStart} and
@@ -66,16 +88,38 @@ public interface WorkflowClientCallsInterceptor {
 
   <R> QueryOutput<R> query(QueryInput<R> input);
 
+  /**
+   * Asynchronous version of {@link #query} that doesn't block the calling thread. If you implement
+   * {@link #query}, this method most likely needs to be implemented too.
+   */
+  @Experimental
+  <R> CompletableFuture<QueryOutput<R>> queryAsync(QueryInput<R> input);
+
   <R> WorkflowUpdateHandle<R> startUpdate(StartUpdateInput<R> input);
 
+  /**
+   * Asynchronous version of {@link #startUpdate} that doesn't block the calling thread. If you
+   * implement {@link #startUpdate}, this method most likely needs to be implemented too.
+   */
+  @Experimental
+  <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(StartUpdateInput<R> input);
+
   <R> PollWorkflowUpdateOutput<R> pollWorkflowUpdate(PollWorkflowUpdateInput<R> input);
 
   CancelOutput cancel(CancelInput input);
 
   TerminateOutput terminate(TerminateInput input);
 
+  /** Asynchronous version of {@link #terminate} that doesn't block the calling thread. */
+  @Experimental
+  CompletableFuture<TerminateOutput> terminateAsync(TerminateInput input);
+
   DescribeWorkflowOutput describe(DescribeWorkflowInput input);
 
+  /** Asynchronous version of {@link #describe} that doesn't block the calling thread. */
+  @Experimental
+  CompletableFuture<DescribeWorkflowOutput> describeAsync(DescribeWorkflowInput input);
+
   ListWorkflowExecutionsOutput listWorkflowExecutions(ListWorkflowExecutionsInput input);
 
   final class ListWorkflowExecutionsInput {
@@ -1,6 +1,7 @@
 package io.temporal.common.interceptors;
 
 import io.temporal.client.WorkflowUpdateHandle;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 /** Convenience base class for {@link WorkflowClientCallsInterceptor} implementations. */
@@ -17,16 +18,32 @@ public class WorkflowClientCallsInterceptorBase implements WorkflowClientCallsIn
     return next.start(input);
   }
 
+  @Override
+  public CompletableFuture<WorkflowStartOutput> startAsync(WorkflowStartInput input) {
+    return next.startAsync(input);
+  }
+
   @Override
   public WorkflowSignalOutput signal(WorkflowSignalInput input) {
     return next.signal(input);
   }
 
+  @Override
+  public CompletableFuture<WorkflowSignalOutput> signalAsync(WorkflowSignalInput input) {
+    return next.signalAsync(input);
+  }
+
   @Override
   public WorkflowSignalWithStartOutput signalWithStart(WorkflowSignalWithStartInput input) {
     return next.signalWithStart(input);
   }
 
+  @Override
+  public CompletableFuture<WorkflowSignalWithStartOutput> signalWithStartAsync(
+      WorkflowSignalWithStartInput input) {
+    return next.signalWithStartAsync(input);
+  }
+
   @Override
   public <R> WorkflowUpdateWithStartOutput<R> updateWithStart(
       WorkflowUpdateWithStartInput<R> input) {
@@ -48,11 +65,22 @@ public class WorkflowClientCallsInterceptorBase implements WorkflowClientCallsIn
     return next.query(input);
   }
 
+  @Override
+  public <R> CompletableFuture<QueryOutput<R>> queryAsync(QueryInput<R> input) {
+    return next.queryAsync(input);
+  }
+
   @Override
   public <R> WorkflowUpdateHandle<R> startUpdate(StartUpdateInput<R> input) {
     return next.startUpdate(input);
   }
 
+  @Override
+  public <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(
+      StartUpdateInput<R> input) {
+    return next.startUpdateAsync(input);
+  }
+
   @Override
   public <R> PollWorkflowUpdateOutput<R> pollWorkflowUpdate(PollWorkflowUpdateInput<R> input) {
     return next.pollWorkflowUpdate(input);
@@ -68,11 +96,21 @@ public class WorkflowClientCallsInterceptorBase implements WorkflowClientCallsIn
     return next.terminate(input);
   }
 
+  @Override
+  public CompletableFuture<TerminateOutput> terminateAsync(TerminateInput input) {
+    return next.terminateAsync(input);
+  }
+
   @Override
   public DescribeWorkflowOutput describe(DescribeWorkflowInput input) {
     return next.describe(input);
   }
 
+  @Override
+  public CompletableFuture<DescribeWorkflowOutput> describeAsync(DescribeWorkflowInput input) {
+    return next.describeAsync(input);
+  }
+
   @Override
   public ListWorkflowExecutionsOutput listWorkflowExecutions(ListWorkflowExecutionsInput input) {
     return next.listWorkflowExecutions(input);
@@ -17,6 +17,7 @@ import io.temporal.common.interceptors.ActivityInboundCallsInterceptor.ActivityO
 import io.temporal.common.interceptors.Header;
 import io.temporal.common.interceptors.WorkerInterceptor;
 import io.temporal.internal.common.FailureUtils;
+import io.temporal.internal.common.MethodInvoker;
 import io.temporal.internal.worker.ActivityTaskHandler;
 import io.temporal.payload.context.ActivitySerializationContext;
 import io.temporal.serviceclient.CheckedExceptionWrapper;
@@ -180,6 +181,7 @@ final class ActivityTaskExecutors {
 
   static class POJOActivityImplementation extends BaseActivityTaskExecutor {
     private final Method method;
+    private final MethodInvoker invoker;
     private final Object activity;
 
     POJOActivityImplementation(
@@ -191,13 +193,14 @@ final class ActivityTaskExecutors {
         ActivityExecutionContextFactory executionContextFactory) {
       super(dataConverter, contextPropagators, interceptors, executionContextFactory);
       this.method = interfaceMethod;
+      this.invoker = MethodInvoker.of(interfaceMethod);
       this.activity = activity;
     }
 
     @Override
     ActivityInboundCallsInterceptor createRootInboundInterceptor() {
       return new RootActivityInboundCallsInterceptor.POJOActivityInboundCallsInterceptor(
-          activity, method);
+          activity, invoker);
     }
 
     @Override
@@ -3,7 +3,6 @@ package io.temporal.internal.activity;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableSet;
 import com.uber.m3.tally.Scope;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.activity.DynamicActivity;
 import io.temporal.api.failure.v1.Failure;
 import io.temporal.api.workflowservice.v1.PollActivityTaskQueueResponseOrBuilder;
@@ -188,8 +187,7 @@ public final class ActivityTaskHandlerImpl implements ActivityTaskHandler {
           activityId, null, null, RespondActivityTaskCanceledRequest.newBuilder().build(), false);
     }
     Scope ms =
-        metricsScope.tagged(
-            ImmutableMap.of(MetricsTag.EXCEPTION, exception.getClass().getSimpleName()));
+        MetricsTag.tagged(metricsScope, MetricsTag.EXCEPTION, exception.getClass().getSimpleName());
     if (!FailureUtils.isBenignApplicationFailure(exception)) {
       if (isLocalActivity) {
         ms.counter(MetricsType.LOCAL_ACTIVITY_EXEC_FAILED_COUNTER).inc(1);
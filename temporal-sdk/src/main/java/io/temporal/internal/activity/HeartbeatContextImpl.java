@@ -1,5 +1,9 @@
 package io.temporal.internal.activity;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.uber.m3.tally.Scope;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
@@ -15,11 +19,14 @@ import io.temporal.serviceclient.WorkflowServiceStubs;
 import java.lang.reflect.Type;
 import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +35,7 @@ import org.slf4j.LoggerFactory;
 class HeartbeatContextImpl implements HeartbeatContext {
   private static final Logger log = LoggerFactory.getLogger(HeartbeatContextImpl.class);
   private static final long HEARTBEAT_RETRY_WAIT_MILLIS = 1000;
+  private static final double HEARTBEAT_JITTER_RATIO = 0.1;
 
   private final Lock lock = new ReentrantLock();
 
@@ -46,7 +54,12 @@ class HeartbeatContextImpl implements HeartbeatContext {
   // turned into true on a reception of the first heartbeat
   private boolean receivedAHeartbeat = false;
   private Object lastDetails;
+  // lastDetails converted on the activity thread, the scheduled sends don't run user converters
+  private Optional<Payloads> lastPayloads;
   private boolean hasOutstandingHeartbeat;
+  private boolean heartbeatInFlight;
+  // set when the activity is done, so that a response still in flight doesn't schedule more
+  private boolean heartbeatsCancelled;
   private ScheduledFuture<?> scheduledHeartbeat;
 
   private ActivityCompletionException lastException;
@@ -97,11 +110,23 @@ class HeartbeatContextImpl implements HeartbeatContext {
     try {
       receivedAHeartbeat = true;
       lastDetails = details;
-      hasOutstandingHeartbeat = true;
-      // Only do sync heartbeat if there is no such call scheduled.
-      if (scheduledHeartbeat == null) {
-        doHeartBeatLocked(details);
+      Optional<Payloads> payloads = null;
+      try {
+        payloads = dataConverterWithActivityContext.toPayloads(details);
+      } catch (Exception e) {
+        log.error("Unexpected exception", e);
       }
+      if (payloads != null) {
+        lastPayloads = payloads;
+        hasOutstandingHeartbeat = true;
+        heartbeatsCancelled = false;
+        // Only send a heartbeat if there is no such call in flight or scheduled. Otherwise the
+        // latest details are sent when the throttle interval expires.
+        if (scheduledHeartbeat == null && !heartbeatInFlight) {
+          sendHeartbeatLocked(payloads);
+        }
+      }
+      // Reports the outcome of the last completed heartbeat call
       if (lastException != null) {
         throw lastException;
       }
@@ -168,80 +193,126 @@ class HeartbeatContextImpl implements HeartbeatContext {
         scheduledHeartbeat = null;
       }
       hasOutstandingHeartbeat = false;
+      heartbeatsCancelled = true;
     } finally {
       lock.unlock();
     }
   }
 
-  private void doHeartBeatLocked(Object details) {
-    long nextHeartbeatDelay;
+  /**
+   * Sends the heartbeat without waiting for the response. The response or failure is handled by
+   * {@link #onHeartbeatResponse}, which also schedules the end of the throttle interval. Doesn't
+   * call the data converter, so it's safe to call from the thread of the heartbeat scheduler.
+   */
+  private void sendHeartbeatLocked(Optional<Payloads> payloads) {
+    hasOutstandingHeartbeat = false;
+    heartbeatInFlight = true;
+    ListenableFuture<RecordActivityTaskHeartbeatResponse> response;
     try {
-      sendHeartbeatRequest(details);
-      hasOutstandingHeartbeat = false;
-      nextHeartbeatDelay = heartbeatIntervalMillis;
-    } catch (StatusRuntimeException e) {
-      // Not rethrowing to not fail activity implementation on intermittent connection or Temporal
-      // errors.
-      log.warn("Heartbeat failed", e);
-      nextHeartbeatDelay = HEARTBEAT_RETRY_WAIT_MILLIS;
+      response =
+          ActivityClientHelper.sendHeartbeatRequestAsync(
+              service, namespace, identity, info.getTaskToken(), payloads, metricsScope);
     } catch (Exception e) {
-      log.error("Unexpected exception", e);
-      nextHeartbeatDelay = HEARTBEAT_RETRY_WAIT_MILLIS;
+      onHeartbeatFailureLocked(e);
+      return;
     }
+    Futures.addCallback(
+        response,
+        new FutureCallback<RecordActivityTaskHeartbeatResponse>() {
+          @Override
+          public void onSuccess(RecordActivityTaskHeartbeatResponse result) {
+            onHeartbeatResponse(result, null);
+          }
 
-    scheduleNextHeartbeatLocked(nextHeartbeatDelay);
+          @Override
+          public void onFailure(Throwable t) {
+            onHeartbeatResponse(null, t);
+          }
+        },
+        MoreExecutors.directExecutor());
   }
 
-  private void scheduleNextHeartbeatLocked(long delay) {
-    scheduledHeartbeat =
-        heartbeatExecutor.schedule(
-            () -> {
-              lock.lock();
-              try {
-                if (hasOutstandingHeartbeat) {
-                  doHeartBeatLocked(lastDetails);
-                } else {
-                  // if no new heartbeats have been submitted in the previous time interval, we
-                  // don't need to throttle
-                  // and the next heartbeat should go immediately without following a schedule.
-                  scheduledHeartbeat = null;
-                }
-              } finally {
-                lock.unlock();
-              }
-            },
-            delay,
-            TimeUnit.MILLISECONDS);
-  }
-
-  private void sendHeartbeatRequest(Object details) {
+  private void onHeartbeatResponse(
+      @Nullable RecordActivityTaskHeartbeatResponse response, @Nullable Throwable failure) {
+    lock.lock();
     try {
-      RecordActivityTaskHeartbeatResponse status =
-          ActivityClientHelper.sendHeartbeatRequest(
-              service,
-              namespace,
-              identity,
-              info.getTaskToken(),
-              dataConverterWithActivityContext.toPayloads(details),
-              metricsScope);
-      if (status.getCancelRequested()) {
-        lastException = new ActivityCanceledException(info);
-      } else if (status.getActivityReset()) {
-        lastException = new ActivityResetException(info);
-      } else if (status.getActivityPaused()) {
-        lastException = new ActivityPausedException(info);
+      heartbeatInFlight = false;
+      if (response != null) {
+        if (response.getCancelRequested()) {
+          lastException = new ActivityCanceledException(info);
+        } else if (response.getActivityReset()) {
+          lastException = new ActivityResetException(info);
+        } else if (response.getActivityPaused()) {
+          lastException = new ActivityPausedException(info);
+        } else {
+          lastException = null;
+        }
+        scheduleNextHeartbeatLocked(heartbeatIntervalMillis);
       } else {
-        lastException = null;
+        onHeartbeatFailureLocked(failure);
       }
-    } catch (StatusRuntimeException e) {
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void onHeartbeatFailureLocked(Throwable failure) {
+    heartbeatInFlight = false;
+    if (failure instanceof StatusRuntimeException) {
+      StatusRuntimeException e = (StatusRuntimeException) failure;
       if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
         lastException = new ActivityNotExistsException(info, e);
+        scheduleNextHeartbeatLocked(heartbeatIntervalMillis);
+        return;
       } else if (e.getStatus().getCode() == Status.Code.INVALID_ARGUMENT
           || e.getStatus().getCode() == Status.Code.FAILED_PRECONDITION) {
         lastException = new ActivityCompletionFailureException(info, e);
-      } else {
-        throw e;
+        scheduleNextHeartbeatLocked(heartbeatIntervalMillis);
+        return;
       }
+      // Not rethrowing to not fail activity implementation on intermittent connection or Temporal
+      // errors.
+      log.warn("Heartbeat failed", e);
+    } else {
+      log.error("Unexpected exception", failure);
+    }
+    // the details of the failed call are retried unless newer ones were submitted meanwhile
+    hasOutstandingHeartbeat = !heartbeatsCancelled;
+    scheduleNextHeartbeatLocked(HEARTBEAT_RETRY_WAIT_MILLIS);
+  }
+
+  /**
+   * Schedules the end of the current throttle interval. The delay is shortened by a random jitter
+   * to spread heartbeats of activities started at the same time instead of sending them in bursts.
+   */
+  private void scheduleNextHeartbeatLocked(long delay) {
+    if (heartbeatsCancelled) {
+      return;
+    }
+    long jitter =
+        (long) (delay * HEARTBEAT_JITTER_RATIO * ThreadLocalRandom.current().nextDouble());
+    try {
+      scheduledHeartbeat =
+          heartbeatExecutor.schedule(
+              () -> {
+                lock.lock();
+                try {
+                  scheduledHeartbeat = null;
+                  // if no new heartbeats have been submitted in the previous time interval, we
+                  // don't need to throttle and the next heartbeat should go immediately without
+                  // following a schedule.
+                  if (hasOutstandingHeartbeat) {
+                    sendHeartbeatLocked(lastPayloads);
+                  }
+                } finally {
+                  lock.unlock();
+                }
+              },
+              delay - jitter,
+              TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // the worker is shutting down, heartbeat() reports it to the activity
+      scheduledHeartbeat = null;
     }
   }
 
@@ -5,8 +5,8 @@ import io.temporal.activity.ActivityExecutionContext;
 import io.temporal.activity.DynamicActivity;
 import io.temporal.common.converter.EncodedValues;
 import io.temporal.common.interceptors.ActivityInboundCallsInterceptor;
+import io.temporal.internal.common.MethodInvoker;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 
 abstract class RootActivityInboundCallsInterceptor implements ActivityInboundCallsInterceptor {
   private ActivityExecutionContext context;
@@ -31,9 +31,9 @@ abstract class RootActivityInboundCallsInterceptor implements ActivityInboundCal
 
   static class POJOActivityInboundCallsInterceptor extends RootActivityInboundCallsInterceptor {
     private final Object activity;
-    private final Method method;
+    private final MethodInvoker method;
 
-    POJOActivityInboundCallsInterceptor(Object activity, Method method) {
+    POJOActivityInboundCallsInterceptor(Object activity, MethodInvoker method) {
       this.activity = activity;
       this.method = method;
     }
@@ -3,6 +3,7 @@ package io.temporal.internal.client;
 import static io.temporal.serviceclient.MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY;
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.protobuf.ByteString;
 import com.uber.m3.tally.Scope;
 import io.temporal.activity.ManualActivityCompletionClient;
@@ -31,16 +32,38 @@ public final class ActivityClientHelper {
       byte[] taskToken,
       Optional<Payloads> payloads,
       Scope metricsScope) {
+    return service
+        .blockingStub()
+        .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
+        .recordActivityTaskHeartbeat(newHeartbeatRequest(namespace, identity, taskToken, payloads));
+  }
+
+  /**
+   * Same as {@link #sendHeartbeatRequest(WorkflowServiceStubs, String, String, byte[], Optional,
+   * Scope)}, but doesn't block the calling thread.
+   */
+  public static ListenableFuture<RecordActivityTaskHeartbeatResponse> sendHeartbeatRequestAsync(
+      WorkflowServiceStubs service,
+      String namespace,
+      String identity,
+      byte[] taskToken,
+      Optional<Payloads> payloads,
+      Scope metricsScope) {
+    return service
+        .futureStub()
+        .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
+        .recordActivityTaskHeartbeat(newHeartbeatRequest(namespace, identity, taskToken, payloads));
+  }
+
+  private static RecordActivityTaskHeartbeatRequest newHeartbeatRequest(
+      String namespace, String identity, byte[] taskToken, Optional<Payloads> payloads) {
     RecordActivityTaskHeartbeatRequest.Builder request =
         RecordActivityTaskHeartbeatRequest.newBuilder()
             .setTaskToken(ByteString.copyFrom(taskToken))
             .setNamespace(namespace)
             .setIdentity(identity);
     payloads.ifPresent(request::setDetails);
-    return service
-        .blockingStub()
-        .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-        .recordActivityTaskHeartbeat(request.build());
+    return request.build();
   }
 
   public static RecordActivityTaskHeartbeatByIdResponse recordActivityTaskHeartbeatById(
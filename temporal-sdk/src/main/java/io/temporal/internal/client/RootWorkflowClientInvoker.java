@@ -31,6 +31,7 @@ import io.temporal.worker.WorkflowTaskDispatchHandle;
 import java.lang.reflect.Type;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.StreamSupport;
@@ -46,6 +47,7 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
   private final WorkflowClientOptions clientOptions;
   private final EagerWorkflowTaskDispatcher eagerWorkflowTaskDispatcher;
   private final WorkflowClientRequestFactory requestsHelper;
+  private final @Nullable WorkflowResultLongPollMultiplexer resultLongPollMultiplexer;
 
   public RootWorkflowClientInvoker(
       GenericWorkflowClient genericClient,
@@ -55,6 +57,11 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
     this.clientOptions = clientOptions;
     this.eagerWorkflowTaskDispatcher = new EagerWorkflowTaskDispatcher(workerFactoryRegistry);
     this.requestsHelper = new WorkflowClientRequestFactory(clientOptions);
+    this.resultLongPollMultiplexer =
+        clientOptions.getMaxConcurrentResultPolls() > 0
+            ? new WorkflowResultLongPollMultiplexer(
+                genericClient, requestsHelper, clientOptions.getMaxConcurrentResultPolls())
+            : null;
   }
 
   @Override
@@ -109,8 +116,44 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
     }
   }
 
+  @Override
+  public CompletableFuture<WorkflowStartOutput> startAsync(WorkflowStartInput input) {
+    DataConverter dataConverterWithWorkflowContext =
+        clientOptions
+            .getDataConverter()
+            .withContext(
+                new WorkflowSerializationContext(
+                    clientOptions.getNamespace(), input.getWorkflowId()));
+
+    // Eager execution is not requested, a local workflow task slot can't be reserved for the
+    // duration of a call that doesn't block.
+    StartWorkflowExecutionRequest startRequest =
+        toStartRequest(dataConverterWithWorkflowContext, input).build();
+    return genericClient
+        .startAsync(startRequest)
+        .thenApply(
+            response ->
+                new WorkflowStartOutput(
+                    WorkflowExecution.newBuilder()
+                        .setRunId(response.getRunId())
+                        .setWorkflowId(startRequest.getWorkflowId())
+                        .build()));
+  }
+
   @Override
   public WorkflowSignalOutput signal(WorkflowSignalInput input) {
+    genericClient.signal(toSignalRequest(input));
+    return new WorkflowSignalOutput();
+  }
+
+  @Override
+  public CompletableFuture<WorkflowSignalOutput> signalAsync(WorkflowSignalInput input) {
+    return genericClient
+        .signalAsync(toSignalRequest(input))
+        .thenApply(r -> new WorkflowSignalOutput());
+  }
+
+  private SignalWorkflowExecutionRequest toSignalRequest(WorkflowSignalInput input) {
     SignalWorkflowExecutionRequest.Builder request =
         SignalWorkflowExecutionRequest.newBuilder()
             .setSignalName(input.getSignalName())
@@ -129,12 +172,27 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
 
     Optional<Payloads> inputArgs = dataConverterWitSignalContext.toPayloads(input.getArguments());
     inputArgs.ifPresent(request::setInput);
-    genericClient.signal(request.build());
-    return new WorkflowSignalOutput();
+    return request.build();
   }
 
   @Override
   public WorkflowSignalWithStartOutput signalWithStart(WorkflowSignalWithStartInput input) {
+    SignalWithStartWorkflowExecutionRequest request = toSignalWithStartRequest(input);
+    SignalWithStartWorkflowExecutionResponse response = genericClient.signalWithStart(request);
+    return toSignalWithStartOutput(request, response);
+  }
+
+  @Override
+  public CompletableFuture<WorkflowSignalWithStartOutput> signalWithStartAsync(
+      WorkflowSignalWithStartInput input) {
+    SignalWithStartWorkflowExecutionRequest request = toSignalWithStartRequest(input);
+    return genericClient
+        .signalWithStartAsync(request)
+        .thenApply(response -> toSignalWithStartOutput(request, response));
+  }
+
+  private SignalWithStartWorkflowExecutionRequest toSignalWithStartRequest(
+      WorkflowSignalWithStartInput input) {
     WorkflowStartInput workflowStartInput = input.getWorkflowStartInput();
 
     DataConverter dataConverterWithWorkflowContext =
@@ -148,12 +206,15 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
 
     Optional<Payloads> signalInput =
         dataConverterWithWorkflowContext.toPayloads(input.getSignalArguments());
-    SignalWithStartWorkflowExecutionRequest request =
-        requestsHelper
-            .newSignalWithStartWorkflowExecutionRequest(
-                startRequest, input.getSignalName(), signalInput.orElse(null))
-            .build();
-    SignalWithStartWorkflowExecutionResponse response = genericClient.signalWithStart(request);
+    return requestsHelper
+        .newSignalWithStartWorkflowExecutionRequest(
+            startRequest, input.getSignalName(), signalInput.orElse(null))
+        .build();
+  }
+
+  private static WorkflowSignalWithStartOutput toSignalWithStartOutput(
+      SignalWithStartWorkflowExecutionRequest request,
+      SignalWithStartWorkflowExecutionResponse response) {
     WorkflowExecution execution =
         WorkflowExecution.newBuilder()
             .setRunId(response.getRunId())
@@ -326,15 +387,27 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
             .withContext(
                 new WorkflowSerializationContext(
                     clientOptions.getNamespace(), input.getWorkflowExecution().getWorkflowId()));
-    Optional<Payloads> resultValue =
-        WorkflowClientLongPollHelper.getWorkflowExecutionResult(
-            genericClient,
-            requestsHelper,
-            input.getWorkflowExecution(),
-            input.getWorkflowType(),
-            dataConverterWithWorkflowContext,
-            input.getTimeout(),
-            input.getTimeoutUnit());
+    Optional<Payloads> resultValue;
+    if (resultLongPollMultiplexer != null) {
+      resultValue =
+          WorkflowClientLongPollHelper.getWorkflowExecutionResult(
+              resultLongPollMultiplexer,
+              input.getWorkflowExecution(),
+              input.getWorkflowType(),
+              dataConverterWithWorkflowContext,
+              input.getTimeout(),
+              input.getTimeoutUnit());
+    } else {
+      resultValue =
+          WorkflowClientLongPollHelper.getWorkflowExecutionResult(
+              genericClient,
+              requestsHelper,
+              input.getWorkflowExecution(),
+              input.getWorkflowType(),
+              dataConverterWithWorkflowContext,
+              input.getTimeout(),
+              input.getTimeoutUnit());
+    }
     return new GetResultOutput<>(
         convertResultPayloads(
             resultValue,
@@ -352,14 +425,22 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
                 new WorkflowSerializationContext(
                     clientOptions.getNamespace(), input.getWorkflowExecution().getWorkflowId()));
     CompletableFuture<Optional<Payloads>> resultValue =
-        WorkflowClientLongPollAsyncHelper.getWorkflowExecutionResultAsync(
-            genericClient,
-            requestsHelper,
-            input.getWorkflowExecution(),
-            input.getWorkflowType(),
-            input.getTimeout(),
-            input.getTimeoutUnit(),
-            dataConverterWithWorkflowContext);
+        resultLongPollMultiplexer != null
+            ? WorkflowClientLongPollAsyncHelper.getWorkflowExecutionResultAsync(
+                resultLongPollMultiplexer,
+                input.getWorkflowExecution(),
+                input.getWorkflowType(),
+                input.getTimeout(),
+                input.getTimeoutUnit(),
+                dataConverterWithWorkflowContext)
+            : WorkflowClientLongPollAsyncHelper.getWorkflowExecutionResultAsync(
+                genericClient,
+                requestsHelper,
+                input.getWorkflowExecution(),
+                input.getWorkflowType(),
+                input.getTimeout(),
+                input.getTimeoutUnit(),
+                dataConverterWithWorkflowContext);
     return new GetResultAsyncOutput<>(
         resultValue.thenApply(
             payloads ->
@@ -372,34 +453,54 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
 
   @Override
   public <R> QueryOutput<R> query(QueryInput<R> input) {
-    WorkflowQuery.Builder query =
-        WorkflowQuery.newBuilder()
-            .setQueryType(input.getQueryType())
-            .setHeader(HeaderUtils.toHeaderGrpc(input.getHeader(), null));
     DataConverter dataConverterWithWorkflowContext =
         clientOptions
             .getDataConverter()
             .withContext(
                 new WorkflowSerializationContext(
                     clientOptions.getNamespace(), input.getWorkflowExecution().getWorkflowId()));
+    QueryWorkflowResponse result =
+        genericClient.query(toQueryRequest(input, dataConverterWithWorkflowContext));
+    return toQueryOutput(input, result, dataConverterWithWorkflowContext);
+  }
 
+  @Override
+  public <R> CompletableFuture<QueryOutput<R>> queryAsync(QueryInput<R> input) {
+    DataConverter dataConverterWithWorkflowContext =
+        clientOptions
+            .getDataConverter()
+            .withContext(
+                new WorkflowSerializationContext(
+                    clientOptions.getNamespace(), input.getWorkflowExecution().getWorkflowId()));
+    return genericClient
+        .queryAsync(toQueryRequest(input, dataConverterWithWorkflowContext))
+        .thenApply(result -> toQueryOutput(input, result, dataConverterWithWorkflowContext));
+  }
+
+  private <R> QueryWorkflowRequest toQueryRequest(
+      QueryInput<R> input, DataConverter dataConverterWithWorkflowContext) {
+    WorkflowQuery.Builder query =
+        WorkflowQuery.newBuilder()
+            .setQueryType(input.getQueryType())
+            .setHeader(HeaderUtils.toHeaderGrpc(input.getHeader(), null));
     Optional<Payloads> inputArgs =
         dataConverterWithWorkflowContext.toPayloads(input.getArguments());
     inputArgs.ifPresent(query::setQueryArgs);
-    QueryWorkflowRequest request =
-        QueryWorkflowRequest.newBuilder()
-            .setNamespace(clientOptions.getNamespace())
-            .setExecution(
-                WorkflowExecution.newBuilder()
-                    .setWorkflowId(input.getWorkflowExecution().getWorkflowId())
-                    .setRunId(input.getWorkflowExecution().getRunId()))
-            .setQuery(query)
-            .setQueryRejectCondition(clientOptions.getQueryRejectCondition())
-            .build();
-
-    QueryWorkflowResponse result;
-    result = genericClient.query(request);
+    return QueryWorkflowRequest.newBuilder()
+        .setNamespace(clientOptions.getNamespace())
+        .setExecution(
+            WorkflowExecution.newBuilder()
+                .setWorkflowId(input.getWorkflowExecution().getWorkflowId())
+                .setRunId(input.getWorkflowExecution().getRunId()))
+        .setQuery(query)
+        .setQueryRejectCondition(clientOptions.getQueryRejectCondition())
+        .build();
+  }
 
+  private static <R> QueryOutput<R> toQueryOutput(
+      QueryInput<R> input,
+      QueryWorkflowResponse result,
+      DataConverter dataConverterWithWorkflowContext) {
     boolean queryRejected = result.hasQueryRejected();
     WorkflowExecutionStatus rejectStatus =
         queryRejected ? result.getQueryRejected().getStatus() : null;
@@ -446,6 +547,61 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
     return toUpdateHandle(input, result, dataConverterWithWorkflowContext);
   }
 
+  @Override
+  public <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(
+      StartUpdateInput<R> input) {
+    DataConverter dataConverterWithWorkflowContext =
+        clientOptions
+            .getDataConverter()
+            .withContext(
+                new WorkflowSerializationContext(
+                    clientOptions.getNamespace(), input.getWorkflowExecution().getWorkflowId()));
+
+    UpdateWorkflowExecutionRequest updateRequest =
+        toUpdateWorkflowExecutionRequest(input, dataConverterWithWorkflowContext);
+    CompletableFuture<UpdateWorkflowExecutionResponse> resultCF = new CompletableFuture<>();
+    startUpdateAsyncHelper(resultCF, input, updateRequest);
+    return resultCF.thenApply(
+        result -> toUpdateHandle(input, result, dataConverterWithWorkflowContext));
+  }
+
+  /**
+   * Re-attempts the update until it is at least accepted, or passes the lifecycle stage specified
+   * by the user, the same way {@link #startUpdate} does.
+   */
+  private <R> void startUpdateAsyncHelper(
+      CompletableFuture<UpdateWorkflowExecutionResponse> resultCF,
+      StartUpdateInput<R> input,
+      UpdateWorkflowExecutionRequest updateRequest) {
+    Deadline pollTimeoutDeadline = Deadline.after(POLL_UPDATE_TIMEOUT_S, TimeUnit.SECONDS);
+    genericClient
+        .updateAsync(updateRequest, pollTimeoutDeadline)
+        .whenComplete(
+            (r, e) -> {
+              if (e instanceof CompletionException) {
+                e = e.getCause();
+              }
+              if (e instanceof StatusRuntimeException
+                  && (((StatusRuntimeException) e).getStatus().getCode()
+                          == Status.Code.DEADLINE_EXCEEDED
+                      || ((StatusRuntimeException) e).getStatus().getCode()
+                          == Status.Code.CANCELLED)) {
+                resultCF.completeExceptionally(
+                    new WorkflowUpdateTimeoutOrCancelledException(
+                        input.getWorkflowExecution(),
+                        input.getUpdateName(),
+                        input.getUpdateId(),
+                        e));
+              } else if (e != null) {
+                resultCF.completeExceptionally(e);
+              } else if (updateNotYetDurable(input, r)) {
+                startUpdateAsyncHelper(resultCF, input, updateRequest);
+              } else {
+                resultCF.complete(r);
+              }
+            });
+  }
+
   private <R> boolean updateNotYetDurable(
       StartUpdateInput<R> input, UpdateWorkflowExecutionResponse result) {
     return result.getStage().getNumber() < input.getWaitPolicy().getLifecycleStage().getNumber()
@@ -654,6 +810,18 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
 
   @Override
   public TerminateOutput terminate(TerminateInput input) {
+    genericClient.terminate(toTerminateRequest(input));
+    return new TerminateOutput();
+  }
+
+  @Override
+  public CompletableFuture<TerminateOutput> terminateAsync(TerminateInput input) {
+    return genericClient
+        .terminateAsync(toTerminateRequest(input))
+        .thenApply(r -> new TerminateOutput());
+  }
+
+  private TerminateWorkflowExecutionRequest toTerminateRequest(TerminateInput input) {
     TerminateWorkflowExecutionRequest.Builder request =
         TerminateWorkflowExecutionRequest.newBuilder()
             .setNamespace(clientOptions.getNamespace())
@@ -673,19 +841,32 @@ public class RootWorkflowClientInvoker implements WorkflowClientCallsInterceptor
                     clientOptions.getNamespace(), input.getWorkflowExecution().getWorkflowId()));
     Optional<Payloads> payloads = dataConverterWithWorkflowContext.toPayloads(input.getDetails());
     payloads.ifPresent(request::setDetails);
-    genericClient.terminate(request.build());
-    return new TerminateOutput();
+    return request.build();
   }
 
   @Override
   public DescribeWorkflowOutput describe(DescribeWorkflowInput input) {
     DescribeWorkflowExecutionResponse response =
-        genericClient.describeWorkflowExecution(
-            DescribeWorkflowExecutionRequest.newBuilder()
-                .setNamespace(clientOptions.getNamespace())
-                .setExecution(input.getWorkflowExecution())
-                .build());
+        genericClient.describeWorkflowExecution(toDescribeRequest(input));
+    return toDescribeOutput(input, response);
+  }
+
+  @Override
+  public CompletableFuture<DescribeWorkflowOutput> describeAsync(DescribeWorkflowInput input) {
+    return genericClient
+        .describeWorkflowExecutionAsync(toDescribeRequest(input))
+        .thenApply(response -> toDescribeOutput(input, response));
+  }
+
+  private DescribeWorkflowExecutionRequest toDescribeRequest(DescribeWorkflowInput input) {
+    return DescribeWorkflowExecutionRequest.newBuilder()
+        .setNamespace(clientOptions.getNamespace())
+        .setExecution(input.getWorkflowExecution())
+        .build();
+  }
 
+  private DescribeWorkflowOutput toDescribeOutput(
+      DescribeWorkflowInput input, DescribeWorkflowExecutionResponse response) {
     DataConverter dataConverterWithWorkflowContext =
         clientOptions
             .getDataConverter()
@@ -49,6 +49,25 @@ final class WorkflowClientLongPollAsyncHelper {
             });
   }
 
+  /**
+   * Waits for the result through {@code multiplexer} instead of a dedicated long poll.
+   *
+   * @see WorkflowResultLongPollMultiplexer
+   */
+  static CompletableFuture<Optional<Payloads>> getWorkflowExecutionResultAsync(
+      WorkflowResultLongPollMultiplexer multiplexer,
+      @Nonnull WorkflowExecution workflowExecution,
+      Optional<String> workflowType,
+      long timeout,
+      TimeUnit unit,
+      DataConverter converter) {
+    return multiplexer
+        .getInstanceCloseEventAsync(workflowExecution, timeout, unit)
+        .thenApply(
+            closeEvent ->
+                getResultFromCloseEvent(workflowExecution, workflowType, closeEvent, converter));
+  }
+
   private static CompletionException handleException(
       Throwable e,
       Deadline longPollTimeoutDeadline,
@@ -16,6 +16,8 @@ import io.temporal.failure.CanceledFailure;
 import io.temporal.internal.client.external.GenericWorkflowClient;
 import io.temporal.internal.common.WorkflowExecutionUtils;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import javax.annotation.Nonnull;
@@ -51,6 +53,40 @@ final class WorkflowClientLongPollHelper {
         workflowExecution, workflowType, closeEvent, converter);
   }
 
+  /**
+   * Waits for the result through {@code multiplexer} instead of a dedicated long poll.
+   *
+   * @see #getWorkflowExecutionResult(GenericWorkflowClient, WorkflowClientRequestFactory,
+   *     WorkflowExecution, Optional, DataConverter, long, TimeUnit)
+   */
+  static Optional<Payloads> getWorkflowExecutionResult(
+      WorkflowResultLongPollMultiplexer multiplexer,
+      @Nonnull WorkflowExecution workflowExecution,
+      Optional<String> workflowType,
+      DataConverter converter,
+      long timeout,
+      TimeUnit unit)
+      throws TimeoutException {
+    CompletableFuture<HistoryEvent> closeEvent =
+        multiplexer.getInstanceCloseEventAsync(workflowExecution, timeout, unit);
+    try {
+      return WorkflowExecutionUtils.getResultFromCloseEvent(
+          workflowExecution, workflowType, closeEvent.get(), converter);
+    } catch (InterruptedException e) {
+      closeEvent.cancel(false);
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof TimeoutException) {
+        throw (TimeoutException) cause;
+      }
+      throw (cause instanceof RuntimeException
+          ? (RuntimeException) cause
+          : new RuntimeException(cause));
+    }
+  }
+
   /**
    * @param timeout timeout to retrieve InstanceCloseEvent in {@code unit} units. If 0 - MAX_INTEGER
    *     will be used
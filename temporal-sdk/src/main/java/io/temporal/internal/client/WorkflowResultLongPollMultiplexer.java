@@ -0,0 +1,266 @@
+package io.temporal.internal.client;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ByteString;
+import com.uber.m3.tally.NoopScope;
+import io.grpc.Deadline;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.enums.v1.EventType;
+import io.temporal.api.history.v1.History;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
+import io.temporal.internal.client.external.GenericWorkflowClient;
+import io.temporal.internal.common.WorkflowExecutionUtils;
+import io.temporal.internal.worker.TimingWheelScheduler;
+import java.util.*;
+import java.util.concurrent.*;
+import javax.annotation.Nonnull;
+
+/**
+ * Waits for close events of workflow executions for {@link RootWorkflowClientInvoker} when {@link
+ * io.temporal.client.WorkflowClientOptions#getMaxConcurrentResultPolls()} is set. Unlike {@link
+ * WorkflowClientLongPollAsyncHelper}, that keeps a long poll open for each waiting call:
+ *
+ * <ul>
+ *   <li>Concurrent waits on the same execution share one long poll.
+ *   <li>At most {@code maxConcurrentPolls} long polls are in flight. Executions that are waiting
+ *       for a poll are queued, and an execution that got an empty long poll response goes to the
+ *       back of the queue, so all the waiting executions are polled in a round-robin order.
+ *   <li>Waiters are {@link CompletableFuture}s that are completed by the gRPC callbacks, and their
+ *       timeouts are tracked by a timing wheel, there is no blocked thread per waiter.
+ * </ul>
+ */
+final class WorkflowResultLongPollMultiplexer {
+  private static final ScheduledExecutorService timeoutScheduler =
+      new TimingWheelScheduler(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("workflow-result-poll-timeouts-%d")
+              .build(),
+          new NoopScope());
+
+  private final GenericWorkflowClient genericClient;
+  private final WorkflowClientRequestFactory requestFactory;
+  private final int maxConcurrentPolls;
+
+  private final Object lock = new Object();
+  // guarded by lock
+  private final Map<WorkflowExecution, PolledExecution> executions = new HashMap<>();
+  private final ArrayDeque<PolledExecution> pollQueue = new ArrayDeque<>();
+  private int inFlightPolls;
+
+  WorkflowResultLongPollMultiplexer(
+      GenericWorkflowClient genericClient,
+      WorkflowClientRequestFactory requestFactory,
+      int maxConcurrentPolls) {
+    this.genericClient = genericClient;
+    this.requestFactory = requestFactory;
+    this.maxConcurrentPolls = maxConcurrentPolls;
+  }
+
+  /**
+   * @return future of the closing event of {@code workflowExecution} or of its continue-as-new
+   *     executions. The future fails with {@link TimeoutException} if the workflow doesn't
+   *     complete in {@code timeout}. Cancelling the future stops waiting.
+   */
+  CompletableFuture<HistoryEvent> getInstanceCloseEventAsync(
+      @Nonnull WorkflowExecution workflowExecution, long timeout, TimeUnit unit) {
+    Waiter waiter = new Waiter(workflowExecution, timeout, unit);
+    PolledExecution execution;
+    synchronized (lock) {
+      execution = executions.get(workflowExecution);
+      if (execution == null) {
+        execution = new PolledExecution(workflowExecution);
+        executions.put(workflowExecution, execution);
+        pollQueue.add(execution);
+      }
+      execution.waiters.add(waiter);
+    }
+    PolledExecution polledExecution = execution;
+    ScheduledFuture<?> timeoutFuture =
+        timeoutScheduler.schedule(
+            waiter::timeOut,
+            waiter.deadline.timeRemaining(TimeUnit.NANOSECONDS),
+            TimeUnit.NANOSECONDS);
+    waiter.future.whenComplete(
+        (r, e) -> {
+          timeoutFuture.cancel(false);
+          synchronized (lock) {
+            polledExecution.waiters.remove(waiter);
+          }
+        });
+    pollNextExecutions();
+    return waiter.future;
+  }
+
+  private void pollNextExecutions() {
+    while (true) {
+      PolledExecution execution;
+      GetWorkflowExecutionHistoryRequest request;
+      Deadline deadline;
+      synchronized (lock) {
+        if (inFlightPolls >= maxConcurrentPolls) {
+          return;
+        }
+        execution = pollQueue.poll();
+        if (execution == null) {
+          return;
+        }
+        if (execution.waiters.isEmpty()) {
+          // all the waiters timed out or were cancelled while the execution was in the queue
+          executions.remove(execution.key);
+          continue;
+        }
+        inFlightPolls++;
+        request =
+            requestFactory.newHistoryLongPollRequest(execution.pollExecution, execution.pageToken);
+        deadline = execution.getLatestDeadline();
+      }
+      CompletableFuture<GetWorkflowExecutionHistoryResponse> response;
+      try {
+        response = genericClient.longPollHistoryAsync(request, deadline);
+      } catch (RuntimeException e) {
+        response = new CompletableFuture<>();
+        response.completeExceptionally(e);
+      }
+      // callbacks are async to avoid a recursion through pollNextExecutions
+      response.whenCompleteAsync((r, e) -> onPollCompleted(execution, r, e));
+    }
+  }
+
+  private void onPollCompleted(
+      PolledExecution execution, GetWorkflowExecutionHistoryResponse response, Throwable failure) {
+    List<Waiter> toComplete = Collections.emptyList();
+    List<Waiter> timedOut = Collections.emptyList();
+    HistoryEvent closeEvent = null;
+    synchronized (lock) {
+      inFlightPolls--;
+      if (failure != null) {
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        if (cause instanceof StatusRuntimeException
+            && Status.Code.DEADLINE_EXCEEDED.equals(
+                ((StatusRuntimeException) cause).getStatus().getCode())) {
+          // The poll deadline is the deadline of the longest waiter. Don't wait for the timers of
+          // the expired waiters to fire, so the execution is not polled again just for them.
+          timedOut = new ArrayList<>();
+          for (Iterator<Waiter> i = execution.waiters.iterator(); i.hasNext(); ) {
+            Waiter waiter = i.next();
+            if (waiter.deadline.isExpired()) {
+              timedOut.add(waiter);
+              i.remove();
+            }
+          }
+        } else {
+          failure = cause;
+          toComplete = removeLocked(execution);
+        }
+      } else {
+        History history = response.getHistory();
+        if (history.getEventsCount() == 0) {
+          if (!response.getNextPageToken().isEmpty()) {
+            execution.pageToken = response.getNextPageToken();
+          }
+        } else {
+          HistoryEvent event = history.getEvents(0); // should be only one event
+          if (!WorkflowExecutionUtils.isWorkflowExecutionClosedEvent(event)) {
+            failure = new RuntimeException("Unexpected workflow execution closing event: " + event);
+            toComplete = removeLocked(execution);
+          } else if (event.getEventType()
+              == EventType.EVENT_TYPE_WORKFLOW_EXECUTION_CONTINUED_AS_NEW) {
+            // Workflow called continueAsNew. Start polling the new execution with new runId.
+            execution.pollExecution =
+                WorkflowExecution.newBuilder()
+                    .setWorkflowId(execution.pollExecution.getWorkflowId())
+                    .setRunId(
+                        event
+                            .getWorkflowExecutionContinuedAsNewEventAttributes()
+                            .getNewExecutionRunId())
+                    .build();
+            execution.pageToken = ByteString.EMPTY;
+          } else {
+            closeEvent = event;
+            toComplete = removeLocked(execution);
+          }
+        }
+      }
+      if (executions.get(execution.key) == execution) {
+        if (execution.waiters.isEmpty()) {
+          executions.remove(execution.key);
+        } else {
+          pollQueue.add(execution);
+        }
+      }
+    }
+    for (Waiter waiter : timedOut) {
+      waiter.timeOut();
+    }
+    for (Waiter waiter : toComplete) {
+      if (closeEvent != null) {
+        waiter.future.complete(closeEvent);
+      } else {
+        waiter.future.completeExceptionally(failure);
+      }
+    }
+    pollNextExecutions();
+  }
+
+  private List<Waiter> removeLocked(PolledExecution execution) {
+    executions.remove(execution.key);
+    List<Waiter> waiters = new ArrayList<>(execution.waiters);
+    execution.waiters.clear();
+    return waiters;
+  }
+
+  private static final class PolledExecution {
+    /** execution the waiters asked for */
+    private final WorkflowExecution key;
+
+    // guarded by lock
+    private final Set<Waiter> waiters = new LinkedHashSet<>();
+    /** execution that is polled now, differs from the key after continue-as-new */
+    private WorkflowExecution pollExecution;
+
+    private ByteString pageToken = ByteString.EMPTY;
+
+    private PolledExecution(WorkflowExecution key) {
+      this.key = key;
+      this.pollExecution = key;
+    }
+
+    /**
+     * @return deadline of the waiter with the longest timeout, the poll is needed until then
+     */
+    private Deadline getLatestDeadline() {
+      Deadline latest = null;
+      for (Waiter waiter : waiters) {
+        if (latest == null || waiter.deadline.compareTo(latest) > 0) {
+          latest = waiter.deadline;
+        }
+      }
+      return latest;
+    }
+  }
+
+  private static final class Waiter {
+    private final CompletableFuture<HistoryEvent> future = new CompletableFuture<>();
+    private final WorkflowExecution workflowExecution;
+    private final long timeout;
+    private final TimeUnit unit;
+    private final Deadline deadline;
+
+    private Waiter(WorkflowExecution workflowExecution, long timeout, TimeUnit unit) {
+      this.workflowExecution = workflowExecution;
+      this.timeout = timeout;
+      this.unit = unit;
+      this.deadline = Deadline.after(timeout, unit);
+    }
+
+    private void timeOut() {
+      future.completeExceptionally(
+          WorkflowClientLongPollHelper.newTimeoutException(workflowExecution, timeout, unit));
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package io.temporal.internal.client.external;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of asynchronous calls of {@link GenericWorkflowClientImpl} that are in flight
+ * at the same time. Calls over the limit are queued and started in the FIFO order when the calls
+ * in flight complete. The returned futures complete later when the limit is reached, which is the
+ * backpressure for callers that chain their next calls on them. No thread is ever blocked.
+ */
+final class AsyncCallLimiter {
+  private final int maxConcurrentCalls;
+  private final Queue<PendingCall<?>> pendingCalls = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger inFlightCalls = new AtomicInteger();
+  // Serializes draining of pendingCalls. A thread that finds it non-zero leaves the draining to the
+  // thread that is already doing it, which also prevents a recursion when calls complete
+  // synchronously.
+  private final AtomicInteger drainRequests = new AtomicInteger();
+
+  AsyncCallLimiter(int maxConcurrentCalls) {
+    if (maxConcurrentCalls <= 0) {
+      throw new IllegalArgumentException(
+          "maxConcurrentCalls should be positive: " + maxConcurrentCalls);
+    }
+    this.maxConcurrentCalls = maxConcurrentCalls;
+  }
+
+  /**
+   * @param call starts an asynchronous call, invoked when the number of calls in flight is under
+   *     the limit
+   * @return future of the call result. Cancelling the future of a queued call prevents the call from
+   *     being started.
+   */
+  <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+    PendingCall<T> pendingCall = new PendingCall<>(call);
+    pendingCalls.add(pendingCall);
+    drain();
+    return pendingCall.result;
+  }
+
+  int getInFlightCalls() {
+    return inFlightCalls.get();
+  }
+
+  int getQueuedCalls() {
+    return pendingCalls.size();
+  }
+
+  private void drain() {
+    if (drainRequests.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      // only the draining thread removes from pendingCalls
+      while (inFlightCalls.get() < maxConcurrentCalls) {
+        PendingCall<?> pendingCall = pendingCalls.poll();
+        if (pendingCall == null) {
+          break;
+        }
+        if (pendingCall.result.isDone()) {
+          // cancelled by the caller while queued
+          continue;
+        }
+        inFlightCalls.incrementAndGet();
+        pendingCall.start();
+      }
+    } while (drainRequests.decrementAndGet() != 0);
+  }
+
+  private final class PendingCall<T> {
+    private final Supplier<CompletableFuture<T>> call;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private PendingCall(Supplier<CompletableFuture<T>> call) {
+      this.call = call;
+    }
+
+    private void start() {
+      CompletableFuture<T> future;
+      try {
+        future = call.get();
+      } catch (Throwable e) {
+        future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+      }
+      future.whenComplete(
+          (r, e) -> {
+            // release the permit before the result callbacks run, they may issue the next calls
+            inFlightCalls.decrementAndGet();
+            drain();
+            if (e != null) {
+              result.completeExceptionally(e);
+            } else {
+              result.complete(r);
+            }
+          });
+    }
+  }
+}
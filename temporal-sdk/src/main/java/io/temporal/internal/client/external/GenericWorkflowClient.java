@@ -10,23 +10,38 @@ public interface GenericWorkflowClient {
 
   StartWorkflowExecutionResponse start(StartWorkflowExecutionRequest request);
 
+  CompletableFuture<StartWorkflowExecutionResponse> startAsync(
+      StartWorkflowExecutionRequest request);
+
   void signal(SignalWorkflowExecutionRequest request);
 
+  CompletableFuture<Void> signalAsync(SignalWorkflowExecutionRequest request);
+
   SignalWithStartWorkflowExecutionResponse signalWithStart(
       SignalWithStartWorkflowExecutionRequest request);
 
+  CompletableFuture<SignalWithStartWorkflowExecutionResponse> signalWithStartAsync(
+      SignalWithStartWorkflowExecutionRequest request);
+
   void requestCancel(RequestCancelWorkflowExecutionRequest parameters);
 
   QueryWorkflowResponse query(QueryWorkflowRequest queryParameters);
 
+  CompletableFuture<QueryWorkflowResponse> queryAsync(QueryWorkflowRequest queryParameters);
+
   UpdateWorkflowExecutionResponse update(
       @Nonnull UpdateWorkflowExecutionRequest updateParameters, @Nonnull Deadline deadline);
 
+  CompletableFuture<UpdateWorkflowExecutionResponse> updateAsync(
+      @Nonnull UpdateWorkflowExecutionRequest updateParameters, @Nonnull Deadline deadline);
+
   CompletableFuture<PollWorkflowExecutionUpdateResponse> pollUpdateAsync(
       @Nonnull PollWorkflowExecutionUpdateRequest request, @Nonnull Deadline deadline);
 
   void terminate(TerminateWorkflowExecutionRequest request);
 
+  CompletableFuture<Void> terminateAsync(TerminateWorkflowExecutionRequest request);
+
   GetWorkflowExecutionHistoryResponse longPollHistory(
       @Nonnull GetWorkflowExecutionHistoryRequest request, @Nonnull Deadline deadline);
 
@@ -61,6 +76,9 @@ public interface GenericWorkflowClient {
   DescribeWorkflowExecutionResponse describeWorkflowExecution(
       DescribeWorkflowExecutionRequest request);
 
+  CompletableFuture<DescribeWorkflowExecutionResponse> describeWorkflowExecutionAsync(
+      DescribeWorkflowExecutionRequest request);
+
   @Experimental
   @Deprecated
   UpdateWorkerBuildIdCompatibilityResponse updateWorkerBuildIdCompatability(
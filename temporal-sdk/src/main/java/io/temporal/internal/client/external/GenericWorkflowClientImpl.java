@@ -16,7 +16,9 @@ import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.serviceclient.rpcretry.DefaultStubLongPollRpcRetryOptions;
 import java.util.Map;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
   private static final ScheduledExecutorService asyncThrottlerExecutor =
@@ -29,8 +31,18 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
   private final Scope metricsScope;
   private final GrpcRetryer grpcRetryer;
   private final GrpcRetryer.GrpcRetryerOptions grpcRetryerOptions;
+  private final @Nullable AsyncCallLimiter asyncCallLimiter;
 
   public GenericWorkflowClientImpl(WorkflowServiceStubs service, Scope metricsScope) {
+    this(service, metricsScope, 0);
+  }
+
+  /**
+   * @param maxConcurrentAsyncCalls maximum number of asynchronous calls in flight, calls over the
+   *     limit are queued. 0 means no limit.
+   */
+  public GenericWorkflowClientImpl(
+      WorkflowServiceStubs service, Scope metricsScope, int maxConcurrentAsyncCalls) {
     this.service = service;
     this.metricsScope = metricsScope;
     RpcRetryOptions rpcRetryOptions =
@@ -38,6 +50,8 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
             .buildWithDefaultsFrom(service.getOptions().getRpcRetryOptions());
     this.grpcRetryer = new GrpcRetryer(service.getServerCapabilities());
     this.grpcRetryerOptions = new GrpcRetryer.GrpcRetryerOptions(rpcRetryOptions, null);
+    this.asyncCallLimiter =
+        maxConcurrentAsyncCalls > 0 ? new AsyncCallLimiter(maxConcurrentAsyncCalls) : null;
   }
 
   @Override
@@ -53,6 +67,23 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
         grpcRetryerOptions);
   }
 
+  @Override
+  public CompletableFuture<StartWorkflowExecutionResponse> startAsync(
+      StartWorkflowExecutionRequest request) {
+    Scope scope = metricsScope.tagged(tagsForStartWorkflow(request));
+    return limitAsync(
+        () ->
+            grpcRetryer.retryWithResultAsync(
+                asyncThrottlerExecutor,
+                () ->
+                    toCompletableFuture(
+                        service
+                            .futureStub()
+                            .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, scope)
+                            .startWorkflowExecution(request)),
+                grpcRetryerOptions));
+  }
+
   private static Map<String, String> tagsForStartWorkflow(StartWorkflowExecutionRequest request) {
     return new ImmutableMap.Builder<String, String>(2)
         .put(MetricsTag.WORKFLOW_TYPE, request.getWorkflowType().getName())
@@ -62,11 +93,7 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
 
   @Override
   public void signal(SignalWorkflowExecutionRequest request) {
-    Map<String, String> tags =
-        new ImmutableMap.Builder<String, String>(1)
-            .put(MetricsTag.SIGNAL_NAME, request.getSignalName())
-            .build();
-    Scope scope = metricsScope.tagged(tags);
+    Scope scope = metricsScope.tagged(tagsForSignal(request));
     grpcRetryer.retry(
         () ->
             service
@@ -76,16 +103,34 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
         grpcRetryerOptions);
   }
 
+  @Override
+  public CompletableFuture<Void> signalAsync(SignalWorkflowExecutionRequest request) {
+    Scope scope = metricsScope.tagged(tagsForSignal(request));
+    return limitAsync(
+        () ->
+            grpcRetryer
+                .retryWithResultAsync(
+                    asyncThrottlerExecutor,
+                    () ->
+                        toCompletableFuture(
+                            service
+                                .futureStub()
+                                .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, scope)
+                                .signalWorkflowExecution(request)),
+                    grpcRetryerOptions)
+                .thenApply(r -> null));
+  }
+
+  private static Map<String, String> tagsForSignal(SignalWorkflowExecutionRequest request) {
+    return new ImmutableMap.Builder<String, String>(1)
+        .put(MetricsTag.SIGNAL_NAME, request.getSignalName())
+        .build();
+  }
+
   @Override
   public SignalWithStartWorkflowExecutionResponse signalWithStart(
       SignalWithStartWorkflowExecutionRequest request) {
-    Map<String, String> tags =
-        new ImmutableMap.Builder<String, String>(2)
-            .put(MetricsTag.WORKFLOW_TYPE, request.getWorkflowType().getName())
-            .put(MetricsTag.TASK_QUEUE, request.getTaskQueue().getName())
-            .put(MetricsTag.SIGNAL_NAME, request.getSignalName())
-            .build();
-    Scope scope = metricsScope.tagged(tags);
+    Scope scope = metricsScope.tagged(tagsForSignalWithStart(request));
 
     return grpcRetryer.retryWithResult(
         () ->
@@ -96,6 +141,32 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
         grpcRetryerOptions);
   }
 
+  @Override
+  public CompletableFuture<SignalWithStartWorkflowExecutionResponse> signalWithStartAsync(
+      SignalWithStartWorkflowExecutionRequest request) {
+    Scope scope = metricsScope.tagged(tagsForSignalWithStart(request));
+    return limitAsync(
+        () ->
+            grpcRetryer.retryWithResultAsync(
+                asyncThrottlerExecutor,
+                () ->
+                    toCompletableFuture(
+                        service
+                            .futureStub()
+                            .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, scope)
+                            .signalWithStartWorkflowExecution(request)),
+                grpcRetryerOptions));
+  }
+
+  private static Map<String, String> tagsForSignalWithStart(
+      SignalWithStartWorkflowExecutionRequest request) {
+    return new ImmutableMap.Builder<String, String>(2)
+        .put(MetricsTag.WORKFLOW_TYPE, request.getWorkflowType().getName())
+        .put(MetricsTag.TASK_QUEUE, request.getTaskQueue().getName())
+        .put(MetricsTag.SIGNAL_NAME, request.getSignalName())
+        .build();
+  }
+
   @Override
   public void requestCancel(RequestCancelWorkflowExecutionRequest request) {
     grpcRetryer.retry(
@@ -118,6 +189,23 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
         grpcRetryerOptions);
   }
 
+  @Override
+  public CompletableFuture<Void> terminateAsync(TerminateWorkflowExecutionRequest request) {
+    return limitAsync(
+        () ->
+            grpcRetryer
+                .retryWithResultAsync(
+                    asyncThrottlerExecutor,
+                    () ->
+                        toCompletableFuture(
+                            service
+                                .futureStub()
+                                .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
+                                .terminateWorkflowExecution(request)),
+                    grpcRetryerOptions)
+                .thenApply(r -> null));
+  }
+
   @Override
   public GetWorkflowExecutionHistoryResponse longPollHistory(
       @Nonnull GetWorkflowExecutionHistoryRequest request, @Nonnull Deadline deadline) {
@@ -176,11 +264,7 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
 
   @Override
   public QueryWorkflowResponse query(QueryWorkflowRequest queryParameters) {
-    Map<String, String> tags =
-        new ImmutableMap.Builder<String, String>(1)
-            .put(MetricsTag.QUERY_TYPE, queryParameters.getQuery().getQueryType())
-            .build();
-    Scope scope = metricsScope.tagged(tags);
+    Scope scope = metricsScope.tagged(tagsForQuery(queryParameters));
 
     return grpcRetryer.retryWithResult(
         () ->
@@ -191,6 +275,28 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
         grpcRetryerOptions);
   }
 
+  @Override
+  public CompletableFuture<QueryWorkflowResponse> queryAsync(QueryWorkflowRequest queryParameters) {
+    Scope scope = metricsScope.tagged(tagsForQuery(queryParameters));
+    return limitAsync(
+        () ->
+            grpcRetryer.retryWithResultAsync(
+                asyncThrottlerExecutor,
+                () ->
+                    toCompletableFuture(
+                        service
+                            .futureStub()
+                            .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, scope)
+                            .queryWorkflow(queryParameters)),
+                grpcRetryerOptions));
+  }
+
+  private static Map<String, String> tagsForQuery(QueryWorkflowRequest queryParameters) {
+    return new ImmutableMap.Builder<String, String>(1)
+        .put(MetricsTag.QUERY_TYPE, queryParameters.getQuery().getQueryType())
+        .build();
+  }
+
   @Override
   public ListWorkflowExecutionsResponse listWorkflowExecutions(
       ListWorkflowExecutionsRequest listRequest) {
@@ -206,15 +312,17 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
   @Override
   public CompletableFuture<ListWorkflowExecutionsResponse> listWorkflowExecutionsAsync(
       ListWorkflowExecutionsRequest listRequest) {
-    return grpcRetryer.retryWithResultAsync(
-        asyncThrottlerExecutor,
+    return limitAsync(
         () ->
-            toCompletableFuture(
-                service
-                    .futureStub()
-                    .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
-                    .listWorkflowExecutions(listRequest)),
-        grpcRetryerOptions);
+            grpcRetryer.retryWithResultAsync(
+                asyncThrottlerExecutor,
+                () ->
+                    toCompletableFuture(
+                        service
+                            .futureStub()
+                            .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
+                            .listWorkflowExecutions(listRequest)),
+                grpcRetryerOptions));
   }
 
   @Override
@@ -309,6 +417,26 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
         grpcRetryerOptions);
   }
 
+  @Override
+  public CompletableFuture<DescribeWorkflowExecutionResponse> describeWorkflowExecutionAsync(
+      DescribeWorkflowExecutionRequest request) {
+    return limitAsync(
+        () ->
+            grpcRetryer.retryWithResultAsync(
+                asyncThrottlerExecutor,
+                () ->
+                    toCompletableFuture(
+                        service
+                            .futureStub()
+                            .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
+                            .describeWorkflowExecution(request)),
+                grpcRetryerOptions));
+  }
+
+  private <T> CompletableFuture<T> limitAsync(Supplier<CompletableFuture<T>> call) {
+    return asyncCallLimiter != null ? asyncCallLimiter.execute(call) : call.get();
+  }
+
   private static <T> CompletableFuture<T> toCompletableFuture(
       ListenableFuture<T> listenableFuture) {
     CompletableFuture<T> result = new CompletableFuture<>();
@@ -342,6 +470,25 @@ public final class GenericWorkflowClientImpl implements GenericWorkflowClient {
         new GrpcRetryer.GrpcRetryerOptions(DefaultStubLongPollRpcRetryOptions.INSTANCE, deadline));
   }
 
+  @Override
+  public CompletableFuture<UpdateWorkflowExecutionResponse> updateAsync(
+      @Nonnull UpdateWorkflowExecutionRequest updateParameters, @Nonnull Deadline deadline) {
+    Scope scope = metricsScope.tagged(tagsForUpdateWorkflow(updateParameters));
+    return limitAsync(
+        () ->
+            grpcRetryer.retryWithResultAsync(
+                asyncThrottlerExecutor,
+                () ->
+                    toCompletableFuture(
+                        service
+                            .futureStub()
+                            .withDeadline(deadline)
+                            .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, scope)
+                            .updateWorkflowExecution(updateParameters)),
+                new GrpcRetryer.GrpcRetryerOptions(
+                    DefaultStubLongPollRpcRetryOptions.INSTANCE, deadline)));
+  }
+
   private static Map<String, String> tagsForUpdateWorkflow(
       UpdateWorkflowExecutionRequest updateParameters) {
     return new ImmutableMap.Builder<String, String>(1)
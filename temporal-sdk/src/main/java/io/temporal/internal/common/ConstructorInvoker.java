@@ -0,0 +1,45 @@
+package io.temporal.internal.common;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import javax.annotation.Nullable;
+
+/**
+ * Creates instances through a {@link MethodHandle} of a constructor that is resolved once, instead
+ * of {@link Constructor#newInstance(Object...)}. Follows the exception contract of {@link
+ * Constructor#newInstance(Object...)}, see {@link MethodInvoker}.
+ */
+public final class ConstructorInvoker {
+  private final Constructor<?> constructor;
+  private final @Nullable MethodHandle handle;
+
+  public ConstructorInvoker(Constructor<?> constructor) {
+    this.constructor = constructor;
+    MethodHandle handle = null;
+    if (!Modifier.isAbstract(constructor.getDeclaringClass().getModifiers())) {
+      try {
+        handle = MethodInvoker.spread(MethodInvoker.LOOKUP.unreflectConstructor(constructor), 0);
+      } catch (IllegalAccessException e) {
+        // fall back to reflection that reports the same exception on each call
+      }
+    }
+    this.handle = handle;
+  }
+
+  public Constructor<?> getConstructor() {
+    return constructor;
+  }
+
+  /**
+   * @see Constructor#newInstance(Object...)
+   */
+  public Object newInstance(Object... args)
+      throws InstantiationException, IllegalAccessException, InvocationTargetException {
+    if (handle == null) {
+      return constructor.newInstance(args);
+    }
+    return MethodInvoker.invokeHandle(handle, constructor.getParameterCount(), null, args);
+  }
+}
@@ -0,0 +1,152 @@
+package io.temporal.internal.common;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.Nullable;
+
+/**
+ * Invokes a workflow, signal, query, update or activity method through a {@link MethodHandle} that
+ * is created once per method, instead of {@link Method#invoke(Object, Object...)} that goes through
+ * reflective access checks on every call.
+ *
+ * <p>{@link #invoke(Object, Object...)} follows the exception contract of {@link
+ * Method#invoke(Object, Object...)}: exceptions thrown by the method are wrapped into {@link
+ * InvocationTargetException} and arguments that don't fit the method signature cause {@link
+ * IllegalArgumentException}, so callers can switch from reflection without changing their error
+ * handling. Methods that can't be accessed through a {@link MethodHandle} are invoked reflectively.
+ *
+ * @see ConstructorInvoker
+ */
+public final class MethodInvoker {
+  static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final Object[] NO_ARGS = new Object[0];
+  private static final MethodHandle WRAP_TARGET_EXCEPTION;
+
+  static {
+    try {
+      WRAP_TARGET_EXCEPTION =
+          LOOKUP.findStatic(
+              MethodInvoker.class,
+              "wrapTargetException",
+              MethodType.methodType(TargetException.class, Throwable.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static final ClassValue<ConcurrentMap<Method, MethodInvoker>> INVOKERS =
+      new ClassValue<ConcurrentMap<Method, MethodInvoker>>() {
+        @Override
+        protected ConcurrentMap<Method, MethodInvoker> computeValue(Class<?> type) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  /**
+   * @return invoker of {@code method}, invokers are cached per method
+   */
+  public static MethodInvoker of(Method method) {
+    return INVOKERS.get(method.getDeclaringClass()).computeIfAbsent(method, MethodInvoker::new);
+  }
+
+  private final Method method;
+  private final @Nullable MethodHandle handle;
+
+  private MethodInvoker(Method method) {
+    this.method = method;
+    MethodHandle handle;
+    try {
+      handle = spread(LOOKUP.unreflect(method), 1);
+    } catch (IllegalAccessException e) {
+      handle = null;
+    }
+    this.handle = handle;
+  }
+
+  public Method getMethod() {
+    return method;
+  }
+
+  /**
+   * @see Method#invoke(Object, Object...)
+   */
+  public Object invoke(Object target, Object... args)
+      throws InvocationTargetException, IllegalAccessException {
+    if (handle == null) {
+      return method.invoke(target, args);
+    }
+    if (target == null) {
+      throw new NullPointerException("target");
+    }
+    return invokeHandle(handle, method.getParameterCount(), target, args);
+  }
+
+  /**
+   * Adapts {@code handle} to {@code (Object target, Object[] args) -> Object} with exceptions of
+   * the invoked method wrapped into {@link TargetException}.
+   *
+   * @param leadingArguments 1 if the first parameter of the handle is the receiver of an instance
+   *     method, 0 for constructors
+   */
+  static MethodHandle spread(MethodHandle handle, int leadingArguments) {
+    MethodType type = handle.type();
+    List<Class<?>> parameters = type.parameterList();
+    MethodHandle thrower =
+        MethodHandles.filterReturnValue(
+            WRAP_TARGET_EXCEPTION,
+            MethodHandles.throwException(type.returnType(), TargetException.class));
+    MethodHandle guarded =
+        MethodHandles.catchException(
+            handle, Throwable.class, MethodHandles.dropArguments(thrower, 1, parameters));
+    MethodHandle generic = guarded.asType(MethodType.genericMethodType(parameters.size()));
+    if (leadingArguments == 0) {
+      generic = MethodHandles.dropArguments(generic, 0, Object.class);
+    }
+    return generic.asSpreader(Object[].class, parameters.size() - leadingArguments);
+  }
+
+  /**
+   * @param handle handle adapted by {@link #spread(MethodHandle, int)}
+   */
+  static Object invokeHandle(
+      MethodHandle handle, int parameterCount, @Nullable Object target, Object[] args)
+      throws InvocationTargetException {
+    if (args == null) {
+      args = NO_ARGS;
+    }
+    if (args.length != parameterCount) {
+      throw new IllegalArgumentException(
+          "wrong number of arguments: " + args.length + " expected: " + parameterCount);
+    }
+    try {
+      return handle.invokeExact(target, args);
+    } catch (TargetException e) {
+      throw new InvocationTargetException(e.getCause());
+    } catch (ClassCastException | NullPointerException e) {
+      // Thrown by the argument conversions of the handle, as exceptions of the invoked method
+      // itself are wrapped into TargetException
+      throw new IllegalArgumentException("argument type mismatch", e);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static TargetException wrapTargetException(Throwable e) {
+    return new TargetException(e);
+  }
+
+  /** Carries an exception thrown by the invoked method through the handle adapters. */
+  private static final class TargetException extends RuntimeException {
+    private TargetException(Throwable cause) {
+      super(null, cause, false, false);
+    }
+  }
+}
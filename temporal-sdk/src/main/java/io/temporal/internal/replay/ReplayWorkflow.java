@@ -42,6 +42,12 @@ public interface ReplayWorkflow {
 
   void close();
 
+  /**
+   * @return estimated number of bytes retained by this workflow instance between workflow tasks,
+   *     including its workflow threads and buffered inputs. Used to weigh cached workflows.
+   */
+  long getEstimatedRetainedSizeBytes();
+
   /**
    * Called after all history is replayed and workflow cannot make any progress if workflow task is
    * a query.
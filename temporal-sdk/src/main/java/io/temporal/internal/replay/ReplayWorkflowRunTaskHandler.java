@@ -46,6 +46,12 @@ import java.util.concurrent.locks.ReentrantLock;
  * is created per cached workflow run.
  */
 class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
+  /** Fixed overhead of a cached handler: contexts, executors, dispatchers and their maps. */
+  private static final long ESTIMATED_BASE_SIZE_BYTES = 16 * 1024;
+
+  /** Average size of an entity state machine together with its transition history. */
+  private static final long ESTIMATED_STATE_MACHINE_SIZE_BYTES = 2 * 1024;
+
   private final Scope metricsScope;
 
   private final WorkflowExecutionStartedEventAttributes startedEvent;
@@ -234,6 +240,30 @@ class ReplayWorkflowRunTaskHandler implements WorkflowRunTaskHandler {
     workflowStateMachines.resetStartedEventId(eventId);
   }
 
+  @Override
+  public long getEstimatedRetainedSizeBytes() {
+    lock.lock();
+    try {
+      long result =
+          ESTIMATED_BASE_SIZE_BYTES
+              + workflowStateMachines.getStateMachineCount() * ESTIMATED_STATE_MACHINE_SIZE_BYTES
+              + workflow.getEstimatedRetainedSizeBytes();
+      for (LocalActivityResult localActivityResult : localActivityCompletionQueue) {
+        if (localActivityResult.getExecutionCompleted() != null) {
+          result += localActivityResult.getExecutionCompleted().getSerializedSize();
+        }
+      }
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getReplayedHistoryLength() {
+    return workflowStateMachines.getLastWFTStartedEventId();
+  }
+
   private void handleWorkflowTaskImpl(
       PollWorkflowTaskQueueResponseOrBuilder workflowTask,
       WorkflowHistoryIterator historyIterator) {
@@ -4,7 +4,6 @@ import static io.temporal.internal.common.WorkflowExecutionUtils.isFullHistory;
 import static io.temporal.serviceclient.MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY;
 
 import com.uber.m3.tally.Scope;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.api.command.v1.Command;
 import io.temporal.api.command.v1.FailWorkflowExecutionCommandAttributes;
 import io.temporal.api.common.v1.MeteringMetadata;
@@ -76,7 +75,7 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
       throws Exception {
     String workflowType = workflowTask.getWorkflowType().getName();
     Scope metricsScope =
-        options.getMetricsScope().tagged(ImmutableMap.of(MetricsTag.WORKFLOW_TYPE, workflowType));
+        MetricsTag.tagged(options.getMetricsScope(), MetricsTag.WORKFLOW_TYPE, workflowType);
     return handleWorkflowTaskWithQuery(workflowTask.toBuilder(), metricsScope);
   }
 
@@ -86,6 +85,7 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
     AtomicBoolean createdNew = new AtomicBoolean();
     WorkflowExecution execution = workflowTask.getWorkflowExecution();
     WorkflowRunTaskHandler workflowRunTaskHandler = null;
+    ServiceWorkflowHistoryIterator historyIterator = null;
     boolean useCache = stickyTaskQueue != null;
 
     try {
@@ -93,8 +93,13 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
           getOrCreateWorkflowExecutor(useCache, workflowTask, metricsScope, createdNew);
       logWorkflowTaskToBeProcessed(workflowTask, createdNew);
 
-      ServiceWorkflowHistoryIterator historyIterator =
-          new ServiceWorkflowHistoryIterator(service, namespace, workflowTask, metricsScope);
+      historyIterator =
+          new ServiceWorkflowHistoryIterator(
+              service,
+              namespace,
+              workflowTask,
+              metricsScope,
+              options.getWorkflowHistoryPrefetchMaxBytes());
       boolean finalCommand;
       Result result;
 
@@ -126,8 +131,11 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
         if (finalCommand) {
           // don't invalidate execution from the cache if we were not using cached value here
           cache.invalidate(execution, metricsScope, "FinalCommand", null);
-        } else if (createdNew.get()) {
-          cache.addToCache(execution, workflowRunTaskHandler);
+        } else {
+          if (createdNew.get()) {
+            cache.addToCache(execution, workflowRunTaskHandler);
+          }
+          cache.updateWeight(execution, workflowRunTaskHandler, metricsScope);
         }
       }
 
@@ -163,6 +171,10 @@ public final class ReplayWorkflowTaskHandler implements WorkflowTaskHandler {
         return failureToWFTResult(workflowTask, e, dataConverterWithWorkflowContext);
       }
     } finally {
+      if (historyIterator != null) {
+        // stops the history prefetching that the workflow task didn't consume
+        historyIterator.close();
+      }
       if (!useCache && workflowRunTaskHandler != null) {
         // we close the execution in finally only if we don't use cache, otherwise it stays open
         workflowRunTaskHandler.close();
@@ -2,6 +2,7 @@ package io.temporal.internal.replay;
 
 import static io.temporal.serviceclient.MetricsTag.METRICS_TAGS_CALL_OPTIONS_KEY;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.protobuf.ByteString;
 import com.uber.m3.tally.Scope;
 import io.grpc.Deadline;
@@ -12,15 +13,37 @@ import io.temporal.api.history.v1.HistoryEvent;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder;
+import io.temporal.internal.common.GrpcUtils;
 import io.temporal.internal.retryer.GrpcRetryer;
 import io.temporal.serviceclient.RpcRetryOptions;
 import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.worker.MetricsType;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
-/** Supports iteration over history while loading new pages through calls to the service. */
+/**
+ * Supports iteration over history while loading new pages through calls to the service.
+ *
+ * <p>If {@code prefetchMaxBytes} is positive, the pages are requested ahead of the iteration once
+ * {@link #initDeadline(Deadline)} is called: the next page is requested as soon as the previous
+ * page is received, until the total size of the received but not yet iterated pages reaches {@code
+ * prefetchMaxBytes}. Page tokens are chained, so at most one request is in flight at a time.
+ * {@link #close()} stops the prefetching once the workflow task is done with the iterator.
+ */
 class ServiceWorkflowHistoryIterator implements WorkflowHistoryIterator {
+  private static final ScheduledExecutorService asyncThrottlerExecutor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("history-iterator-async-throttler-%d")
+              .build());
 
   private final Duration retryServiceOperationInitialInterval = Duration.ofMillis(200);
   private final Duration retryServiceOperationMaxInterval = Duration.ofSeconds(4);
@@ -29,19 +52,40 @@ class ServiceWorkflowHistoryIterator implements WorkflowHistoryIterator {
   private final Scope metricsScope;
   private final PollWorkflowTaskQueueResponseOrBuilder task;
   private final GrpcRetryer grpcRetryer;
-  private Deadline deadline;
+  private final long prefetchMaxBytes;
+  private volatile Deadline deadline;
   private Iterator<HistoryEvent> current;
   ByteString nextPageToken;
 
+  // Prefetch state, guarded by this.
+  // Requested pages in the history order, all of them are completed except maybe the last one
+  private final ArrayDeque<CompletableFuture<GetWorkflowExecutionHistoryResponse>> prefetched =
+      new ArrayDeque<>();
+  // Token of the page to be requested after the last one in prefetched
+  private ByteString prefetchPageToken;
+  private boolean prefetchInFlight;
+  private long prefetchedBytes;
+  private boolean closed;
+
   ServiceWorkflowHistoryIterator(
       WorkflowServiceStubs service,
       String namespace,
       PollWorkflowTaskQueueResponseOrBuilder task,
       Scope metricsScope) {
+    this(service, namespace, task, metricsScope, 0);
+  }
+
+  ServiceWorkflowHistoryIterator(
+      WorkflowServiceStubs service,
+      String namespace,
+      PollWorkflowTaskQueueResponseOrBuilder task,
+      Scope metricsScope,
+      long prefetchMaxBytes) {
     this.service = service;
     this.namespace = namespace;
     this.task = task;
     this.metricsScope = metricsScope;
+    this.prefetchMaxBytes = prefetchMaxBytes;
     // TODO Refactor WorkflowHistoryIteratorTest or WorkflowHistoryIterator to remove this check.
     //  `service == null` shouldn't be allowed as it's needed for a normal functioning of this
     // class.
@@ -49,6 +93,7 @@ class ServiceWorkflowHistoryIterator implements WorkflowHistoryIterator {
     History history = task.getHistory();
     current = history.getEventsList().iterator();
     nextPageToken = task.getNextPageToken();
+    prefetchPageToken = nextPageToken;
   }
 
   // Returns true if more history events are available.
@@ -62,7 +107,7 @@ class ServiceWorkflowHistoryIterator implements WorkflowHistoryIterator {
       // We need to verify that page is valid before returning true.
       // Otherwise, next() method would throw NoSuchElementException after hasNext() returning
       // true.
-      GetWorkflowExecutionHistoryResponse response = queryWorkflowExecutionHistory();
+      GetWorkflowExecutionHistoryResponse response = takeNextPage();
 
       current = response.getHistory().getEventsList().iterator();
       nextPageToken = response.getNextPageToken();
@@ -85,22 +130,137 @@ class ServiceWorkflowHistoryIterator implements WorkflowHistoryIterator {
 
   public void initDeadline(Deadline deadline) {
     this.deadline = deadline;
+    if (prefetchMaxBytes > 0) {
+      synchronized (this) {
+        prefetchLocked();
+      }
+    }
+  }
+
+  /**
+   * Stops requesting pages ahead of the iteration and drops the prefetched ones. A request that is
+   * already in flight isn't followed by another one and its response is discarded.
+   */
+  public synchronized void close() {
+    closed = true;
+    prefetched.clear();
+    prefetchedBytes = 0;
+  }
+
+  /**
+   * Returns the page pointed by {@link #nextPageToken}, blocking until it's received. Uses the
+   * prefetched page if there is one.
+   */
+  private GetWorkflowExecutionHistoryResponse takeNextPage() {
+    CompletableFuture<GetWorkflowExecutionHistoryResponse> page;
+    synchronized (this) {
+      page = prefetched.poll();
+    }
+    long startNs = System.nanoTime();
+    try {
+      GetWorkflowExecutionHistoryResponse response;
+      if (page == null) {
+        // nothing is prefetched, which also means that nothing is in flight
+        response = queryWorkflowExecutionHistory();
+        synchronized (this) {
+          prefetchPageToken = response.getNextPageToken();
+          prefetchLocked();
+        }
+      } else {
+        response = waitForPage(page);
+        synchronized (this) {
+          prefetchedBytes -= response.getSerializedSize();
+          prefetchLocked();
+        }
+      }
+      return response;
+    } finally {
+      if (metricsScope != null) {
+        metricsScope
+            .timer(MetricsType.WORKFLOW_TASK_HISTORY_PAGE_WAIT_LATENCY)
+            .record(com.uber.m3.util.Duration.ofNanos(System.nanoTime() - startNs));
+      }
+    }
+  }
+
+  private void prefetchLocked() {
+    Deadline deadline = this.deadline;
+    if (closed
+        || prefetchInFlight
+        || prefetchPageToken.isEmpty()
+        || prefetchedBytes >= prefetchMaxBytes
+        || deadline == null
+        || deadline.isExpired()) {
+      return;
+    }
+    prefetchInFlight = true;
+    // completed only after the state below is updated, so a consumer that took this page can't
+    // observe prefetchInFlight of an already received page
+    CompletableFuture<GetWorkflowExecutionHistoryResponse> page = new CompletableFuture<>();
+    prefetched.add(page);
+    queryWorkflowExecutionHistoryAsync(prefetchPageToken)
+        .whenComplete(
+            (response, e) -> {
+              synchronized (this) {
+                prefetchInFlight = false;
+                if (closed) {
+                  return;
+                }
+                if (e != null) {
+                  // the failure is rethrown when the iteration reaches this page
+                  prefetchPageToken = ByteString.EMPTY;
+                } else {
+                  prefetchedBytes += response.getSerializedSize();
+                  prefetchPageToken = response.getNextPageToken();
+                  prefetchLocked();
+                }
+              }
+              if (e != null) {
+                page.completeExceptionally(e);
+              } else {
+                page.complete(response);
+              }
+            });
+  }
+
+  private static GetWorkflowExecutionHistoryResponse waitForPage(
+      CompletableFuture<GetWorkflowExecutionHistoryResponse> page) {
+    try {
+      return page.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof StatusRuntimeException) {
+        throw toPaginationException((StatusRuntimeException) cause);
+      }
+      throw (cause instanceof RuntimeException
+          ? (RuntimeException) cause
+          : new RuntimeException(cause));
+    }
+  }
+
+  CompletableFuture<GetWorkflowExecutionHistoryResponse> queryWorkflowExecutionHistoryAsync(
+      ByteString pageToken) {
+    Deadline deadline = this.deadline;
+    GetWorkflowExecutionHistoryRequest request = newRequest(pageToken);
+    return grpcRetryer.retryWithResultAsync(
+        asyncThrottlerExecutor,
+        () ->
+            GrpcUtils.toCompletableFuture(
+                service
+                    .futureStub()
+                    .withOption(METRICS_TAGS_CALL_OPTIONS_KEY, metricsScope)
+                    .withDeadline(deadline)
+                    .getWorkflowExecutionHistory(request)),
+        new GrpcRetryer.GrpcRetryerOptions(newRetryOptions(), deadline));
   }
 
   GetWorkflowExecutionHistoryResponse queryWorkflowExecutionHistory() {
-    RpcRetryOptions retryOptions =
-        RpcRetryOptions.newBuilder()
-            .setInitialInterval(retryServiceOperationInitialInterval)
-            .setMaximumInterval(retryServiceOperationMaxInterval)
-            .validateBuildWithDefaults();
     GrpcRetryer.GrpcRetryerOptions grpcRetryerOptions =
-        new GrpcRetryer.GrpcRetryerOptions(retryOptions, deadline);
-    GetWorkflowExecutionHistoryRequest request =
-        GetWorkflowExecutionHistoryRequest.newBuilder()
-            .setNamespace(namespace)
-            .setExecution(task.getWorkflowExecution())
-            .setNextPageToken(nextPageToken)
-            .build();
+        new GrpcRetryer.GrpcRetryerOptions(newRetryOptions(), deadline);
+    GetWorkflowExecutionHistoryRequest request = newRequest(nextPageToken);
     try {
       return grpcRetryer.retryWithResult(
           () ->
@@ -110,14 +270,33 @@ class ServiceWorkflowHistoryIterator implements WorkflowHistoryIterator {
                   .getWorkflowExecutionHistory(request),
           grpcRetryerOptions);
     } catch (StatusRuntimeException ex) {
-      if (Status.DEADLINE_EXCEEDED.equals(ex.getStatus())) {
-        throw Status.DEADLINE_EXCEEDED
-            .withDescription(
-                "getWorkflowExecutionHistory pagination took longer than workflow task timeout")
-            .withCause(ex)
-            .asRuntimeException();
-      }
-      throw ex;
+      throw toPaginationException(ex);
+    }
+  }
+
+  private RpcRetryOptions newRetryOptions() {
+    return RpcRetryOptions.newBuilder()
+        .setInitialInterval(retryServiceOperationInitialInterval)
+        .setMaximumInterval(retryServiceOperationMaxInterval)
+        .validateBuildWithDefaults();
+  }
+
+  private GetWorkflowExecutionHistoryRequest newRequest(ByteString pageToken) {
+    return GetWorkflowExecutionHistoryRequest.newBuilder()
+        .setNamespace(namespace)
+        .setExecution(task.getWorkflowExecution())
+        .setNextPageToken(pageToken)
+        .build();
+  }
+
+  private static StatusRuntimeException toPaginationException(StatusRuntimeException ex) {
+    if (Status.DEADLINE_EXCEEDED.equals(ex.getStatus())) {
+      return Status.DEADLINE_EXCEEDED
+          .withDescription(
+              "getWorkflowExecutionHistory pagination took longer than workflow task timeout")
+          .withCause(ex)
+          .asRuntimeException();
     }
+    return ex;
   }
 }
@@ -43,5 +43,17 @@ public interface WorkflowRunTaskHandler {
    */
   void resetStartedEventId(Long eventId);
 
+  /**
+   * @return estimated number of bytes retained by this handler while it's cached, including state
+   *     machines, buffered payloads and workflow threads.
+   */
+  long getEstimatedRetainedSizeBytes();
+
+  /**
+   * @return number of history events that have to be replayed to rebuild this handler if it gets
+   *     evicted from the cache.
+   */
+  long getReplayedHistoryLength();
+
   void close();
 }
@@ -219,7 +219,8 @@ final class ActivityStateMachine
                   State.STARTED_ACTIVITY_CANCEL_EVENT_RECORDED,
                   EventType.EVENT_TYPE_ACTIVITY_TASK_CANCELED,
                   State.CANCELED,
-                  ActivityStateMachine::notifyCancellationFromEvent);
+                  ActivityStateMachine::notifyCancellationFromEvent)
+              .compile();
 
   /**
    * @param parameters attributes used to schedule an activity
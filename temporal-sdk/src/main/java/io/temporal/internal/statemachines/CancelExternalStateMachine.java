@@ -85,7 +85,8 @@ final class CancelExternalStateMachine
                   State.REQUEST_CANCEL_EXTERNAL_COMMAND_RECORDED,
                   EventType.EVENT_TYPE_REQUEST_CANCEL_EXTERNAL_WORKFLOW_EXECUTION_FAILED,
                   State.REQUEST_CANCEL_FAILED,
-                  CancelExternalStateMachine::notifyFailed);
+                  CancelExternalStateMachine::notifyFailed)
+              .compile();
 
   private void createCancelExternalCommand() {
     addCommand(
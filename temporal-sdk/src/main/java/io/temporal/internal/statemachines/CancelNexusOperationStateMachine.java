@@ -85,7 +85,8 @@ final class CancelNexusOperationStateMachine
                   State.REQUEST_CANCEL_NEXUS_OPERATION_COMMAND_RECORDED,
                   EventType.EVENT_TYPE_NEXUS_OPERATION_CANCEL_REQUEST_FAILED,
                   State.REQUEST_CANCEL_FAILED,
-                  CancelNexusOperationStateMachine::notifyFailed);
+                  CancelNexusOperationStateMachine::notifyFailed)
+              .compile();
 
   private void createCancelNexusCommand() {
     addCommand(
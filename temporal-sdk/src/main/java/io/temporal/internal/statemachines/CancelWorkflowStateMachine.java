@@ -56,7 +56,8 @@ final class CancelWorkflowStateMachine
               .add(
                   State.CANCEL_WORKFLOW_COMMAND_CREATED,
                   EventType.EVENT_TYPE_WORKFLOW_EXECUTION_CANCELED,
-                  State.CANCEL_WORKFLOW_COMMAND_RECORDED);
+                  State.CANCEL_WORKFLOW_COMMAND_RECORDED)
+              .compile();
 
   private void createCancelWorkflowCommand() {
     addCommand(
@@ -115,7 +115,8 @@ final class ChildWorkflowStateMachine
                   State.STARTED,
                   EventType.EVENT_TYPE_CHILD_WORKFLOW_EXECUTION_TERMINATED,
                   State.TERMINATED,
-                  ChildWorkflowStateMachine::notifyTerminated);
+                  ChildWorkflowStateMachine::notifyTerminated)
+              .compile();
 
   private StartChildWorkflowExecutionCommandAttributes startAttributes;
 
@@ -63,7 +63,8 @@ final class CompleteWorkflowStateMachine
               .add(
                   State.COMPLETE_WORKFLOW_COMMAND_CREATED,
                   EventType.EVENT_TYPE_WORKFLOW_EXECUTION_COMPLETED,
-                  State.COMPLETE_WORKFLOW_COMMAND_RECORDED);
+                  State.COMPLETE_WORKFLOW_COMMAND_RECORDED)
+              .compile();
 
   private void createCompleteWorkflowCommand() {
     addCommand(
@@ -61,7 +61,8 @@ final class ContinueAsNewWorkflowStateMachine
               .add(
                   State.CONTINUE_AS_NEW_WORKFLOW_COMMAND_CREATED,
                   EventType.EVENT_TYPE_WORKFLOW_EXECUTION_CONTINUED_AS_NEW,
-                  State.CONTINUE_AS_NEW_WORKFLOW_COMMAND_RECORDED);
+                  State.CONTINUE_AS_NEW_WORKFLOW_COMMAND_RECORDED)
+              .compile();
 
   private void createContinueAsNewWorkflowCommand() {
     addCommand(
@@ -18,17 +18,23 @@ class EntityStateMachineBase<State, ExplicitEvent, Data> implements EntityStateM
   protected Message currentMessage;
 
   /**
+   * @param stateMachineSink receives the created state machine to inspect its transitions, for
+   *     example to report the test coverage of the state machine definition. If present, the state
+   *     machine keeps its full transition history. Can be null.
    * @param entityName name or id of the entity this state machine represents. For debug purposes
    *     only. Can be null.
    */
   public EntityStateMachineBase(
       StateMachineDefinition<State, ExplicitEvent, Data> stateMachineDefinition,
       Functions.Proc1<CancellableCommand> commandSink,
-      Functions.Proc1<StateMachine> stateMachineSink,
+      @Nullable Functions.Proc1<StateMachine> stateMachineSink,
       @Nullable String entityName) {
-    this.stateMachine = StateMachine.newInstance(stateMachineDefinition, entityName);
+    this.stateMachine =
+        StateMachine.newInstance(stateMachineDefinition, entityName, stateMachineSink != null);
     this.commandSink = commandSink;
-    stateMachineSink.apply(this.stateMachine);
+    if (stateMachineSink != null) {
+      stateMachineSink.apply(this.stateMachine);
+    }
   }
 
   /**
@@ -59,7 +59,8 @@ final class FailWorkflowStateMachine
               .add(
                   State.FAIL_WORKFLOW_COMMAND_CREATED,
                   EventType.EVENT_TYPE_WORKFLOW_EXECUTION_FAILED,
-                  State.FAIL_WORKFLOW_COMMAND_RECORDED);
+                  State.FAIL_WORKFLOW_COMMAND_RECORDED)
+              .compile();
 
   private void createFailWorkflowCommand() {
     addCommand(
@@ -149,7 +149,8 @@ final class LocalActivityStateMachine
                   State.WAITING_MARKER_EVENT,
                   ExplicitEvent.NON_REPLAY_WORKFLOW_TASK_STARTED,
                   State.REQUEST_PREPARED,
-                  LocalActivityStateMachine::sendRequest);
+                  LocalActivityStateMachine::sendRequest)
+              .compile();
 
   /**
    * Creates new local activity marker
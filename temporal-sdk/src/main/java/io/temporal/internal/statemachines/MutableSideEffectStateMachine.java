@@ -104,7 +104,8 @@ final class MutableSideEffectStateMachine {
                   State.RESULT_NOTIFIED_REPLAYING,
                   EventType.EVENT_TYPE_MARKER_RECORDED,
                   new State[] {State.MARKER_COMMAND_RECORDED, State.SKIPPED_NOTIFIED},
-                  InvocationStateMachine::notifyFromEvent);
+                  InvocationStateMachine::notifyFromEvent)
+              .compile();
 
   /** Represents a single invocation of mutableSideEffect. */
   @VisibleForTesting
@@ -145,7 +145,8 @@ final class NexusOperationStateMachine
                   State.STARTED,
                   EventType.EVENT_TYPE_NEXUS_OPERATION_TIMED_OUT,
                   State.TIMED_OUT,
-                  NexusOperationStateMachine::notifyTimedOut);
+                  NexusOperationStateMachine::notifyTimedOut)
+              .compile();
 
   private void cancelNexusOperationCommand() {
     cancelCommand();
@@ -69,7 +69,8 @@ final class SideEffectStateMachine
                   State.RESULT_NOTIFIED_REPLAYING,
                   EventType.EVENT_TYPE_MARKER_RECORDED,
                   State.MARKER_COMMAND_RECORDED,
-                  SideEffectStateMachine::markerResultFromEvent);
+                  SideEffectStateMachine::markerResultFromEvent)
+              .compile();
 
   /**
    * Creates new SideEffect Marker
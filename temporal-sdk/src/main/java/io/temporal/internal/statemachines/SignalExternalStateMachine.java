@@ -105,7 +105,8 @@ final class SignalExternalStateMachine
                   State.SIGNAL_EXTERNAL_COMMAND_RECORDED,
                   EventType.EVENT_TYPE_SIGNAL_EXTERNAL_WORKFLOW_EXECUTION_FAILED,
                   State.FAILED,
-                  SignalExternalStateMachine::notifyFailed);
+                  SignalExternalStateMachine::notifyFailed)
+              .compile();
 
   private void createSignalExternalCommand() {
     addCommand(
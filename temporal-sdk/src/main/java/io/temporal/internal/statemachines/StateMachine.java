@@ -1,9 +1,11 @@
 package io.temporal.internal.statemachines;
 
+import com.google.common.base.Preconditions;
 import io.temporal.api.enums.v1.CommandType;
 import io.temporal.api.enums.v1.EventType;
 import io.temporal.internal.common.ProtocolType;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -15,15 +17,27 @@ import org.slf4j.LoggerFactory;
  * State machine instance of a single server side entity like activity, workflow task or the whole
  * workflow.
  *
+ * <p>By default only the last {@link #RECENT_TRANSITIONS_CAPACITY} transitions are kept, as
+ * transition codes of the {@link StateMachineDefinition}, to be reported in error messages. The
+ * full transition history is kept only if requested on creation, which is used to report the test
+ * coverage of the state machine definitions.
+ *
  * @see StateMachineDefinition
  */
 final class StateMachine<State, ExplicitEvent, Data> {
   private static final Logger log = LoggerFactory.getLogger(StateMachine.class);
 
+  private static final int RECENT_TRANSITIONS_CAPACITY = 32;
+  private static final int[] NO_TRANSITIONS = new int[0];
+
   private final StateMachineDefinition<State, ExplicitEvent, Data> definition;
 
-  private final List<Transition<State, TransitionEvent<ExplicitEvent>>> transitionHistory =
-      new ArrayList<>();
+  // Ring of the codes of the last transitions, grows up to RECENT_TRANSITIONS_CAPACITY
+  private int[] recentTransitions = NO_TRANSITIONS;
+  private long transitionCount;
+
+  @Nullable
+  private final List<Transition<State, TransitionEvent<ExplicitEvent>>> transitionHistory;
 
   @Nullable private final String entityName;
 
@@ -38,14 +52,33 @@ final class StateMachine<State, ExplicitEvent, Data> {
    */
   public static <State, ExplicitEvent, Data> StateMachine<State, ExplicitEvent, Data> newInstance(
       StateMachineDefinition<State, ExplicitEvent, Data> definition, @Nullable String entityName) {
-    return new StateMachine<>(definition, entityName);
+    return new StateMachine<>(definition, entityName, false);
+  }
+
+  /**
+   * Create a new instance of the StateMachine.
+   *
+   * @param definition State machine definition.
+   * @param entityName name or id of the entity this state machine represents. For debug purposes
+   *     only. Can be null.
+   * @param fullTransitionHistory keep all the transitions of the state machine to be returned by
+   *     {@link #getTransitionHistory()}, not only the last ones.
+   */
+  public static <State, ExplicitEvent, Data> StateMachine<State, ExplicitEvent, Data> newInstance(
+      StateMachineDefinition<State, ExplicitEvent, Data> definition,
+      @Nullable String entityName,
+      boolean fullTransitionHistory) {
+    return new StateMachine<>(definition, entityName, fullTransitionHistory);
   }
 
   private StateMachine(
-      StateMachineDefinition<State, ExplicitEvent, Data> definition, @Nullable String entityName) {
+      StateMachineDefinition<State, ExplicitEvent, Data> definition,
+      @Nullable String entityName,
+      boolean fullTransitionHistory) {
     this.definition = Objects.requireNonNull(definition);
     this.entityName = entityName;
     this.state = definition.getInitialState();
+    this.transitionHistory = fullTransitionHistory ? new ArrayList<>() : null;
   }
 
   /** All possible history event types that are known to this state machine instance. */
@@ -70,7 +103,11 @@ final class StateMachine<State, ExplicitEvent, Data> {
    * @param data data which is passed as an argument to resulting action.
    */
   public void handleExplicitEvent(ExplicitEvent explicitEvent, Data data) {
-    executeTransition(new TransitionEvent<>(explicitEvent), data);
+    int transitionCode = definition.getExplicitEventTransitionCode(state, explicitEvent);
+    if (transitionCode < 0) {
+      throw invalidTransition(new TransitionEvent<>(explicitEvent));
+    }
+    executeTransition(transitionCode, data);
   }
 
   /**
@@ -80,7 +117,11 @@ final class StateMachine<State, ExplicitEvent, Data> {
    * @param data data which is passed as an argument to resulting action.
    */
   public void handleHistoryEvent(EventType eventType, Data data) {
-    executeTransition(new TransitionEvent<>(eventType), data);
+    int transitionCode = definition.getHistoryEventTransitionCode(state, eventType);
+    if (transitionCode < 0) {
+      throw invalidTransition(new TransitionEvent<>(eventType));
+    }
+    executeTransition(transitionCode, data);
   }
 
   /**
@@ -90,7 +131,11 @@ final class StateMachine<State, ExplicitEvent, Data> {
    * @param data data which is passed as an argument to resulting action.
    */
   public void handleMessage(ProtocolType messageType, Data data) {
-    executeTransition(new TransitionEvent<>(messageType), data);
+    int transitionCode = definition.getMessageTransitionCode(state, messageType);
+    if (transitionCode < 0) {
+      throw invalidTransition(new TransitionEvent<>(messageType));
+    }
+    executeTransition(transitionCode, data);
   }
 
   /**
@@ -100,14 +145,35 @@ final class StateMachine<State, ExplicitEvent, Data> {
    * @param data data which is passed as an argument to resulting action.
    */
   public void handleCommand(CommandType commandType, Data data) {
-    executeTransition(new TransitionEvent<>(commandType), data);
+    int transitionCode = definition.getCommandTransitionCode(state, commandType);
+    if (transitionCode < 0) {
+      throw invalidTransition(new TransitionEvent<>(commandType));
+    }
+    executeTransition(transitionCode, data);
   }
 
   public String getHistory() {
-    return transitionHistory.toString();
+    if (transitionHistory != null) {
+      return transitionHistory.toString();
+    }
+    StringBuilder result = new StringBuilder("[");
+    int length = recentTransitions.length;
+    long first = Math.max(0, transitionCount - length);
+    if (first > 0) {
+      result.append("...").append(first).append(" earlier transitions..., ");
+    }
+    for (long i = first; i < transitionCount; i++) {
+      if (i > first) {
+        result.append(", ");
+      }
+      result.append(definition.getTransition(recentTransitions[(int) (i % length)]));
+    }
+    return result.append(']').toString();
   }
 
   List<Transition<State, TransitionEvent<ExplicitEvent>>> getTransitionHistory() {
+    Preconditions.checkState(
+        transitionHistory != null, "Full transition history is not kept by this state machine");
     return transitionHistory;
   }
 
@@ -119,22 +185,24 @@ final class StateMachine<State, ExplicitEvent, Data> {
         + ", state="
         + state
         + ", transitionHistory="
-        + transitionHistory
+        + getHistory()
         + '}';
   }
 
-  private void executeTransition(TransitionEvent<ExplicitEvent> transitionEvent, Data data) {
+  private IllegalArgumentException invalidTransition(
+      TransitionEvent<ExplicitEvent> transitionEvent) {
+    return new IllegalArgumentException(
+        stateMachineNameString()
+            + ": invalid "
+            + new Transition<>(state, transitionEvent)
+            + ", transition history is "
+            + getHistory());
+  }
+
+  private void executeTransition(int transitionCode, Data data) {
     Transition<State, TransitionEvent<ExplicitEvent>> transition =
-        new Transition<>(state, transitionEvent);
-    TransitionAction<State, Data> destination = definition.getTransitionAction(transition);
-    if (destination == null) {
-      throw new IllegalArgumentException(
-          stateMachineNameString()
-              + ": invalid "
-              + transition
-              + ", transition history is "
-              + transitionHistory);
-    }
+        definition.getTransition(transitionCode);
+    TransitionAction<State, Data> destination = definition.getTransitionAction(transitionCode);
     try {
       state = destination.apply(data);
       logTransition(transition);
@@ -144,10 +212,23 @@ final class StateMachine<State, ExplicitEvent, Data> {
               + ": failure executing "
               + transition
               + ", transition history is "
-              + transitionHistory,
+              + getHistory(),
           e);
     }
-    transitionHistory.add(transition);
+    recordTransition(transitionCode);
+  }
+
+  private void recordTransition(int transitionCode) {
+    int length = recentTransitions.length;
+    if (transitionCount == length && length < RECENT_TRANSITIONS_CAPACITY) {
+      length = Math.min(Math.max(length * 2, 4), RECENT_TRANSITIONS_CAPACITY);
+      recentTransitions = Arrays.copyOf(recentTransitions, length);
+    }
+    recentTransitions[(int) (transitionCount % length)] = transitionCode;
+    transitionCount++;
+    if (transitionHistory != null) {
+      transitionHistory.add(definition.getTransition(transitionCode));
+    }
   }
 
   private void logTransition(Transition<State, TransitionEvent<ExplicitEvent>> transition) {
@@ -1,5 +1,6 @@
 package io.temporal.internal.statemachines;
 
+import com.google.common.base.Preconditions;
 import io.temporal.api.enums.v1.CommandType;
 import io.temporal.api.enums.v1.EventType;
 import io.temporal.internal.common.ProtocolType;
@@ -34,6 +35,11 @@ import java.util.Set;
  *       sent as part of the workflow task response to the service. It is reported through {@link
  *       StateMachine#handleCommand(CommandType, Object)}.
  * </ul>
+ *
+ * <p>Once all transitions are registered, the definition has to be compiled with {@link
+ * #compile()}. Compilation builds a dense table of transitions indexed by the ordinal of the state
+ * and the ordinal of the event, so a state machine finds its transitions without hashing or
+ * allocating. States and explicit events have to be enums.
  */
 final class StateMachineDefinition<State, ExplicitEvent, Data> {
 
@@ -43,6 +49,31 @@ final class StateMachineDefinition<State, ExplicitEvent, Data> {
       transitions =
           new LinkedHashMap<>(); // linked to maintain the same order for diagram generation
 
+  /**
+   * Registered transitions indexed by their transition codes. A transition code is a compact
+   * representation of a transition that state machine instances use to record their transition
+   * history.
+   */
+  private final List<Transition<State, TransitionEvent<ExplicitEvent>>> transitionsByCode =
+      new ArrayList<>();
+
+  private final List<TransitionAction<State, Data>> actionsByCode = new ArrayList<>();
+
+  // Built by compile(). Definitions are compiled in static initializers before they are used, so
+  // these fields are safely published by the class initialization.
+
+  /**
+   * Transition codes indexed by {@code stateOrdinal * columnCount + column}, -1 if there is no such
+   * transition. Columns of explicit events go first, followed by the columns of history events,
+   * commands and messages.
+   */
+  private int[] transitionTable;
+
+  private int columnCount;
+  private int historyEventColumnsOffset;
+  private int commandColumnsOffset;
+  private int messageColumnsOffset;
+
   private final String name;
   private final State initialState;
   private final List<State> finalStates;
@@ -314,7 +345,10 @@ final class StateMachineDefinition<State, ExplicitEvent, Data> {
     if (transitions.containsKey(transition)) {
       throw new IllegalArgumentException("Duplicated transition is not allowed: " + transition);
     }
+    Preconditions.checkState(transitionTable == null, "%s is already compiled", name);
     transitions.put(transition, target);
+    transitionsByCode.add(transition);
+    actionsByCode.add(target);
   }
 
   public boolean isFinalState(State state) {
@@ -449,8 +483,121 @@ final class StateMachineDefinition<State, ExplicitEvent, Data> {
     return result.toString();
   }
 
-  public TransitionAction<State, Data> getTransitionAction(
-      Transition<State, TransitionEvent<ExplicitEvent>> transition) {
-    return transitions.get(transition);
+  /**
+   * Builds the transition table. Has to be called once after all transitions are registered and
+   * before the definition is used by any state machine. No transitions can be added afterwards.
+   *
+   * @return the current StateMachine instance for the fluid pattern.
+   */
+  StateMachineDefinition<State, ExplicitEvent, Data> compile() {
+    Preconditions.checkState(transitionTable == null, "%s is already compiled", name);
+    Preconditions.checkState(
+        initialState instanceof Enum, "%s: states have to be enum constants", name);
+    int explicitEventColumns = 0;
+    int historyEventColumns = 0;
+    int commandColumns = 0;
+    int messageColumns = 0;
+    for (Transition<State, TransitionEvent<ExplicitEvent>> transition : transitionsByCode) {
+      TransitionEvent<ExplicitEvent> event = transition.getExplicitEvent();
+      if (event.explicitEvent != null) {
+        Preconditions.checkState(
+            event.explicitEvent instanceof Enum,
+            "%s: explicit events have to be enum constants",
+            name);
+        explicitEventColumns =
+            Math.max(explicitEventColumns, ((Enum<?>) event.explicitEvent).ordinal() + 1);
+      } else if (event.historyEvent != null) {
+        historyEventColumns = Math.max(historyEventColumns, event.historyEvent.getNumber() + 1);
+      } else if (event.commandEvent != null) {
+        commandColumns = Math.max(commandColumns, event.commandEvent.getNumber() + 1);
+      } else {
+        messageColumns = Math.max(messageColumns, event.messageEvent.ordinal() + 1);
+      }
+    }
+    historyEventColumnsOffset = explicitEventColumns;
+    commandColumnsOffset = historyEventColumnsOffset + historyEventColumns;
+    messageColumnsOffset = commandColumnsOffset + commandColumns;
+    columnCount = messageColumnsOffset + messageColumns;
+
+    int stateCount = ((Enum<?>) initialState).getDeclaringClass().getEnumConstants().length;
+    int[] table = new int[stateCount * columnCount];
+    Arrays.fill(table, -1);
+    for (int code = 0; code < transitionsByCode.size(); code++) {
+      Transition<State, TransitionEvent<ExplicitEvent>> transition = transitionsByCode.get(code);
+      TransitionEvent<ExplicitEvent> event = transition.getExplicitEvent();
+      int column;
+      if (event.explicitEvent != null) {
+        column = ((Enum<?>) event.explicitEvent).ordinal();
+      } else if (event.historyEvent != null) {
+        column = historyEventColumnsOffset + event.historyEvent.getNumber();
+      } else if (event.commandEvent != null) {
+        column = commandColumnsOffset + event.commandEvent.getNumber();
+      } else {
+        column = messageColumnsOffset + event.messageEvent.ordinal();
+      }
+      table[((Enum<?>) transition.getFrom()).ordinal() * columnCount + column] = code;
+    }
+    transitionTable = table;
+    return this;
+  }
+
+  /**
+   * @return code of the transition from {@code state} caused by {@code explicitEvent} or -1 if
+   *     there is no such transition
+   */
+  int getExplicitEventTransitionCode(State state, ExplicitEvent explicitEvent) {
+    return getTransitionCode(state, ((Enum<?>) explicitEvent).ordinal(), historyEventColumnsOffset);
+  }
+
+  /**
+   * @return code of the transition from {@code state} caused by {@code eventType} or -1 if there is
+   *     no such transition
+   */
+  int getHistoryEventTransitionCode(State state, EventType eventType) {
+    if (eventType == EventType.UNRECOGNIZED) {
+      return -1;
+    }
+    return getTransitionCode(
+        state, historyEventColumnsOffset + eventType.getNumber(), commandColumnsOffset);
+  }
+
+  /**
+   * @return code of the transition from {@code state} caused by {@code commandType} or -1 if there
+   *     is no such transition
+   */
+  int getCommandTransitionCode(State state, CommandType commandType) {
+    if (commandType == CommandType.UNRECOGNIZED) {
+      return -1;
+    }
+    return getTransitionCode(
+        state, commandColumnsOffset + commandType.getNumber(), messageColumnsOffset);
+  }
+
+  /**
+   * @return code of the transition from {@code state} caused by {@code messageType} or -1 if there
+   *     is no such transition
+   */
+  int getMessageTransitionCode(State state, ProtocolType messageType) {
+    return getTransitionCode(state, messageColumnsOffset + messageType.ordinal(), columnCount);
+  }
+
+  Transition<State, TransitionEvent<ExplicitEvent>> getTransition(int transitionCode) {
+    return transitionsByCode.get(transitionCode);
+  }
+
+  TransitionAction<State, Data> getTransitionAction(int transitionCode) {
+    return actionsByCode.get(transitionCode);
+  }
+
+  /**
+   * @param columnsEnd end of the columns of the event kind, exclusive
+   */
+  private int getTransitionCode(State state, int column, int columnsEnd) {
+    int[] table = transitionTable;
+    Preconditions.checkState(table != null, "%s is not compiled", name);
+    if (column >= columnsEnd) {
+      return -1;
+    }
+    return table[((Enum<?>) state).ordinal() * columnCount + column];
   }
 }
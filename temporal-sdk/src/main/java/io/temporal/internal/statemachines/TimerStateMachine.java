@@ -113,7 +113,8 @@ final class TimerStateMachine
                   State.CANCEL_TIMER_COMMAND_CREATED,
                   CommandType.COMMAND_TYPE_CANCEL_TIMER,
                   State.CANCEL_TIMER_COMMAND_SENT,
-                  TimerStateMachine::notifyCancellation);
+                  TimerStateMachine::notifyCancellation)
+              .compile();
 
   private void createStartTimerCommand() {
     Command.Builder command =
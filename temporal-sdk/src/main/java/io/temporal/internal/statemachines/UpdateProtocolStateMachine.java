@@ -127,7 +127,8 @@ final class UpdateProtocolStateMachine
                   State.ACCEPTED_COMMAND_CREATED,
                   ExplicitEvent.COMPLETE,
                   State.COMPLETED_IMMEDIATELY_COMMAND_CREATED,
-                  UpdateProtocolStateMachine::sendCommandMessage);
+                  UpdateProtocolStateMachine::sendCommandMessage)
+              .compile();
 
   public static UpdateProtocolStateMachine newInstance(
       Functions.Func<Boolean> replaying,
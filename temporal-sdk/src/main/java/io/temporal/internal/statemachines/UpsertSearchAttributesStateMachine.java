@@ -59,7 +59,8 @@ final class UpsertSearchAttributesStateMachine
               .add(
                   State.UPSERT_COMMAND_CREATED,
                   EventType.EVENT_TYPE_UPSERT_WORKFLOW_SEARCH_ATTRIBUTES,
-                  State.UPSERT_COMMAND_RECORDED);
+                  State.UPSERT_COMMAND_RECORDED)
+              .compile();
 
   private void createUpsertCommand() {
     addCommand(
@@ -124,7 +124,8 @@ final class VersionStateMachine {
                   State.SKIPPED_REPLAYING,
                   CommandType.COMMAND_TYPE_RECORD_MARKER,
                   State.SKIPPED_NOTIFIED,
-                  InvocationStateMachine::notifySkippedReplaying);
+                  InvocationStateMachine::notifySkippedReplaying)
+              .compile();
 
   /** Represents a single invocation of version. */
   @VisibleForTesting
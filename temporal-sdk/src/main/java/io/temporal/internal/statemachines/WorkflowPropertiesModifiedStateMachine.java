@@ -59,7 +59,8 @@ final class WorkflowPropertiesModifiedStateMachine
               .add(
                   State.MODIFY_COMMAND_CREATED,
                   EventType.EVENT_TYPE_WORKFLOW_PROPERTIES_MODIFIED,
-                  State.MODIFY_COMMAND_RECORDED);
+                  State.MODIFY_COMMAND_RECORDED)
+              .compile();
 
   private void createModifyCommand() {
     addCommand(
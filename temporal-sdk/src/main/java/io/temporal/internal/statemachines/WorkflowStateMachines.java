@@ -165,7 +165,7 @@ public final class WorkflowStateMachines {
   private List<ExecuteLocalActivityParameters> localActivityRequests = new ArrayList<>();
 
   private final Functions.Proc1<ExecuteLocalActivityParameters> localActivityRequestSink;
-  private final Functions.Proc1<StateMachine> stateMachineSink;
+  @Nullable private final Functions.Proc1<StateMachine> stateMachineSink;
 
   private final WFTBuffer wftBuffer = new WFTBuffer();
 
@@ -196,13 +196,17 @@ public final class WorkflowStateMachines {
       StatesMachinesCallback callbacks,
       GetSystemInfoResponse.Capabilities capabilities,
       WorkflowImplementationOptions workflowImplOptions) {
-    this(callbacks, (stateMachine) -> {}, capabilities, workflowImplOptions);
+    this(callbacks, null, capabilities, workflowImplOptions);
   }
 
+  /**
+   * @param stateMachineSink receives all the created state machines, which keep their full
+   *     transition history if it's present
+   */
   @VisibleForTesting
   public WorkflowStateMachines(
       StatesMachinesCallback callbacks,
-      Functions.Proc1<StateMachine> stateMachineSink,
+      @Nullable Functions.Proc1<StateMachine> stateMachineSink,
       GetSystemInfoResponse.Capabilities capabilities,
       WorkflowImplementationOptions workflowImplOptions) {
     this.callbacks = Objects.requireNonNull(callbacks);
@@ -215,7 +219,7 @@ public final class WorkflowStateMachines {
 
   @VisibleForTesting
   public WorkflowStateMachines(
-      StatesMachinesCallback callbacks, Functions.Proc1<StateMachine> stateMachineSink) {
+      StatesMachinesCallback callbacks, @Nullable Functions.Proc1<StateMachine> stateMachineSink) {
     this.callbacks = Objects.requireNonNull(callbacks);
     this.commandSink = cancellableCommands::add;
     this.stateMachineSink = stateMachineSink;
@@ -263,6 +267,18 @@ public final class WorkflowStateMachines {
     return workflowTaskStartedEventId;
   }
 
+  /**
+   * @return number of entity state machines currently tracked by this instance. Used to estimate
+   *     memory retained by a cached workflow.
+   */
+  public int getStateMachineCount() {
+    return stateMachines.size()
+        + protocolStateMachines.size()
+        + localActivityMap.size()
+        + mutableSideEffects.size()
+        + versions.size();
+  }
+
   public long getHistorySize() {
     return historySize;
   }
@@ -95,7 +95,8 @@ final class WorkflowTaskStateMachine
                   EventType.EVENT_TYPE_WORKFLOW_TASK_FAILED,
                   State.FAILED,
                   WorkflowTaskStateMachine::handleFailed)
-              .add(State.STARTED, EventType.EVENT_TYPE_WORKFLOW_TASK_TIMED_OUT, State.TIMED_OUT);
+              .add(State.STARTED, EventType.EVENT_TYPE_WORKFLOW_TASK_TIMED_OUT, State.TIMED_OUT)
+              .compile();
 
   private void handleStarted() {
     eventTimeOfTheLastWorkflowStartTask = Timestamps.toMillis(currentEvent.getEventTime());
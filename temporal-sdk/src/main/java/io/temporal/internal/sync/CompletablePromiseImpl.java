@@ -62,14 +62,16 @@ class CompletablePromiseImpl<V> implements CompletablePromise<V> {
 
   private V getImpl(boolean cancellable) {
     if (!completed) {
-      WorkflowThread.await(
-          "Feature.get",
-          () -> {
-            if (cancellable) {
+      if (cancellable) {
+        WorkflowThread.await(
+            "Feature.get",
+            () -> {
               CancellationScope.throwCanceled();
-            }
-            return completed;
-          });
+              return completed;
+            });
+      } else {
+        WorkflowThread.await("Feature.get", (RunnerEvaluatedCondition) () -> completed);
+      }
     }
     if (failure != null) {
       unregisterWithRunner();
@@ -122,7 +124,7 @@ class CompletablePromiseImpl<V> implements CompletablePromise<V> {
   @Override
   public RuntimeException getFailure() {
     if (!completed) {
-      WorkflowThread.await("Feature.get", () -> completed);
+      WorkflowThread.await("Feature.get", (RunnerEvaluatedCondition) () -> completed);
     }
     if (failure != null) {
       unregisterWithRunner();
@@ -72,6 +72,12 @@ interface DeterministicRunner {
   /** Stack trace of all threads owned by the DeterministicRunner instance */
   String stackTrace();
 
+  /**
+   * @return number of workflow threads owned by the DeterministicRunner instance that are not done
+   *     yet, including threads that are created but not started.
+   */
+  int getWorkflowThreadCount();
+
   /**
    * Executes a runnable in a specially created workflow thread. This newly created thread is given
    * chance to run before any other existing threads. This is used to ensure that some operations
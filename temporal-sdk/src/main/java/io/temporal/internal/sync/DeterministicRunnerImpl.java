@@ -8,6 +8,7 @@ import io.temporal.internal.common.SdkFlag;
 import io.temporal.internal.context.ContextThreadLocal;
 import io.temporal.internal.worker.WorkflowExecutorCache;
 import io.temporal.serviceclient.CheckedExceptionWrapper;
+import io.temporal.worker.MetricsType;
 import io.temporal.workflow.Promise;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -19,7 +20,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.*;
-import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
@@ -49,7 +49,7 @@ class DeterministicRunnerImpl implements DeterministicRunner {
   // method.
   // To check for an active event loop, inRunUntilAllBlocked value taken under Runner Lock should be
   // used.
-  private final Lock lock = new ReentrantLock();
+  private final ReentrantLock lock = new ReentrantLock();
   // true when the control code of the main workflow event loop is running.
   // Workflow methods may get unblocked and executed by the control code when true.
   // Updated always with Runner Lock taken.
@@ -174,6 +174,8 @@ class DeterministicRunnerImpl implements DeterministicRunner {
       threads.add(rootWorkflowThread);
       rootWorkflowThread.start();
     }
+    // number of runUntilBlocked calls made on the workflow threads
+    int threadsEvaluated = 0;
     lock.lock();
     try {
       checkNotClosed();
@@ -212,6 +214,11 @@ class DeterministicRunnerImpl implements DeterministicRunner {
         Iterator<WorkflowThread> ci = threads.iterator();
         while (ci.hasNext()) {
           WorkflowThread c = ci.next();
+          if (c.isBlockedOnRunnerEvaluatedCondition()) {
+            // nothing the thread is waiting for has happened yet, no need to switch to it
+            continue;
+          }
+          threadsEvaluated++;
           progress = c.runUntilBlocked(deadlockDetectionTimeout) || progress;
           if (exitRequested) {
             closeRequested = true;
@@ -246,7 +253,15 @@ class DeterministicRunnerImpl implements DeterministicRunner {
       throw e;
     } finally {
       inRunUntilAllBlocked = false;
+      // none of the threads is scheduled again until the next call
+      for (WorkflowThread thread : threads) {
+        thread.getWorkflowThreadContext().stopSpinning();
+      }
       lock.unlock();
+      workflowContext
+          .getMetricsScope()
+          .counter(MetricsType.WORKFLOW_THREADS_EVALUATED)
+          .inc(threadsEvaluated);
       // Close was requested while running
       if (closeRequested) {
         close(true);
@@ -405,6 +420,19 @@ class DeterministicRunnerImpl implements DeterministicRunner {
     return result.toString();
   }
 
+  @Override
+  public int getWorkflowThreadCount() {
+    lock.lock();
+    try {
+      if (closeFuture.isDone()) {
+        return 0;
+      }
+      return threads.size() + workflowThreadsToAdd.size() + callbackThreadsToAdd.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   private void appendWorkflowThreadsLocked() {
     threads.addAll(workflowThreadsToAdd);
     workflowThreadsToAdd.clear();
@@ -520,7 +548,7 @@ class DeterministicRunnerImpl implements DeterministicRunner {
     }
   }
 
-  Lock getLock() {
+  ReentrantLock getLock() {
     return lock;
   }
 
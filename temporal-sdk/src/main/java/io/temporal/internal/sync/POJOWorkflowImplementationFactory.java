@@ -19,6 +19,8 @@ import io.temporal.common.metadata.POJOWorkflowImplMetadata;
 import io.temporal.common.metadata.POJOWorkflowInterfaceMetadata;
 import io.temporal.common.metadata.POJOWorkflowMethodMetadata;
 import io.temporal.failure.CanceledFailure;
+import io.temporal.internal.common.ConstructorInvoker;
+import io.temporal.internal.common.MethodInvoker;
 import io.temporal.internal.common.env.ReflectionUtils;
 import io.temporal.internal.replay.ReplayWorkflow;
 import io.temporal.internal.replay.ReplayWorkflowFactory;
@@ -150,6 +152,8 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
       switch (methodMetadata.getType()) {
         case WORKFLOW:
           String typeName = methodMetadata.getName();
+          MethodInvoker workflowMethodInvoker =
+              MethodInvoker.of(methodMetadata.getWorkflowMethod());
           if (workflowDefinitions.containsKey(typeName)) {
             throw new TypeAlreadyRegisteredException(
                 typeName,
@@ -161,7 +165,9 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
                   new POJOWorkflowImplementation(
                       clazz,
                       null,
+                      null,
                       methodMetadata,
+                      workflowMethodInvoker,
                       dataConverter.withContext(
                           new WorkflowSerializationContext(namespace, execution.getWorkflowId()))));
           implementationOptions.put(typeName, options);
@@ -184,9 +190,11 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
       try {
         Method executeMethod =
             workflowImplementationClass.getMethod("execute", EncodedValues.class);
-        Optional<Constructor<?>> ctor =
+        Optional<ConstructorInvoker> ctor =
             ReflectionUtils.getWorkflowInitConstructor(
-                workflowImplementationClass, Collections.singletonList(executeMethod));
+                    workflowImplementationClass, Collections.singletonList(executeMethod))
+                .map(ConstructorInvoker::new);
+        ConstructorInvoker defaultCtor = getDefaultConstructor(workflowImplementationClass);
         dynamicWorkflowImplementationFactory =
             (encodedValues) -> {
               if (ctor.isPresent()) {
@@ -200,7 +208,7 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
               } else {
                 try {
                   return (DynamicWorkflow)
-                      workflowImplementationClass.getDeclaredConstructor().newInstance();
+                      newDefaultInstance(workflowImplementationClass, defaultCtor);
                 } catch (NoSuchMethodException
                     | InstantiationException
                     | IllegalAccessException
@@ -229,8 +237,13 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
               + "with a workflow method annotated with @WorkflowMethod: "
               + workflowImplementationClass);
     }
+    Constructor<?> workflowInit = workflowMetadata.getWorkflowInit();
+    ConstructorInvoker workflowInitInvoker =
+        workflowInit != null ? new ConstructorInvoker(workflowInit) : null;
+    ConstructorInvoker defaultCtor = getDefaultConstructor(workflowImplementationClass);
     for (POJOWorkflowMethodMetadata workflowMethod : workflowMethods) {
       String workflowName = workflowMethod.getName();
+      MethodInvoker workflowMethodInvoker = MethodInvoker.of(workflowMethod.getWorkflowMethod());
       validateVersioningBehavior(
           workflowImplementationClass,
           workflowMethod,
@@ -241,8 +254,10 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
           (execution) ->
               new POJOWorkflowImplementation(
                   workflowImplementationClass,
-                  workflowMetadata.getWorkflowInit(),
+                  workflowInitInvoker,
+                  defaultCtor,
                   workflowMethod,
+                  workflowMethodInvoker,
                   dataConverter.withContext(
                       new WorkflowSerializationContext(namespace, execution.getWorkflowId())));
 
@@ -255,6 +270,29 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
     }
   }
 
+  /**
+   * Resolves the default constructor once at registration. Its absence is reported only when an
+   * instance is created, like it was before the constructor was cached.
+   */
+  private static @Nullable ConstructorInvoker getDefaultConstructor(Class<?> cls) {
+    try {
+      return new ConstructorInvoker(cls.getDeclaredConstructor());
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  private static Object newDefaultInstance(Class<?> cls, @Nullable ConstructorInvoker defaultCtor)
+      throws NoSuchMethodException,
+          InstantiationException,
+          IllegalAccessException,
+          InvocationTargetException {
+    if (defaultCtor == null) {
+      throw new NoSuchMethodException(cls.getName() + ".<init>()");
+    }
+    return defaultCtor.newInstance();
+  }
+
   private SyncWorkflowDefinition getWorkflowDefinition(
       WorkflowType workflowType, WorkflowExecution workflowExecution) {
     Functions.Func1<WorkflowExecution, SyncWorkflowDefinition> factory =
@@ -313,7 +351,9 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
   private class POJOWorkflowImplementation implements SyncWorkflowDefinition {
     private final Class<?> workflowImplementationClass;
     private final POJOWorkflowMethodMetadata workflowMethod;
-    private final Constructor<?> ctor;
+    private final MethodInvoker workflowMethodInvoker;
+    private final @Nullable ConstructorInvoker ctor;
+    private final @Nullable ConstructorInvoker defaultCtor;
     private RootWorkflowInboundCallsInterceptor rootWorkflowInvoker;
     private WorkflowInboundCallsInterceptor workflowInvoker;
     // don't pass it down to other classes, it's a "cached" instance for internal usage only
@@ -321,12 +361,16 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
 
     public POJOWorkflowImplementation(
         Class<?> workflowImplementationClass,
-        Constructor<?> ctor,
+        @Nullable ConstructorInvoker ctor,
+        @Nullable ConstructorInvoker defaultCtor,
         POJOWorkflowMethodMetadata workflowMethod,
+        MethodInvoker workflowMethodInvoker,
         DataConverter dataConverterWithWorkflowContext) {
       this.workflowImplementationClass = workflowImplementationClass;
       this.ctor = ctor;
+      this.defaultCtor = defaultCtor;
       this.workflowMethod = workflowMethod;
+      this.workflowMethodInvoker = workflowMethodInvoker;
       this.dataConverterWithWorkflowContext = dataConverterWithWorkflowContext;
     }
 
@@ -403,7 +447,7 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
       @Override
       public WorkflowOutput execute(WorkflowInput input) {
         try {
-          Object result = workflowMethod.getWorkflowMethod().invoke(workflow, input.getArguments());
+          Object result = workflowMethodInvoker.invoke(workflow, input.getArguments());
           return new WorkflowOutput(result);
         } catch (IllegalAccessException e) {
           throw wrap(e);
@@ -427,10 +471,13 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
           // annotated with @WorkflowInit.
           if (ctor != null) {
             try {
+              Constructor<?> constructor = ctor.getConstructor();
               workflow =
                   ctor.newInstance(
                       dataConverterWithWorkflowContext.fromPayloads(
-                          input, ctor.getParameterTypes(), ctor.getGenericParameterTypes()));
+                          input,
+                          constructor.getParameterTypes(),
+                          constructor.getGenericParameterTypes()));
             } catch (InstantiationException
                 | IllegalAccessException
                 | InvocationTargetException e) {
@@ -444,7 +491,7 @@ public final class POJOWorkflowImplementationFactory implements ReplayWorkflowFa
 
       private void legacyNewInstance() {
         try {
-          workflow = workflowImplementationClass.getDeclaredConstructor().newInstance();
+          workflow = newDefaultInstance(workflowImplementationClass, defaultCtor);
         } catch (NoSuchMethodException
             | InstantiationException
             | IllegalAccessException
@@ -0,0 +1,17 @@
+package io.temporal.internal.sync;
+
+import java.util.function.Supplier;
+
+/**
+ * Unblock condition of a workflow thread that doesn't execute any workflow code and reads only
+ * state that is modified by workflow threads or under the runner lock, like completion of a promise
+ * or size of a workflow queue.
+ *
+ * <p>{@link DeterministicRunnerImpl} evaluates such conditions itself and schedules a workflow
+ * thread blocked on one only after the condition becomes true, instead of switching to the thread
+ * on every pass of the event loop just to find out that it's still blocked. Conditions of {@link
+ * io.temporal.workflow.Workflow#await} supplied by the workflow code can read any workflow state
+ * and are always evaluated by the blocked thread itself.
+ */
+@FunctionalInterface
+interface RunnerEvaluatedCondition extends Supplier<Boolean> {}
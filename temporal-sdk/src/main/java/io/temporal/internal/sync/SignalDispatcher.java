@@ -147,6 +147,20 @@ class SignalDispatcher {
     Workflow.getMetricsScope().counter(MetricsType.CORRUPTED_SIGNALS_COUNTER).inc(1);
   }
 
+  /**
+   * @return serialized size of the payloads of the signals buffered because they don't have a
+   *     registered handler yet
+   */
+  public long getBufferedSignalsSize() {
+    long result = 0;
+    for (SignalData signalData : signalBuffer) {
+      if (signalData.getPayload().isPresent()) {
+        result += signalData.getPayload().get().getSerializedSize();
+      }
+    }
+    return result;
+  }
+
   public List<WorkflowInteractionDefinition> getSignalHandlers() {
     List<WorkflowInteractionDefinition> handlers = new ArrayList<>(signalCallbacks.size() + 1);
     for (Map.Entry<String, WorkflowOutboundCallsInterceptor.SignalRegistrationRequest> entry :
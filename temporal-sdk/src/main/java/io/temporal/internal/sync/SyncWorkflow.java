@@ -37,6 +37,13 @@ class SyncWorkflow implements ReplayWorkflow {
 
   private static final Logger log = LoggerFactory.getLogger(SyncWorkflow.class);
 
+  /**
+   * A blocked workflow thread retains its stack, its {@link WorkflowThreadContext} and everything
+   * referenced from the stack frames. The real number depends on the workflow code, this is a
+   * rough average used to weigh cached workflows.
+   */
+  private static final long ESTIMATED_WORKFLOW_THREAD_SIZE_BYTES = 64 * 1024;
+
   private final WorkflowThreadExecutor workflowThreadExecutor;
   private final SyncWorkflowDefinition workflow;
   @Nonnull private final WorkflowImplementationOptions workflowImplementationOptions;
@@ -45,6 +52,7 @@ class SyncWorkflow implements ReplayWorkflow {
   private final WorkflowMethodThreadNameStrategy workflowMethodThreadNameStrategy =
       ExecutionInfoStrategy.INSTANCE;
   private final SyncWorkflowContext workflowContext;
+  private final SignalDispatcher signalDispatcher;
   private WorkflowExecutionHandler workflowProc;
   private DeterministicRunner runner;
   private DataConverter dataConverter;
@@ -71,6 +79,7 @@ class SyncWorkflow implements ReplayWorkflow {
     this.workflowThreadExecutor = Objects.requireNonNull(workflowThreadExecutor);
     this.cache = cache;
     this.defaultDeadlockDetectionTimeout = defaultDeadlockDetectionTimeout;
+    this.signalDispatcher = signalDispatcher;
     this.dataConverter = dataConverter;
     this.dataConverterWithWorkflowContext =
         dataConverter.withContext(
@@ -212,6 +221,15 @@ class SyncWorkflow implements ReplayWorkflow {
     }
   }
 
+  @Override
+  public long getEstimatedRetainedSizeBytes() {
+    long result = signalDispatcher.getBufferedSignalsSize();
+    if (runner != null) {
+      result += runner.getWorkflowThreadCount() * ESTIMATED_WORKFLOW_THREAD_SIZE_BYTES;
+    }
+    return result;
+  }
+
   @Override
   public Optional<Payloads> query(WorkflowQuery query) {
     if (WorkflowClient.QUERY_TYPE_REPLAY_ONLY.equals(query.getQueryType())) {
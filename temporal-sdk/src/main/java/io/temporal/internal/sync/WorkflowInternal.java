@@ -23,6 +23,7 @@ import io.temporal.common.metadata.POJOWorkflowInterfaceMetadata;
 import io.temporal.common.metadata.POJOWorkflowMethodMetadata;
 import io.temporal.internal.WorkflowThreadMarker;
 import io.temporal.internal.common.ActivityOptionUtils;
+import io.temporal.internal.common.MethodInvoker;
 import io.temporal.internal.common.NonIdempotentHandle;
 import io.temporal.internal.common.SdkFlag;
 import io.temporal.internal.common.SearchAttributesUtil;
@@ -47,6 +48,18 @@ import org.slf4j.LoggerFactory;
 public final class WorkflowInternal {
   public static final int DEFAULT_VERSION = -1;
 
+  /**
+   * Listener metadata is immutable, so it's built once per class instead of for every workflow
+   * instance that registers itself or another object as a listener.
+   */
+  private static final ClassValue<POJOWorkflowImplMetadata> LISTENER_METADATA =
+      new ClassValue<POJOWorkflowImplMetadata>() {
+        @Override
+        protected POJOWorkflowImplMetadata computeValue(Class<?> type) {
+          return POJOWorkflowImplMetadata.newListenerInstance(type);
+        }
+      };
+
   public static @Nonnull WorkflowThread newWorkflowMethodThread(Runnable runnable, String name) {
     Object workflowThread =
         currentThreadInternal()
@@ -149,9 +162,10 @@ public final class WorkflowInternal {
       return;
     }
     Class<?> cls = implementation.getClass();
-    POJOWorkflowImplMetadata workflowMetadata = POJOWorkflowImplMetadata.newListenerInstance(cls);
+    POJOWorkflowImplMetadata workflowMetadata = LISTENER_METADATA.get(cls);
     for (POJOWorkflowMethodMetadata methodMetadata : workflowMetadata.getQueryMethods()) {
       Method method = methodMetadata.getWorkflowMethod();
+      MethodInvoker invoker = MethodInvoker.of(method);
       getWorkflowOutboundInterceptor()
           .registerQuery(
               new WorkflowOutboundCallsInterceptor.RegisterQueryInput(
@@ -161,7 +175,7 @@ public final class WorkflowInternal {
                   method.getGenericParameterTypes(),
                   (args) -> {
                     try {
-                      return method.invoke(implementation, args);
+                      return invoker.invoke(implementation, args);
                     } catch (Throwable e) {
                       throw CheckedExceptionWrapper.wrap(e);
                     }
@@ -170,6 +184,7 @@ public final class WorkflowInternal {
     List<WorkflowOutboundCallsInterceptor.SignalRegistrationRequest> requests = new ArrayList<>();
     for (POJOWorkflowMethodMetadata methodMetadata : workflowMetadata.getSignalMethods()) {
       Method method = methodMetadata.getWorkflowMethod();
+      MethodInvoker invoker = MethodInvoker.of(method);
       SignalMethod signalMethod = method.getAnnotation(SignalMethod.class);
       requests.add(
           new WorkflowOutboundCallsInterceptor.SignalRegistrationRequest(
@@ -180,7 +195,7 @@ public final class WorkflowInternal {
               method.getGenericParameterTypes(),
               (args) -> {
                 try {
-                  method.invoke(implementation, args);
+                  invoker.invoke(implementation, args);
                 } catch (Throwable e) {
                   throw CheckedExceptionWrapper.wrap(e);
                 }
@@ -210,6 +225,7 @@ public final class WorkflowInternal {
         new ArrayList<>();
     for (POJOWorkflowMethodMetadata methodMetadata : workflowMetadata.getUpdateMethods()) {
       Method method = methodMetadata.getWorkflowMethod();
+      MethodInvoker invoker = MethodInvoker.of(method);
       UpdateMethod updateMethod = method.getAnnotation(UpdateMethod.class);
       // Get the update name, defaulting to the method name if not specified.
       String updateMethodName = updateMethod.name();
@@ -218,17 +234,18 @@ public final class WorkflowInternal {
       }
       // Check if any validators claim they are the validator for this update
       POJOWorkflowMethodMetadata validatorMethodMetadata = validators.remove(updateMethodName);
-      Method validatorMethod;
+      MethodInvoker validatorInvoker;
       if (validatorMethodMetadata != null) {
-        validatorMethod = validatorMethodMetadata.getWorkflowMethod();
+        Method validatorMethod = validatorMethodMetadata.getWorkflowMethod();
         if (!Arrays.equals(validatorMethod.getParameterTypes(), method.getParameterTypes())) {
           throw new IllegalArgumentException(
               "Validator for: "
                   + updateMethodName
                   + " type parameters do not match the update handle");
         }
+        validatorInvoker = MethodInvoker.of(validatorMethod);
       } else {
-        validatorMethod = null;
+        validatorInvoker = null;
       }
       updateRequests.add(
           new WorkflowOutboundCallsInterceptor.UpdateRegistrationRequest(
@@ -239,8 +256,8 @@ public final class WorkflowInternal {
               method.getGenericParameterTypes(),
               (args) -> {
                 try {
-                  if (validatorMethod != null) {
-                    validatorMethod.invoke(implementation, args);
+                  if (validatorInvoker != null) {
+                    validatorInvoker.invoke(implementation, args);
                   }
                 } catch (Throwable e) {
                   throw CheckedExceptionWrapper.wrap(e);
@@ -248,7 +265,7 @@ public final class WorkflowInternal {
               },
               (args) -> {
                 try {
-                  return method.invoke(implementation, args);
+                  return invoker.invoke(implementation, args);
                 } catch (Throwable e) {
                   throw CheckedExceptionWrapper.wrap(e);
                 }
@@ -31,7 +31,7 @@ final class WorkflowQueueDeprecatedImpl<E> implements WorkflowQueue<E> {
 
   @Override
   public E take() {
-    WorkflowThread.await("WorkflowQueue.take", () -> !queue.isEmpty());
+    WorkflowThread.await("WorkflowQueue.take", (RunnerEvaluatedCondition) () -> !queue.isEmpty());
     // this implementation is incorrect and has been fixed in WorkflowQueueImpl
     return queue.pollLast();
   }
@@ -101,7 +101,8 @@ final class WorkflowQueueDeprecatedImpl<E> implements WorkflowQueue<E> {
 
   @Override
   public void put(E e) {
-    WorkflowThread.await("WorkflowQueue.put", () -> queue.size() < capacity);
+    WorkflowThread.await(
+        "WorkflowQueue.put", (RunnerEvaluatedCondition) () -> queue.size() < capacity);
     queue.addLast(e);
   }
 
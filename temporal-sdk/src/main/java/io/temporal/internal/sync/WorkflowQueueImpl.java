@@ -21,7 +21,7 @@ final class WorkflowQueueImpl<E> implements WorkflowQueue<E> {
 
   @Override
   public E take() {
-    WorkflowThread.await("WorkflowQueue.take", () -> !queue.isEmpty());
+    WorkflowThread.await("WorkflowQueue.take", (RunnerEvaluatedCondition) () -> !queue.isEmpty());
     return queue.poll();
   }
 
@@ -89,7 +89,8 @@ final class WorkflowQueueImpl<E> implements WorkflowQueue<E> {
 
   @Override
   public void put(E e) {
-    WorkflowThread.await("WorkflowQueue.put", () -> queue.size() < capacity);
+    WorkflowThread.await(
+        "WorkflowQueue.put", (RunnerEvaluatedCondition) () -> queue.size() < capacity);
     queue.addLast(e);
   }
 
@@ -71,6 +71,12 @@ public interface WorkflowThread extends CancellationScope {
    */
   boolean runUntilBlocked(long deadlockDetectionTimeoutMs);
 
+  /**
+   * @return true if the thread is blocked on a {@link RunnerEvaluatedCondition} that is still false
+   *     and {@link #runUntilBlocked(long)} would return without any progress
+   */
+  boolean isBlockedOnRunnerEvaluatedCondition();
+
   /**
    * Disables deadlock detector on this thread
    *
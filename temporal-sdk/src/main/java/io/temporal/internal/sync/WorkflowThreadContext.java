@@ -7,7 +7,7 @@ import io.temporal.internal.common.env.DebugModeUtils;
 import io.temporal.workflow.Functions;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
@@ -17,7 +17,7 @@ class WorkflowThreadContext {
   private static final Logger log = LoggerFactory.getLogger(WorkflowThreadContext.class);
 
   // Shared runner lock
-  private final Lock runnerLock;
+  private final ReentrantLock runnerLock;
   private final WorkflowThreadScheduler scheduler;
   // Used to block evaluateInCoroutineContext
   private final Condition evaluationCondition;
@@ -31,11 +31,13 @@ class WorkflowThreadContext {
   private boolean inRunUntilBlocked;
   private boolean remainedBlocked;
   private String yieldReason;
+  // unblock condition of the current yield if the runner can evaluate it without the thread
+  @Nullable private RunnerEvaluatedCondition runnerEvaluatedCondition;
   private boolean destroyRequested;
 
-  WorkflowThreadContext(Lock runnerLock) {
+  WorkflowThreadContext(ReentrantLock runnerLock, long handOffSpinTimeNanos) {
     this.runnerLock = runnerLock;
-    this.scheduler = new WorkflowThreadScheduler(runnerLock);
+    this.scheduler = new WorkflowThreadScheduler(runnerLock, handOffSpinTimeNanos);
     this.evaluationCondition = runnerLock.newCondition();
   }
 
@@ -64,6 +66,9 @@ class WorkflowThreadContext {
         throw new DestroyWorkflowThreadError();
       }
       yieldReason = reason;
+      if (unblockFunction instanceof RunnerEvaluatedCondition) {
+        runnerEvaluatedCondition = (RunnerEvaluatedCondition) unblockFunction;
+      }
 
       while (!inRunUntilBlocked || !unblockFunction.get()) {
         status = Status.YIELDED;
@@ -84,6 +89,7 @@ class WorkflowThreadContext {
       }
     } finally {
       remainedBlocked = false;
+      runnerEvaluatedCondition = null;
       runnerLock.unlock();
     }
   }
@@ -263,6 +269,29 @@ class WorkflowThreadContext {
     }
   }
 
+  /**
+   * @see WorkflowThreadScheduler#stopSpinning()
+   */
+  public void stopSpinning() {
+    scheduler.stopSpinning();
+  }
+
+  /**
+   * @return true if the thread is yielded on a {@link RunnerEvaluatedCondition} that is still
+   *     false, which means that {@link #runUntilBlocked(long)} can't make any progress
+   */
+  public boolean isBlockedOnRunnerEvaluatedCondition() {
+    runnerLock.lock();
+    try {
+      return status == Status.YIELDED
+          && !destroyRequested
+          && runnerEvaluatedCondition != null
+          && !runnerEvaluatedCondition.get();
+    } finally {
+      runnerLock.unlock();
+    }
+  }
+
   public boolean isDestroyRequested() {
     runnerLock.lock();
     try {
@@ -23,4 +23,15 @@ public interface WorkflowThreadExecutor {
    * @throws NullPointerException if the task is null
    */
   Future<?> submit(@Nonnull Runnable task);
+
+  /**
+   * How long a workflow thread and the workflow event loop busy-wait for each other to take a
+   * turn before blocking on the runner lock condition. Spinning avoids parking and unparking
+   * threads for the short hand-offs typical for small workflow tasks at the cost of CPU.
+   *
+   * @return spin time in nanoseconds, 0 to block right away
+   */
+  default long getHandOffSpinTimeNanos() {
+    return 0;
+  }
 }
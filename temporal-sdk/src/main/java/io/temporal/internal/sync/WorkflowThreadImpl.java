@@ -162,7 +162,9 @@ class WorkflowThreadImpl implements WorkflowThread {
     this.workflowThreadExecutor = workflowThreadExecutor;
     this.syncWorkflowContext = Preconditions.checkNotNull(syncWorkflowContext);
     this.runner = runner;
-    this.context = new WorkflowThreadContext(runner.getLock());
+    this.context =
+        new WorkflowThreadContext(
+            runner.getLock(), workflowThreadExecutor.getHandOffSpinTimeNanos());
     this.cache = cache;
     this.priority = priority;
     this.task =
@@ -287,6 +289,11 @@ class WorkflowThreadImpl implements WorkflowThread {
     return context.runUntilBlocked(deadlockDetectionTimeoutMs);
   }
 
+  @Override
+  public boolean isBlockedOnRunnerEvaluatedCondition() {
+    return taskFuture != null && context.isBlockedOnRunnerEvaluatedCondition();
+  }
+
   @Override
   public NonIdempotentHandle lockDeadlockDetector() {
     return context.lockDeadlockDetector();
@@ -3,25 +3,32 @@ package io.temporal.internal.sync;
 import com.google.common.base.Preconditions;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 class WorkflowThreadScheduler {
   // A single lock shared between all workflow threads of a workflow. Created in
   // DeterministicRunnerImpl
-  private final Lock runnerLock;
+  private final ReentrantLock runnerLock;
   // Used to block runUntilBlocked call on
   private final Condition yieldedCondition;
   // Used to block yield call on
   private final Condition runCondition;
 
-  private boolean yielded;
-  private boolean completed;
+  // See WorkflowThreadExecutor#getHandOffSpinTimeNanos
+  private final long handOffSpinTimeNanos;
+
+  // volatile to be polled without the runner lock while spinning, updated under the runner lock
+  private volatile boolean yielded;
+  private volatile boolean completed;
+  // set by the event loop when it's done, so the thread doesn't spin for a schedule that won't come
+  private volatile boolean spinStopped;
 
   private int deadlockDetectionLockCounter;
   private long lastProgressTimestampNs;
 
-  WorkflowThreadScheduler(Lock runnerLock) {
+  WorkflowThreadScheduler(ReentrantLock runnerLock, long handOffSpinTimeNanos) {
     this.runnerLock = runnerLock;
+    this.handOffSpinTimeNanos = handOffSpinTimeNanos;
     this.runCondition = runnerLock.newCondition();
     this.yieldedCondition = runnerLock.newCondition();
   }
@@ -34,7 +41,14 @@ class WorkflowThreadScheduler {
     madeProgressLocked();
     this.yielded = true;
     this.yieldedCondition.signal();
-    this.runCondition.await();
+    if (handOffSpinTimeNanos > 0 && spinUntilScheduledLocked()) {
+      return;
+    }
+    // The thread may get scheduled while the lock is being retaken after spinning, before anybody
+    // waits on runCondition. The flag is the source of truth, which also covers spurious wakeups.
+    while (this.yielded) {
+      this.runCondition.await();
+    }
   }
 
   public void completeLocked() {
@@ -45,10 +59,20 @@ class WorkflowThreadScheduler {
 
   public void scheduleLocked() {
     Preconditions.checkState(!this.completed, "shouldn't schedule completed workflow thread");
+    this.spinStopped = false;
     this.yielded = false;
     this.runCondition.signal();
   }
 
+  /**
+   * Makes a thread that spins after yielding fall back to the condition wait right away. Called by
+   * the event loop when it stops scheduling the workflow threads, as the last yield of each thread
+   * is not followed by a schedule until the next workflow task. Doesn't need the runner lock.
+   */
+  public void stopSpinning() {
+    this.spinStopped = true;
+  }
+
   public void lockDeadlockDetection() {
     this.runnerLock.lock();
     try {
@@ -83,11 +107,15 @@ class WorkflowThreadScheduler {
         deadlockDetectionLockCounter == 0,
         "Unbalanced lockDeadlockDetection/unlockDeadlockDetection calls");
     this.lastProgressTimestampNs = System.nanoTime();
+    if (handOffSpinTimeNanos > 0) {
+      spinUntilYieldedLocked();
+    }
     long sinceLastProgressMadeNs = 0;
     while (true) {
       boolean timedOut =
-          !this.yieldedCondition.await(
-              deadlockDetectionTimeoutNs - sinceLastProgressMadeNs, TimeUnit.NANOSECONDS);
+          !(this.yielded || this.completed)
+              && !this.yieldedCondition.await(
+                  deadlockDetectionTimeoutNs - sinceLastProgressMadeNs, TimeUnit.NANOSECONDS);
 
       // 1. It is possible that the await() is expired, but it happened when the controlled thread
       // had already reached the yielding/completion point and was under the lock. If it's the
@@ -113,6 +141,67 @@ class WorkflowThreadScheduler {
     }
   }
 
+  /**
+   * Busy-waits with the runner lock released until the thread is scheduled by {@link
+   * #scheduleLocked()}, the spin time is over or {@link #stopSpinning()} is called. Returns with
+   * the runner lock taken.
+   *
+   * @return true if the thread got scheduled
+   */
+  private boolean spinUntilScheduledLocked() {
+    int holdCount = unlockFully();
+    try {
+      long spinStartNs = System.nanoTime();
+      while (this.yielded) {
+        if (this.spinStopped || System.nanoTime() - spinStartNs >= handOffSpinTimeNanos) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      relock(holdCount);
+    }
+  }
+
+  /**
+   * Busy-waits with the runner lock released until the thread yields or completes or the spin time
+   * is over. Returns with the runner lock taken.
+   */
+  private void spinUntilYieldedLocked() {
+    int holdCount = unlockFully();
+    try {
+      long spinStartNs = System.nanoTime();
+      while (!this.yielded
+          && !this.completed
+          && System.nanoTime() - spinStartNs < handOffSpinTimeNanos) {
+        // busy-wait, Thread.onSpinWait is not available on Java 8
+      }
+    } finally {
+      relock(holdCount);
+    }
+  }
+
+  /**
+   * The runner lock is reentrant and is held twice by the event loop while it runs a workflow
+   * thread. Releases it completely the same way as {@link Condition#await()} does, so the other
+   * side can take it while we spin.
+   *
+   * @return number of holds released
+   */
+  private int unlockFully() {
+    int holdCount = runnerLock.getHoldCount();
+    for (int i = 0; i < holdCount; i++) {
+      runnerLock.unlock();
+    }
+    return holdCount;
+  }
+
+  private void relock(int holdCount) {
+    for (int i = 0; i < holdCount; i++) {
+      runnerLock.lock();
+    }
+  }
+
   enum WaitForYieldResult {
     YIELDED,
     COMPLETED,
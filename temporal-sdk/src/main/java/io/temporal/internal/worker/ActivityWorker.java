@@ -6,7 +6,6 @@ import com.google.protobuf.ByteString;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
 import com.uber.m3.util.Duration;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.api.command.v1.ScheduleActivityTaskCommandAttributesOrBuilder;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.workflowservice.v1.*;
@@ -239,12 +238,13 @@ final class ActivityWorker implements SuspendableWorker {
           task.getPermit());
 
       Scope metricsScope =
-          workerMetricsScope.tagged(
-              ImmutableMap.of(
+          MetricsTag.tagged(
+              MetricsTag.tagged(
+                  workerMetricsScope,
                   MetricsTag.ACTIVITY_TYPE,
-                  pollResponse.getActivityType().getName(),
-                  MetricsTag.WORKFLOW_TYPE,
-                  pollResponse.getWorkflowType().getName()));
+                  pollResponse.getActivityType().getName()),
+              MetricsTag.WORKFLOW_TYPE,
+              pollResponse.getWorkflowType().getName());
 
       MDC.put(LoggerTag.ACTIVITY_ID, pollResponse.getActivityId());
       MDC.put(LoggerTag.ACTIVITY_TYPE, pollResponse.getActivityType().getName());
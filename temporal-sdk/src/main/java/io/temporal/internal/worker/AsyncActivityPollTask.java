@@ -139,6 +139,11 @@ public class AsyncActivityPollTask implements AsyncPoller.PollTaskAsync<Activity
     return "AsyncActivityPollTask";
   }
 
+  @Override
+  public MetricsTag.TagValue getPollerType() {
+    return PollerTypeMetricsTag.PollerType.ACTIVITY_TASK;
+  }
+
   @Override
   public String toString() {
     return "AsyncActivityPollTask{}";
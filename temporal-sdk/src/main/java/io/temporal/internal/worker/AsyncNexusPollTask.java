@@ -133,6 +133,11 @@ public class AsyncNexusPollTask implements AsyncPoller.PollTaskAsync<NexusTask>
     return "AsyncNexusPollTask";
   }
 
+  @Override
+  public MetricsTag.TagValue getPollerType() {
+    return PollerTypeMetricsTag.PollerType.NEXUS_TASK;
+  }
+
   @Override
   public String toString() {
     return "AsyncNexusPollTask{}";
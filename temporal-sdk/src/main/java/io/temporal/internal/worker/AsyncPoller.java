@@ -4,6 +4,7 @@ import com.uber.m3.tally.Scope;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.temporal.internal.BackoffThrottler;
+import io.temporal.serviceclient.MetricsTag;
 import io.temporal.worker.MetricsType;
 import io.temporal.worker.tuning.PollerBehaviorAutoscaling;
 import io.temporal.worker.tuning.SlotPermit;
@@ -14,6 +15,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,6 +106,7 @@ final class AsyncPoller<T extends ScalingTask> extends BasePoller<T> {
       log.info("Starting async poller: {}", asyncTaskPoller.getLabel());
       AdjustableSemaphore pollerSemaphore =
           new AdjustableSemaphore(pollerBehavior.getInitialConcurrentTaskPollers());
+      MetricsTag.TagValue pollerType = asyncTaskPoller.getPollerType();
       PollScaleReportHandle<T> pollScaleReportHandle =
           new PollScaleReportHandle<>(
               pollerBehavior.getMinConcurrentTaskPollers(),
@@ -115,7 +118,15 @@ final class AsyncPoller<T extends ScalingTask> extends BasePoller<T> {
                     asyncTaskPoller.getLabel(),
                     newTarget);
                 pollerSemaphore.setMaxPermits(newTarget);
-              });
+              },
+              () ->
+                  slotSupplier
+                      .maximumSlots()
+                      .map(max -> slotSupplier.getIssuedSlots() < max)
+                      .orElse(true),
+              pollerType != null
+                  ? MetricsTag.tagged(workerMetricsScope, pollerType)
+                  : workerMetricsScope);
       PollQueueTask pollQueue =
           new PollQueueTask(asyncTaskPoller, pollerSemaphore, pollScaleReportHandle);
       pollerBalancer.addPoller(asyncTaskPoller.getLabel());
@@ -159,6 +170,14 @@ final class AsyncPoller<T extends ScalingTask> extends BasePoller<T> {
     default String getLabel() {
       return "PollTaskAsync";
     }
+
+    /**
+     * @return the poller type to tag the metrics of this poller with
+     */
+    @Nullable
+    default MetricsTag.TagValue getPollerType() {
+      return null;
+    }
   }
 
   class PollQueueTask implements Runnable {
@@ -241,6 +260,7 @@ final class AsyncPoller<T extends ScalingTask> extends BasePoller<T> {
           workerMetricsScope.counter(MetricsType.POLLER_START_COUNTER).inc(1);
 
           SlotPermit finalPermit = permit;
+          long pollStartNanos = System.nanoTime();
           CompletableFuture<T> pollRequest = asyncTaskPoller.poll(permit);
           // Mark that we have made a poll request
           pollRequestMade = true;
@@ -254,7 +274,7 @@ final class AsyncPoller<T extends ScalingTask> extends BasePoller<T> {
                       e = e.getCause();
                     }
                     pollerSemaphore.release();
-                    pollScaleReportHandle.report(task, e);
+                    pollScaleReportHandle.report(task, e, System.nanoTime() - pollStartNanos);
                     if (e != null) {
                       uncaughtExceptionHandler.uncaughtException(Thread.currentThread(), e);
                       pollBackoffThrottler.failure(
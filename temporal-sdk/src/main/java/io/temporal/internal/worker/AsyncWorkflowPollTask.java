@@ -182,4 +182,9 @@ public class AsyncWorkflowPollTask
   public String getLabel() {
     return stickyPoller ? "StickyWorkflowPollTask" : "NormalWorkflowPollTask";
   }
+
+  @Override
+  public MetricsTag.TagValue getPollerType() {
+    return taskQueueTagValue;
+  }
 }
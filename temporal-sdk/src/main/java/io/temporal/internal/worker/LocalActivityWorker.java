@@ -6,7 +6,6 @@ import static io.temporal.internal.worker.LocalActivityResult.processingFailed;
 import com.google.common.base.Preconditions;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
-import com.uber.m3.util.ImmutableMap;
 import io.grpc.Deadline;
 import io.temporal.api.enums.v1.RetryState;
 import io.temporal.api.enums.v1.TimeoutType;
@@ -409,12 +408,13 @@ final class LocalActivityWorker implements Startable, Shutdownable {
         }
 
         Scope metricsScope =
-            workerMetricsScope.tagged(
-                ImmutableMap.of(
+            MetricsTag.tagged(
+                MetricsTag.tagged(
+                    workerMetricsScope,
                     MetricsTag.ACTIVITY_TYPE,
-                    activityTask.getActivityType().getName(),
-                    MetricsTag.WORKFLOW_TYPE,
-                    activityTask.getWorkflowType().getName()));
+                    activityTask.getActivityType().getName()),
+                MetricsTag.WORKFLOW_TYPE,
+                activityTask.getWorkflowType().getName());
 
         MDC.put(LoggerTag.ACTIVITY_ID, activityTask.getActivityId());
         MDC.put(LoggerTag.ACTIVITY_TYPE, activityTask.getActivityType().getName());
@@ -651,14 +651,15 @@ final class LocalActivityWorker implements Startable, Shutdownable {
   public boolean start() {
     if (handler.isAnyTypeSupported()) {
       this.scheduledExecutor =
-          Executors.newSingleThreadScheduledExecutor(
+          new TimingWheelScheduler(
               r -> {
                 Thread thread = new Thread(r);
                 thread.setName(
                     WorkerThreadsNameHelper.getLocalActivitySchedulerThreadPrefix(
                         namespace, taskQueue));
                 return thread;
-              });
+              },
+              workerMetricsScope);
 
       this.activityAttemptTaskExecutor =
           new PollTaskExecutor<>(
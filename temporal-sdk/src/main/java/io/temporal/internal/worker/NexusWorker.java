@@ -7,7 +7,6 @@ import com.google.protobuf.ByteString;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
 import com.uber.m3.util.Duration;
-import com.uber.m3.util.ImmutableMap;
 import io.temporal.api.nexus.v1.HandlerError;
 import io.temporal.api.nexus.v1.Request;
 import io.temporal.api.nexus.v1.Response;
@@ -22,7 +21,6 @@ import io.temporal.worker.MetricsType;
 import io.temporal.worker.WorkerMetricsTag;
 import io.temporal.worker.tuning.*;
 import io.temporal.worker.tuning.PollerBehaviorAutoscaling;
-import java.util.Collections;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -244,12 +242,12 @@ final class NexusWorker implements SuspendableWorker {
       String service = getNexusTaskService(pollResponse);
       if (!service.isEmpty()) {
         MDC.put(LoggerTag.NEXUS_SERVICE, service);
-        metricsScope = metricsScope.tagged(ImmutableMap.of(MetricsTag.NEXUS_SERVICE, service));
+        metricsScope = MetricsTag.tagged(metricsScope, MetricsTag.NEXUS_SERVICE, service);
       }
       String operation = getNexusTaskOperation(pollResponse);
       if (!operation.isEmpty()) {
         MDC.put(LoggerTag.NEXUS_OPERATION, operation);
-        metricsScope = metricsScope.tagged(ImmutableMap.of(MetricsTag.NEXUS_OPERATION, operation));
+        metricsScope = MetricsTag.tagged(metricsScope, MetricsTag.NEXUS_OPERATION, operation);
       }
       slotSupplier.markSlotUsed(
           new NexusSlotInfo(
@@ -282,32 +280,28 @@ final class NexusWorker implements SuspendableWorker {
       try {
         result = handler.handle(task, metricsScope);
         if (result.getHandlerError() != null) {
-          metricsScope
-              .tagged(
-                  Collections.singletonMap(
-                      TASK_FAILURE_TYPE,
-                      "handler_error_" + result.getHandlerError().getErrorType()))
+          MetricsTag.tagged(
+                  metricsScope,
+                  TASK_FAILURE_TYPE,
+                  "handler_error_" + result.getHandlerError().getErrorType())
               .counter(MetricsType.NEXUS_EXEC_FAILED_COUNTER)
               .inc(1);
         } else if (result.getResponse().hasStartOperation()
             && result.getResponse().getStartOperation().hasOperationError()) {
           String operationState =
               result.getResponse().getStartOperation().getOperationError().getOperationState();
-          metricsScope
-              .tagged(Collections.singletonMap(TASK_FAILURE_TYPE, "operation_" + operationState))
+          MetricsTag.tagged(metricsScope, TASK_FAILURE_TYPE, "operation_" + operationState)
               .counter(MetricsType.NEXUS_EXEC_FAILED_COUNTER)
               .inc(1);
         }
       } catch (TimeoutException e) {
         log.warn("Nexus task timed out while processing", e);
-        metricsScope
-            .tagged(Collections.singletonMap(TASK_FAILURE_TYPE, "timeout"))
+        MetricsTag.tagged(metricsScope, TASK_FAILURE_TYPE, "timeout")
             .counter(MetricsType.NEXUS_EXEC_FAILED_COUNTER)
             .inc(1);
         return;
       } catch (Throwable e) {
-        metricsScope
-            .tagged(Collections.singletonMap(TASK_FAILURE_TYPE, "internal_sdk_error"))
+        MetricsTag.tagged(metricsScope, TASK_FAILURE_TYPE, "internal_sdk_error")
             .counter(MetricsType.NEXUS_EXEC_FAILED_COUNTER)
             .inc(1);
         // handler.handle if expected to never throw an exception and return result
@@ -1,8 +1,13 @@
 package io.temporal.internal.worker;
 
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Scope;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.temporal.worker.MetricsType;
 import io.temporal.workflow.Functions;
+import java.util.Arrays;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,10 +15,27 @@ import org.slf4j.LoggerFactory;
 /**
  * PollScaleReportHandle is responsible for managing the scaling of pollers based on the scaling
  * feedback attached to the task by the server.
+ *
+ * <p>When created with the local signals, it also scales the pollers on its own. It adds a poller
+ * while polls keep returning tasks right away, which means tasks wait in a backlog, as long as the
+ * worker has free slots to execute them. It removes pollers on empty polls, except for a while
+ * after adding some, so that bursty task queues don't flap. {@link #run()} is expected to be called
+ * every {@code 100ms}.
  */
 @ThreadSafe
 public class PollScaleReportHandle<T extends ScalingTask> implements Runnable {
   private static final Logger logger = LoggerFactory.getLogger(PollScaleReportHandle.class);
+  // Polls that return a task within this multiple of the fastest recent poll found the task
+  // already waiting in the task queue
+  private static final int BACKLOG_POLL_LATENCY_MULTIPLIER = 2;
+  // Periods the fastest poll is taken over, so that an unusually fast poll or a change of the
+  // network latency doesn't affect the backlog detection for longer than that
+  private static final int BACKLOG_POLL_LATENCY_WINDOW_PERIODS = 50;
+  // Consecutive periods with backlogged polls and free slots before adding a poller
+  private static final int SCALE_UP_PERIODS = 2;
+  // Periods after adding pollers during which empty polls don't remove them
+  private static final int SCALE_DOWN_COOLDOWN_PERIODS = 50;
+
   private final int minPollerCount;
   private final int maxPollerCount;
   private int targetPollerCount;
@@ -23,15 +45,73 @@ public class PollScaleReportHandle<T extends ScalingTask> implements Runnable {
   private int ingestedLastPeriod;
   private boolean scaleUpAllowed;
 
+  // Local signals, used only if hasFreeSlots is set
+  private final @Nullable Functions.Func<Boolean> hasFreeSlots;
+  private final @Nullable Gauge targetPollersGauge;
+  // Fastest poll that returned a task in each of the last periods, Long.MAX_VALUE if there was none
+  private final long[] periodMinTaskPollLatencyNanos =
+      new long[BACKLOG_POLL_LATENCY_WINDOW_PERIODS];
+  private int periodIndex;
+  private long minTaskPollLatencyNanosThisPeriod = Long.MAX_VALUE;
+  private long minTaskPollLatencyNanosLastPeriods = Long.MAX_VALUE;
+  private int backlogPollsThisPeriod;
+  private int emptyPollsThisPeriod;
+  private int backlogPeriods;
+  private int periodsSinceScaleUp = SCALE_DOWN_COOLDOWN_PERIODS;
+
   public PollScaleReportHandle(
       int minPollerCount,
       int maxPollerCount,
       int initialPollerCount,
       Functions.Proc1<Integer> scaleCallback) {
+    this(minPollerCount, maxPollerCount, initialPollerCount, scaleCallback, null, null);
+  }
+
+  /**
+   * @param hasFreeSlots tells if the worker has free slots for more tasks, enables the scaling on
+   *     local signals if set
+   * @param metricsScope scope to publish the target number of pollers to
+   */
+  public PollScaleReportHandle(
+      int minPollerCount,
+      int maxPollerCount,
+      int initialPollerCount,
+      Functions.Proc1<Integer> scaleCallback,
+      @Nullable Functions.Func<Boolean> hasFreeSlots,
+      @Nullable Scope metricsScope) {
     this.minPollerCount = minPollerCount;
     this.maxPollerCount = maxPollerCount;
     this.targetPollerCount = initialPollerCount;
     this.scaleCallback = scaleCallback;
+    Arrays.fill(periodMinTaskPollLatencyNanos, Long.MAX_VALUE);
+    this.hasFreeSlots = hasFreeSlots;
+    this.targetPollersGauge =
+        metricsScope != null ? metricsScope.gauge(MetricsType.TARGET_POLLERS) : null;
+    if (targetPollersGauge != null) {
+      targetPollersGauge.update(targetPollerCount);
+    }
+  }
+
+  /**
+   * Reports the outcome of a poll along with its latency, which is used as a local signal.
+   *
+   * @param pollLatencyNanos time from the start of the poll request to its completion
+   */
+  public synchronized void report(T task, Throwable e, long pollLatencyNanos) {
+    if (e == null) {
+      if (task != null) {
+        minTaskPollLatencyNanosThisPeriod =
+            Math.min(minTaskPollLatencyNanosThisPeriod, pollLatencyNanos);
+        long minTaskPollLatencyNanos =
+            Math.min(minTaskPollLatencyNanosThisPeriod, minTaskPollLatencyNanosLastPeriods);
+        if (pollLatencyNanos <= minTaskPollLatencyNanos * BACKLOG_POLL_LATENCY_MULTIPLIER) {
+          backlogPollsThisPeriod++;
+        }
+      } else {
+        emptyPollsThisPeriod++;
+      }
+    }
+    report(task, e);
   }
 
   public synchronized void report(T task, Throwable e) {
@@ -68,10 +148,13 @@ public class PollScaleReportHandle<T extends ScalingTask> implements Runnable {
         updateTarget((t -> t + deltaSuggestion));
       }
 
-    } else if (task == null && everSawScalingDecision) {
-      // We want to avoid scaling down on empty polls if the server has never made any
-      // scaling decisions - otherwise we might never scale up again.
-      updateTarget((t) -> t - 1);
+    } else if (task == null && (everSawScalingDecision || hasFreeSlots != null)) {
+      // We want to avoid scaling down on empty polls if neither the server nor the local signals
+      // make scaling decisions - otherwise we might never scale up again.
+      // With the local signals, pollers that were just added aren't removed on the first lull.
+      if (hasFreeSlots == null || periodsSinceScaleUp >= SCALE_DOWN_COOLDOWN_PERIODS) {
+        updateTarget((t) -> t - 1);
+      }
     }
   }
 
@@ -86,7 +169,13 @@ public class PollScaleReportHandle<T extends ScalingTask> implements Runnable {
     if (newTarget.equals(target)) {
       return;
     }
+    if (newTarget > target) {
+      periodsSinceScaleUp = 0;
+    }
     targetPollerCount = newTarget;
+    if (targetPollersGauge != null) {
+      targetPollersGauge.update(targetPollerCount);
+    }
     if (scaleCallback != null) {
       scaleCallback.apply(targetPollerCount);
     }
@@ -97,5 +186,31 @@ public class PollScaleReportHandle<T extends ScalingTask> implements Runnable {
     scaleUpAllowed = (double) ingestedThisPeriod >= (double) ingestedLastPeriod * 1.1;
     ingestedLastPeriod = ingestedThisPeriod;
     ingestedThisPeriod = 0;
+
+    if (hasFreeSlots == null) {
+      return;
+    }
+    periodMinTaskPollLatencyNanos[periodIndex] = minTaskPollLatencyNanosThisPeriod;
+    periodIndex = (periodIndex + 1) % BACKLOG_POLL_LATENCY_WINDOW_PERIODS;
+    minTaskPollLatencyNanosThisPeriod = Long.MAX_VALUE;
+    minTaskPollLatencyNanosLastPeriods = Long.MAX_VALUE;
+    for (long latency : periodMinTaskPollLatencyNanos) {
+      minTaskPollLatencyNanosLastPeriods = Math.min(minTaskPollLatencyNanosLastPeriods, latency);
+    }
+    if (periodsSinceScaleUp < SCALE_DOWN_COOLDOWN_PERIODS) {
+      periodsSinceScaleUp++;
+    }
+    // Another poller helps only if the tasks keep waiting for pollers and there are slots to
+    // execute them
+    if (backlogPollsThisPeriod > 0 && emptyPollsThisPeriod == 0 && hasFreeSlots.apply()) {
+      if (++backlogPeriods >= SCALE_UP_PERIODS) {
+        backlogPeriods = 0;
+        updateTarget((t) -> t + 1);
+      }
+    } else {
+      backlogPeriods = 0;
+    }
+    backlogPollsThisPeriod = 0;
+    emptyPollsThisPeriod = 0;
   }
 }
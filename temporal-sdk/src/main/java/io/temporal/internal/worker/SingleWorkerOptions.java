@@ -40,6 +40,7 @@ public final class SingleWorkerOptions {
     private Duration drainStickyTaskQueueTimeout;
     private boolean usingVirtualThreads;
     private WorkerDeploymentOptions deploymentOptions;
+    private long workflowHistoryPrefetchMaxBytes;
 
     private Builder() {}
 
@@ -64,6 +65,7 @@ public final class SingleWorkerOptions {
       this.drainStickyTaskQueueTimeout = options.getDrainStickyTaskQueueTimeout();
       this.usingVirtualThreads = options.isUsingVirtualThreads();
       this.deploymentOptions = options.getDeploymentOptions();
+      this.workflowHistoryPrefetchMaxBytes = options.getWorkflowHistoryPrefetchMaxBytes();
     }
 
     public Builder setIdentity(String identity) {
@@ -155,6 +157,11 @@ public final class SingleWorkerOptions {
       return this;
     }
 
+    public Builder setWorkflowHistoryPrefetchMaxBytes(long workflowHistoryPrefetchMaxBytes) {
+      this.workflowHistoryPrefetchMaxBytes = workflowHistoryPrefetchMaxBytes;
+      return this;
+    }
+
     public SingleWorkerOptions build() {
       PollerOptions pollerOptions = this.pollerOptions;
       if (pollerOptions == null) {
@@ -193,7 +200,8 @@ public final class SingleWorkerOptions {
           this.defaultHeartbeatThrottleInterval,
           drainStickyTaskQueueTimeout,
           usingVirtualThreads,
-          this.deploymentOptions);
+          this.deploymentOptions,
+          this.workflowHistoryPrefetchMaxBytes);
     }
   }
 
@@ -214,6 +222,7 @@ public final class SingleWorkerOptions {
   private final Duration drainStickyTaskQueueTimeout;
   private final boolean usingVirtualThreads;
   private final WorkerDeploymentOptions deploymentOptions;
+  private final long workflowHistoryPrefetchMaxBytes;
 
   private SingleWorkerOptions(
       String identity,
@@ -232,7 +241,8 @@ public final class SingleWorkerOptions {
       Duration defaultHeartbeatThrottleInterval,
       Duration drainStickyTaskQueueTimeout,
       boolean usingVirtualThreads,
-      WorkerDeploymentOptions deploymentOptions) {
+      WorkerDeploymentOptions deploymentOptions,
+      long workflowHistoryPrefetchMaxBytes) {
     this.identity = identity;
     this.binaryChecksum = binaryChecksum;
     this.buildId = buildId;
@@ -250,6 +260,7 @@ public final class SingleWorkerOptions {
     this.drainStickyTaskQueueTimeout = drainStickyTaskQueueTimeout;
     this.usingVirtualThreads = usingVirtualThreads;
     this.deploymentOptions = deploymentOptions;
+    this.workflowHistoryPrefetchMaxBytes = workflowHistoryPrefetchMaxBytes;
   }
 
   public String getIdentity() {
@@ -331,6 +342,14 @@ public final class SingleWorkerOptions {
     return deploymentOptions;
   }
 
+  /**
+   * @return limit of fetched but not yet replayed history pages of a workflow task, 0 disables
+   *     fetching of history pages ahead of the replay
+   */
+  public long getWorkflowHistoryPrefetchMaxBytes() {
+    return workflowHistoryPrefetchMaxBytes;
+  }
+
   public WorkerVersioningOptions getWorkerVersioningOptions() {
     return new WorkerVersioningOptions(
         this.getBuildId(), this.isUsingBuildIdForVersioning(), this.getDeploymentOptions());
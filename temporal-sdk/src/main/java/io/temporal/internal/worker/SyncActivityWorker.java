@@ -4,11 +4,12 @@ import io.temporal.client.WorkflowClient;
 import io.temporal.internal.activity.ActivityExecutionContextFactory;
 import io.temporal.internal.activity.ActivityExecutionContextFactoryImpl;
 import io.temporal.internal.activity.ActivityTaskHandlerImpl;
+import io.temporal.serviceclient.MetricsTag;
+import io.temporal.worker.WorkerMetricsTag;
 import io.temporal.worker.tuning.ActivitySlotInfo;
 import io.temporal.worker.tuning.SlotSupplier;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
@@ -37,16 +38,20 @@ public class SyncActivityWorker implements SuspendableWorker {
     this.namespace = namespace;
     this.taskQueue = taskQueue;
 
+    // Heartbeats are sent asynchronously and their details are converted by the activity threads,
+    // so a single tick thread of a timing wheel is enough to throttle heartbeats of all the running
+    // activities
     this.heartbeatExecutor =
-        Executors.newScheduledThreadPool(
-            4,
+        new TimingWheelScheduler(
             new ExecutorThreadFactory(
                 WorkerThreadsNameHelper.getActivityHeartbeatThreadPrefix(namespace, taskQueue),
                 // TODO we currently don't have an uncaught exception handler to pass here on
                 // options,
                 // the closest thing is options.getPollerOptions().getUncaughtExceptionHandler(),
                 // but it's pollerOptions, not heartbeat.
-                null));
+                null),
+            MetricsTag.tagged(
+                options.getMetricsScope(), WorkerMetricsTag.WorkerType.ACTIVITY_WORKER));
     ActivityExecutionContextFactory activityExecutionContextFactory =
         new ActivityExecutionContextFactoryImpl(
             client,
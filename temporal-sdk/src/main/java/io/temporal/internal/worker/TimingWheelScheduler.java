@@ -0,0 +1,473 @@
+package io.temporal.internal.worker;
+
+import com.google.common.base.Preconditions;
+import com.uber.m3.tally.Scope;
+import io.temporal.worker.MetricsType;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nonnull;
+
+/**
+ * {@link ScheduledExecutorService} backed by a hashed timing wheel. It's designed for a large
+ * number of short-lived timeouts that are usually cancelled before they fire, like local activity
+ * timeouts and retries or heartbeat throttling.
+ *
+ * <p>Scheduling and cancellation are O(1): new and cancelled tasks are queued and moved in or out
+ * of the wheel buckets by the single tick thread, instead of maintaining a heap that is shared by
+ * the scheduling threads. The price is precision: tasks fire on the first tick after their delay
+ * elapses, so they may be up to one tick duration late. Expired tasks are executed on the tick
+ * thread, tasks that block or take long to execute delay all other tasks of the scheduler. The
+ * tick thread is parked while no tasks are scheduled.
+ *
+ * <p>Like {@link ScheduledThreadPoolExecutor} with default policies, {@link #shutdown()} lets
+ * already scheduled delayed tasks run and the scheduler terminates when there are none left.
+ * Periodic tasks are not rescheduled after shutdown. {@link #shutdownNow()} cancels all the
+ * scheduled tasks.
+ *
+ * <p>Reports the number of scheduled tasks as {@link MetricsType#TIMING_WHEEL_SCHEDULED_TASKS} and
+ * how late the wheel processes its ticks as {@link MetricsType#TIMING_WHEEL_TICK_LAG}.
+ */
+public final class TimingWheelScheduler extends AbstractExecutorService
+    implements ScheduledExecutorService {
+  public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+  public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+  private static final Duration METRICS_REPORTING_INTERVAL = Duration.ofSeconds(1);
+
+  private static final int RUNNING = 0;
+  private static final int SHUTDOWN = 1;
+  private static final int STOP = 2;
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final long ticksPerReport;
+  private final Scope metricsScope;
+  // all the time values of the scheduler are relative to this to avoid overflows of nanoTime
+  private final long startNanos = System.nanoTime();
+
+  private final Queue<ScheduledTask<?>> newTasks = new ConcurrentLinkedQueue<>();
+  private final Queue<ScheduledTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger scheduledTaskCount = new AtomicInteger();
+  private final CountDownLatch terminated = new CountDownLatch(1);
+  private final Thread tickThread;
+  private final AtomicBoolean started = new AtomicBoolean();
+  private volatile int state = RUNNING;
+  // set by the tick thread while it's parked because nothing is scheduled
+  private volatile boolean idle;
+
+  // accessed by the tick thread only
+  private long tick;
+  private long maxTickLagNanos;
+  private final ArrayDeque<ScheduledTask<?>> rescheduledTasks = new ArrayDeque<>();
+
+  public TimingWheelScheduler(ThreadFactory threadFactory, Scope metricsScope) {
+    this(threadFactory, DEFAULT_TICK_DURATION, DEFAULT_TICKS_PER_WHEEL, metricsScope);
+  }
+
+  /**
+   * @param tickDuration resolution of the scheduler
+   * @param ticksPerWheel number of buckets in the wheel, rounded up to a power of two. Tasks with
+   *     delays longer than {@code tickDuration * ticksPerWheel} stay in their bucket for several
+   *     rotations of the wheel.
+   */
+  public TimingWheelScheduler(
+      ThreadFactory threadFactory, Duration tickDuration, int ticksPerWheel, Scope metricsScope) {
+    Preconditions.checkArgument(
+        tickDuration.toNanos() > 0, "tickDuration should be positive: %s", tickDuration);
+    Preconditions.checkArgument(
+        ticksPerWheel > 0 && ticksPerWheel <= 1 << 30,
+        "ticksPerWheel should be between 1 and 2^30: %s",
+        ticksPerWheel);
+    this.tickNanos = tickDuration.toNanos();
+    int wheelSize = Integer.highestOneBit(ticksPerWheel);
+    if (wheelSize < ticksPerWheel) {
+      wheelSize <<= 1;
+    }
+    this.wheel = new Bucket[wheelSize];
+    for (int i = 0; i < wheelSize; i++) {
+      wheel[i] = new Bucket();
+    }
+    this.mask = wheelSize - 1;
+    this.ticksPerReport = Math.max(1, METRICS_REPORTING_INTERVAL.toNanos() / tickNanos);
+    this.metricsScope = metricsScope;
+    this.tickThread = threadFactory.newThread(this::runTicks);
+  }
+
+  @Override
+  @Nonnull
+  public ScheduledFuture<?> schedule(
+      @Nonnull Runnable command, long delay, @Nonnull TimeUnit unit) {
+    return enqueue(new ScheduledTask<Void>(command, null, deadline(delay, unit), 0));
+  }
+
+  @Override
+  @Nonnull
+  public <V> ScheduledFuture<V> schedule(
+      @Nonnull Callable<V> callable, long delay, @Nonnull TimeUnit unit) {
+    return enqueue(new ScheduledTask<>(callable, deadline(delay, unit), 0));
+  }
+
+  @Override
+  @Nonnull
+  public ScheduledFuture<?> scheduleAtFixedRate(
+      @Nonnull Runnable command, long initialDelay, long period, @Nonnull TimeUnit unit) {
+    Preconditions.checkArgument(period > 0, "period should be positive: %s", period);
+    return enqueue(
+        new ScheduledTask<Void>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+  }
+
+  @Override
+  @Nonnull
+  public ScheduledFuture<?> scheduleWithFixedDelay(
+      @Nonnull Runnable command, long initialDelay, long delay, @Nonnull TimeUnit unit) {
+    Preconditions.checkArgument(delay > 0, "delay should be positive: %s", delay);
+    return enqueue(
+        new ScheduledTask<Void>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+  }
+
+  /** Executes {@code command} on the tick thread on the next tick. */
+  @Override
+  public void execute(@Nonnull Runnable command) {
+    schedule(command, 0, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void shutdown() {
+    if (state == RUNNING) {
+      state = SHUTDOWN;
+    }
+    stopTicks();
+  }
+
+  /**
+   * Cancels all the scheduled tasks.
+   *
+   * @return an empty list, tasks that never commenced execution are cancelled instead
+   */
+  @Override
+  @Nonnull
+  public List<Runnable> shutdownNow() {
+    state = STOP;
+    stopTicks();
+    return Collections.emptyList();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return state != RUNNING;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return terminated.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, @Nonnull TimeUnit unit)
+      throws InterruptedException {
+    return terminated.await(timeout, unit);
+  }
+
+  /**
+   * @return number of tasks that are scheduled and not yet executed or cancelled
+   */
+  public int getScheduledTaskCount() {
+    return scheduledTaskCount.get();
+  }
+
+  private void stopTicks() {
+    if (started.compareAndSet(false, true)) {
+      terminated.countDown();
+    } else {
+      LockSupport.unpark(tickThread);
+    }
+  }
+
+  private long now() {
+    return System.nanoTime() - startNanos;
+  }
+
+  private long deadline(long delay, TimeUnit unit) {
+    long deadline = now() + unit.toNanos(Math.max(delay, 0));
+    // guard against overflow of very long delays
+    return deadline < 0 ? Long.MAX_VALUE : deadline;
+  }
+
+  private <V> ScheduledTask<V> enqueue(ScheduledTask<V> task) {
+    if (state != RUNNING) {
+      throw new RejectedExecutionException("Scheduler is shutdown");
+    }
+    scheduledTaskCount.incrementAndGet();
+    newTasks.add(task);
+    if (idle) {
+      LockSupport.unpark(tickThread);
+    }
+    // the tick thread is started by the first scheduled task, so a scheduler that is never used
+    // doesn't keep a thread around
+    if (!started.get() && started.compareAndSet(false, true)) {
+      tickThread.start();
+    }
+    // the tick thread may have already finished if the scheduler was shutdown concurrently
+    if (state != RUNNING && newTasks.remove(task)) {
+      scheduledTaskCount.decrementAndGet();
+      throw new RejectedExecutionException("Scheduler is shutdown");
+    }
+    return task;
+  }
+
+  private void runTicks() {
+    tick = now() / tickNanos;
+    try {
+      while (state != STOP) {
+        if (scheduledTaskCount.get() == 0 && state == RUNNING) {
+          waitForTasks();
+          continue;
+        }
+        long tickDeadline = (tick + 1) * tickNanos;
+        long now = waitUntil(tickDeadline);
+        if (state == STOP) {
+          break;
+        }
+        removeCancelledTasks();
+        addNewTasks();
+        wheel[(int) (tick & mask)].expireTasks(now);
+        tick++;
+        while (!rescheduledTasks.isEmpty()) {
+          addToWheel(rescheduledTasks.poll());
+        }
+        maxTickLagNanos = Math.max(maxTickLagNanos, now - tickDeadline);
+        if (tick % ticksPerReport == 0) {
+          reportMetrics();
+        }
+        if (state == SHUTDOWN && scheduledTaskCount.get() == 0) {
+          break;
+        }
+      }
+    } finally {
+      cancelAllTasks();
+      reportMetrics();
+      terminated.countDown();
+    }
+  }
+
+  /**
+   * Parks the tick thread while the wheel is empty instead of ticking through empty buckets. The
+   * wheel is resumed from the current time, skipping the ticks that passed while parked.
+   */
+  private void waitForTasks() {
+    reportMetrics();
+    idle = true;
+    // enqueue increments the count before checking idle, so a task scheduled after the check below
+    // unparks the thread
+    while (scheduledTaskCount.get() == 0 && state == RUNNING) {
+      LockSupport.park(this);
+    }
+    idle = false;
+    tick = now() / tickNanos;
+  }
+
+  /**
+   * Parks the tick thread until {@code deadline}, or until the scheduler is shutdown and has
+   * nothing left to execute.
+   *
+   * @return current time
+   */
+  private long waitUntil(long deadline) {
+    while (true) {
+      long now = now();
+      long sleepNanos = deadline - now;
+      if (sleepNanos <= 0 || state == STOP) {
+        return now;
+      }
+      if (state == SHUTDOWN && scheduledTaskCount.get() == 0) {
+        return now;
+      }
+      LockSupport.parkNanos(this, sleepNanos);
+    }
+  }
+
+  private void removeCancelledTasks() {
+    ScheduledTask<?> task;
+    while ((task = cancelledTasks.poll()) != null) {
+      if (task.bucket != null) {
+        task.bucket.remove(task);
+        scheduledTaskCount.decrementAndGet();
+      }
+    }
+  }
+
+  private void addNewTasks() {
+    ScheduledTask<?> task;
+    while ((task = newTasks.poll()) != null) {
+      if (task.isCancelled()) {
+        scheduledTaskCount.decrementAndGet();
+        continue;
+      }
+      addToWheel(task);
+    }
+  }
+
+  private void addToWheel(ScheduledTask<?> task) {
+    long expirationTick = task.deadline / tickNanos;
+    task.remainingRounds = (expirationTick - tick) / wheel.length;
+    // tasks that are already overdue go to the current bucket
+    wheel[(int) (Math.max(expirationTick, tick) & mask)].add(task);
+  }
+
+  private void cancelAllTasks() {
+    ScheduledTask<?> task;
+    while ((task = newTasks.poll()) != null) {
+      task.cancelWithoutNotification();
+    }
+    for (Bucket bucket : wheel) {
+      while ((task = bucket.head) != null) {
+        bucket.remove(task);
+        task.cancelWithoutNotification();
+      }
+    }
+    cancelledTasks.clear();
+    rescheduledTasks.clear();
+    scheduledTaskCount.set(0);
+  }
+
+  private void reportMetrics() {
+    metricsScope.gauge(MetricsType.TIMING_WHEEL_SCHEDULED_TASKS).update(scheduledTaskCount.get());
+    metricsScope
+        .timer(MetricsType.TIMING_WHEEL_TICK_LAG)
+        .record(com.uber.m3.util.Duration.ofNanos(maxTickLagNanos));
+    maxTickLagNanos = 0;
+  }
+
+  /** Doubly linked list of the tasks that expire on the same tick of the wheel rotation. */
+  private final class Bucket {
+    private ScheduledTask<?> head;
+    private ScheduledTask<?> tail;
+
+    void add(ScheduledTask<?> task) {
+      task.bucket = this;
+      if (head == null) {
+        head = tail = task;
+      } else {
+        tail.next = task;
+        task.prev = tail;
+        tail = task;
+      }
+    }
+
+    void remove(ScheduledTask<?> task) {
+      if (task.prev != null) {
+        task.prev.next = task.next;
+      } else {
+        head = task.next;
+      }
+      if (task.next != null) {
+        task.next.prev = task.prev;
+      } else {
+        tail = task.prev;
+      }
+      task.prev = null;
+      task.next = null;
+      task.bucket = null;
+    }
+
+    void expireTasks(long now) {
+      ScheduledTask<?> task = head;
+      while (task != null) {
+        ScheduledTask<?> next = task.next;
+        if (task.isCancelled()) {
+          remove(task);
+          scheduledTaskCount.decrementAndGet();
+        } else if (task.remainingRounds <= 0 && task.deadline <= now) {
+          remove(task);
+          if (!task.isPeriodic()) {
+            scheduledTaskCount.decrementAndGet();
+            task.run();
+          } else if (task.runPeriodic()) {
+            rescheduledTasks.add(task);
+          } else {
+            scheduledTaskCount.decrementAndGet();
+          }
+        } else {
+          task.remainingRounds--;
+        }
+        task = next;
+      }
+    }
+  }
+
+  private final class ScheduledTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+    /** positive for a fixed rate, negative for a fixed delay, 0 for one-shot tasks */
+    private final long period;
+
+    private volatile long deadline;
+
+    // accessed by the tick thread only
+    private long remainingRounds;
+    private Bucket bucket;
+    private ScheduledTask<?> prev;
+    private ScheduledTask<?> next;
+
+    ScheduledTask(Runnable runnable, V result, long deadline, long period) {
+      super(runnable, result);
+      this.deadline = deadline;
+      this.period = period;
+    }
+
+    ScheduledTask(Callable<V> callable, long deadline, long period) {
+      super(callable);
+      this.deadline = deadline;
+      this.period = period;
+    }
+
+    @Override
+    public boolean isPeriodic() {
+      return period != 0;
+    }
+
+    @Override
+    public long getDelay(@Nonnull TimeUnit unit) {
+      return unit.convert(deadline - now(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(@Nonnull Delayed other) {
+      if (other == this) {
+        return 0;
+      }
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        // removed from its bucket by the tick thread
+        cancelledTasks.add(this);
+      }
+      return cancelled;
+    }
+
+    /**
+     * @return true if the task should be scheduled again
+     */
+    boolean runPeriodic() {
+      if (!runAndReset() || isShutdown()) {
+        return false;
+      }
+      deadline = period > 0 ? deadline + period : now() - period;
+      return true;
+    }
+
+    void cancelWithoutNotification() {
+      super.cancel(false);
+    }
+  }
+}
@@ -68,10 +68,10 @@ public class TrackingSlotSupplier<SI extends SlotInfo> {
       throw new IllegalArgumentException(
           "Permit cannot be null when releasing a slot. This is an SDK bug.");
     }
-    SI slotInfo = usedSlots.get(permit);
-    inner.releaseSlot(new SlotReleaseContextImpl(reason, permit, slotInfo));
+    SI slotInfo = usedSlots.remove(permit);
+    // Not counted anymore when the inner supplier is told, so it can hand the slot to a waiter
     issuedSlots.decrementAndGet();
-    usedSlots.remove(permit);
+    inner.releaseSlot(new SlotReleaseContextImpl(reason, permit, slotInfo));
     publishSlotsMetric();
   }
 
@@ -10,8 +10,16 @@ import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder;
 import io.temporal.internal.replay.WorkflowRunTaskHandler;
 import io.temporal.worker.MetricsType;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.slf4j.Logger;
@@ -19,15 +27,52 @@ import org.slf4j.LoggerFactory;
 
 @ThreadSafe
 public final class WorkflowExecutorCache {
+  /**
+   * Number of cached entries inspected to pick the best victim when the cache is over its weight
+   * budget.
+   */
+  private static final int WEIGHT_EVICTION_SAMPLE_SIZE = 16;
+
   private final Logger log = LoggerFactory.getLogger(WorkflowExecutorCache.class);
   private final WorkflowRunLockManager runLockManager;
   private final Cache<String, WorkflowRunTaskHandler> cache;
   private final Scope metricsScope;
 
+  /** Weight budget in bytes, 0 if the cache is bounded only by the number of entries. */
+  private final long maxWeightBytes;
+
+  private final Map<String, EntryWeight> weights = new ConcurrentHashMap<>();
+  private final AtomicLong totalWeight = new AtomicLong();
+
+  /**
+   * RunIds of the cached workflows that are not in processing, least recently released first. It's
+   * maintained from the run lock notifications and is only a hint: a victim is still confirmed by
+   * taking its run lock, and entries that turn out to be locked or not cached are dropped from the
+   * index when they are encountered.
+   */
+  private final LinkedHashSet<String> idleRunIds = new LinkedHashSet<>();
+
   public WorkflowExecutorCache(
       int workflowCacheSize, WorkflowRunLockManager runLockManager, Scope scope) {
+    this(workflowCacheSize, 0, runLockManager, scope);
+  }
+
+  /**
+   * @param workflowCacheSize maximum number of cached workflows
+   * @param maxWeightBytes if positive, the cache additionally keeps the total estimated retained
+   *     size of the cached workflows (see {@link
+   *     WorkflowRunTaskHandler#getEstimatedRetainedSizeBytes()}) under this budget by evicting
+   *     workflows that are not in processing.
+   */
+  public WorkflowExecutorCache(
+      int workflowCacheSize,
+      long maxWeightBytes,
+      WorkflowRunLockManager runLockManager,
+      Scope scope) {
     Preconditions.checkArgument(workflowCacheSize > 0, "Max cache size must be greater than 0");
+    Preconditions.checkArgument(maxWeightBytes >= 0, "Max cache weight can't be negative");
     this.runLockManager = runLockManager;
+    this.maxWeightBytes = maxWeightBytes;
     this.cache =
         CacheBuilder.newBuilder()
             .maximumSize(workflowCacheSize)
@@ -38,6 +83,10 @@ public final class WorkflowExecutorCache {
             .removalListener(
                 e -> {
                   WorkflowRunTaskHandler entry = (WorkflowRunTaskHandler) e.getValue();
+                  removeIdle((String) e.getKey());
+                  if (maxWeightBytes > 0 && entry != null) {
+                    releaseWeight((String) e.getKey(), entry);
+                  }
                   if (entry != null) {
                     try {
                       log.trace(
@@ -55,6 +104,21 @@ public final class WorkflowExecutorCache {
             .build();
     this.metricsScope = Objects.requireNonNull(scope);
     this.metricsScope.gauge(MetricsType.STICKY_CACHE_SIZE).update(size());
+    runLockManager.addListener(
+        new WorkflowRunLockManager.Listener() {
+          @Override
+          public void onLocked(String runId) {
+            removeIdle(runId);
+          }
+
+          @Override
+          public void onUnlocked(String runId) {
+            // asMap().containsKey doesn't count as an access for the cache LRU order
+            if (cache.asMap().containsKey(runId)) {
+              addIdle(runId);
+            }
+          }
+        });
   }
 
   public WorkflowRunTaskHandler getOrCreate(
@@ -92,6 +156,9 @@ public final class WorkflowExecutorCache {
   public void addToCache(
       WorkflowExecution workflowExecution, WorkflowRunTaskHandler workflowRunTaskHandler) {
     cache.put(workflowExecution.getRunId(), workflowRunTaskHandler);
+    // If the run is in processing, the attempt to evict it will fail to take the lock and drop it
+    // from the index until the lock is released
+    addIdle(workflowExecution.getRunId());
     log.trace(
         "Workflow Execution {}-{} has been added to cache",
         workflowExecution.getWorkflowId(),
@@ -99,6 +166,125 @@ public final class WorkflowExecutorCache {
     this.metricsScope.gauge(MetricsType.STICKY_CACHE_SIZE).update(size());
   }
 
+  /**
+   * Recalculates the weight of a cached workflow after it processed a workflow task and evicts
+   * workflows that are not in processing if the cache goes over its weight budget. Does nothing
+   * if the cache is not weight-based or the handler is not cached.
+   *
+   * @param workflowTypeScope accepts workflow metric scope (tagged with task queue and workflow
+   *     type)
+   */
+  public void updateWeight(
+      WorkflowExecution workflowExecution,
+      WorkflowRunTaskHandler workflowRunTaskHandler,
+      Scope workflowTypeScope) {
+    if (maxWeightBytes <= 0) {
+      return;
+    }
+    String runId = workflowExecution.getRunId();
+    if (cache.getIfPresent(runId) != workflowRunTaskHandler) {
+      return;
+    }
+    EntryWeight weight =
+        new EntryWeight(
+            runId,
+            workflowRunTaskHandler,
+            workflowRunTaskHandler.getEstimatedRetainedSizeBytes(),
+            workflowRunTaskHandler.getReplayedHistoryLength());
+    long[] delta = new long[1];
+    weights.compute(
+        runId,
+        (key, previous) -> {
+          delta[0] = weight.weightBytes - (previous != null ? previous.weightBytes : 0);
+          return weight;
+        });
+    totalWeight.addAndGet(delta[0]);
+    // The handler may have been evicted since the check above. Its removal listener either ran
+    // before the weight was recorded and released nothing, or runs after this check and releases
+    // it. The cache can't be read inside compute, as a read may run removal listeners that
+    // update the weights map.
+    if (cache.getIfPresent(runId) != workflowRunTaskHandler) {
+      releaseWeight(runId, workflowRunTaskHandler);
+      return;
+    }
+    workflowTypeScope.gauge(MetricsType.STICKY_CACHE_ENTRY_WEIGHT).update(weight.weightBytes);
+    if (totalWeight.get() > maxWeightBytes) {
+      evictOverWeight(workflowExecution, workflowTypeScope);
+    }
+    this.metricsScope.gauge(MetricsType.STICKY_CACHE_WEIGHT).update(totalWeight.get());
+  }
+
+  /**
+   * Evicts workflows that are not in processing until the cache is back under its weight budget.
+   * Among a sample of cached workflows, the ones that release the most memory per history event
+   * that has to be replayed to rebuild them are evicted first.
+   */
+  private void evictOverWeight(WorkflowExecution inFavorOfExecution, Scope workflowTypeScope) {
+    String inFavorOfRunId = inFavorOfExecution.getRunId();
+    int scanned = 0;
+    try {
+      while (totalWeight.get() > maxWeightBytes) {
+        List<EntryWeight> candidates = new ArrayList<>(WEIGHT_EVICTION_SAMPLE_SIZE);
+        for (String runId : peekIdle(inFavorOfRunId, WEIGHT_EVICTION_SAMPLE_SIZE)) {
+          EntryWeight candidate = weights.get(runId);
+          if (candidate != null) {
+            candidates.add(candidate);
+          }
+        }
+        candidates.sort(Comparator.comparingDouble(EntryWeight::evictionScore).reversed());
+        boolean evicted = false;
+        for (EntryWeight candidate : candidates) {
+          scanned++;
+          // if we were able to take a lock here, it means that the workflow is not in processing
+          // currently on workers of this WorkerFactory and can be evicted
+          if (runLockManager.tryLock(candidate.runId)) {
+            try {
+              log.trace(
+                  "Workflow Execution {}-{} caused eviction of Workflow Execution with runId {} "
+                      + "with weight {} bytes",
+                  inFavorOfExecution.getWorkflowId(),
+                  inFavorOfRunId,
+                  candidate.runId,
+                  candidate.weightBytes);
+              cache.invalidate(candidate.runId);
+              workflowTypeScope.counter(MetricsType.STICKY_CACHE_WEIGHT_EVICTION).inc(1);
+              evicted = true;
+            } finally {
+              runLockManager.unlock(candidate.runId);
+            }
+            break;
+          } else {
+            removeIdle(candidate.runId);
+          }
+        }
+        if (!evicted) {
+          log.trace(
+              "Failed to evict from Workflow Execution cache, cache weight is {} bytes",
+              totalWeight.get());
+          return;
+        }
+      }
+    } finally {
+      workflowTypeScope.counter(MetricsType.STICKY_CACHE_EVICTION_SCAN_LENGTH).inc(scanned);
+    }
+  }
+
+  private void releaseWeight(String runId, WorkflowRunTaskHandler entry) {
+    EntryWeight[] released = new EntryWeight[1];
+    weights.computeIfPresent(
+        runId,
+        (key, weight) -> {
+          if (weight.handler != entry) {
+            return weight;
+          }
+          released[0] = weight;
+          return null;
+        });
+    if (released[0] != null) {
+      totalWeight.addAndGet(-released[0].weightBytes);
+    }
+  }
+
   /**
    * @param workflowTypeScope accepts workflow metric scope (tagged with task queue and workflow
    *     type)
@@ -106,15 +292,20 @@ public final class WorkflowExecutorCache {
   @SuppressWarnings("deprecation")
   public boolean evictAnyNotInProcessing(
       WorkflowExecution inFavorOfExecution, Scope workflowTypeScope) {
+    int scanned = 0;
     try {
       String inFavorOfRunId = inFavorOfExecution.getRunId();
-      for (String key : cache.asMap().keySet()) {
-        if (key.equals(inFavorOfRunId)) continue;
+      String key;
+      while ((key = pollIdle(inFavorOfRunId)) != null) {
+        scanned++;
         boolean locked = runLockManager.tryLock(key);
         // if we were able to take a lock here, it means that the workflow is not in processing
         // currently on workers of this WorkerFactory and can be evicted
         if (locked) {
           try {
+            if (!cache.asMap().containsKey(key)) {
+              continue;
+            }
             log.trace(
                 "Workflow Execution {}-{} caused eviction of Workflow Execution with runId {}",
                 inFavorOfExecution.getWorkflowId(),
@@ -133,6 +324,7 @@ public final class WorkflowExecutorCache {
       log.trace("Failed to evict from Workflow Execution cache, cache size is {}", cache.size());
       return false;
     } finally {
+      workflowTypeScope.counter(MetricsType.STICKY_CACHE_EVICTION_SCAN_LENGTH).inc(scanned);
       this.metricsScope.gauge(MetricsType.STICKY_CACHE_SIZE).update(size());
     }
   }
@@ -155,6 +347,9 @@ public final class WorkflowExecutorCache {
     if (present != null) {
       workflowTypeScope.counter(MetricsType.STICKY_CACHE_TOTAL_FORCED_EVICTION).inc(1);
       this.metricsScope.gauge(MetricsType.STICKY_CACHE_SIZE).update(size());
+      if (maxWeightBytes > 0) {
+        this.metricsScope.gauge(MetricsType.STICKY_CACHE_WEIGHT).update(weight());
+      }
     }
   }
 
@@ -162,8 +357,94 @@ public final class WorkflowExecutorCache {
     return cache.size();
   }
 
+  /**
+   * @return total estimated retained size of the cached workflows in bytes, always 0 if the cache
+   *     is not weight-based
+   */
+  public long weight() {
+    return totalWeight.get();
+  }
+
   public void invalidateAll() {
     cache.invalidateAll();
     metricsScope.gauge(MetricsType.STICKY_CACHE_SIZE).update(size());
+    if (maxWeightBytes > 0) {
+      metricsScope.gauge(MetricsType.STICKY_CACHE_WEIGHT).update(weight());
+    }
+  }
+
+  private void addIdle(String runId) {
+    synchronized (idleRunIds) {
+      // re-insertion moves the runId to the most recently released end
+      idleRunIds.remove(runId);
+      idleRunIds.add(runId);
+    }
+  }
+
+  private void removeIdle(String runId) {
+    synchronized (idleRunIds) {
+      idleRunIds.remove(runId);
+    }
+  }
+
+  /**
+   * Removes and returns the least recently released idle runId other than {@code excludedRunId},
+   * or null if there are none.
+   */
+  @Nullable
+  private String pollIdle(String excludedRunId) {
+    synchronized (idleRunIds) {
+      Iterator<String> iterator = idleRunIds.iterator();
+      while (iterator.hasNext()) {
+        String runId = iterator.next();
+        if (!runId.equals(excludedRunId)) {
+          iterator.remove();
+          return runId;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * @return up to {@code limit} least recently released idle runIds other than {@code
+   *     excludedRunId}
+   */
+  private List<String> peekIdle(String excludedRunId, int limit) {
+    List<String> result = new ArrayList<>(limit);
+    synchronized (idleRunIds) {
+      for (String runId : idleRunIds) {
+        if (result.size() >= limit) {
+          break;
+        }
+        if (!runId.equals(excludedRunId)) {
+          result.add(runId);
+        }
+      }
+    }
+    return result;
+  }
+
+  private static final class EntryWeight {
+    private final String runId;
+    private final WorkflowRunTaskHandler handler;
+    private final long weightBytes;
+    private final long replayedHistoryLength;
+
+    private EntryWeight(
+        String runId,
+        WorkflowRunTaskHandler handler,
+        long weightBytes,
+        long replayedHistoryLength) {
+      this.runId = runId;
+      this.handler = handler;
+      this.weightBytes = weightBytes;
+      this.replayedHistoryLength = replayedHistoryLength;
+    }
+
+    /** Bytes released per history event that has to be replayed to rebuild the workflow. */
+    private double evictionScore() {
+      return (double) weightBytes / Math.max(1, replayedHistoryLength);
+    }
   }
 }
@@ -2,81 +2,200 @@ package io.temporal.internal.worker;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Reentrant per-runId locks used to serialize processing of workflow tasks of the same run.
+ *
+ * <p>RunIds are hashed to a fixed table of stripes. Each stripe is a monitor guarding the runIds
+ * of its stripe that are currently locked, together with their owner threads and hold counts.
+ * Locks of different runIds never block each other even if they share a stripe; the stripe
+ * monitor is held only to update the stripe state. Taking and releasing an uncontended lock
+ * doesn't allocate.
+ */
 public final class WorkflowRunLockManager {
-  private final Map<String, RefCountedLock> runIdLock = new ConcurrentHashMap<>();
+  private static final int DEFAULT_STRIPE_COUNT = 256;
+  private static final int INITIAL_STRIPE_CAPACITY = 4;
+
+  private final Stripe[] stripes;
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * Notified after a run lock is acquired and after it is released. Notifications are delivered
+   * outside of the lock manager's critical sections, so a listener may observe them slightly out
+   * of order with respect to concurrent lock operations on the same run and should use them only
+   * as a hint.
+   */
+  interface Listener {
+    void onLocked(String runId);
+
+    void onUnlocked(String runId);
+  }
+
+  public WorkflowRunLockManager() {
+    this(DEFAULT_STRIPE_COUNT);
+  }
+
+  @VisibleForTesting
+  WorkflowRunLockManager(int stripeCount) {
+    Preconditions.checkArgument(
+        stripeCount > 0 && Integer.bitCount(stripeCount) == 1,
+        "stripeCount should be a positive power of two");
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  void addListener(Listener listener) {
+    listeners.add(listener);
+  }
 
   public boolean tryLock(String runId, long timeout, TimeUnit unit) throws InterruptedException {
-    RefCountedLock runLock = obtainLock(runId);
-
-    boolean obtained = false;
-    try {
-      obtained = runLock.lock.tryLock(timeout, unit);
-      return obtained;
-    } finally {
-      if (!obtained) {
-        derefAndUnlock(runId, false);
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+    Stripe stripe = stripeFor(runId);
+    Thread current = Thread.currentThread();
+    synchronized (stripe) {
+      if (!stripe.tryAcquire(runId, current)) {
+        long remainingNanos = unit.toNanos(timeout);
+        long deadline = System.nanoTime() + remainingNanos;
+        stripe.waiters++;
+        try {
+          do {
+            if (remainingNanos <= 0) {
+              return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(stripe, remainingNanos);
+            remainingNanos = deadline - System.nanoTime();
+          } while (!stripe.tryAcquire(runId, current));
+        } finally {
+          stripe.waiters--;
+        }
       }
     }
+    notifyLocked(runId);
+    return true;
   }
 
   public boolean tryLock(String runId) {
-    RefCountedLock runLock = obtainLock(runId);
-
-    boolean obtained = false;
-    try {
-      obtained = runLock.lock.tryLock();
-      return obtained;
-    } finally {
-      if (!obtained) {
-        derefAndUnlock(runId, false);
+    Stripe stripe = stripeFor(runId);
+    synchronized (stripe) {
+      if (!stripe.tryAcquire(runId, Thread.currentThread())) {
+        return false;
       }
     }
+    notifyLocked(runId);
+    return true;
   }
 
   public void unlock(String runId) {
-    derefAndUnlock(runId, true);
+    Stripe stripe = stripeFor(runId);
+    boolean released;
+    synchronized (stripe) {
+      released = stripe.release(runId, Thread.currentThread());
+      if (released && stripe.waiters > 0) {
+        stripe.notifyAll();
+      }
+    }
+    if (released) {
+      for (Listener listener : listeners) {
+        listener.onUnlocked(runId);
+      }
+    }
   }
 
-  private RefCountedLock obtainLock(String runId) {
-    return runIdLock.compute(
-        runId,
-        (id, lock) -> {
-          if (lock == null) {
-            lock = new RefCountedLock();
-          }
-          lock.refCount++;
-          return lock;
-        });
+  private void notifyLocked(String runId) {
+    for (Listener listener : listeners) {
+      listener.onLocked(runId);
+    }
   }
 
-  private void derefAndUnlock(String runId, boolean unlock) {
-    runIdLock.compute(
-        runId,
-        (id, runLock) -> {
-          Preconditions.checkState(
-              runLock != null,
-              "Thread '%s' doesn't have an acquired lock for runId '%s'",
-              Thread.currentThread().getName(),
-              runId);
-          if (unlock) {
-            runLock.lock.unlock();
-          }
-          return --runLock.refCount == 0 ? null : runLock;
-        });
+  private Stripe stripeFor(String runId) {
+    int h = runId.hashCode();
+    // spread higher bits the same way as HashMap does
+    return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
   }
 
   @VisibleForTesting
   int totalLocks() {
-    return runIdLock.size();
+    int result = 0;
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        result += stripe.size;
+      }
+    }
+    return result;
   }
 
-  private static class RefCountedLock {
-    final ReentrantLock lock = new ReentrantLock();
-    int refCount = 0;
+  /**
+   * Locked runIds of a stripe. The arrays are indexed together and are grown only if more runIds
+   * of the stripe are locked at the same time than ever before. All access is guarded by the
+   * stripe monitor.
+   */
+  private static final class Stripe {
+    private String[] runIds = new String[INITIAL_STRIPE_CAPACITY];
+    private Thread[] owners = new Thread[INITIAL_STRIPE_CAPACITY];
+    private int[] holdCounts = new int[INITIAL_STRIPE_CAPACITY];
+    private int size;
+    private int waiters;
+
+    private boolean tryAcquire(String runId, Thread thread) {
+      int index = indexOf(runId);
+      if (index >= 0) {
+        if (owners[index] != thread) {
+          return false;
+        }
+        holdCounts[index]++;
+        return true;
+      }
+      if (size == runIds.length) {
+        int capacity = size * 2;
+        runIds = Arrays.copyOf(runIds, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        holdCounts = Arrays.copyOf(holdCounts, capacity);
+      }
+      runIds[size] = runId;
+      owners[size] = thread;
+      holdCounts[size] = 1;
+      size++;
+      return true;
+    }
+
+    /**
+     * @return true if the lock is fully released by this call
+     */
+    private boolean release(String runId, Thread thread) {
+      int index = indexOf(runId);
+      Preconditions.checkState(
+          index >= 0 && owners[index] == thread,
+          "Thread '%s' doesn't have an acquired lock for runId '%s'",
+          thread.getName(),
+          runId);
+      if (--holdCounts[index] > 0) {
+        return false;
+      }
+      int last = --size;
+      runIds[index] = runIds[last];
+      owners[index] = owners[last];
+      holdCounts[index] = holdCounts[last];
+      runIds[last] = null;
+      owners[last] = null;
+      holdCounts[last] = 0;
+      return true;
+    }
+
+    private int indexOf(String runId) {
+      for (int i = 0; i < size; i++) {
+        if (runIds[i].equals(runId)) {
+          return i;
+        }
+      }
+      return -1;
+    }
   }
 }
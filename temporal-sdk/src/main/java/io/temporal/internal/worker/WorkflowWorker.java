@@ -8,7 +8,6 @@ import com.google.common.base.Strings;
 import com.google.protobuf.ByteString;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
-import com.uber.m3.util.ImmutableMap;
 import io.grpc.StatusRuntimeException;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.api.enums.v1.QueryResultType;
@@ -356,7 +355,7 @@ final class WorkflowWorker implements SuspendableWorker {
       String workflowType = workflowTaskResponse.getWorkflowType().getName();
 
       Scope workflowTypeScope =
-          workerMetricsScope.tagged(ImmutableMap.of(MetricsTag.WORKFLOW_TYPE, workflowType));
+          MetricsTag.tagged(workerMetricsScope, MetricsTag.WORKFLOW_TYPE, workflowType);
 
       MDC.put(LoggerTag.WORKFLOW_ID, workflowExecution.getWorkflowId());
       MDC.put(LoggerTag.WORKFLOW_TYPE, workflowType);
@@ -387,7 +386,17 @@ final class WorkflowWorker implements SuspendableWorker {
           //   worker from the general non-sticky task queue.
           //   Even in this case, this advice looks misleading, something else is going on
           //   (like an extreme network latency).
-          locked = runLocks.tryLock(runId, 5, TimeUnit.SECONDS);
+          locked = runLocks.tryLock(runId);
+          if (!locked) {
+            // another task of the same run is in processing
+            Stopwatch swLockWait =
+                workflowTypeScope.timer(MetricsType.WORKFLOW_TASK_RUN_LOCK_WAIT_LATENCY).start();
+            try {
+              locked = runLocks.tryLock(runId, 5, TimeUnit.SECONDS);
+            } finally {
+              swLockWait.stop();
+            }
+          }
 
           if (!locked) {
             throw new UnableToAcquireLockException(
@@ -524,7 +533,7 @@ final class WorkflowWorker implements SuspendableWorker {
                 taskFailureType = "WorkflowError";
             }
             Scope workflowTaskFailureScope =
-                workflowTypeScope.tagged(ImmutableMap.of(TASK_FAILURE_TYPE, taskFailureType));
+                MetricsTag.tagged(workflowTypeScope, TASK_FAILURE_TYPE, taskFailureType);
             // we don't trigger the counter in case of the legacy query
             // (which never has taskFailed set)
             workflowTaskFailureScope
@@ -573,11 +582,10 @@ final class WorkflowWorker implements SuspendableWorker {
         Scope workflowTaskFailureScope = workflowTypeMetricsScope;
         if (e instanceof NonDeterministicException) {
           workflowTaskFailureScope =
-              workflowTaskFailureScope.tagged(
-                  ImmutableMap.of(TASK_FAILURE_TYPE, "NonDeterminismError"));
+              MetricsTag.tagged(workflowTaskFailureScope, TASK_FAILURE_TYPE, "NonDeterminismError");
         } else {
           workflowTaskFailureScope =
-              workflowTaskFailureScope.tagged(ImmutableMap.of(TASK_FAILURE_TYPE, "WorkflowError"));
+              MetricsTag.tagged(workflowTaskFailureScope, TASK_FAILURE_TYPE, "WorkflowError");
         }
         // more detailed logging that we can do here is already done inside `handler`
         workflowTaskFailureScope
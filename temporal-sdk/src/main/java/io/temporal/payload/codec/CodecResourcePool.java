@@ -0,0 +1,51 @@
+package io.temporal.payload.codec;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of expensive to create codec resources like {@link java.util.zip.Deflater}s or
+ * compression buffers. A resource is created if the pool is empty and disposed of if the pool is
+ * full when it's released, so the pool never blocks and retains at most {@code maxIdle} resources.
+ *
+ * <p>A bounded pool is used instead of thread locals as payloads are encoded and decoded by
+ * workflow threads, which may be numerous and short-lived, and native memory of a thread-local
+ * {@link java.util.zip.Deflater} would be released only after its thread is collected.
+ */
+final class CodecResourcePool<T> {
+  static final int DEFAULT_MAX_IDLE = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+  private final ArrayBlockingQueue<T> idle;
+  private final Supplier<T> factory;
+  private final Consumer<T> reset;
+  private final Consumer<T> disposer;
+
+  /**
+   * @param factory creates a new resource
+   * @param reset prepares a released resource for the next use
+   * @param disposer releases a resource that doesn't fit into the pool
+   */
+  CodecResourcePool(Supplier<T> factory, Consumer<T> reset, Consumer<T> disposer) {
+    this(DEFAULT_MAX_IDLE, factory, reset, disposer);
+  }
+
+  CodecResourcePool(int maxIdle, Supplier<T> factory, Consumer<T> reset, Consumer<T> disposer) {
+    this.idle = new ArrayBlockingQueue<>(maxIdle);
+    this.factory = factory;
+    this.reset = reset;
+    this.disposer = disposer;
+  }
+
+  T acquire() {
+    T result = idle.poll();
+    return result != null ? result : factory.get();
+  }
+
+  void release(T resource) {
+    reset.accept(resource);
+    if (!idle.offer(resource)) {
+      disposer.accept(resource);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package io.temporal.payload.codec;
+
+import java.util.Arrays;
+
+/**
+ * Pure Java implementation of the <a
+ * href="https://github.com/lz4/lz4/blob/dev/doc/lz4_Block_format.md">LZ4 block format</a>.
+ *
+ * <p>The compressor is a single pass greedy matcher over a 4-byte hash table, like the "fast" mode
+ * of the reference implementation. Its output is a valid LZ4 block that can be decompressed by any
+ * LZ4 implementation. The decompressor validates all lengths and offsets and throws {@link
+ * IllegalArgumentException} on a malformed block instead of reading or writing out of bounds.
+ */
+final class Lz4Block {
+  static final int HASH_LOG = 12;
+  static final int HASH_TABLE_SIZE = 1 << HASH_LOG;
+
+  private static final int MIN_MATCH = 4;
+  // The last 5 bytes of a block are always literals
+  private static final int LAST_LITERALS = 5;
+  // The last match must start at least 12 bytes before the end of a block
+  private static final int MF_LIMIT = 12;
+  private static final int MAX_DISTANCE = 0xFFFF;
+  // Step between positions probed for a match grows with the distance from the last match, which
+  // makes compression of incompressible data fast
+  private static final int SKIP_TRIGGER = 6;
+  private static final int RUN_MASK = 0x0F;
+
+  private Lz4Block() {}
+
+  static int maxCompressedLength(int length) {
+    return length + length / 255 + 16;
+  }
+
+  /**
+   * @param hashTable scratch table of {@link #HASH_TABLE_SIZE} elements, its content is overwritten
+   * @return number of bytes written to {@code dst} starting from {@code dstOffset}, which has to
+   *     have at least {@link #maxCompressedLength(int)} bytes of space
+   */
+  static int compress(byte[] src, int srcLength, byte[] dst, int dstOffset, int[] hashTable) {
+    Arrays.fill(hashTable, -1);
+    int dp = dstOffset;
+    int anchor = 0;
+    if (srcLength > MF_LIMIT) {
+      int limit = srcLength - MF_LIMIT;
+      int matchLimit = srcLength - LAST_LITERALS;
+      int ip = 0;
+      while (ip < limit) {
+        int sequence = readInt(src, ip);
+        int hash = hash(sequence);
+        int ref = hashTable[hash];
+        hashTable[hash] = ip;
+        if (ref < 0 || ip - ref > MAX_DISTANCE || readInt(src, ref) != sequence) {
+          ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+          continue;
+        }
+        int matchLength = MIN_MATCH;
+        while (ip + matchLength < matchLimit && src[ref + matchLength] == src[ip + matchLength]) {
+          matchLength++;
+        }
+        dp = writeSequence(src, anchor, ip - anchor, ip - ref, matchLength, dst, dp);
+        ip += matchLength;
+        anchor = ip;
+      }
+    }
+    int literalsLength = srcLength - anchor;
+    int tokenPosition = dp++;
+    dp = writeLiterals(src, anchor, literalsLength, dst, dp);
+    dst[tokenPosition] = (byte) (Math.min(literalsLength, RUN_MASK) << 4);
+    return dp - dstOffset;
+  }
+
+  /**
+   * Decompresses a block into exactly {@code dstLength} bytes of {@code dst}.
+   *
+   * @throws IllegalArgumentException if the block is malformed or doesn't decompress to {@code
+   *     dstLength} bytes
+   */
+  static void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstLength) {
+    int sp = srcOffset;
+    int srcEnd = srcOffset + srcLength;
+    int dp = 0;
+    while (true) {
+      checkBlock(sp < srcEnd);
+      int token = src[sp++] & 0xFF;
+
+      int literalsLength = token >>> 4;
+      if (literalsLength == RUN_MASK) {
+        int b;
+        do {
+          checkBlock(sp < srcEnd);
+          b = src[sp++] & 0xFF;
+          literalsLength += b;
+        } while (b == 0xFF && literalsLength > 0);
+      }
+      checkBlock(
+          literalsLength >= 0 && literalsLength <= srcEnd - sp && literalsLength <= dstLength - dp);
+      System.arraycopy(src, sp, dst, dp, literalsLength);
+      sp += literalsLength;
+      dp += literalsLength;
+      if (sp == srcEnd) {
+        // The last sequence has only literals
+        break;
+      }
+
+      checkBlock(srcEnd - sp >= 2);
+      int offset = (src[sp] & 0xFF) | ((src[sp + 1] & 0xFF) << 8);
+      sp += 2;
+      checkBlock(offset > 0 && offset <= dp);
+
+      int matchLength = token & RUN_MASK;
+      if (matchLength == RUN_MASK) {
+        int b;
+        do {
+          checkBlock(sp < srcEnd);
+          b = src[sp++] & 0xFF;
+          matchLength += b;
+        } while (b == 0xFF && matchLength > 0);
+      }
+      matchLength += MIN_MATCH;
+      checkBlock(matchLength >= MIN_MATCH && matchLength <= dstLength - dp);
+      int ref = dp - offset;
+      if (offset >= matchLength) {
+        System.arraycopy(dst, ref, dst, dp, matchLength);
+        dp += matchLength;
+      } else {
+        // Overlapping match repeats the last offset bytes
+        for (int i = 0; i < matchLength; i++) {
+          dst[dp++] = dst[ref++];
+        }
+      }
+    }
+    checkBlock(dp == dstLength);
+  }
+
+  private static int writeSequence(
+      byte[] src,
+      int literalsOffset,
+      int literalsLength,
+      int offset,
+      int matchLength,
+      byte[] dst,
+      int dp) {
+    int tokenPosition = dp++;
+    dp = writeLiterals(src, literalsOffset, literalsLength, dst, dp);
+    dst[dp++] = (byte) offset;
+    dst[dp++] = (byte) (offset >>> 8);
+    int matchLengthCode = matchLength - MIN_MATCH;
+    if (matchLengthCode >= RUN_MASK) {
+      dp = writeLength(matchLengthCode - RUN_MASK, dst, dp);
+    }
+    dst[tokenPosition] =
+        (byte) ((Math.min(literalsLength, RUN_MASK) << 4) | Math.min(matchLengthCode, RUN_MASK));
+    return dp;
+  }
+
+  private static int writeLiterals(
+      byte[] src, int literalsOffset, int literalsLength, byte[] dst, int dp) {
+    if (literalsLength >= RUN_MASK) {
+      dp = writeLength(literalsLength - RUN_MASK, dst, dp);
+    }
+    System.arraycopy(src, literalsOffset, dst, dp, literalsLength);
+    return dp + literalsLength;
+  }
+
+  private static int writeLength(int length, byte[] dst, int dp) {
+    while (length >= 0xFF) {
+      dst[dp++] = (byte) 0xFF;
+      length -= 0xFF;
+    }
+    dst[dp++] = (byte) length;
+    return dp;
+  }
+
+  private static int hash(int sequence) {
+    return (sequence * -1640531535) >>> (32 - HASH_LOG);
+  }
+
+  private static int readInt(byte[] buffer, int position) {
+    return (buffer[position] & 0xFF)
+        | (buffer[position + 1] & 0xFF) << 8
+        | (buffer[position + 2] & 0xFF) << 16
+        | (buffer[position + 3] & 0xFF) << 24;
+  }
+
+  private static void checkBlock(boolean condition) {
+    if (!condition) {
+      throw new IllegalArgumentException("Malformed LZ4 block");
+    }
+  }
+}
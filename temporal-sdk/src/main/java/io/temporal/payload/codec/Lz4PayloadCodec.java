@@ -0,0 +1,169 @@
+package io.temporal.payload.codec;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.EncodingKeys;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+
+/**
+ * PayloadCodec that compresses payloads with a pure Java implementation of the LZ4 block format.
+ * Compared to {@link ZlibPayloadCodec} it compresses and especially decompresses several times
+ * faster at the cost of a lower compression ratio, which makes it a better fit for payloads that
+ * are decoded often, like workflow arguments and activity results replayed by workers.
+ *
+ * <p>Encoded payloads have {@code binary/lz4} encoding. Their data is the serialized size of the
+ * original payload as an unsigned varint followed by a single LZ4 block of the serialized original
+ * payload. Payloads that don't get smaller are left unencoded.
+ *
+ * <p>Compression buffers are pooled by the codec, so encoding and decoding allocate only the
+ * resulting payloads once the buffers have grown to the size of the payloads.
+ */
+public class Lz4PayloadCodec implements PayloadCodec {
+  static final ByteString METADATA_ENCODING_LZ4 = ByteString.copyFromUtf8("binary/lz4");
+
+  /** Payloads smaller than this are never compressed, see {@link #Lz4PayloadCodec(int)} */
+  public static final int DEFAULT_MIN_SIZE_BYTES = 64;
+
+  /**
+   * Upper bound of the decompressed to compressed size ratio of an LZ4 block: every additional byte
+   * of a match length adds at most 255 bytes of output
+   */
+  private static final int MAX_EXPANSION_RATIO = 255;
+
+  /** Pooled buffers larger than this are released after use to not retain large arrays */
+  private static final int MAX_RETAINED_BUFFER_SIZE = 4 * 1024 * 1024;
+
+  final int minSizeBytes;
+  private final CodecResourcePool<Buffers> buffers =
+      new CodecResourcePool<>(Buffers::new, Buffers::trim, b -> {});
+
+  public Lz4PayloadCodec() {
+    this(DEFAULT_MIN_SIZE_BYTES);
+  }
+
+  /**
+   * @param minSizeBytes payloads with a serialized size below this threshold are not compressed
+   */
+  public Lz4PayloadCodec(int minSizeBytes) {
+    Preconditions.checkArgument(minSizeBytes >= 0, "negative minSizeBytes");
+    this.minSizeBytes = minSizeBytes;
+  }
+
+  @Nonnull
+  @Override
+  public List<Payload> encode(@Nonnull List<Payload> payloads) {
+    return payloads.stream().map(this::encodePayload).collect(Collectors.toList());
+  }
+
+  @Nonnull
+  @Override
+  public List<Payload> decode(@Nonnull List<Payload> payloads) {
+    return payloads.stream().map(this::decodePayload).collect(Collectors.toList());
+  }
+
+  private Payload encodePayload(final Payload originalPayload) {
+    int serializedSize = originalPayload.getSerializedSize();
+    if (serializedSize < minSizeBytes) {
+      return originalPayload;
+    }
+    Buffers buffers = this.buffers.acquire();
+    try {
+      byte[] src = buffers.source(serializedSize);
+      CodedOutputStream output = CodedOutputStream.newInstance(src, 0, serializedSize);
+      originalPayload.writeTo(output);
+      output.checkNoSpaceLeft();
+
+      int headerSize = CodedOutputStream.computeUInt32SizeNoTag(serializedSize);
+      byte[] dst = buffers.destination(headerSize + Lz4Block.maxCompressedLength(serializedSize));
+      CodedOutputStream.newInstance(dst, 0, headerSize).writeUInt32NoTag(serializedSize);
+      int compressedSize =
+          Lz4Block.compress(src, serializedSize, dst, headerSize, buffers.hashTable);
+
+      int encodedSize = headerSize + compressedSize;
+      if (encodedSize < serializedSize) {
+        return Payload.newBuilder()
+            .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, METADATA_ENCODING_LZ4)
+            .setData(ByteString.copyFrom(dst, 0, encodedSize))
+            .build();
+      } else {
+        return originalPayload;
+      }
+    } catch (IOException e) {
+      throw new PayloadCodecException(e);
+    } finally {
+      this.buffers.release(buffers);
+    }
+  }
+
+  private Payload decodePayload(final Payload originalPayload) {
+    if (!METADATA_ENCODING_LZ4.equals(
+        originalPayload.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null))) {
+      // This payload is not encoded by this codec
+      return originalPayload;
+    }
+    ByteString data = originalPayload.getData();
+    Buffers buffers = this.buffers.acquire();
+    try {
+      CodedInputStream header = data.newCodedInput();
+      int decodedSize = header.readUInt32();
+      int headerSize = header.getTotalBytesRead();
+      if (decodedSize < 0) {
+        throw new PayloadCodecException("Invalid LZ4 payload size: " + (decodedSize & 0xFFFFFFFFL));
+      }
+      int compressedSize = data.size() - headerSize;
+      if (decodedSize > (long) compressedSize * MAX_EXPANSION_RATIO) {
+        // corrupted or forged header, don't allocate a buffer of the claimed size
+        throw new PayloadCodecException(
+            "LZ4 payload size "
+                + decodedSize
+                + " exceeds the maximum for "
+                + compressedSize
+                + " compressed bytes");
+      }
+      byte[] src = buffers.source(compressedSize);
+      data.copyTo(src, headerSize, 0, compressedSize);
+      byte[] dst = buffers.destination(decodedSize);
+      Lz4Block.decompress(src, 0, compressedSize, dst, decodedSize);
+      return Payload.parser().parseFrom(dst, 0, decodedSize);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new PayloadCodecException(e);
+    } finally {
+      this.buffers.release(buffers);
+    }
+  }
+
+  private static final class Buffers {
+    private final int[] hashTable = new int[Lz4Block.HASH_TABLE_SIZE];
+    private byte[] source = new byte[0];
+    private byte[] destination = new byte[0];
+
+    private byte[] source(int size) {
+      if (source.length < size) {
+        source = new byte[size];
+      }
+      return source;
+    }
+
+    private byte[] destination(int size) {
+      if (destination.length < size) {
+        destination = new byte[size];
+      }
+      return destination;
+    }
+
+    private void trim() {
+      if (source.length > MAX_RETAINED_BUFFER_SIZE) {
+        source = new byte[0];
+      }
+      if (destination.length > MAX_RETAINED_BUFFER_SIZE) {
+        destination = new byte[0];
+      }
+    }
+  }
+}
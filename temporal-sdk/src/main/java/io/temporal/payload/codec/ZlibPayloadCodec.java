@@ -1,5 +1,6 @@
 package io.temporal.payload.codec;
 
+import com.google.common.base.Preconditions;
 import com.google.protobuf.ByteString;
 import io.temporal.api.common.v1.Payload;
 import io.temporal.common.converter.EncodingKeys;
@@ -7,6 +8,8 @@ import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 import javax.annotation.Nonnull;
 
@@ -14,13 +17,31 @@ import javax.annotation.Nonnull;
  * PayloadCodec that provides a basic compression using Zlib.
  *
  * <p>Please note that this is by no means the best solution for lots of small payloads which is
- * typical for a lot of applications. You can use this implementation as an example and base for
- * your own implementation using the compressor of your choice, for example <a
+ * typical for a lot of applications. Use {@link #ZlibPayloadCodec(int, int)} to leave payloads
+ * below a size threshold uncompressed, or consider {@link Lz4PayloadCodec} that trades compression
+ * ratio for speed. You can also use this implementation as an example and base for your own
+ * implementation using the compressor of your choice, for example <a
  * href="https://github.com/xerial/snappy-java">Google Snappy</a>
+ *
+ * <p>{@link Deflater} and {@link Inflater} instances are pooled by the codec and payloads are
+ * compressed directly into the resulting {@link ByteString}.
  */
 public class ZlibPayloadCodec implements PayloadCodec {
   static final ByteString METADATA_ENCODING_ZLIB = ByteString.copyFromUtf8("binary/zlib");
+
+  /**
+   * Payloads smaller than this can't be effectively deflated because of the Zlib header and the
+   * ADLER-32 checksum that take 6 bytes
+   */
+  public static final int DEFAULT_MIN_SIZE_BYTES = 7;
+
+  private static final int BUFFER_SIZE = 8 * 1024;
+  private static final int MAX_INITIAL_OUTPUT_CAPACITY = 64 * 1024;
+
   final int level;
+  final int minSizeBytes;
+  private final CodecResourcePool<Deflater> deflaters;
+  private final CodecResourcePool<Inflater> inflaters;
 
   public ZlibPayloadCodec() {
     this(Deflater.DEFAULT_COMPRESSION);
@@ -31,7 +52,21 @@ public class ZlibPayloadCodec implements PayloadCodec {
    * @see Deflater#Deflater(int level)
    */
   public ZlibPayloadCodec(int level) {
+    this(level, DEFAULT_MIN_SIZE_BYTES);
+  }
+
+  /**
+   * @param level compression level
+   * @param minSizeBytes payloads with a serialized size below this threshold are not compressed
+   * @see Deflater#Deflater(int level)
+   */
+  public ZlibPayloadCodec(int level, int minSizeBytes) {
+    Preconditions.checkArgument(minSizeBytes >= 0, "negative minSizeBytes");
     this.level = level;
+    this.minSizeBytes = minSizeBytes;
+    this.deflaters =
+        new CodecResourcePool<>(() -> new Deflater(level), Deflater::reset, Deflater::end);
+    this.inflaters = new CodecResourcePool<>(Inflater::new, Inflater::reset, Inflater::end);
   }
 
   @Nonnull
@@ -47,23 +82,26 @@ public class ZlibPayloadCodec implements PayloadCodec {
   }
 
   private Payload encodePayload(final Payload originalPayload) {
-    if (originalPayload.getSerializedSize() < 7) {
-      // Can't be effectively deflated because of the Zlib ANTLER-32 header which takes 4 bytes
+    int serializedSize = originalPayload.getSerializedSize();
+    if (serializedSize < minSizeBytes) {
       return originalPayload;
     }
-    byte[] input = originalPayload.toByteArray();
-    int inputSize = input.length;
-    Deflater compressor = new Deflater(level);
-    compressor.setInput(input);
-    compressor.finish();
-    byte[] output = new byte[inputSize];
-    int deflatedLength = compressor.deflate(output);
-    compressor.end();
+    ByteString.Output output =
+        ByteString.newOutput(Math.min(serializedSize, MAX_INITIAL_OUTPUT_CAPACITY));
+    Deflater deflater = deflaters.acquire();
+    try (DeflaterOutputStream deflaterOutputStream =
+        new DeflaterOutputStream(output, deflater, BUFFER_SIZE)) {
+      originalPayload.writeTo(deflaterOutputStream);
+    } catch (IOException e) {
+      throw new PayloadCodecException(e);
+    } finally {
+      deflaters.release(deflater);
+    }
 
-    if (deflatedLength < inputSize) {
+    if (output.size() < serializedSize) {
       return Payload.newBuilder()
           .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, METADATA_ENCODING_ZLIB)
-          .setData(ByteString.copyFrom(output, 0, deflatedLength))
+          .setData(output.toByteString())
           .build();
     } else {
       return originalPayload;
@@ -73,11 +111,14 @@ public class ZlibPayloadCodec implements PayloadCodec {
   private Payload decodePayload(final Payload originalPayload) {
     if (METADATA_ENCODING_ZLIB.equals(
         originalPayload.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null))) {
+      Inflater inflater = inflaters.acquire();
       try (InflaterInputStream inflaterInputStream =
-          new InflaterInputStream(originalPayload.getData().newInput())) {
+          new InflaterInputStream(originalPayload.getData().newInput(), inflater, BUFFER_SIZE)) {
         return Payload.parseFrom(inflaterInputStream);
       } catch (IOException e) {
         throw new PayloadCodecException(e);
+      } finally {
+        inflaters.release(inflater);
       }
     } else {
       // This payload is not encoded by this codec
@@ -17,11 +17,18 @@ import javax.annotation.Nonnull;
 class ActiveThreadReportingExecutor implements WorkflowThreadExecutor {
   private final ExecutorService workflowThreadPool;
   private final Scope metricsScope;
+  private final long handOffSpinTimeNanos;
   private final AtomicInteger tasksInFlight = new AtomicInteger();
 
   ActiveThreadReportingExecutor(ExecutorService workflowThreadPool, Scope metricsScope) {
+    this(workflowThreadPool, metricsScope, 0);
+  }
+
+  ActiveThreadReportingExecutor(
+      ExecutorService workflowThreadPool, Scope metricsScope, long handOffSpinTimeNanos) {
     this.workflowThreadPool = workflowThreadPool;
     this.metricsScope = metricsScope;
+    this.handOffSpinTimeNanos = handOffSpinTimeNanos;
   }
 
   @Override
@@ -38,4 +45,9 @@ class ActiveThreadReportingExecutor implements WorkflowThreadExecutor {
           }
         });
   }
+
+  @Override
+  public long getHandOffSpinTimeNanos() {
+    return handOffSpinTimeNanos;
+  }
 }
@@ -44,6 +44,18 @@ public final class MetricsType {
   public static final String WORKFLOW_TASK_REPLAY_LATENCY =
       TEMPORAL_METRICS_PREFIX + "workflow_task_replay_latency";
 
+  // Time spent waiting for the run lock when another task of the same workflow run is in
+  // processing. Not reported if the lock is available right away
+  @Experimental
+  public static final String WORKFLOW_TASK_RUN_LOCK_WAIT_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_run_lock_wait_latency";
+
+  // Time a workflow task replay spent blocked waiting for the next page of the workflow history
+  // to be fetched from the server
+  @Experimental
+  public static final String WORKFLOW_TASK_HISTORY_PAGE_WAIT_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "workflow_task_history_page_wait_latency";
+
   /** Workflow task failed, possibly failing workflow or reporting failure to the service. */
   public static final String WORKFLOW_TASK_EXECUTION_FAILURE_COUNTER =
       TEMPORAL_METRICS_PREFIX + "workflow_task_execution_failed";
@@ -121,6 +133,18 @@ public final class MetricsType {
   public static final String POLLER_START_COUNTER = TEMPORAL_METRICS_PREFIX + "poller_start";
   // gauge
   public static final String NUM_POLLERS = TEMPORAL_METRICS_PREFIX + "num_pollers";
+  // gauge. Number of concurrent polls the poller autoscaling aims for, also tagged with poller_type
+  @Experimental
+  public static final String TARGET_POLLERS = TEMPORAL_METRICS_PREFIX + "target_pollers";
+  // gauge. Number of local activity timeouts and retries or heartbeats waiting in the timing wheel
+  // of the worker
+  @Experimental
+  public static final String TIMING_WHEEL_SCHEDULED_TASKS =
+      TEMPORAL_METRICS_PREFIX + "timing_wheel_scheduled_tasks";
+  // Maximum delay of a tick of the worker timing wheel over the reporting interval
+  @Experimental
+  public static final String TIMING_WHEEL_TICK_LAG =
+      TEMPORAL_METRICS_PREFIX + "timing_wheel_tick_lag";
 
   public static final String WORKER_TASK_SLOTS_AVAILABLE =
       TEMPORAL_METRICS_PREFIX + "worker_task_slots_available";
@@ -183,9 +207,31 @@ public final class MetricsType {
       TEMPORAL_METRICS_PREFIX + "sticky_cache_thread_forced_eviction";
   // gauge, tagged with namespace
   public static final String STICKY_CACHE_SIZE = TEMPORAL_METRICS_PREFIX + "sticky_cache_size";
+  // gauge, tagged with namespace. Reported only if the cache is weight-based
+  @Experimental
+  public static final String STICKY_CACHE_WEIGHT = TEMPORAL_METRICS_PREFIX + "sticky_cache_weight";
+  // gauge, tagged with namespace, task_queue, worker_type, workflow_type. Estimated retained size
+  // of the last cached workflow of the type. Reported only if the cache is weight-based
+  @Experimental
+  public static final String STICKY_CACHE_ENTRY_WEIGHT =
+      TEMPORAL_METRICS_PREFIX + "sticky_cache_entry_weight";
+  // tagged with namespace, task_queue, worker_type, workflow_type
+  @Experimental
+  public static final String STICKY_CACHE_WEIGHT_EVICTION =
+      TEMPORAL_METRICS_PREFIX + "sticky_cache_weight_eviction";
+  // tagged with namespace, task_queue, worker_type, workflow_type. Number of cached workflows
+  // inspected while looking for a workflow to evict
+  @Experimental
+  public static final String STICKY_CACHE_EVICTION_SCAN_LENGTH =
+      TEMPORAL_METRICS_PREFIX + "sticky_cache_eviction_scan_length";
   // gauge
   public static final String WORKFLOW_ACTIVE_THREAD_COUNT =
       TEMPORAL_METRICS_PREFIX + "workflow_active_thread_count";
+  // Number of times workflow threads were switched to by the workflow event loop to make progress
+  // or to evaluate the conditions they are blocked on
+  @Experimental
+  public static final String WORKFLOW_THREADS_EVALUATED =
+      TEMPORAL_METRICS_PREFIX + "workflow_threads_evaluated";
 
   //
   // Resource tuner
@@ -199,4 +245,23 @@ public final class MetricsType {
       TEMPORAL_METRICS_PREFIX + "resource_slots_mem_pid_output";
   public static final String RESOURCE_CPU_PID =
       TEMPORAL_METRICS_PREFIX + "resource_slots_cpu_pid_output";
+
+  // Time slot reservations waited for the resources to allow a slot, zero when they didn't wait.
+  // Tagged with namespace, task_queue & worker_type
+  @Experimental
+  public static final String RESOURCE_SLOTS_RESERVATION_LATENCY =
+      TEMPORAL_METRICS_PREFIX + "resource_slots_reservation_latency";
+
+  //
+  // Latency based slot supplier
+  //
+  // Tagged with namespace, task_queue & worker_type
+  @Experimental
+  public static final String LATENCY_SLOTS_LIMIT = TEMPORAL_METRICS_PREFIX + "latency_slots_limit";
+
+  // Number of used slots that are estimated to be queueing in the downstream dependencies
+  // rather than doing work, by the Little's law
+  @Experimental
+  public static final String LATENCY_SLOTS_ESTIMATED_QUEUE =
+      TEMPORAL_METRICS_PREFIX + "latency_slots_estimated_queue";
 }
@@ -93,7 +93,11 @@ public final class Worker {
           this.options.getWorkerTuner() == null
               ? new FixedSizeSlotSupplier<>(this.options.getMaxConcurrentActivityExecutionSize())
               : this.options.getWorkerTuner().getActivityTaskSlotSupplier();
-      attachMetricsToResourceController(taggedScope, activitySlotSupplier);
+      attachMetricsToSlotSupplier(
+          metricsScope,
+          taggedScope,
+          WorkerMetricsTag.WorkerType.ACTIVITY_WORKER,
+          activitySlotSupplier);
 
       activityWorker =
           new SyncActivityWorker(
@@ -117,7 +121,11 @@ public final class Worker {
         this.options.getWorkerTuner() == null
             ? new FixedSizeSlotSupplier<>(this.options.getMaxConcurrentNexusExecutionSize())
             : this.options.getWorkerTuner().getNexusSlotSupplier();
-    attachMetricsToResourceController(taggedScope, nexusSlotSupplier);
+    attachMetricsToSlotSupplier(
+        metricsScope,
+        taggedScope,
+        WorkerMetricsTag.WorkerType.NEXUS_WORKER,
+        nexusSlotSupplier);
 
     nexusWorker =
         new SyncNexusWorker(client, namespace, taskQueue, nexusOptions, nexusSlotSupplier);
@@ -138,12 +146,20 @@ public final class Worker {
         this.options.getWorkerTuner() == null
             ? new FixedSizeSlotSupplier<>(this.options.getMaxConcurrentWorkflowTaskExecutionSize())
             : this.options.getWorkerTuner().getWorkflowTaskSlotSupplier();
-    attachMetricsToResourceController(taggedScope, workflowSlotSupplier);
+    attachMetricsToSlotSupplier(
+        metricsScope,
+        taggedScope,
+        WorkerMetricsTag.WorkerType.WORKFLOW_WORKER,
+        workflowSlotSupplier);
     SlotSupplier<LocalActivitySlotInfo> localActivitySlotSupplier =
         this.options.getWorkerTuner() == null
             ? new FixedSizeSlotSupplier<>(this.options.getMaxConcurrentLocalActivityExecutionSize())
             : this.options.getWorkerTuner().getLocalActivitySlotSupplier();
-    attachMetricsToResourceController(taggedScope, localActivitySlotSupplier);
+    attachMetricsToSlotSupplier(
+        metricsScope,
+        taggedScope,
+        WorkerMetricsTag.WorkerType.LOCAL_ACTIVITY_WORKER,
+        localActivitySlotSupplier);
 
     workflowWorker =
         new SyncWorkflowWorker(
@@ -679,6 +695,7 @@ public final class Worker {
         .setStickyTaskQueueDrainTimeout(options.getStickyTaskQueueDrainTimeout())
         .setUsingVirtualThreads(options.isUsingVirtualThreadsOnWorkflowWorker())
         .setDefaultDeadlockDetectionTimeout(options.getDefaultDeadlockDetectionTimeout())
+        .setWorkflowHistoryPrefetchMaxBytes(options.getWorkflowHistoryPrefetchMaxBytes())
         .setMetricsScope(metricsScope.tagged(tags))
         .build();
   }
@@ -734,14 +751,27 @@ public final class Worker {
 
   /**
    * If any slot supplier is resource-based, we want to attach a metrics scope to the controller
-   * (before it's labelled with the worker type).
+   * (before it's labelled with the worker type). Latency-based slot suppliers are per worker type,
+   * so their metrics are labelled with it. Shared slot suppliers attach it to their budget, which
+   * serves the workers of all the task queues of the factory, so the budget metrics use the scope
+   * of the factory instead of the scope of the worker that happens to attach it first.
    */
-  private static void attachMetricsToResourceController(
-      Scope metricsScope, SlotSupplier<?> supplier) {
+  private static void attachMetricsToSlotSupplier(
+      Scope factoryMetricsScope,
+      Scope metricsScope,
+      WorkerMetricsTag.WorkerType workerType,
+      SlotSupplier<?> supplier) {
+    if (supplier instanceof SharedSlotSupplier) {
+      supplier = ((SharedSlotSupplier<?>) supplier).getBudgetSupplier();
+      metricsScope = factoryMetricsScope;
+    }
     if (supplier instanceof ResourceBasedSlotSupplier) {
-      ((ResourceBasedSlotSupplier<?>) supplier)
-          .getResourceController()
-          .setMetricsScope(metricsScope);
+      ResourceBasedSlotSupplier<?> resourceBasedSupplier = (ResourceBasedSlotSupplier<?>) supplier;
+      resourceBasedSupplier.getResourceController().setMetricsScope(metricsScope);
+      resourceBasedSupplier.setMetricsScope(MetricsTag.tagged(metricsScope, workerType));
+    } else if (supplier instanceof LatencyBasedSlotSupplier) {
+      ((LatencyBasedSlotSupplier<?>) supplier)
+          .setMetricsScope(MetricsTag.tagged(metricsScope, workerType));
     }
   }
 }
@@ -40,6 +40,13 @@ import org.slf4j.LoggerFactory;
 public final class WorkerFactory {
   private static final Logger log = LoggerFactory.getLogger(WorkerFactory.class);
 
+  /**
+   * Spin time used when {@link WorkerFactoryOptions#isUsingSpinningWorkflowThreadHandOff()} is
+   * set. Covers waking up a parked workflow thread and a typical short run of workflow code.
+   */
+  private static final long WORKFLOW_THREAD_HAND_OFF_SPIN_TIME_NANOS =
+      TimeUnit.MICROSECONDS.toNanos(50);
+
   private final WorkflowRunLockManager runLocks = new WorkflowRunLockManager();
 
   private final Scope metricsScope;
@@ -137,11 +144,19 @@ public final class WorkerFactory {
     }
 
     this.workflowThreadExecutor =
-        new ActiveThreadReportingExecutor(this.workflowThreadPool, this.metricsScope);
+        new ActiveThreadReportingExecutor(
+            this.workflowThreadPool,
+            this.metricsScope,
+            this.factoryOptions.isUsingSpinningWorkflowThreadHandOff()
+                ? WORKFLOW_THREAD_HAND_OFF_SPIN_TIME_NANOS
+                : 0);
 
     this.cache =
         new WorkflowExecutorCache(
-            this.factoryOptions.getWorkflowCacheSize(), runLocks, metricsScope);
+            this.factoryOptions.getWorkflowCacheSize(),
+            this.factoryOptions.getWorkflowCacheMaxWeightBytes(),
+            runLocks,
+            metricsScope);
   }
 
   /**
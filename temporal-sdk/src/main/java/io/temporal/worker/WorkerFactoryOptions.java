@@ -35,11 +35,13 @@ public class WorkerFactoryOptions {
 
     private Duration workflowHostLocalTaskQueueScheduleToStartTimeout;
     private int workflowCacheSize;
+    private long workflowCacheMaxWeightBytes;
     private int maxWorkflowThreadCount;
     private WorkerInterceptor[] workerInterceptors;
     private WorkerPlugin[] plugins;
     private boolean enableLoggingInReplay;
     private boolean usingVirtualWorkflowThreads;
+    private boolean usingSpinningWorkflowThreadHandOff;
     private ExecutorService overrideLocalActivityTaskExecutor;
 
     private Builder() {}
@@ -51,11 +53,13 @@ public class WorkerFactoryOptions {
       this.workflowHostLocalTaskQueueScheduleToStartTimeout =
           options.workflowHostLocalTaskQueueScheduleToStartTimeout;
       this.workflowCacheSize = options.workflowCacheSize;
+      this.workflowCacheMaxWeightBytes = options.workflowCacheMaxWeightBytes;
       this.maxWorkflowThreadCount = options.maxWorkflowThreadCount;
       this.workerInterceptors = options.workerInterceptors;
       this.plugins = options.plugins;
       this.enableLoggingInReplay = options.enableLoggingInReplay;
       this.usingVirtualWorkflowThreads = options.usingVirtualWorkflowThreads;
+      this.usingSpinningWorkflowThreadHandOff = options.usingSpinningWorkflowThreadHandOff;
       this.overrideLocalActivityTaskExecutor = options.overrideLocalActivityTaskExecutor;
     }
 
@@ -72,6 +76,23 @@ public class WorkerFactoryOptions {
       return this;
     }
 
+    /**
+     * Additionally bounds the workflow cache by the estimated memory retained by the cached
+     * workflows. Each cached workflow is weighed by the estimated size of its state machines,
+     * buffered payloads and workflow thread stacks. When the total goes over this budget, cached
+     * workflows that are not in processing are evicted, preferring the ones that release the most
+     * memory per history event that will have to be replayed if they are needed again.
+     *
+     * <p>{@link #setWorkflowCacheSize(int)} still limits the number of cached workflows.
+     *
+     * <p>Default is 0 which means that the cache is bounded only by the number of entries.
+     */
+    @Experimental
+    public Builder setWorkflowCacheMaxWeightBytes(long workflowCacheMaxWeightBytes) {
+      this.workflowCacheMaxWeightBytes = workflowCacheMaxWeightBytes;
+      return this;
+    }
+
     /**
      * Maximum number of threads available for workflow execution across all workers created by the
      * Factory. This includes cached workflows.
@@ -139,6 +160,25 @@ public class WorkerFactoryOptions {
       return this;
     }
 
+    /**
+     * Workflow code runs in workflow threads that take turns with the workflow task processing
+     * thread. By default, each side parks until the other one hands control back. If set, each
+     * side first busy-waits for a short time, which avoids parking and unparking threads for short
+     * hand-offs. This reduces workflow task latency for small workflow tasks at the cost of
+     * additional CPU usage.
+     *
+     * <p>Intended for platform workflow threads, see {@link
+     * #setUsingVirtualWorkflowThreads(boolean)}.
+     *
+     * <p>Default is false
+     */
+    @Experimental
+    public Builder setUsingSpinningWorkflowThreadHandOff(
+        boolean usingSpinningWorkflowThreadHandOff) {
+      this.usingSpinningWorkflowThreadHandOff = usingSpinningWorkflowThreadHandOff;
+      return this;
+    }
+
     /**
      * @deprecated not used anymore by JavaSDK, this value doesn't have any effect
      */
@@ -158,12 +198,14 @@ public class WorkerFactoryOptions {
     public WorkerFactoryOptions build() {
       return new WorkerFactoryOptions(
           workflowCacheSize,
+          workflowCacheMaxWeightBytes,
           maxWorkflowThreadCount,
           workflowHostLocalTaskQueueScheduleToStartTimeout,
           workerInterceptors,
           plugins,
           enableLoggingInReplay,
           usingVirtualWorkflowThreads,
+          usingSpinningWorkflowThreadHandOff,
           overrideLocalActivityTaskExecutor,
           false);
     }
@@ -182,34 +224,40 @@ public class WorkerFactoryOptions {
     public WorkerFactoryOptions validateAndBuildWithDefaults() {
       return new WorkerFactoryOptions(
           workflowCacheSize,
+          workflowCacheMaxWeightBytes,
           maxWorkflowThreadCount,
           workflowHostLocalTaskQueueScheduleToStartTimeout,
           workerInterceptors == null ? new WorkerInterceptor[0] : workerInterceptors,
           plugins == null ? new WorkerPlugin[0] : plugins,
           enableLoggingInReplay,
           usingVirtualWorkflowThreads,
+          usingSpinningWorkflowThreadHandOff,
           overrideLocalActivityTaskExecutor,
           true);
     }
   }
 
   private final int workflowCacheSize;
+  private final long workflowCacheMaxWeightBytes;
   private final int maxWorkflowThreadCount;
   private final @Nullable Duration workflowHostLocalTaskQueueScheduleToStartTimeout;
   private final WorkerInterceptor[] workerInterceptors;
   private final WorkerPlugin[] plugins;
   private final boolean enableLoggingInReplay;
   private final boolean usingVirtualWorkflowThreads;
+  private final boolean usingSpinningWorkflowThreadHandOff;
   private final ExecutorService overrideLocalActivityTaskExecutor;
 
   private WorkerFactoryOptions(
       int workflowCacheSize,
+      long workflowCacheMaxWeightBytes,
       int maxWorkflowThreadCount,
       @Nullable Duration workflowHostLocalTaskQueueScheduleToStartTimeout,
       WorkerInterceptor[] workerInterceptors,
       WorkerPlugin[] plugins,
       boolean enableLoggingInReplay,
       boolean usingVirtualWorkflowThreads,
+      boolean usingSpinningWorkflowThreadHandOff,
       ExecutorService overrideLocalActivityTaskExecutor,
       boolean validate) {
     if (validate) {
@@ -217,6 +265,8 @@ public class WorkerFactoryOptions {
       if (workflowCacheSize <= 0) {
         workflowCacheSize = DEFAULT_WORKFLOW_CACHE_SIZE;
       }
+      Preconditions.checkState(
+          workflowCacheMaxWeightBytes >= 0, "negative workflowCacheMaxWeightBytes");
 
       Preconditions.checkState(maxWorkflowThreadCount >= 0, "negative maxWorkflowThreadCount");
       if (maxWorkflowThreadCount == 0) {
@@ -235,6 +285,7 @@ public class WorkerFactoryOptions {
       }
     }
     this.workflowCacheSize = workflowCacheSize;
+    this.workflowCacheMaxWeightBytes = workflowCacheMaxWeightBytes;
     this.maxWorkflowThreadCount = maxWorkflowThreadCount;
     this.workflowHostLocalTaskQueueScheduleToStartTimeout =
         workflowHostLocalTaskQueueScheduleToStartTimeout;
@@ -242,6 +293,7 @@ public class WorkerFactoryOptions {
     this.plugins = plugins;
     this.enableLoggingInReplay = enableLoggingInReplay;
     this.usingVirtualWorkflowThreads = usingVirtualWorkflowThreads;
+    this.usingSpinningWorkflowThreadHandOff = usingSpinningWorkflowThreadHandOff;
     this.overrideLocalActivityTaskExecutor = overrideLocalActivityTaskExecutor;
   }
 
@@ -249,6 +301,11 @@ public class WorkerFactoryOptions {
     return workflowCacheSize;
   }
 
+  @Experimental
+  public long getWorkflowCacheMaxWeightBytes() {
+    return workflowCacheMaxWeightBytes;
+  }
+
   public int getMaxWorkflowThreadCount() {
     return maxWorkflowThreadCount;
   }
@@ -281,6 +338,11 @@ public class WorkerFactoryOptions {
     return usingVirtualWorkflowThreads;
   }
 
+  @Experimental
+  public boolean isUsingSpinningWorkflowThreadHandOff() {
+    return usingSpinningWorkflowThreadHandOff;
+  }
+
   /**
    * For internal use only.
    *
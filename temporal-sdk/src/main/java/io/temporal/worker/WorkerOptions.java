@@ -48,6 +48,9 @@ public final class WorkerOptions {
     private static final Duration DEFAULT_MAX_HEARTBEAT_THROTTLE_INTERVAL = Duration.ofSeconds(60);
     private static final Duration DEFAULT_DEFAULT_HEARTBEAT_THROTTLE_INTERVAL =
         Duration.ofSeconds(30);
+    private static final long DEFAULT_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES = 8 * 1024 * 1024;
+    // 0 is a valid value that disables history prefetching, so "not set" needs its own marker
+    private static final long UNSET_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES = -1;
 
     private double maxWorkerActivitiesPerSecond;
     private int maxConcurrentActivityExecutionSize;
@@ -77,6 +80,7 @@ public final class WorkerOptions {
     private PollerBehavior workflowTaskPollersBehavior;
     private PollerBehavior activityTaskPollersBehavior;
     private PollerBehavior nexusTaskPollersBehavior;
+    private long workflowHistoryPrefetchMaxBytes = UNSET_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES;
 
     private Builder() {}
 
@@ -112,6 +116,7 @@ public final class WorkerOptions {
       this.workflowTaskPollersBehavior = o.workflowTaskPollersBehavior;
       this.activityTaskPollersBehavior = o.activityTaskPollersBehavior;
       this.nexusTaskPollersBehavior = o.nexusTaskPollersBehavior;
+      this.workflowHistoryPrefetchMaxBytes = o.workflowHistoryPrefetchMaxBytes;
     }
 
     /**
@@ -524,6 +529,27 @@ public final class WorkerOptions {
       return this;
     }
 
+    /**
+     * When a workflow task requires the full workflow history, for example after the workflow was
+     * evicted from the cache, the worker fetches the history pages that didn't fit into the task
+     * ahead of the replay, while the events of the already fetched pages are being processed. This
+     * option limits the size of the fetched but not yet replayed pages of a single workflow task.
+     * Fetching of the next page is paused when the limit is reached and is resumed once the replay
+     * catches up. A page is never split, so the limit can be exceeded by the size of one page.
+     *
+     * <p>0 disables prefetching, the pages are then fetched one by one as the replay reaches them.
+     * Default is 8 MiB.
+     */
+    @Experimental
+    public Builder setWorkflowHistoryPrefetchMaxBytes(long workflowHistoryPrefetchMaxBytes) {
+      Preconditions.checkArgument(
+          workflowHistoryPrefetchMaxBytes >= 0,
+          "Negative workflowHistoryPrefetchMaxBytes value: %s",
+          workflowHistoryPrefetchMaxBytes);
+      this.workflowHistoryPrefetchMaxBytes = workflowHistoryPrefetchMaxBytes;
+      return this;
+    }
+
     public WorkerOptions build() {
       return new WorkerOptions(
           maxWorkerActivitiesPerSecond,
@@ -553,7 +579,11 @@ public final class WorkerOptions {
           deploymentOptions,
           workflowTaskPollersBehavior,
           activityTaskPollersBehavior,
-          nexusTaskPollersBehavior);
+          nexusTaskPollersBehavior,
+          // the unset marker is internal to the builder and never exposed by the options
+          workflowHistoryPrefetchMaxBytes == UNSET_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES
+              ? DEFAULT_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES
+              : workflowHistoryPrefetchMaxBytes);
     }
 
     public WorkerOptions validateAndBuildWithDefaults() {
@@ -628,6 +658,10 @@ public final class WorkerOptions {
             maxConcurrentNexusTaskPollers == 0,
             "nexusTaskPollersBehavior and maxConcurrentNexusTaskPollers are mutually exclusive");
       }
+      Preconditions.checkState(
+          workflowHistoryPrefetchMaxBytes >= 0
+              || workflowHistoryPrefetchMaxBytes == UNSET_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES,
+          "negative workflowHistoryPrefetchMaxBytes");
 
       return new WorkerOptions(
           maxWorkerActivitiesPerSecond,
@@ -681,7 +715,10 @@ public final class WorkerOptions {
           deploymentOptions,
           workflowTaskPollersBehavior,
           activityTaskPollersBehavior,
-          nexusTaskPollersBehavior);
+          nexusTaskPollersBehavior,
+          workflowHistoryPrefetchMaxBytes == UNSET_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES
+              ? DEFAULT_WORKFLOW_HISTORY_PREFETCH_MAX_BYTES
+              : workflowHistoryPrefetchMaxBytes);
     }
   }
 
@@ -713,6 +750,7 @@ public final class WorkerOptions {
   private final PollerBehavior workflowTaskPollersBehavior;
   private final PollerBehavior activityTaskPollersBehavior;
   private final PollerBehavior nexusTaskPollersBehavior;
+  private final long workflowHistoryPrefetchMaxBytes;
 
   private WorkerOptions(
       double maxWorkerActivitiesPerSecond,
@@ -742,7 +780,8 @@ public final class WorkerOptions {
       WorkerDeploymentOptions deploymentOptions,
       PollerBehavior workflowTaskPollersBehavior,
       PollerBehavior activityTaskPollersBehavior,
-      PollerBehavior nexusTaskPollersBehavior) {
+      PollerBehavior nexusTaskPollersBehavior,
+      long workflowHistoryPrefetchMaxBytes) {
     this.maxWorkerActivitiesPerSecond = maxWorkerActivitiesPerSecond;
     this.maxConcurrentActivityExecutionSize = maxConcurrentActivityExecutionSize;
     this.maxConcurrentWorkflowTaskExecutionSize = maxConcurrentWorkflowTaskExecutionSize;
@@ -771,6 +810,7 @@ public final class WorkerOptions {
     this.workflowTaskPollersBehavior = workflowTaskPollersBehavior;
     this.activityTaskPollersBehavior = activityTaskPollersBehavior;
     this.nexusTaskPollersBehavior = nexusTaskPollersBehavior;
+    this.workflowHistoryPrefetchMaxBytes = workflowHistoryPrefetchMaxBytes;
   }
 
   public double getMaxWorkerActivitiesPerSecond() {
@@ -908,6 +948,11 @@ public final class WorkerOptions {
     return nexusTaskPollersBehavior;
   }
 
+  @Experimental
+  public long getWorkflowHistoryPrefetchMaxBytes() {
+    return workflowHistoryPrefetchMaxBytes;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -940,7 +985,8 @@ public final class WorkerOptions {
         && Objects.equals(deploymentOptions, that.deploymentOptions)
         && Objects.equals(workflowTaskPollersBehavior, that.workflowTaskPollersBehavior)
         && Objects.equals(activityTaskPollersBehavior, that.activityTaskPollersBehavior)
-        && Objects.equals(nexusTaskPollersBehavior, that.nexusTaskPollersBehavior);
+        && Objects.equals(nexusTaskPollersBehavior, that.nexusTaskPollersBehavior)
+        && workflowHistoryPrefetchMaxBytes == that.workflowHistoryPrefetchMaxBytes;
   }
 
   @Override
@@ -973,7 +1019,8 @@ public final class WorkerOptions {
         deploymentOptions,
         workflowTaskPollersBehavior,
         activityTaskPollersBehavior,
-        nexusTaskPollersBehavior);
+        nexusTaskPollersBehavior,
+        workflowHistoryPrefetchMaxBytes);
   }
 
   @Override
@@ -1036,6 +1083,8 @@ public final class WorkerOptions {
         + activityTaskPollersBehavior
         + ", nexusTaskPollersBehavior="
         + nexusTaskPollersBehavior
+        + ", workflowHistoryPrefetchMaxBytes="
+        + workflowHistoryPrefetchMaxBytes
         + '}';
   }
 }
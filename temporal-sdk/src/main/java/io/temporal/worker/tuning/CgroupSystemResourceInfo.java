@@ -0,0 +1,559 @@
+package io.temporal.worker.tuning;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.management.OperatingSystemMXBean;
+import io.temporal.common.Experimental;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link SystemResourceInfo} implementation that reads the resource usage of the container the
+ * worker runs in from the cgroup v2 or v1 files, for workers that run in Kubernetes or other
+ * container environments. Unlike {@link JVMSystemResourceInfo}:
+ *
+ * <ul>
+ *   <li>CPU usage is the CPU time used by the cgroup relative to its CPU quota, or to the number of
+ *       available processors if there is no quota. If the cgroup was throttled in a larger share of
+ *       the CFS periods, that share is reported instead, since throttling means that the quota is
+ *       exhausted even when the average usage is below it.
+ *   <li>Memory usage is the memory used by the cgroup, without the inactive file cache that the
+ *       kernel can reclaim, relative to the cgroup memory limit, or to the physical memory if there
+ *       is no limit. It includes off-heap memory, so it reflects what the OOM killer acts on. The
+ *       JVM heap usage is reported instead if it is higher.
+ *   <li>Values are refreshed on a background tick and the getters only read the last values, they
+ *       never block or contend with each other.
+ * </ul>
+ *
+ * <p>The cgroup of the process is resolved from {@code /proc/self/cgroup} and {@code
+ * /proc/self/mountinfo} the way the JDK container support does, so the right cgroup is read on
+ * hosts without a cgroup namespace, where the cgroup filesystem root is the root cgroup of the
+ * host. If no cgroup files are found, the system CPU load and the JVM heap usage are reported.
+ *
+ * <p>Use with {@link ResourceBasedTuner.Builder#setSystemResourceInfo(SystemResourceInfo)}.
+ */
+@Experimental
+public class CgroupSystemResourceInfo implements SystemResourceInfo {
+  private static final Logger log = LoggerFactory.getLogger(CgroupSystemResourceInfo.class);
+
+  public static final Path DEFAULT_CGROUP_ROOT = Paths.get("/sys/fs/cgroup");
+  private static final Path PROC_SELF = Paths.get("/proc/self");
+  public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMillis(100);
+
+  private static final ScheduledExecutorService DEFAULT_REFRESH_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setDaemon(true)
+              .setNameFormat("cgroup-resource-info-refresh-%d")
+              .build());
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public static final class Builder {
+    private Path cgroupRoot = DEFAULT_CGROUP_ROOT;
+    private Duration refreshInterval = DEFAULT_REFRESH_INTERVAL;
+    private boolean useHeapAfterCollection;
+    private ScheduledExecutorService refreshExecutor;
+
+    private Builder() {}
+
+    /** Directory the cgroup filesystem is mounted at. Defaults to {@code /sys/fs/cgroup}. */
+    public Builder setCgroupRoot(@Nonnull Path cgroupRoot) {
+      this.cgroupRoot = Preconditions.checkNotNull(cgroupRoot);
+      return this;
+    }
+
+    /** How often the resource usage is refreshed. Defaults to 100ms. */
+    public Builder setRefreshInterval(@Nonnull Duration refreshInterval) {
+      Preconditions.checkArgument(
+          !refreshInterval.isNegative() && !refreshInterval.isZero(),
+          "refreshInterval should be positive: %s",
+          refreshInterval);
+      this.refreshInterval = refreshInterval;
+      return this;
+    }
+
+    /**
+     * If true, the JVM heap usage is the heap occupied right after the last garbage collection
+     * instead of the current heap occupancy. The current occupancy includes the garbage that is
+     * not collected yet and grows until the next collection, which makes slot decisions oscillate
+     * with the GC cycle. Defaults to false.
+     */
+    public Builder setUseHeapAfterCollection(boolean useHeapAfterCollection) {
+      this.useHeapAfterCollection = useHeapAfterCollection;
+      return this;
+    }
+
+    /** Executor the refresh tick runs on. Defaults to a shared single-thread executor. */
+    public Builder setRefreshExecutor(@Nonnull ScheduledExecutorService refreshExecutor) {
+      this.refreshExecutor = Preconditions.checkNotNull(refreshExecutor);
+      return this;
+    }
+
+    public CgroupSystemResourceInfo build() {
+      return new CgroupSystemResourceInfo(
+          cgroupRoot,
+          PROC_SELF,
+          refreshInterval,
+          useHeapAfterCollection,
+          refreshExecutor == null ? DEFAULT_REFRESH_EXECUTOR : refreshExecutor,
+          System::nanoTime);
+    }
+  }
+
+  private final OperatingSystemMXBean osBean =
+      ManagementFactory.getPlatformMXBean(OperatingSystemMXBean.class);
+  private final @Nullable Cgroup cgroup;
+  private final boolean useHeapAfterCollection;
+  private final LongSupplier nanoClock;
+
+  // Accessed only by the refresh tick
+  private @Nullable CpuStat lastCpuStat;
+  private long lastRefreshNanos;
+
+  private volatile Usage usage = new Usage(0, 0);
+
+  CgroupSystemResourceInfo(
+      Path cgroupRoot,
+      Path procSelf,
+      Duration refreshInterval,
+      boolean useHeapAfterCollection,
+      ScheduledExecutorService refreshExecutor,
+      LongSupplier nanoClock) {
+    this.cgroup = Cgroup.detect(cgroupRoot, procSelf);
+    if (cgroup == null) {
+      log.warn("No cgroup files found in {}, system CPU and JVM heap usage is used", cgroupRoot);
+    }
+    this.useHeapAfterCollection = useHeapAfterCollection;
+    this.nanoClock = nanoClock;
+    refresh();
+    RefreshTask refreshTask = new RefreshTask(this);
+    refreshTask.future =
+        refreshExecutor.scheduleWithFixedDelay(
+            refreshTask,
+            refreshInterval.toNanos(),
+            refreshInterval.toNanos(),
+            TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public double getCPUUsagePercent() {
+    return usage.cpuUsagePercent;
+  }
+
+  @Override
+  public double getMemoryUsagePercent() {
+    return usage.memoryUsagePercent;
+  }
+
+  void refresh() {
+    long nowNanos = nanoClock.getAsLong();
+    double cpuUsage = usage.cpuUsagePercent;
+    CpuStat cpuStat = cgroup == null ? null : cgroup.readCpuStat();
+    if (cpuStat == null) {
+      cpuUsage = getSystemCpuLoad();
+    } else if (lastCpuStat != null && nowNanos > lastRefreshNanos) {
+      cpuUsage = cpuStat.usageSince(lastCpuStat, nowNanos - lastRefreshNanos, osBean);
+    }
+    lastCpuStat = cpuStat;
+    lastRefreshNanos = nowNanos;
+
+    double memoryUsage = getHeapUsage();
+    MemoryStat memoryStat = cgroup == null ? null : cgroup.readMemoryStat();
+    if (memoryStat != null) {
+      memoryUsage = Math.max(memoryUsage, memoryStat.usage(osBean));
+    }
+    usage = new Usage(clamp(cpuUsage), clamp(memoryUsage));
+  }
+
+  @SuppressWarnings("deprecation") // deprecated APIs needed since replacements are for Java 14+
+  private double getSystemCpuLoad() {
+    // This can return NaN seemingly when usage is very low
+    double cpuLoad = osBean.getSystemCpuLoad();
+    return cpuLoad < 0 || Double.isNaN(cpuLoad) ? 0 : cpuLoad;
+  }
+
+  private double getHeapUsage() {
+    Runtime runtime = Runtime.getRuntime();
+    long maxMemory = runtime.maxMemory();
+    if (useHeapAfterCollection && anyCollectionHappened()) {
+      long usedAfterCollection = 0;
+      for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+        MemoryUsage collectionUsage = pool.getCollectionUsage();
+        if (pool.getType() == MemoryType.HEAP && collectionUsage != null) {
+          usedAfterCollection += collectionUsage.getUsed();
+        }
+      }
+      return (double) usedAfterCollection / maxMemory;
+    }
+    return (double) (runtime.totalMemory() - runtime.freeMemory()) / maxMemory;
+  }
+
+  private static boolean anyCollectionHappened() {
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (gc.getCollectionCount() > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static double clamp(double value) {
+    return Double.isNaN(value) ? 0 : Math.max(0, Math.min(1, value));
+  }
+
+  private static final class Usage {
+    private final double cpuUsagePercent;
+    private final double memoryUsagePercent;
+
+    private Usage(double cpuUsagePercent, double memoryUsagePercent) {
+      this.cpuUsagePercent = cpuUsagePercent;
+      this.memoryUsagePercent = memoryUsagePercent;
+    }
+  }
+
+  /**
+   * Holds the resource info weakly, so the tick of an instance that is not used anymore cancels
+   * itself instead of keeping it alive forever.
+   */
+  private static final class RefreshTask implements Runnable {
+    private final WeakReference<CgroupSystemResourceInfo> resourceInfo;
+    private volatile ScheduledFuture<?> future;
+
+    private RefreshTask(CgroupSystemResourceInfo resourceInfo) {
+      this.resourceInfo = new WeakReference<>(resourceInfo);
+    }
+
+    @Override
+    public void run() {
+      CgroupSystemResourceInfo info = resourceInfo.get();
+      if (info == null) {
+        ScheduledFuture<?> future = this.future;
+        if (future != null) {
+          future.cancel(false);
+        }
+        return;
+      }
+      try {
+        info.refresh();
+      } catch (Exception e) {
+        // an exception would cancel the periodic refresh
+        log.warn("Failed to refresh the resource usage", e);
+      }
+    }
+  }
+
+  private static final class CpuStat {
+    private final long usageNanos;
+    private final long periods;
+    private final long throttledPeriods;
+    /** CPU quota in cores, non-positive if there is no quota */
+    private final double cpuLimit;
+
+    private CpuStat(long usageNanos, long periods, long throttledPeriods, double cpuLimit) {
+      this.usageNanos = usageNanos;
+      this.periods = periods;
+      this.throttledPeriods = throttledPeriods;
+      this.cpuLimit = cpuLimit;
+    }
+
+    private double usageSince(CpuStat previous, long elapsedNanos, OperatingSystemMXBean osBean) {
+      double cpus = cpuLimit > 0 ? cpuLimit : osBean.getAvailableProcessors();
+      double usage = (usageNanos - previous.usageNanos) / (elapsedNanos * cpus);
+      long elapsedPeriods = periods - previous.periods;
+      if (elapsedPeriods > 0) {
+        double throttled = (double) (throttledPeriods - previous.throttledPeriods) / elapsedPeriods;
+        usage = Math.max(usage, throttled);
+      }
+      return usage;
+    }
+  }
+
+  private static final class MemoryStat {
+    private final long usageBytes;
+    /** non-positive if there is no limit */
+    private final long limitBytes;
+
+    private MemoryStat(long usageBytes, long limitBytes) {
+      this.usageBytes = usageBytes;
+      this.limitBytes = limitBytes;
+    }
+
+    @SuppressWarnings("deprecation") // deprecated APIs needed since replacements are for Java 14+
+    private double usage(OperatingSystemMXBean osBean) {
+      long physicalMemory = osBean.getTotalPhysicalMemorySize();
+      // cgroup v1 reports a huge number close to Long.MAX_VALUE when there is no limit
+      long limit = limitBytes > 0 && limitBytes < physicalMemory ? limitBytes : physicalMemory;
+      return (double) usageBytes / limit;
+    }
+  }
+
+  private abstract static class Cgroup {
+    /** Controller name of the cgroup v2 unified hierarchy, in which all controllers are mounted */
+    private static final String UNIFIED = "";
+
+    @Nullable
+    static Cgroup detect(Path root, Path procSelf) {
+      if (Files.exists(root.resolve("cgroup.controllers"))) {
+        return new CgroupV2(processCgroup(root, procSelf, UNIFIED));
+      }
+      // cpu and cpuacct controllers are usually co-mounted and linked
+      Path cpu = firstDirectory(root, "cpu,cpuacct", "cpuacct,cpu", "cpu");
+      Path cpuacct = firstDirectory(root, "cpu,cpuacct", "cpuacct,cpu", "cpuacct");
+      Path memory = root.resolve("memory");
+      if (!Files.isDirectory(cpu) && !Files.isDirectory(cpuacct) && !Files.isDirectory(memory)) {
+        return null;
+      }
+      return new CgroupV1(
+          processCgroup(cpu, procSelf, "cpu"),
+          processCgroup(cpuacct, procSelf, "cpuacct"),
+          processCgroup(memory, procSelf, "memory"));
+    }
+
+    /**
+     * Resolves the directory of the cgroup of this process under the mount point of the hierarchy
+     * of {@code controller}. The cgroup path in {@code /proc/self/cgroup} is relative to the root
+     * of the hierarchy, while the mount may expose only a subtree of it, whose root is given by
+     * {@code /proc/self/mountinfo}. That is the case in containers with a cgroup namespace, where
+     * both paths are usually "/".
+     *
+     * @return the cgroup directory, {@code mountPoint} if it can't be resolved
+     */
+    static Path processCgroup(Path mountPoint, Path procSelf, String controller) {
+      String cgroupPath = null;
+      for (String line : readLines(procSelf.resolve("cgroup"))) {
+        // "$ID:$CONTROLLERS:$PATH", "0::$PATH" for the unified hierarchy
+        String[] fields = line.split(":", 3);
+        if (fields.length == 3
+            && (UNIFIED.equals(controller)
+                ? "0".equals(fields[0]) && fields[1].isEmpty()
+                : Arrays.asList(fields[1].split(",")).contains(controller))) {
+          cgroupPath = fields[2];
+          break;
+        }
+      }
+      if (cgroupPath == null) {
+        return mountPoint;
+      }
+      String mountRoot = "/";
+      for (String line : readLines(procSelf.resolve("mountinfo"))) {
+        // "$ID $PARENT $DEV $ROOT $MOUNT_POINT $OPTIONS [$OPTIONAL...] - $TYPE $SOURCE $SUPER_OPTS"
+        List<String> fields = Arrays.asList(line.split(" "));
+        int separator = fields.indexOf("-");
+        if (separator < 5 || fields.size() < separator + 4) {
+          continue;
+        }
+        String type = fields.get(separator + 1);
+        if (UNIFIED.equals(controller)
+            ? "cgroup2".equals(type)
+            : "cgroup".equals(type)
+                && Arrays.asList(fields.get(separator + 3).split(",")).contains(controller)) {
+          mountRoot = fields.get(3);
+          break;
+        }
+      }
+      String relativePath;
+      if ("/".equals(mountRoot)) {
+        relativePath = cgroupPath;
+      } else if (cgroupPath.startsWith(mountRoot + "/")) {
+        relativePath = cgroupPath.substring(mountRoot.length());
+      } else {
+        // the mount root is the cgroup itself, or the cgroup is outside of the mounted subtree
+        relativePath = "/";
+      }
+      Path directory = mountPoint.resolve(relativePath.substring(1));
+      return Files.isDirectory(directory) ? directory : mountPoint;
+    }
+
+    /**
+     * @return the first of {@code names} that is a directory under {@code root}, the last one if
+     *     none of them is
+     */
+    private static Path firstDirectory(Path root, String... names) {
+      Path directory = null;
+      for (String name : names) {
+        directory = root.resolve(name);
+        if (Files.isDirectory(directory)) {
+          break;
+        }
+      }
+      return directory;
+    }
+
+    /**
+     * @return CPU counters, null if they are not available
+     */
+    @Nullable
+    abstract CpuStat readCpuStat();
+
+    /**
+     * @return memory usage and limit, null if they are not available
+     */
+    @Nullable
+    abstract MemoryStat readMemoryStat();
+  }
+
+  private static final class CgroupV2 extends Cgroup {
+    private final Path root;
+
+    private CgroupV2(Path root) {
+      this.root = root;
+    }
+
+    @Override
+    @Nullable
+    CpuStat readCpuStat() {
+      Map<String, Long> stat = readKeyValues(root.resolve("cpu.stat"));
+      Long usageMicros = stat.get("usage_usec");
+      if (usageMicros == null) {
+        return null;
+      }
+      double cpuLimit = 0;
+      // "$MAX $PERIOD", where $MAX is "max" if there is no limit
+      String[] max = readFirstLine(root.resolve("cpu.max")).split(" ");
+      if (max.length == 2 && !"max".equals(max[0])) {
+        try {
+          double period = Double.parseDouble(max[1]);
+          if (period > 0) {
+            cpuLimit = Double.parseDouble(max[0]) / period;
+          }
+        } catch (NumberFormatException e) {
+          // malformed, treated as no quota
+        }
+      }
+      return new CpuStat(
+          TimeUnit.MICROSECONDS.toNanos(usageMicros),
+          stat.getOrDefault("nr_periods", 0L),
+          stat.getOrDefault("nr_throttled", 0L),
+          cpuLimit);
+    }
+
+    @Override
+    @Nullable
+    MemoryStat readMemoryStat() {
+      long current = readLong(root.resolve("memory.current"));
+      if (current < 0) {
+        return null;
+      }
+      long inactiveFile =
+          readKeyValues(root.resolve("memory.stat")).getOrDefault("inactive_file", 0L);
+      return new MemoryStat(
+          Math.max(0, current - inactiveFile), readLong(root.resolve("memory.max")));
+    }
+  }
+
+  private static final class CgroupV1 extends Cgroup {
+    private final Path cpu;
+    private final Path cpuacct;
+    private final Path memory;
+
+    private CgroupV1(Path cpu, Path cpuacct, Path memory) {
+      this.cpu = cpu;
+      this.cpuacct = cpuacct;
+      this.memory = memory;
+    }
+
+    @Override
+    @Nullable
+    CpuStat readCpuStat() {
+      long usageNanos = readLong(cpuacct.resolve("cpuacct.usage"));
+      if (usageNanos < 0) {
+        return null;
+      }
+      double cpuLimit = 0;
+      long quota = readLong(cpu.resolve("cpu.cfs_quota_us"));
+      long period = readLong(cpu.resolve("cpu.cfs_period_us"));
+      if (quota > 0 && period > 0) {
+        cpuLimit = (double) quota / period;
+      }
+      Map<String, Long> stat = readKeyValues(cpu.resolve("cpu.stat"));
+      return new CpuStat(
+          usageNanos,
+          stat.getOrDefault("nr_periods", 0L),
+          stat.getOrDefault("nr_throttled", 0L),
+          cpuLimit);
+    }
+
+    @Override
+    @Nullable
+    MemoryStat readMemoryStat() {
+      long usage = readLong(memory.resolve("memory.usage_in_bytes"));
+      if (usage < 0) {
+        return null;
+      }
+      long inactiveFile =
+          readKeyValues(memory.resolve("memory.stat")).getOrDefault("total_inactive_file", 0L);
+      return new MemoryStat(
+          Math.max(0, usage - inactiveFile), readLong(memory.resolve("memory.limit_in_bytes")));
+    }
+  }
+
+  /**
+   * @return the number in the file, -1 if the file doesn't exist or doesn't contain a number, e.g.
+   *     "max"
+   */
+  private static long readLong(Path file) {
+    try {
+      return Long.parseLong(readFirstLine(file));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private static String readFirstLine(Path file) {
+    List<String> lines = readLines(file);
+    return lines.isEmpty() ? "" : lines.get(0).trim();
+  }
+
+  /**
+   * @return "key value" lines of a file like cpu.stat or memory.stat
+   */
+  private static Map<String, Long> readKeyValues(Path file) {
+    Map<String, Long> result = new HashMap<>();
+    for (String line : readLines(file)) {
+      String[] keyValue = line.trim().split(" ");
+      if (keyValue.length == 2) {
+        try {
+          result.put(keyValue[0], Long.parseLong(keyValue[1]));
+        } catch (NumberFormatException e) {
+          // not a counter
+        }
+      }
+    }
+    return result;
+  }
+
+  private static List<String> readLines(Path file) {
+    try {
+      return Files.readAllLines(file, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      return Collections.emptyList();
+    }
+  }
+}
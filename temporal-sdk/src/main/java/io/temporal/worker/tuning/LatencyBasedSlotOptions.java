@@ -0,0 +1,196 @@
+package io.temporal.worker.tuning;
+
+import com.google.common.base.Preconditions;
+import io.temporal.common.Experimental;
+import java.time.Duration;
+import java.util.Objects;
+
+/** Options for {@link LatencyBasedSlotSupplier} */
+@Experimental
+public class LatencyBasedSlotOptions {
+  public static final int DEFAULT_MINIMUM_SLOTS = 1;
+  public static final int DEFAULT_MAXIMUM_SLOTS = 1000;
+  public static final int DEFAULT_INITIAL_SLOTS = 20;
+  public static final Duration DEFAULT_SAMPLE_WINDOW = Duration.ofSeconds(1);
+  public static final double DEFAULT_LATENCY_TOLERANCE = 1.5;
+  public static final double DEFAULT_SMOOTHING = 0.2;
+
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public static LatencyBasedSlotOptions getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final LatencyBasedSlotOptions DEFAULT_INSTANCE = newBuilder().build();
+
+  public static final class Builder {
+    private int minimumSlots = DEFAULT_MINIMUM_SLOTS;
+    private int maximumSlots = DEFAULT_MAXIMUM_SLOTS;
+    private int initialSlots = DEFAULT_INITIAL_SLOTS;
+    private Duration sampleWindow = DEFAULT_SAMPLE_WINDOW;
+    private double latencyTolerance = DEFAULT_LATENCY_TOLERANCE;
+    private double smoothing = DEFAULT_SMOOTHING;
+
+    private Builder() {}
+
+    /**
+     * @param minimumSlots the limit never goes below this number of slots. Default is 1.
+     */
+    public Builder setMinimumSlots(int minimumSlots) {
+      this.minimumSlots = minimumSlots;
+      return this;
+    }
+
+    /**
+     * @param maximumSlots the limit never goes above this number of slots. Default is 1000.
+     */
+    public Builder setMaximumSlots(int maximumSlots) {
+      this.maximumSlots = maximumSlots;
+      return this;
+    }
+
+    /**
+     * @param initialSlots the limit before any task latency is observed. Default is 20.
+     */
+    public Builder setInitialSlots(int initialSlots) {
+      this.initialSlots = initialSlots;
+      return this;
+    }
+
+    /**
+     * @param sampleWindow task latencies are averaged over windows of this duration and the limit
+     *     is adjusted once per window. Default is 1 second.
+     */
+    public Builder setSampleWindow(Duration sampleWindow) {
+      this.sampleWindow = sampleWindow;
+      return this;
+    }
+
+    /**
+     * @param latencyTolerance how many times the task latency may exceed the baseline latency
+     *     before the limit is decreased. Higher values favor throughput over latency. Default is
+     *     1.5.
+     */
+    public Builder setLatencyTolerance(double latencyTolerance) {
+      this.latencyTolerance = latencyTolerance;
+      return this;
+    }
+
+    /**
+     * @param smoothing share of the newly computed limit applied in each window, in (0, 1]. Lower
+     *     values make the limit change slower and steadier. Default is 0.2.
+     */
+    public Builder setSmoothing(double smoothing) {
+      this.smoothing = smoothing;
+      return this;
+    }
+
+    public LatencyBasedSlotOptions build() {
+      Preconditions.checkArgument(
+          minimumSlots > 0, "minimumSlots should be positive: %s", minimumSlots);
+      Preconditions.checkArgument(
+          maximumSlots >= minimumSlots,
+          "maximumSlots should not be less than minimumSlots: %s",
+          maximumSlots);
+      Preconditions.checkArgument(
+          initialSlots >= minimumSlots && initialSlots <= maximumSlots,
+          "initialSlots should be between minimumSlots and maximumSlots: %s",
+          initialSlots);
+      Preconditions.checkArgument(
+          sampleWindow != null && !sampleWindow.isNegative() && !sampleWindow.isZero(),
+          "sampleWindow should be positive: %s",
+          sampleWindow);
+      Preconditions.checkArgument(
+          latencyTolerance >= 1, "latencyTolerance should be at least 1: %s", latencyTolerance);
+      Preconditions.checkArgument(
+          smoothing > 0 && smoothing <= 1, "smoothing should be in (0, 1]: %s", smoothing);
+      return new LatencyBasedSlotOptions(
+          minimumSlots, maximumSlots, initialSlots, sampleWindow, latencyTolerance, smoothing);
+    }
+  }
+
+  private final int minimumSlots;
+  private final int maximumSlots;
+  private final int initialSlots;
+  private final Duration sampleWindow;
+  private final double latencyTolerance;
+  private final double smoothing;
+
+  private LatencyBasedSlotOptions(
+      int minimumSlots,
+      int maximumSlots,
+      int initialSlots,
+      Duration sampleWindow,
+      double latencyTolerance,
+      double smoothing) {
+    this.minimumSlots = minimumSlots;
+    this.maximumSlots = maximumSlots;
+    this.initialSlots = initialSlots;
+    this.sampleWindow = sampleWindow;
+    this.latencyTolerance = latencyTolerance;
+    this.smoothing = smoothing;
+  }
+
+  public int getMinimumSlots() {
+    return minimumSlots;
+  }
+
+  public int getMaximumSlots() {
+    return maximumSlots;
+  }
+
+  public int getInitialSlots() {
+    return initialSlots;
+  }
+
+  public Duration getSampleWindow() {
+    return sampleWindow;
+  }
+
+  public double getLatencyTolerance() {
+    return latencyTolerance;
+  }
+
+  public double getSmoothing() {
+    return smoothing;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    LatencyBasedSlotOptions that = (LatencyBasedSlotOptions) o;
+    return minimumSlots == that.minimumSlots
+        && maximumSlots == that.maximumSlots
+        && initialSlots == that.initialSlots
+        && Double.compare(that.latencyTolerance, latencyTolerance) == 0
+        && Double.compare(that.smoothing, smoothing) == 0
+        && Objects.equals(sampleWindow, that.sampleWindow);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(
+        minimumSlots, maximumSlots, initialSlots, sampleWindow, latencyTolerance, smoothing);
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyBasedSlotOptions{"
+        + "minimumSlots="
+        + minimumSlots
+        + ", maximumSlots="
+        + maximumSlots
+        + ", initialSlots="
+        + initialSlots
+        + ", sampleWindow="
+        + sampleWindow
+        + ", latencyTolerance="
+        + latencyTolerance
+        + ", smoothing="
+        + smoothing
+        + '}';
+  }
+}
@@ -0,0 +1,296 @@
+package io.temporal.worker.tuning;
+
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Scope;
+import io.temporal.common.Experimental;
+import io.temporal.worker.MetricsType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Implements a {@link SlotSupplier} that adjusts the number of slots to the observed latency of the
+ * tasks, measured from {@link #markSlotUsed(SlotMarkUsedContext)} to {@link
+ * #releaseSlot(SlotReleaseContext)}. It suits workers whose tasks are bound by downstream
+ * dependencies, like databases or other services, that get overloaded long before the worker runs
+ * out of CPU or memory, which {@link ResourceBasedSlotSupplier} can't detect.
+ *
+ * <p>The latency is averaged over sample windows and compared to a baseline latency, which is the
+ * lowest observed window latency drifting slowly towards the recent ones. The limit grows while the
+ * latency stays within {@link LatencyBasedSlotOptions#getLatencyTolerance()} of the baseline, and
+ * shrinks in proportion to the latency growth otherwise, as tasks waiting in the downstream queues
+ * add latency without adding throughput. The limit doesn't grow while less than a half of it is in
+ * use.
+ *
+ * <p>Each task type needs its own instance, use {@link CompositeTuner} to combine it with suppliers
+ * for the other task types.
+ *
+ * @param <SI> The slot info type for this supplier.
+ */
+@Experimental
+public class LatencyBasedSlotSupplier<SI extends SlotInfo> implements SlotSupplier<SI> {
+  /** Share of a window latency above the baseline that the baseline moves towards */
+  private static final double BASELINE_SMOOTHING = 0.05;
+  /** The limit never shrinks by more than a half in a window */
+  private static final double MIN_GRADIENT = 0.5;
+
+  private final LatencyBasedSlotOptions options;
+  private final long sampleWindowNanos;
+  private final LongSupplier nanoClock;
+  private final Map<SlotPermit, Long> usedSlotStartNanos = new ConcurrentHashMap<>();
+  private final AtomicReference<Metrics> metrics = new AtomicReference<>();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  // All the fields below are guarded by the lock
+  private final Queue<CompletableFuture<SlotPermit>> waiters = new ArrayDeque<>();
+  private int issuedSlots;
+  private double limit;
+  private double baselineLatencyNanos;
+  private double estimatedQueue;
+  private long windowStartNanos;
+  private long windowLatencySumNanos;
+  private int windowSamples;
+  private int windowMaxUsedSlots;
+
+  public LatencyBasedSlotSupplier(LatencyBasedSlotOptions options) {
+    this(options, System::nanoTime);
+  }
+
+  LatencyBasedSlotSupplier(LatencyBasedSlotOptions options, LongSupplier nanoClock) {
+    this.options = options;
+    this.sampleWindowNanos = options.getSampleWindow().toNanos();
+    this.nanoClock = nanoClock;
+    this.limit = options.getInitialSlots();
+    this.windowStartNanos = nanoClock.getAsLong();
+  }
+
+  @Override
+  public SlotSupplierFuture reserveSlot(SlotReserveContext<SI> ctx) throws Exception {
+    CompletableFuture<SlotPermit> waiter = new CompletableFuture<>();
+    lock.lock();
+    try {
+      if (issuedSlots < getLimit()) {
+        issuedSlots++;
+        return SlotSupplierFuture.completedFuture(new SlotPermit());
+      }
+      waiters.add(waiter);
+    } finally {
+      lock.unlock();
+    }
+    return SlotSupplierFuture.fromCompletableFuture(
+        waiter,
+        () -> {
+          if (!waiter.cancel(true)) {
+            // the permit was granted concurrently with the abort and is not going to be used
+            releasePermit();
+          }
+        });
+  }
+
+  @Override
+  public Optional<SlotPermit> tryReserveSlot(SlotReserveContext<SI> ctx) {
+    lock.lock();
+    try {
+      if (issuedSlots < getLimit()) {
+        issuedSlots++;
+        return Optional.of(new SlotPermit());
+      }
+      return Optional.empty();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void markSlotUsed(SlotMarkUsedContext<SI> ctx) {
+    usedSlotStartNanos.put(ctx.getSlotPermit(), nanoClock.getAsLong());
+    lock.lock();
+    try {
+      windowMaxUsedSlots = Math.max(windowMaxUsedSlots, usedSlotStartNanos.size());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void releaseSlot(SlotReleaseContext<SI> ctx) {
+    Long startNanos = usedSlotStartNanos.remove(ctx.getSlotPermit());
+    SlotReleaseReason reason = ctx.getSlotReleaseReason();
+    List<CompletableFuture<SlotPermit>> granted;
+    lock.lock();
+    try {
+      if (startNanos != null
+          && (reason instanceof SlotReleaseReason.TaskComplete
+              || reason instanceof SlotReleaseReason.WillRetry)) {
+        long nowNanos = nanoClock.getAsLong();
+        windowLatencySumNanos += nowNanos - startNanos;
+        windowSamples++;
+        if (nowNanos - windowStartNanos >= sampleWindowNanos) {
+          updateLimit(nowNanos);
+        }
+      }
+      issuedSlots--;
+      granted = grantWaiters();
+    } finally {
+      lock.unlock();
+    }
+    completeWaiters(granted);
+  }
+
+  @Override
+  public Optional<Integer> getMaximumSlots() {
+    return Optional.of(options.getMaximumSlots());
+  }
+
+  /**
+   * @return the number of slots that can be issued at the moment
+   */
+  public int getCurrentLimit() {
+    lock.lock();
+    try {
+      return getLimit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of used slots that were estimated to wait in the downstream dependencies at
+   *     the end of the last sample window. By the Little's law, the observed throughput at the
+   *     baseline latency needs {@code throughput * baselineLatency} slots, the other used slots add
+   *     only latency.
+   */
+  public double getEstimatedQueue() {
+    lock.lock();
+    try {
+      return estimatedQueue;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public LatencyBasedSlotOptions getOptions() {
+    return options;
+  }
+
+  /** Visible for internal usage. Can only be set once. */
+  public void setMetricsScope(Scope metricsScope) {
+    if (metrics.compareAndSet(null, new Metrics(metricsScope))) {
+      lock.lock();
+      try {
+        publishMetrics();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private int getLimit() {
+    return (int) limit;
+  }
+
+  private void updateLimit(long nowNanos) {
+    double latencyNanos = Math.max(1, (double) windowLatencySumNanos / windowSamples);
+    double throughputPerNano = (double) windowSamples / (nowNanos - windowStartNanos);
+    if (baselineLatencyNanos == 0 || latencyNanos < baselineLatencyNanos) {
+      baselineLatencyNanos = latencyNanos;
+    } else {
+      // lets the baseline follow a lasting change of the dependencies latency
+      baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) * BASELINE_SMOOTHING;
+    }
+
+    double gradient =
+        Math.max(
+            MIN_GRADIENT,
+            Math.min(1, options.getLatencyTolerance() * baselineLatencyNanos / latencyNanos));
+    boolean underused = windowMaxUsedSlots < limit / 2;
+    if (gradient < 1 || !underused) {
+      // the square root leaves room to probe for a higher limit, growing slower as it gets larger
+      double newLimit = limit * gradient + Math.sqrt(limit);
+      newLimit = limit + (newLimit - limit) * options.getSmoothing();
+      limit = Math.max(options.getMinimumSlots(), Math.min(options.getMaximumSlots(), newLimit));
+    }
+
+    int usedSlots = usedSlotStartNanos.size();
+    estimatedQueue = Math.max(0, usedSlots - throughputPerNano * baselineLatencyNanos);
+
+    windowStartNanos = nowNanos;
+    windowLatencySumNanos = 0;
+    windowSamples = 0;
+    windowMaxUsedSlots = usedSlots;
+    publishMetrics();
+  }
+
+  /**
+   * Counts the slots of the waiters that fit under the limit as issued. Must be called under the
+   * lock, the returned waiters are completed by {@link #completeWaiters(List)} after the lock is
+   * released, so that the stages depending on them don't run under the lock.
+   */
+  private List<CompletableFuture<SlotPermit>> grantWaiters() {
+    List<CompletableFuture<SlotPermit>> granted = new ArrayList<>();
+    while (issuedSlots < getLimit()) {
+      CompletableFuture<SlotPermit> waiter = waiters.poll();
+      if (waiter == null) {
+        break;
+      }
+      // a cancelled waiter was aborted and doesn't need the permit anymore
+      if (!waiter.isDone()) {
+        issuedSlots++;
+        granted.add(waiter);
+      }
+    }
+    return granted;
+  }
+
+  private void completeWaiters(List<CompletableFuture<SlotPermit>> granted) {
+    for (CompletableFuture<SlotPermit> waiter : granted) {
+      if (!waiter.complete(new SlotPermit())) {
+        // the waiter was aborted after its slot was counted as issued
+        releasePermit();
+      }
+    }
+  }
+
+  private void releasePermit() {
+    List<CompletableFuture<SlotPermit>> granted;
+    lock.lock();
+    try {
+      issuedSlots--;
+      granted = grantWaiters();
+    } finally {
+      lock.unlock();
+    }
+    completeWaiters(granted);
+  }
+
+  private void publishMetrics() {
+    Metrics metrics = this.metrics.get();
+    if (metrics != null) {
+      metrics.limit.update(getLimit());
+      metrics.estimatedQueue.update(estimatedQueue);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "LatencyBasedSlotSupplier{" + "options=" + options + '}';
+  }
+
+  private static class Metrics {
+    private final Gauge limit;
+    private final Gauge estimatedQueue;
+
+    private Metrics(Scope scope) {
+      limit = scope.gauge(MetricsType.LATENCY_SLOTS_LIMIT);
+      estimatedQueue = scope.gauge(MetricsType.LATENCY_SLOTS_ESTIMATED_QUEUE);
+    }
+  }
+}
@@ -7,8 +7,10 @@ import javax.annotation.Nullable;
  * A poller behavior that will automatically scale the number of pollers based on feedback from the
  * server. A slot must be available before beginning polling.
  *
- * <p>If the server does not support autoscaling, then the number of pollers will stay at the
- * initial number of pollers.
+ * <p>The worker also scales the pollers on its own signals: it adds pollers while polls return
+ * tasks right away, which means tasks are waiting in the task queue, as long as it has free slots
+ * to execute them, and it removes pollers when polls come back empty, though not for a few seconds
+ * after adding some. This also applies when the server does not support autoscaling.
  */
 public final class PollerBehaviorAutoscaling implements PollerBehavior {
   private final int minConcurrentTaskPollers;
@@ -4,6 +4,8 @@ import com.uber.m3.tally.Gauge;
 import com.uber.m3.tally.Scope;
 import io.temporal.worker.MetricsType;
 import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -21,6 +23,8 @@ public class ResourceBasedController {
   private Instant lastPidRefresh = Instant.now();
 
   private final AtomicReference<Metrics> metrics = new AtomicReference<>();
+  // Slot suppliers using this controller that wait for slots to be released by any of them
+  private final List<Runnable> slotReleaseListeners = new CopyOnWriteArrayList<>();
 
   /**
    * Construct a controller with the given options. If you want to use resource-based tuning for all
@@ -82,6 +86,20 @@ public class ResourceBasedController {
     }
   }
 
+  /**
+   * Registers a callback that is run whenever a slot supplier using this controller releases a
+   * slot, as the freed resources may allow another slot for any of them.
+   */
+  void addSlotReleaseListener(Runnable listener) {
+    slotReleaseListeners.add(listener);
+  }
+
+  void onSlotReleased() {
+    for (Runnable listener : slotReleaseListeners) {
+      listener.run();
+    }
+  }
+
   private boolean canReserve() {
     return systemInfoSupplier.getMemoryUsagePercent() < options.getTargetMemoryUsage();
   }
@@ -1,21 +1,42 @@
 package io.temporal.worker.tuning;
 
+import com.uber.m3.tally.Scope;
+import com.uber.m3.tally.Timer;
+import io.temporal.worker.MetricsType;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 /** Implements a {@link SlotSupplier} based on resource usage for a particular slot type. */
 public class ResourceBasedSlotSupplier<SI extends SlotInfo> implements SlotSupplier<SI> {
+  // How often waiting reservations re-check resource usage when no slot is released, matching the
+  // interval at which JVMSystemResourceInfo refreshes its samples
+  private static final long RESOURCE_RECHECK_INTERVAL_MS = 100;
 
   private final ResourceBasedController resourceController;
   private final ResourceBasedSlotOptions options;
-  private Instant lastSlotIssuedAt = Instant.EPOCH;
   // For slot reservations that are waiting to re-check resource usage
   private final ScheduledExecutorService scheduler;
   private static ScheduledExecutorService defaultScheduler;
 
+  private final ReentrantLock waitersLock = new ReentrantLock();
+  // Guarded by waitersLock
+  private final Queue<Waiter<SI>> waiters = new ArrayDeque<>();
+  private ScheduledFuture<?> wakeUp;
+  private Instant lastSlotIssuedAt = Instant.EPOCH;
+  // Slots handed to waiters whose futures haven't been completed yet, so the reservation context
+  // doesn't count them as issued
+  private int pendingGrants;
+
+  private final AtomicReference<Timer> reservationLatency = new AtomicReference<>();
+
   /**
    * Construct a slot supplier for workflow tasks with the given resource controller and options.
    *
@@ -178,6 +199,7 @@ public class ResourceBasedSlotSupplier<SI extends SlotInfo> implements SlotSuppl
                       : options.getRampThrottle())
               .build();
     }
+    resourceBasedController.addSlotReleaseListener(this::handOff);
   }
 
   @Override
@@ -185,65 +207,63 @@ public class ResourceBasedSlotSupplier<SI extends SlotInfo> implements SlotSuppl
     if (ctx.getNumIssuedSlots() < options.getMinimumSlots()) {
       return SlotSupplierFuture.completedFuture(new SlotPermit());
     }
-    return tryReserveSlot(ctx)
-        .map(SlotSupplierFuture::completedFuture)
-        .orElseGet(() -> scheduleSlotAcquisition(ctx));
+    Waiter<SI> waiter = new Waiter<>(ctx);
+    waitersLock.lock();
+    try {
+      // New reservations don't overtake the ones already waiting
+      if (waiters.isEmpty()) {
+        Optional<SlotPermit> permit = tryIssueSlot(ctx.getNumIssuedSlots());
+        if (permit.isPresent()) {
+          recordReservationLatency(0);
+          return SlotSupplierFuture.completedFuture(permit.get());
+        }
+      }
+      waiters.add(waiter);
+      scheduleWakeUp();
+    } finally {
+      waitersLock.unlock();
+    }
+    return SlotSupplierFuture.fromCompletableFuture(waiter.future, () -> abort(waiter));
   }
 
-  private SlotSupplierFuture scheduleSlotAcquisition(SlotReserveContext<SI> ctx) {
-    CompletableFuture<SlotPermit> resultFuture = new CompletableFuture<>();
-    AtomicReference<ScheduledFuture<?>> taskRef = new AtomicReference<>();
-
-    Runnable pollingTask =
-        new Runnable() {
-          @Override
-          public void run() {
-            if (resultFuture.isDone()) {
-              return; // Already completed or cancelled
-            }
-
-            try {
-              Optional<SlotPermit> permit = tryReserveSlot(ctx);
-              if (permit.isPresent()) {
-                resultFuture.complete(permit.get());
-              } else {
-                taskRef.set(scheduler.schedule(this, 10, TimeUnit.MILLISECONDS));
-              }
-            } catch (Exception e) {
-              resultFuture.completeExceptionally(e);
-            }
-          }
-        };
-
-    // Calculate initial delay based on ramp throttle
-    Duration mustWaitFor;
+  @Override
+  public Optional<SlotPermit> tryReserveSlot(SlotReserveContext<SI> ctx) {
+    int numIssued = ctx.getNumIssuedSlots();
+    waitersLock.lock();
     try {
-      mustWaitFor = options.getRampThrottle().minus(timeSinceLastSlotIssued());
-    } catch (ArithmeticException e) {
-      mustWaitFor = Duration.ZERO;
+      if (numIssued >= options.getMinimumSlots() && !waiters.isEmpty()) {
+        return Optional.empty();
+      }
+      return tryIssueSlot(numIssued);
+    } finally {
+      waitersLock.unlock();
     }
+  }
 
-    long initialDelayMs = Math.max(0, mustWaitFor.toMillis());
+  @Override
+  public void markSlotUsed(SlotMarkUsedContext<SI> ctx) {}
 
-    // Schedule the initial attempt
-    taskRef.set(scheduler.schedule(pollingTask, initialDelayMs, TimeUnit.MILLISECONDS));
+  @Override
+  public void releaseSlot(SlotReleaseContext<SI> ctx) {
+    // Wakes up the waiters of all the suppliers sharing the controller, this one included
+    resourceController.onSlotReleased();
+  }
 
-    return SlotSupplierFuture.fromCompletableFuture(
-        resultFuture,
-        () -> {
-          // Cancel the scheduled task when aborting
-          ScheduledFuture<?> task = taskRef.get();
-          if (task != null) {
-            task.cancel(true);
-          }
-        });
+  public ResourceBasedController getResourceController() {
+    return resourceController;
   }
 
-  @Override
-  public Optional<SlotPermit> tryReserveSlot(SlotReserveContext<SI> ctx) {
-    int numIssued = ctx.getNumIssuedSlots();
+  /** Visible for internal usage. Can only be set once. */
+  public void setMetricsScope(Scope metricsScope) {
+    reservationLatency.compareAndSet(
+        null, metricsScope.timer(MetricsType.RESOURCE_SLOTS_RESERVATION_LATENCY));
+  }
+
+  // Must be called under waitersLock
+  private Optional<SlotPermit> tryIssueSlot(int numCountedIssued) {
+    int numIssued = numCountedIssued + pendingGrants;
     if (numIssued < options.getMinimumSlots()
-        || (timeSinceLastSlotIssued().compareTo(options.getRampThrottle()) > 0
+        || (timeSinceLastSlotIssued().compareTo(options.getRampThrottle()) >= 0
             && numIssued < options.getMaximumSlots()
             && resourceController.pidDecision())) {
       lastSlotIssuedAt = Instant.now();
@@ -252,23 +272,113 @@ public class ResourceBasedSlotSupplier<SI extends SlotInfo> implements SlotSuppl
     return Optional.empty();
   }
 
-  @Override
-  public void markSlotUsed(SlotMarkUsedContext<SI> ctx) {}
+  /**
+   * Hands out slots to the waiting reservations in the order they were made, for as long as the
+   * resources allow. Called when a slot is released and periodically while there are waiters, to
+   * pick up new resource usage samples and the end of the ramp throttle.
+   */
+  private void handOff() {
+    List<Waiter<SI>> granted = new ArrayList<>();
+    waitersLock.lock();
+    try {
+      Waiter<SI> waiter;
+      while ((waiter = waiters.peek()) != null) {
+        if (waiter.future.isDone()) {
+          // aborted
+          waiters.poll();
+          continue;
+        }
+        if (!tryIssueSlot(waiter.ctx.getNumIssuedSlots()).isPresent()) {
+          break;
+        }
+        granted.add(waiters.poll());
+        pendingGrants++;
+      }
+      if (!waiters.isEmpty()) {
+        scheduleWakeUp();
+      }
+    } finally {
+      waitersLock.unlock();
+    }
+    if (granted.isEmpty()) {
+      return;
+    }
+    // Completed outside the lock, as completion runs the callbacks of the reservations, the one
+    // counting the slot as issued included
+    long now = System.nanoTime();
+    for (Waiter<SI> waiter : granted) {
+      if (waiter.future.complete(new SlotPermit())) {
+        recordReservationLatency(now - waiter.startNanos);
+      }
+    }
+    waitersLock.lock();
+    try {
+      pendingGrants -= granted.size();
+    } finally {
+      waitersLock.unlock();
+    }
+  }
 
-  @Override
-  public void releaseSlot(SlotReleaseContext<SI> ctx) {}
+  // Must be called under waitersLock
+  private void scheduleWakeUp() {
+    if (wakeUp != null) {
+      return;
+    }
+    Duration mustWaitFor;
+    try {
+      mustWaitFor = options.getRampThrottle().minus(timeSinceLastSlotIssued());
+    } catch (ArithmeticException e) {
+      mustWaitFor = Duration.ZERO;
+    }
+    long delayMs =
+        mustWaitFor.isNegative() || mustWaitFor.isZero()
+            ? RESOURCE_RECHECK_INTERVAL_MS
+            : mustWaitFor.toMillis() + 1;
+    wakeUp = scheduler.schedule(this::onWakeUp, delayMs, TimeUnit.MILLISECONDS);
+  }
 
-  public ResourceBasedController getResourceController() {
-    return resourceController;
+  private void onWakeUp() {
+    waitersLock.lock();
+    try {
+      wakeUp = null;
+    } finally {
+      waitersLock.unlock();
+    }
+    handOff();
+  }
+
+  private void abort(Waiter<SI> waiter) {
+    waitersLock.lock();
+    try {
+      waiters.remove(waiter);
+      if (waiters.isEmpty() && wakeUp != null) {
+        wakeUp.cancel(false);
+        wakeUp = null;
+      }
+    } finally {
+      waitersLock.unlock();
+    }
+  }
+
+  private void recordReservationLatency(long nanos) {
+    Timer timer = reservationLatency.get();
+    if (timer != null) {
+      timer.record(com.uber.m3.util.Duration.ofNanos(nanos));
+    }
   }
 
   private Duration timeSinceLastSlotIssued() {
     return Duration.between(lastSlotIssuedAt, Instant.now());
   }
 
-  // Polyfill for Java 9 delayedExecutor
-  private Executor delayedExecutor(long delay) {
-    return r -> scheduler.schedule(() -> scheduler.execute(r), delay, TimeUnit.MILLISECONDS);
+  private static final class Waiter<SI extends SlotInfo> {
+    private final SlotReserveContext<SI> ctx;
+    private final CompletableFuture<SlotPermit> future = new CompletableFuture<>();
+    private final long startNanos = System.nanoTime();
+
+    private Waiter(SlotReserveContext<SI> ctx) {
+      this.ctx = ctx;
+    }
   }
 
   private static ScheduledExecutorService getDefaultScheduler() {
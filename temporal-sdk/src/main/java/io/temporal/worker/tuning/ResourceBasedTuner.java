@@ -1,8 +1,10 @@
 package io.temporal.worker.tuning;
 
 import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /** A {@link WorkerTuner} that attempts to allocate slots based on available system resources. */
 public class ResourceBasedTuner implements WorkerTuner {
@@ -44,6 +46,7 @@ public class ResourceBasedTuner implements WorkerTuner {
         DEFAULT_ACTIVITY_SLOT_OPTIONS;
     private @Nonnull ResourceBasedSlotOptions nexusSlotOptions = DEFAULT_NEXUS_SLOT_OPTIONS;
     private @Nonnull ScheduledExecutorService executor;
+    private @Nullable SystemResourceInfo systemResourceInfo;
 
     private Builder() {}
 
@@ -105,6 +108,16 @@ public class ResourceBasedTuner implements WorkerTuner {
       return this;
     }
 
+    /**
+     * Set how the resource usage is measured. Defaults to {@link JVMSystemResourceInfo}. Workers
+     * running in containers should prefer {@link CgroupSystemResourceInfo}, that measures the
+     * usage against the container limits.
+     */
+    public Builder setSystemResourceInfo(@Nonnull SystemResourceInfo systemResourceInfo) {
+      this.systemResourceInfo = Objects.requireNonNull(systemResourceInfo);
+      return this;
+    }
+
     public ResourceBasedTuner build() {
       return new ResourceBasedTuner(
           controllerOptions,
@@ -112,7 +125,8 @@ public class ResourceBasedTuner implements WorkerTuner {
           activitySlotOptions,
           localActivitySlotOptions,
           nexusSlotOptions,
-          executor);
+          executor,
+          systemResourceInfo);
     }
   }
 
@@ -126,7 +140,32 @@ public class ResourceBasedTuner implements WorkerTuner {
       ResourceBasedSlotOptions localActivitySlotOptions,
       ResourceBasedSlotOptions nexusSlotOptions,
       ScheduledExecutorService executor) {
-    this.controller = ResourceBasedController.newSystemInfoController(controllerOptions);
+    this(
+        controllerOptions,
+        workflowSlotOptions,
+        activitySlotOptions,
+        localActivitySlotOptions,
+        nexusSlotOptions,
+        executor,
+        null);
+  }
+
+  /**
+   * @param controllerOptions options for the {@link ResourceBasedController} used by this tuner
+   * @param systemResourceInfo measures the resource usage, {@link JVMSystemResourceInfo} if null
+   */
+  public ResourceBasedTuner(
+      ResourceBasedControllerOptions controllerOptions,
+      ResourceBasedSlotOptions workflowSlotOptions,
+      ResourceBasedSlotOptions activitySlotOptions,
+      ResourceBasedSlotOptions localActivitySlotOptions,
+      ResourceBasedSlotOptions nexusSlotOptions,
+      ScheduledExecutorService executor,
+      @Nullable SystemResourceInfo systemResourceInfo) {
+    this.controller =
+        systemResourceInfo == null
+            ? ResourceBasedController.newSystemInfoController(controllerOptions)
+            : new ResourceBasedController(controllerOptions, systemResourceInfo);
     this.workflowSlotOptions = workflowSlotOptions;
     this.activitySlotOptions = activitySlotOptions;
     this.localActivitySlotOptions = localActivitySlotOptions;
@@ -0,0 +1,466 @@
+package io.temporal.worker.tuning;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands out the slots of one {@link SlotSupplier} to several {@link SharedSlotSupplier}s.
+ *
+ * <p>Shares get their minimum slots without asking the budget supplier. Above the minimum, the
+ * waiting reservations of all the shares are served by one reservation from the budget supplier at
+ * a time, and each slot it issues goes to the waiting share that uses the fewest budget slots
+ * relative to its weight. So a share that doesn't wait for slots leaves the budget to the others.
+ *
+ * <p>The budget supplier is never called and the reservation futures are never completed under the
+ * lock, as both may run callbacks that call back into the budget or the budget supplier.
+ */
+final class SharedSlotBudget<SI extends SlotInfo> {
+  private static final Logger log = LoggerFactory.getLogger(SharedSlotBudget.class);
+
+  private final SlotSupplier<SI> supplier;
+  // Permits of the budget supplier
+  private final AtomicInteger issuedSlots = new AtomicInteger();
+  private final Map<SlotPermit, SI> usedSlots = new ConcurrentHashMap<>();
+  // Serializes requests to the budget supplier. A thread that finds it non-zero leaves the draining
+  // to the thread that is already doing it, which also prevents a recursion when the reservations
+  // complete synchronously.
+  private final AtomicInteger drainRequests = new AtomicInteger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  // Guarded by the lock, as well as the share state
+  private final Set<SharedSlotSupplier<SI>> waitingShares = new LinkedHashSet<>();
+  private @Nullable SlotSupplierFuture pendingReservation;
+
+  SharedSlotBudget(SlotSupplier<SI> supplier) {
+    this.supplier = supplier;
+  }
+
+  SlotSupplier<SI> getSupplier() {
+    return supplier;
+  }
+
+  SlotSupplierFuture reserveSlot(SharedSlotSupplier<SI> share, SlotReserveContext<SI> ctx) {
+    Waiter<SI> waiter = new Waiter<>(ctx);
+    lock.lock();
+    try {
+      if (share.minimumSlots < share.getShareOptions().getMinimumSlots()) {
+        share.minimumSlots++;
+        return SlotSupplierFuture.completedFuture(newPermit(null));
+      }
+      share.waiters.add(waiter);
+      waitingShares.add(share);
+    } finally {
+      lock.unlock();
+    }
+    drain();
+    return SlotSupplierFuture.fromCompletableFuture(
+        waiter.future, () -> abortReservation(share, waiter));
+  }
+
+  Optional<SlotPermit> tryReserveSlot(SharedSlotSupplier<SI> share, SlotReserveContext<SI> ctx) {
+    lock.lock();
+    try {
+      if (share.minimumSlots < share.getShareOptions().getMinimumSlots()) {
+        share.minimumSlots++;
+        return Optional.of(newPermit(null));
+      }
+      if (isFull(share) || !waitingShares.isEmpty()) {
+        // don't overtake the reservations that wait
+        return Optional.empty();
+      }
+      share.budgetSlots++;
+    } finally {
+      lock.unlock();
+    }
+    Optional<SlotPermit> budgetPermit = supplier.tryReserveSlot(new BudgetReserveContext(ctx));
+    if (budgetPermit.isPresent()) {
+      issuedSlots.incrementAndGet();
+      return Optional.of(newPermit(budgetPermit.get()));
+    }
+    lock.lock();
+    try {
+      share.budgetSlots--;
+    } finally {
+      lock.unlock();
+    }
+    return Optional.empty();
+  }
+
+  void markSlotUsed(SlotMarkUsedContext<SI> ctx) {
+    SlotPermit budgetPermit = getBudgetPermit(ctx.getSlotPermit());
+    if (budgetPermit != null) {
+      usedSlots.put(budgetPermit, ctx.getSlotInfo());
+      supplier.markSlotUsed(new BudgetMarkUsedContext<>(ctx.getSlotInfo(), budgetPermit));
+    }
+  }
+
+  void releaseSlot(SharedSlotSupplier<SI> share, SlotReleaseContext<SI> ctx) {
+    releaseSlot(share, ctx.getSlotPermit(), ctx.getSlotReleaseReason(), ctx.getSlotInfo());
+  }
+
+  private void releaseSlot(
+      SharedSlotSupplier<SI> share,
+      SlotPermit permit,
+      SlotReleaseReason reason,
+      @Nullable SI slotInfo) {
+    SlotPermit budgetPermit = getBudgetPermit(permit);
+    if (budgetPermit != null) {
+      lock.lock();
+      try {
+        share.budgetSlots--;
+      } finally {
+        lock.unlock();
+      }
+      SI budgetSlotInfo = usedSlots.remove(budgetPermit);
+      issuedSlots.decrementAndGet();
+      supplier.releaseSlot(
+          new BudgetReleaseContext<>(
+              reason, budgetPermit, budgetSlotInfo != null ? budgetSlotInfo : slotInfo));
+      drain();
+      return;
+    }
+    // The share is under its minimum again, which doesn't need the budget. The budget permits that
+    // the share still holds stay counted as budget slots, so that they keep counting towards the
+    // weight of the share and go back to the budget supplier when they are released.
+    while (true) {
+      Waiter<SI> waiter;
+      lock.lock();
+      try {
+        share.minimumSlots--;
+        waiter = pollWaiter(share);
+        if (waiter == null) {
+          break;
+        }
+        share.minimumSlots++;
+      } finally {
+        lock.unlock();
+      }
+      if (waiter.future.complete(newPermit(null))) {
+        break;
+      }
+      // the waiter was aborted concurrently, count the slot as released again
+    }
+    drain();
+  }
+
+  private void abortReservation(SharedSlotSupplier<SI> share, Waiter<SI> waiter) {
+    if (!waiter.future.cancel(true)) {
+      if (!waiter.future.isCompletedExceptionally()) {
+        // the slot was issued concurrently with the abort and is not going to be used
+        releaseSlot(share, waiter.future.join(), SlotReleaseReason.neverUsed(), null);
+      }
+      return;
+    }
+    SlotSupplierFuture reservation = null;
+    lock.lock();
+    try {
+      share.waiters.remove(waiter);
+      if (share.waiters.isEmpty()) {
+        waitingShares.remove(share);
+      }
+      if (waitingShares.isEmpty()) {
+        reservation = pendingReservation;
+        pendingReservation = null;
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (reservation != null) {
+      // if the reservation was completed already, onReservationCompleted releases its permit
+      @SuppressWarnings("unused")
+      SlotPermit ignored = reservation.abortReservation();
+    }
+  }
+
+  /**
+   * Requests slots from the budget supplier for the waiting reservations. Only one thread drains
+   * at a time, and only one reservation from the budget supplier is pending at a time.
+   */
+  private void drain() {
+    if (drainRequests.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      while (true) {
+        Waiter<SI> next = nextWaiterToReserveFor();
+        if (next == null) {
+          break;
+        }
+        BudgetReserveContext ctx = new BudgetReserveContext(next.ctx);
+        Optional<SlotPermit> budgetPermit = supplier.tryReserveSlot(ctx);
+        if (budgetPermit.isPresent()) {
+          issuedSlots.incrementAndGet();
+          issue(budgetPermit.get());
+          continue;
+        }
+        SlotSupplierFuture reservation;
+        try {
+          reservation = supplier.reserveSlot(ctx);
+        } catch (Exception e) {
+          failWaiter(next, e);
+          continue;
+        }
+        lock.lock();
+        try {
+          pendingReservation = reservation;
+        } finally {
+          lock.unlock();
+        }
+        reservation.whenComplete((permit, e) -> onReservationCompleted(reservation, permit, e));
+        break;
+      }
+    } while (drainRequests.decrementAndGet() != 0);
+  }
+
+  private void onReservationCompleted(
+      SlotSupplierFuture reservation, @Nullable SlotPermit budgetPermit, @Nullable Throwable e) {
+    Waiter<SI> next = null;
+    lock.lock();
+    try {
+      if (pendingReservation == reservation) {
+        pendingReservation = null;
+        if (e != null) {
+          SharedSlotSupplier<SI> share = nextShare();
+          next = share == null ? null : share.waiters.peek();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (e == null) {
+      issuedSlots.incrementAndGet();
+      issue(budgetPermit);
+    } else if (next != null && !(e instanceof CancellationException)) {
+      failWaiter(next, e);
+    }
+    drain();
+  }
+
+  /** Hands a permit of the budget supplier to the waiting share that deserves it most. */
+  private void issue(SlotPermit budgetPermit) {
+    while (true) {
+      SharedSlotSupplier<SI> share;
+      Waiter<SI> waiter;
+      lock.lock();
+      try {
+        share = nextShare();
+        waiter = share == null ? null : pollWaiter(share);
+        if (waiter != null) {
+          share.budgetSlots++;
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (waiter == null) {
+        // everybody stopped waiting, give the slot back
+        supplier.releaseSlot(
+            new BudgetReleaseContext<>(SlotReleaseReason.neverUsed(), budgetPermit, null));
+        issuedSlots.decrementAndGet();
+        return;
+      }
+      if (waiter.future.complete(newPermit(budgetPermit))) {
+        return;
+      }
+      lock.lock();
+      try {
+        share.budgetSlots--;
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private void failWaiter(Waiter<SI> waiter, Throwable e) {
+    log.warn("Failed to reserve a slot from the shared budget", e);
+    lock.lock();
+    try {
+      for (SharedSlotSupplier<SI> share : waitingShares) {
+        if (share.waiters.remove(waiter)) {
+          if (share.waiters.isEmpty()) {
+            waitingShares.remove(share);
+          }
+          break;
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+    waiter.future.completeExceptionally(e);
+  }
+
+  @Nullable
+  private Waiter<SI> nextWaiterToReserveFor() {
+    lock.lock();
+    try {
+      if (pendingReservation != null) {
+        return null;
+      }
+      SharedSlotSupplier<SI> share = nextShare();
+      return share == null ? null : share.waiters.peek();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Must be called under the lock.
+   *
+   * @return the waiting share under its maximum that uses the fewest budget slots relative to its
+   *     weight
+   */
+  @Nullable
+  private SharedSlotSupplier<SI> nextShare() {
+    SharedSlotSupplier<SI> next = null;
+    double nextUsage = Double.MAX_VALUE;
+    for (SharedSlotSupplier<SI> share : waitingShares) {
+      if (isFull(share)) {
+        continue;
+      }
+      double usage = (double) share.budgetSlots / share.getShareOptions().getWeight();
+      if (usage < nextUsage) {
+        next = share;
+        nextUsage = usage;
+      }
+    }
+    return next;
+  }
+
+  /** Must be called under the lock. */
+  private boolean isFull(SharedSlotSupplier<SI> share) {
+    return share.minimumSlots + share.budgetSlots >= share.getShareOptions().getMaximumSlots();
+  }
+
+  /** Must be called under the lock. */
+  @Nullable
+  private Waiter<SI> pollWaiter(SharedSlotSupplier<SI> share) {
+    Waiter<SI> waiter = share.waiters.poll();
+    if (share.waiters.isEmpty()) {
+      waitingShares.remove(share);
+    }
+    return waiter;
+  }
+
+  private static SlotPermit newPermit(@Nullable SlotPermit budgetPermit) {
+    return new SlotPermit(new ShareGrant(budgetPermit));
+  }
+
+  @Nullable
+  private static SlotPermit getBudgetPermit(SlotPermit permit) {
+    return ((ShareGrant) permit.userData).budgetPermit;
+  }
+
+  /** Data of the permits issued to the shares */
+  private static final class ShareGrant {
+    /** Permit of the budget supplier, null for the minimum slots of the share */
+    private final @Nullable SlotPermit budgetPermit;
+
+    private ShareGrant(@Nullable SlotPermit budgetPermit) {
+      this.budgetPermit = budgetPermit;
+    }
+  }
+
+  static final class Waiter<SI extends SlotInfo> {
+    private final SlotReserveContext<SI> ctx;
+    private final CompletableFuture<SlotPermit> future = new CompletableFuture<>();
+
+    private Waiter(SlotReserveContext<SI> ctx) {
+      this.ctx = ctx;
+    }
+  }
+
+  /** Reports the slots of the budget supplier instead of the slots of the share */
+  private final class BudgetReserveContext implements SlotReserveContext<SI> {
+    private final SlotReserveContext<SI> shareCtx;
+
+    private BudgetReserveContext(SlotReserveContext<SI> shareCtx) {
+      this.shareCtx = shareCtx;
+    }
+
+    @Override
+    public String getTaskQueue() {
+      return shareCtx.getTaskQueue();
+    }
+
+    @Override
+    public Map<SlotPermit, SI> getUsedSlots() {
+      return Collections.unmodifiableMap(usedSlots);
+    }
+
+    @Override
+    public String getWorkerIdentity() {
+      return shareCtx.getWorkerIdentity();
+    }
+
+    @Override
+    public String getWorkerBuildId() {
+      return shareCtx.getWorkerBuildId();
+    }
+
+    @Override
+    public int getNumIssuedSlots() {
+      return issuedSlots.get();
+    }
+  }
+
+  private static final class BudgetMarkUsedContext<SI extends SlotInfo>
+      implements SlotMarkUsedContext<SI> {
+    private final SI slotInfo;
+    private final SlotPermit slotPermit;
+
+    private BudgetMarkUsedContext(SI slotInfo, SlotPermit slotPermit) {
+      this.slotInfo = slotInfo;
+      this.slotPermit = slotPermit;
+    }
+
+    @Override
+    public SI getSlotInfo() {
+      return slotInfo;
+    }
+
+    @Override
+    public SlotPermit getSlotPermit() {
+      return slotPermit;
+    }
+  }
+
+  private static final class BudgetReleaseContext<SI extends SlotInfo>
+      implements SlotReleaseContext<SI> {
+    private final SlotReleaseReason reason;
+    private final SlotPermit slotPermit;
+    private final @Nullable SI slotInfo;
+
+    private BudgetReleaseContext(
+        SlotReleaseReason reason, SlotPermit slotPermit, @Nullable SI slotInfo) {
+      this.reason = reason;
+      this.slotPermit = slotPermit;
+      this.slotInfo = slotInfo;
+    }
+
+    @Override
+    public SlotReleaseReason getSlotReleaseReason() {
+      return reason;
+    }
+
+    @Override
+    public SlotPermit getSlotPermit() {
+      return slotPermit;
+    }
+
+    @Nullable
+    @Override
+    public SI getSlotInfo() {
+      return slotInfo;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package io.temporal.worker.tuning;
+
+import io.temporal.common.Experimental;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+
+/**
+ * A share of a slot budget of a {@link SharedWorkerTuner}, used by one worker for one type of
+ * slots. Instances are created by {@link SharedWorkerTuner#newShare(SlotShareOptions)}.
+ *
+ * @param <SI> The slot info type for this supplier.
+ */
+@Experimental
+public final class SharedSlotSupplier<SI extends SlotInfo> implements SlotSupplier<SI> {
+  private final SharedSlotBudget<SI> budget;
+  private final SlotShareOptions options;
+
+  // Guarded by the budget lock
+  final Queue<SharedSlotBudget.Waiter<SI>> waiters = new ArrayDeque<>();
+  // Issued permits, counted by where their slots come from
+  int minimumSlots;
+  int budgetSlots;
+
+  SharedSlotSupplier(SharedSlotBudget<SI> budget, SlotShareOptions options) {
+    this.budget = budget;
+    this.options = options;
+  }
+
+  @Override
+  public SlotSupplierFuture reserveSlot(SlotReserveContext<SI> ctx) throws Exception {
+    return budget.reserveSlot(this, ctx);
+  }
+
+  @Override
+  public Optional<SlotPermit> tryReserveSlot(SlotReserveContext<SI> ctx) {
+    return budget.tryReserveSlot(this, ctx);
+  }
+
+  @Override
+  public void markSlotUsed(SlotMarkUsedContext<SI> ctx) {
+    budget.markSlotUsed(ctx);
+  }
+
+  @Override
+  public void releaseSlot(SlotReleaseContext<SI> ctx) {
+    budget.releaseSlot(this, ctx);
+  }
+
+  @Override
+  public Optional<Integer> getMaximumSlots() {
+    if (options.getMaximumSlots() != Integer.MAX_VALUE) {
+      return Optional.of(options.getMaximumSlots());
+    }
+    return budget
+        .getSupplier()
+        .getMaximumSlots()
+        .map(max -> (int) Math.min(Integer.MAX_VALUE, (long) max + options.getMinimumSlots()));
+  }
+
+  public SlotShareOptions getShareOptions() {
+    return options;
+  }
+
+  /**
+   * @return the slot supplier that manages the budget shared with the other shares
+   */
+  public SlotSupplier<SI> getBudgetSupplier() {
+    return budget.getSupplier();
+  }
+
+  @Override
+  public String toString() {
+    return "SharedSlotSupplier{"
+        + "options="
+        + options
+        + ", budgetSupplier="
+        + budget.getSupplier()
+        + '}';
+  }
+}
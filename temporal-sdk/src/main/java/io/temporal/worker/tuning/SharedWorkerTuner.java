@@ -0,0 +1,78 @@
+package io.temporal.worker.tuning;
+
+import io.temporal.common.Experimental;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * Shares the slots of one {@link WorkerTuner} among several workers, usually all the workers of a
+ * {@link io.temporal.worker.WorkerFactory}, so that the task queues that have no work leave their
+ * capacity to the busy ones instead of each worker being provisioned for its peak load.
+ *
+ * <p>Each worker gets its own share of the budget with {@link #newShare(SlotShareOptions)}, set
+ * with {@link io.temporal.worker.WorkerOptions.Builder#setWorkerTuner(WorkerTuner)}. Every share
+ * gets its {@link SlotShareOptions#getMinimumSlots()} of each slot type without asking the budget,
+ * and the budget slots are handed out to the shares waiting for them in proportion to their {@link
+ * SlotShareOptions#getWeight()}, up to their {@link SlotShareOptions#getMaximumSlots()}.
+ *
+ * <p>The budget can be any tuner, for example a {@link CompositeTuner} of {@link
+ * FixedSizeSlotSupplier}s for a fixed number of slots of each type, or a {@link ResourceBasedTuner}
+ * to issue slots while the host has free resources:
+ *
+ * <pre>{@code
+ * SharedWorkerTuner tuner =
+ *     new SharedWorkerTuner(
+ *         new CompositeTuner(
+ *             new FixedSizeSlotSupplier<>(200),
+ *             new FixedSizeSlotSupplier<>(1000),
+ *             new FixedSizeSlotSupplier<>(1000),
+ *             new FixedSizeSlotSupplier<>(200)));
+ * factory.newWorker(
+ *     "orders",
+ *     WorkerOptions.newBuilder()
+ *         .setWorkerTuner(
+ *             tuner.newShare(
+ *                 SlotShareOptions.newBuilder().setWeight(2).setMinimumSlots(5).build()))
+ *         .build());
+ * factory.newWorker(
+ *     "reports", WorkerOptions.newBuilder().setWorkerTuner(tuner.newShare()).build());
+ * }</pre>
+ */
+@Experimental
+public class SharedWorkerTuner {
+  private final SharedSlotBudget<WorkflowSlotInfo> workflowTaskSlotBudget;
+  private final SharedSlotBudget<ActivitySlotInfo> activityTaskSlotBudget;
+  private final SharedSlotBudget<LocalActivitySlotInfo> localActivitySlotBudget;
+  private final SharedSlotBudget<NexusSlotInfo> nexusSlotBudget;
+
+  /**
+   * @param budget the tuner whose slot suppliers issue the slots shared by all the shares
+   */
+  public SharedWorkerTuner(@Nonnull WorkerTuner budget) {
+    Objects.requireNonNull(budget);
+    this.workflowTaskSlotBudget = new SharedSlotBudget<>(budget.getWorkflowTaskSlotSupplier());
+    this.activityTaskSlotBudget = new SharedSlotBudget<>(budget.getActivityTaskSlotSupplier());
+    this.localActivitySlotBudget = new SharedSlotBudget<>(budget.getLocalActivitySlotSupplier());
+    this.nexusSlotBudget = new SharedSlotBudget<>(budget.getNexusSlotSupplier());
+  }
+
+  /**
+   * @return a tuner for one worker that takes slots from the shared budget
+   */
+  public WorkerTuner newShare(@Nonnull SlotShareOptions options) {
+    Objects.requireNonNull(options);
+    return new CompositeTuner(
+        new SharedSlotSupplier<>(workflowTaskSlotBudget, options),
+        new SharedSlotSupplier<>(activityTaskSlotBudget, options),
+        new SharedSlotSupplier<>(localActivitySlotBudget, options),
+        new SharedSlotSupplier<>(nexusSlotBudget, options));
+  }
+
+  /**
+   * @return a tuner for one worker that takes slots from the shared budget with the default {@link
+   *     SlotShareOptions}
+   */
+  public WorkerTuner newShare() {
+    return newShare(SlotShareOptions.getDefaultInstance());
+  }
+}
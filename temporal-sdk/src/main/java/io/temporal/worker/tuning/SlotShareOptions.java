@@ -0,0 +1,114 @@
+package io.temporal.worker.tuning;
+
+import com.google.common.base.Preconditions;
+import io.temporal.common.Experimental;
+import java.util.Objects;
+
+/** Options of a share of a {@link SharedWorkerTuner} slot budget */
+@Experimental
+public class SlotShareOptions {
+  public static Builder newBuilder() {
+    return new Builder();
+  }
+
+  public static SlotShareOptions getDefaultInstance() {
+    return DEFAULT_INSTANCE;
+  }
+
+  private static final SlotShareOptions DEFAULT_INSTANCE = newBuilder().build();
+
+  public static final class Builder {
+    private double weight = 1;
+    private int minimumSlots;
+    private int maximumSlots = Integer.MAX_VALUE;
+
+    private Builder() {}
+
+    /**
+     * @param weight the share gets budget slots in proportion to its weight when several shares
+     *     wait for them. Default is 1.
+     */
+    public Builder setWeight(double weight) {
+      this.weight = weight;
+      return this;
+    }
+
+    /**
+     * @param minimumSlots number of slots of each type that are always available to the share, in
+     *     addition to the budget. Default is 0.
+     */
+    public Builder setMinimumSlots(int minimumSlots) {
+      this.minimumSlots = minimumSlots;
+      return this;
+    }
+
+    /**
+     * @param maximumSlots maximum number of slots of each type the share can use, including the
+     *     minimum slots. Default is unlimited.
+     */
+    public Builder setMaximumSlots(int maximumSlots) {
+      this.maximumSlots = maximumSlots;
+      return this;
+    }
+
+    public SlotShareOptions build() {
+      Preconditions.checkArgument(weight > 0, "weight should be positive: %s", weight);
+      Preconditions.checkArgument(
+          minimumSlots >= 0, "minimumSlots should not be negative: %s", minimumSlots);
+      Preconditions.checkArgument(
+          maximumSlots > 0 && maximumSlots >= minimumSlots,
+          "maximumSlots should be positive and not less than minimumSlots: %s",
+          maximumSlots);
+      return new SlotShareOptions(weight, minimumSlots, maximumSlots);
+    }
+  }
+
+  private final double weight;
+  private final int minimumSlots;
+  private final int maximumSlots;
+
+  private SlotShareOptions(double weight, int minimumSlots, int maximumSlots) {
+    this.weight = weight;
+    this.minimumSlots = minimumSlots;
+    this.maximumSlots = maximumSlots;
+  }
+
+  public double getWeight() {
+    return weight;
+  }
+
+  public int getMinimumSlots() {
+    return minimumSlots;
+  }
+
+  public int getMaximumSlots() {
+    return maximumSlots;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    SlotShareOptions that = (SlotShareOptions) o;
+    return Double.compare(that.weight, weight) == 0
+        && minimumSlots == that.minimumSlots
+        && maximumSlots == that.maximumSlots;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(weight, minimumSlots, maximumSlots);
+  }
+
+  @Override
+  public String toString() {
+    return "SlotShareOptions{"
+        + "weight="
+        + weight
+        + ", minimumSlots="
+        + minimumSlots
+        + ", maximumSlots="
+        + maximumSlots
+        + '}';
+  }
+}
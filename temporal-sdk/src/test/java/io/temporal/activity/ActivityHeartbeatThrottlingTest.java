@@ -41,16 +41,15 @@ public class ActivityHeartbeatThrottlingTest {
 
     secondHeartbeatSent.waitForSignal();
 
-    DescribeWorkflowExecutionResponse describeResponse =
-        testWorkflowRule
-            .getWorkflowClient()
-            .getWorkflowServiceStubs()
-            .blockingStub()
-            .describeWorkflowExecution(
-                DescribeWorkflowExecutionRequest.newBuilder()
-                    .setNamespace(testWorkflowRule.getWorkflowClient().getOptions().getNamespace())
-                    .setExecution(execution)
-                    .build());
+    // Heartbeats are sent asynchronously, wait for the first one to reach the server
+    DescribeWorkflowExecutionResponse describeResponse = describe(execution);
+    for (int i = 0; i < 50; i++) {
+      if (describeResponse.getPendingActivities(0).hasHeartbeatDetails()) {
+        break;
+      }
+      Thread.sleep(100);
+      describeResponse = describe(execution);
+    }
 
     String payload =
         new JacksonJsonPayloadConverter()
@@ -62,6 +61,18 @@ public class ActivityHeartbeatThrottlingTest {
         "Only the first heartbeat should've get through, others should be throttled", "1", payload);
   }
 
+  private DescribeWorkflowExecutionResponse describe(WorkflowExecution execution) {
+    return testWorkflowRule
+        .getWorkflowClient()
+        .getWorkflowServiceStubs()
+        .blockingStub()
+        .describeWorkflowExecution(
+            DescribeWorkflowExecutionRequest.newBuilder()
+                .setNamespace(testWorkflowRule.getWorkflowClient().getOptions().getNamespace())
+                .setExecution(execution)
+                .build());
+  }
+
   public static class TestWorkflowImpl implements TestWorkflows.NoArgsWorkflow {
 
     private final TestActivities.NoArgsActivity activities =
@@ -0,0 +1,305 @@
+package io.temporal.client.functional;
+
+import static org.junit.Assert.*;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.enums.v1.QueryRejectCondition;
+import io.temporal.api.enums.v1.WorkflowExecutionStatus;
+import io.temporal.client.*;
+import io.temporal.common.interceptors.WorkflowClientCallsInterceptor;
+import io.temporal.common.interceptors.WorkflowClientCallsInterceptorBase;
+import io.temporal.common.interceptors.WorkflowClientInterceptorBase;
+import io.temporal.testing.internal.SDKTestOptions;
+import io.temporal.testing.internal.SDKTestWorkflowRule;
+import io.temporal.workflow.QueryMethod;
+import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.UpdateMethod;
+import io.temporal.workflow.Workflow;
+import io.temporal.workflow.WorkflowInterface;
+import io.temporal.workflow.WorkflowMethod;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class WorkflowStubAsyncCallsTest {
+  private static final String WORKFLOW_TYPE = "AsyncCallsWorkflow";
+
+  @Rule
+  public SDKTestWorkflowRule testWorkflowRule =
+      SDKTestWorkflowRule.newBuilder().setWorkflowTypes(AsyncCallsWorkflowImpl.class).build();
+
+  @Test
+  public void startDescribeAndTerminate() throws Exception {
+    WorkflowStub stub = testWorkflowRule.newUntypedWorkflowStubTimeoutOptions(WORKFLOW_TYPE);
+
+    WorkflowExecution execution = stub.startAsync("a").get();
+    assertEquals(execution, stub.getExecution());
+    assertEquals(
+        WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_RUNNING,
+        stub.describeAsync().get().getStatus());
+
+    stub.terminateAsync("terminated by test").get();
+    assertEquals(
+        WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_TERMINATED,
+        stub.describeAsync().get().getStatus());
+  }
+
+  @Test
+  public void signalUpdateAndQuery() throws Exception {
+    WorkflowStub stub = testWorkflowRule.newUntypedWorkflowStubTimeoutOptions(WORKFLOW_TYPE);
+    stub.startAsync("a").get();
+
+    stub.signalAsync("addValue", "b").get();
+    WorkflowUpdateHandle<String> handle =
+        stub.startUpdateAsync(
+                UpdateOptions.newBuilder(String.class)
+                    .setUpdateName("addValueAndGet")
+                    .setWaitForStage(WorkflowUpdateStage.COMPLETED)
+                    .build(),
+                "c")
+            .get();
+    assertEquals("abc", handle.getResultAsync().get());
+    assertEquals("abc", stub.queryAsync("getValues", String.class).get());
+    assertEquals("abc", stub.queryAsync("getValues", String.class, String.class).get());
+
+    stub.signalAsync("finish").get();
+    assertEquals("abc", stub.getResult(String.class));
+  }
+
+  @Test
+  public void signalWithStart() throws Exception {
+    WorkflowStub stub = testWorkflowRule.newUntypedWorkflowStubTimeoutOptions(WORKFLOW_TYPE);
+
+    WorkflowExecution execution =
+        stub.signalWithStartAsync("addValue", new Object[] {"b"}, new Object[] {"a"}).get();
+    assertEquals(execution, stub.getExecution());
+
+    stub.signalAsync("finish").get();
+    assertEquals("ab", stub.getResult(String.class));
+  }
+
+  @Test
+  public void startOfAlreadyStartedWorkflow() throws Exception {
+    WorkflowOptions options =
+        WorkflowOptions.newBuilder(
+                SDKTestOptions.newWorkflowOptionsWithTimeouts(testWorkflowRule.getTaskQueue()))
+            .setWorkflowId(UUID.randomUUID().toString())
+            .build();
+    WorkflowClient client = testWorkflowRule.getWorkflowClient();
+    WorkflowExecution execution =
+        client.newUntypedWorkflowStub(WORKFLOW_TYPE, options).startAsync("a").get();
+
+    CompletableFuture<WorkflowExecution> secondStart =
+        client.newUntypedWorkflowStub(WORKFLOW_TYPE, options).startAsync("a");
+    WorkflowExecutionAlreadyStarted e =
+        assertFailsWith(WorkflowExecutionAlreadyStarted.class, secondStart);
+    assertEquals(execution, e.getExecution());
+  }
+
+  @Test
+  public void callsOfNonExistentWorkflowFailWithWorkflowNotFound() {
+    WorkflowStub stub =
+        testWorkflowRule.getWorkflowClient().newUntypedWorkflowStub(UUID.randomUUID().toString());
+
+    // none of the calls is allowed to throw, failures are reported through the futures
+    CompletableFuture<Void> signal = stub.signalAsync("addValue", "b");
+    CompletableFuture<String> query = stub.queryAsync("getValues", String.class);
+    CompletableFuture<WorkflowUpdateHandle<String>> update =
+        stub.startUpdateAsync(
+            UpdateOptions.newBuilder(String.class)
+                .setUpdateName("addValueAndGet")
+                .setWaitForStage(WorkflowUpdateStage.ACCEPTED)
+                .build(),
+            "c");
+    CompletableFuture<Void> terminate = stub.terminateAsync("terminated by test");
+    CompletableFuture<WorkflowExecutionDescription> describe = stub.describeAsync();
+
+    assertFailsWith(WorkflowNotFoundException.class, signal);
+    assertFailsWith(WorkflowNotFoundException.class, query);
+    assertFailsWith(WorkflowNotFoundException.class, update);
+    assertFailsWith(WorkflowNotFoundException.class, terminate);
+    assertFailsWith(WorkflowNotFoundException.class, describe);
+  }
+
+  @Test
+  public void queryOfCompletedWorkflowIsRejected() throws Exception {
+    WorkflowClient client =
+        WorkflowClient.newInstance(
+            testWorkflowRule.getWorkflowServiceStubs(),
+            WorkflowClientOptions.newBuilder(testWorkflowRule.getWorkflowClient().getOptions())
+                .setQueryRejectCondition(QueryRejectCondition.QUERY_REJECT_CONDITION_NOT_OPEN)
+                .build());
+    WorkflowStub stub =
+        client.newUntypedWorkflowStub(
+            WORKFLOW_TYPE,
+            SDKTestOptions.newWorkflowOptionsWithTimeouts(testWorkflowRule.getTaskQueue()));
+    stub.startAsync("a").get();
+    stub.signalAsync("finish").get();
+    assertEquals("a", stub.getResult(String.class));
+
+    WorkflowQueryConditionallyRejectedException e =
+        assertFailsWith(
+            WorkflowQueryConditionallyRejectedException.class,
+            stub.queryAsync("getValues", String.class));
+    assertEquals(
+        WorkflowExecutionStatus.WORKFLOW_EXECUTION_STATUS_COMPLETED,
+        e.getWorkflowExecutionStatus());
+  }
+
+  @Test
+  public void serviceFailuresAreReportedThroughFuturesAsWorkflowServiceException() {
+    WorkflowClient client =
+        WorkflowClient.newInstance(
+            testWorkflowRule.getWorkflowServiceStubs(),
+            WorkflowClientOptions.newBuilder(testWorkflowRule.getWorkflowClient().getOptions())
+                .setInterceptors(
+                    new WorkflowClientInterceptorBase() {
+                      @Override
+                      public WorkflowClientCallsInterceptor workflowClientCallsInterceptor(
+                          WorkflowClientCallsInterceptor next) {
+                        return new InvalidArgumentCallsInterceptor(next);
+                      }
+                    })
+                .build());
+    WorkflowOptions options =
+        SDKTestOptions.newWorkflowOptionsWithTimeouts(testWorkflowRule.getTaskQueue());
+    WorkflowStub stub = client.newUntypedWorkflowStub(UUID.randomUUID().toString());
+
+    assertServiceFailure(client.newUntypedWorkflowStub(WORKFLOW_TYPE, options).startAsync("a"));
+    assertServiceFailure(
+        client
+            .newUntypedWorkflowStub(WORKFLOW_TYPE, options)
+            .signalWithStartAsync("addValue", new Object[] {"b"}, new Object[] {"a"}));
+    assertServiceFailure(stub.signalAsync("addValue", "b"));
+    assertServiceFailure(stub.queryAsync("getValues", String.class));
+    assertServiceFailure(
+        stub.startUpdateAsync(
+            UpdateOptions.newBuilder(String.class)
+                .setUpdateName("addValueAndGet")
+                .setWaitForStage(WorkflowUpdateStage.ACCEPTED)
+                .build(),
+            "c"));
+    assertServiceFailure(stub.terminateAsync("terminated by test"));
+    assertServiceFailure(stub.describeAsync());
+  }
+
+  private static void assertServiceFailure(CompletableFuture<?> future) {
+    WorkflowServiceException e = assertFailsWith(WorkflowServiceException.class, future);
+    assertSame(WorkflowServiceException.class, e.getClass());
+    assertTrue(e.getCause() instanceof StatusRuntimeException);
+    assertEquals(
+        Status.Code.INVALID_ARGUMENT,
+        ((StatusRuntimeException) e.getCause()).getStatus().getCode());
+  }
+
+  private static <T extends Throwable> T assertFailsWith(
+      Class<T> expected, CompletableFuture<?> future) {
+    ExecutionException e = assertThrows(ExecutionException.class, future::get);
+    Throwable cause = e.getCause();
+    assertTrue("expected " + expected.getName() + ", got " + cause, expected.isInstance(cause));
+    return expected.cast(cause);
+  }
+
+  /** Fails every async call synchronously, the way a broken interceptor or invoker would. */
+  private static class InvalidArgumentCallsInterceptor extends WorkflowClientCallsInterceptorBase {
+    InvalidArgumentCallsInterceptor(WorkflowClientCallsInterceptor next) {
+      super(next);
+    }
+
+    @Override
+    public CompletableFuture<WorkflowStartOutput> startAsync(WorkflowStartInput input) {
+      throw invalidArgument();
+    }
+
+    @Override
+    public CompletableFuture<WorkflowSignalOutput> signalAsync(WorkflowSignalInput input) {
+      throw invalidArgument();
+    }
+
+    @Override
+    public CompletableFuture<WorkflowSignalWithStartOutput> signalWithStartAsync(
+        WorkflowSignalWithStartInput input) {
+      throw invalidArgument();
+    }
+
+    @Override
+    public <R> CompletableFuture<QueryOutput<R>> queryAsync(QueryInput<R> input) {
+      throw invalidArgument();
+    }
+
+    @Override
+    public <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(
+        StartUpdateInput<R> input) {
+      throw invalidArgument();
+    }
+
+    @Override
+    public CompletableFuture<TerminateOutput> terminateAsync(TerminateInput input) {
+      throw invalidArgument();
+    }
+
+    @Override
+    public CompletableFuture<DescribeWorkflowOutput> describeAsync(DescribeWorkflowInput input) {
+      throw invalidArgument();
+    }
+
+    private static StatusRuntimeException invalidArgument() {
+      return Status.INVALID_ARGUMENT.withDescription("rejected by test").asRuntimeException();
+    }
+  }
+
+  @WorkflowInterface
+  public interface AsyncCallsWorkflow {
+    @WorkflowMethod
+    String execute(String value);
+
+    @SignalMethod
+    void addValue(String value);
+
+    @SignalMethod
+    void finish();
+
+    @UpdateMethod
+    String addValueAndGet(String value);
+
+    @QueryMethod
+    String getValues();
+  }
+
+  public static class AsyncCallsWorkflowImpl implements AsyncCallsWorkflow {
+    private final StringBuilder values = new StringBuilder();
+    private boolean finished;
+
+    @Override
+    public String execute(String value) {
+      values.insert(0, value);
+      Workflow.await(() -> finished);
+      return values.toString();
+    }
+
+    @Override
+    public void addValue(String value) {
+      values.append(value);
+    }
+
+    @Override
+    public void finish() {
+      finished = true;
+    }
+
+    @Override
+    public String addValueAndGet(String value) {
+      values.append(value);
+      return values.toString();
+    }
+
+    @Override
+    public String getValues() {
+      return values.toString();
+    }
+  }
+}
@@ -2,9 +2,11 @@ package io.temporal.common.converter;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
 import io.temporal.api.common.v1.Payload;
 import io.temporal.api.common.v1.Payloads;
 import io.temporal.api.failure.v1.Failure;
@@ -15,12 +17,14 @@ import io.temporal.payload.codec.PayloadCodecException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.Timeout;
+import org.mockito.Mockito;
 
 public class CodecDataConverterTest {
   public @Rule Timeout timeout = Timeout.seconds(10);
@@ -119,10 +123,75 @@ public class CodecDataConverterTest {
     assertEquals(p, converted.getPayload());
   }
 
+  @Test
+  public void testArgumentsAreDecodedWithWholeListCodec() {
+    EnvelopePayloadCodec envelopeCodec = new EnvelopePayloadCodec();
+    DataConverter wrapped = Mockito.spy(DefaultDataConverter.newDefaultInstance());
+    CodecDataConverter converter =
+        new CodecDataConverter(wrapped, Collections.singletonList(envelopeCodec));
+    Optional<Payloads> data = converter.toPayloads("a", 2, "c");
+    assertEquals(1, data.get().getPayloadsCount());
+
+    assertEquals("a", converter.fromPayloads(0, data, String.class, String.class));
+    assertEquals((Integer) 2, converter.fromPayloads(1, data, Integer.class, Integer.class));
+    assertEquals("c", converter.fromPayloads(2, data, String.class, String.class));
+    assertNull(converter.fromPayloads(3, data, String.class, String.class));
+    assertEquals(4, envelopeCodec.decodeCalls.get());
+
+    Mockito.verify(wrapped)
+        .fromPayloads(
+            Mockito.eq(1),
+            Mockito.argThat(p -> p.get().getPayloadsCount() == 3),
+            Mockito.any(),
+            Mockito.any());
+  }
+
+  @Test
+  public void testEncodedValuesDecodePayloadsOnce() {
+    EnvelopePayloadCodec envelopeCodec = new EnvelopePayloadCodec();
+    CodecDataConverter converter =
+        new CodecDataConverter(
+            DefaultDataConverter.newDefaultInstance(), Collections.singletonList(envelopeCodec));
+    EncodedValues values = new EncodedValues(converter.toPayloads("a", 2, "c"), converter);
+
+    assertEquals("a", values.get(0, String.class));
+    assertEquals((Integer) 2, values.get(1, Integer.class));
+    assertEquals("c", values.get(2, String.class));
+    assertNull(values.get(3, String.class));
+    assertEquals(1, envelopeCodec.decodeCalls.get());
+  }
+
   static boolean isEncoded(Payload payload) {
     return payload.getData().startsWith(PrefixPayloadCodec.PREFIX);
   }
 
+  /** Packs all the payloads into a single one, like batching or encrypting envelope codecs do. */
+  private static final class EnvelopePayloadCodec implements PayloadCodec {
+    private final AtomicInteger decodeCalls = new AtomicInteger();
+
+    @Override
+    @Nonnull
+    public List<Payload> encode(@Nonnull List<Payload> payloads) {
+      Payloads envelope = Payloads.newBuilder().addAllPayloads(payloads).build();
+      return Collections.singletonList(
+          Payload.newBuilder().setData(envelope.toByteString()).build());
+    }
+
+    @Override
+    @Nonnull
+    public List<Payload> decode(@Nonnull List<Payload> payloads) {
+      decodeCalls.incrementAndGet();
+      if (payloads.size() != 1) {
+        throw new PayloadCodecException("Expected one envelope, got " + payloads.size());
+      }
+      try {
+        return Payloads.parseFrom(payloads.get(0).getData()).getPayloadsList();
+      } catch (InvalidProtocolBufferException e) {
+        throw new PayloadCodecException(e);
+      }
+    }
+  }
+
   public static final class PrefixPayloadCodec implements PayloadCodec {
     public static final ByteString PREFIX = ByteString.copyFromUtf8("ENCODED: ");
 
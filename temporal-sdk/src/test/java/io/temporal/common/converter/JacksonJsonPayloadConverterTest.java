@@ -2,8 +2,13 @@ package io.temporal.common.converter;
 
 import static org.junit.Assert.assertEquals;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.temporal.api.common.v1.Payload;
 import io.temporal.api.common.v1.Payloads;
+import java.lang.reflect.Type;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.junit.Test;
@@ -39,6 +44,21 @@ public class JacksonJsonPayloadConverterTest {
     assertEquals("myPayload", converted.getName().get());
   }
 
+  @Test
+  public void testJsonReadersAreCachedPerValueType() {
+    JacksonJsonPayloadConverter converter = new JacksonJsonPayloadConverter();
+    Instant instant = Instant.parse("2024-01-02T03:04:05Z");
+    Payload payload = converter.toData(Collections.singletonList(instant)).get();
+    Type instantListType = new TypeReference<List<Instant>>() {}.getType();
+
+    for (int i = 0; i < 2; i++) {
+      List<?> typed = converter.fromData(payload, List.class, instantListType);
+      assertEquals(Collections.singletonList(instant), typed);
+      List<?> raw = converter.fromData(payload, List.class, List.class);
+      assertEquals(Collections.singletonList(instant.toString()), raw);
+    }
+  }
+
   static class TestOptionalPayload {
     private Optional<Long> id;
     private Optional<Instant> timestamp;
@@ -1,8 +1,11 @@
 package io.temporal.common.converter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.DynamicMessage;
 import com.google.protobuf.MapEntry;
 import com.google.protobuf.util.JsonFormat;
 import io.temporal.api.common.v1.Payload;
@@ -125,6 +128,27 @@ public class ProtoPayloadConverterTest {
     assertEquals(1, ((List<?>) metadata).size());
   }
 
+  @Test
+  public void testProtoParsersAreCachedPerClass() {
+    assertSame(WorkflowExecution.parser(), ProtobufMessages.getParser(WorkflowExecution.class));
+    assertSame(
+        ProtobufMessages.getDefaultInstance(WorkflowExecution.class),
+        ProtobufMessages.getDefaultInstance(WorkflowExecution.class));
+    assertEquals(
+        WorkflowExecution.getDefaultInstance(),
+        ProtobufMessages.newBuilder(WorkflowExecution.class).build());
+  }
+
+  @Test
+  public void testProtoFromDataOfNonGeneratedClass() {
+    ProtobufPayloadConverter converter = new ProtobufPayloadConverter();
+    Payload payload =
+        converter.toData(WorkflowExecution.newBuilder().setWorkflowId("id").build()).get();
+    assertThrows(
+        DataConverterException.class,
+        () -> converter.fromData(payload, DynamicMessage.class, DynamicMessage.class));
+  }
+
   static class TestPayload {
     private long id;
     private Instant timestamp;
@@ -0,0 +1,129 @@
+package io.temporal.internal.activity;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.google.common.util.concurrent.SettableFuture;
+import com.uber.m3.tally.NoopScope;
+import io.temporal.activity.ActivityInfo;
+import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatRequest;
+import io.temporal.api.workflowservice.v1.RecordActivityTaskHeartbeatResponse;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import io.temporal.client.ActivityCanceledException;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class HeartbeatContextImplTest {
+  private final ScheduledExecutorService heartbeatExecutor =
+      Executors.newSingleThreadScheduledExecutor();
+  private final WorkflowServiceGrpc.WorkflowServiceFutureStub futureStub =
+      mock(WorkflowServiceGrpc.WorkflowServiceFutureStub.class);
+  private final List<Thread> convertingThreads = new CopyOnWriteArrayList<>();
+  private HeartbeatContextImpl heartbeatContext;
+
+  @Before
+  public void setUp() {
+    DataConverter dataConverter = mock(DataConverter.class);
+    when(dataConverter.withContext(any())).thenReturn(dataConverter);
+    when(dataConverter.toPayloads(any(Object[].class)))
+        .then(
+            invocation -> {
+              convertingThreads.add(Thread.currentThread());
+              return DefaultDataConverter.STANDARD_INSTANCE.toPayloads(
+                  (Object[]) invocation.getRawArguments()[0]);
+            });
+
+    WorkflowServiceStubs service = mock(WorkflowServiceStubs.class);
+    when(service.futureStub()).thenReturn(futureStub);
+    when(futureStub.withOption(any(), any())).thenReturn(futureStub);
+
+    ActivityInfo info = mock(ActivityInfo.class);
+    when(info.getWorkflowId()).thenReturn("workflow");
+    when(info.getWorkflowType()).thenReturn("Workflow");
+    when(info.getActivityType()).thenReturn("Activity");
+    when(info.getActivityTaskQueue()).thenReturn("queue");
+    when(info.getTaskToken()).thenReturn("token".getBytes(StandardCharsets.UTF_8));
+    when(info.getHeartbeatTimeout()).thenReturn(Duration.ZERO);
+    when(info.getHeartbeatDetails()).thenReturn(Optional.empty());
+
+    heartbeatContext =
+        new HeartbeatContextImpl(
+            service,
+            "namespace",
+            info,
+            dataConverter,
+            heartbeatExecutor,
+            new NoopScope(),
+            "identity",
+            Duration.ofSeconds(60),
+            Duration.ofMillis(200));
+  }
+
+  @After
+  public void tearDown() {
+    heartbeatExecutor.shutdownNow();
+  }
+
+  @Test
+  public void heartbeatsAreSentAsynchronouslyAndCoalesced() {
+    SettableFuture<RecordActivityTaskHeartbeatResponse> firstResponse = SettableFuture.create();
+    SettableFuture<RecordActivityTaskHeartbeatResponse> secondResponse = SettableFuture.create();
+    when(futureStub.recordActivityTaskHeartbeat(any()))
+        .thenReturn(firstResponse)
+        .thenReturn(secondResponse);
+
+    // None of these calls block on the outstanding response of the first heartbeat
+    heartbeatContext.heartbeat("1");
+    heartbeatContext.heartbeat("2");
+    heartbeatContext.heartbeat("3");
+    verify(futureStub, times(1)).recordActivityTaskHeartbeat(any());
+
+    firstResponse.set(RecordActivityTaskHeartbeatResponse.newBuilder().build());
+
+    // Only the latest details are sent once the throttle interval expires
+    ArgumentCaptor<RecordActivityTaskHeartbeatRequest> requests =
+        ArgumentCaptor.forClass(RecordActivityTaskHeartbeatRequest.class);
+    verify(futureStub, timeout(5000).times(2)).recordActivityTaskHeartbeat(requests.capture());
+    List<RecordActivityTaskHeartbeatRequest> sent = requests.getAllValues();
+    assertEquals("1", decodeDetails(sent.get(0)));
+    assertEquals("3", decodeDetails(sent.get(1)));
+    // the details of the throttled heartbeat are converted by the activity, not the scheduler
+    assertEquals(3, convertingThreads.size());
+    for (Thread thread : convertingThreads) {
+      assertSame(Thread.currentThread(), thread);
+    }
+  }
+
+  @Test
+  public void cancellationIsReportedByTheNextHeartbeat() throws InterruptedException {
+    SettableFuture<RecordActivityTaskHeartbeatResponse> response = SettableFuture.create();
+    when(futureStub.recordActivityTaskHeartbeat(any())).thenReturn(response);
+
+    heartbeatContext.heartbeat("1");
+    response.set(RecordActivityTaskHeartbeatResponse.newBuilder().setCancelRequested(true).build());
+
+    assertThrows(ActivityCanceledException.class, () -> heartbeatContext.heartbeat("2"));
+    heartbeatContext.cancelOutstandingHeartbeat();
+    Thread.sleep(500);
+    // Heartbeat throttled after the response is not sent as the activity is done
+    verify(futureStub, times(1)).recordActivityTaskHeartbeat(any());
+  }
+
+  private static String decodeDetails(RecordActivityTaskHeartbeatRequest request) {
+    return DefaultDataConverter.STANDARD_INSTANCE.fromPayloads(
+        0, Optional.of(request.getDetails()), String.class, String.class);
+  }
+}
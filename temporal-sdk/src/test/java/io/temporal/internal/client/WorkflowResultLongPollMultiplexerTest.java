@@ -0,0 +1,156 @@
+package io.temporal.internal.client;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.enums.v1.EventType;
+import io.temporal.api.history.v1.History;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.history.v1.WorkflowExecutionContinuedAsNewEventAttributes;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryRequest;
+import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.internal.client.external.GenericWorkflowClient;
+import java.util.concurrent.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkflowResultLongPollMultiplexerTest {
+  private static final WorkflowExecution EXECUTION1 =
+      WorkflowExecution.newBuilder().setWorkflowId("workflow1").setRunId("run1").build();
+  private static final WorkflowExecution EXECUTION2 =
+      WorkflowExecution.newBuilder().setWorkflowId("workflow2").setRunId("run2").build();
+
+  private final GenericWorkflowClient genericClient = mock(GenericWorkflowClient.class);
+  private final BlockingQueue<LongPoll> longPolls = new LinkedBlockingQueue<>();
+
+  private static class LongPoll {
+    private final GetWorkflowExecutionHistoryRequest request;
+    private final CompletableFuture<GetWorkflowExecutionHistoryResponse> response =
+        new CompletableFuture<>();
+
+    private LongPoll(GetWorkflowExecutionHistoryRequest request) {
+      this.request = request;
+    }
+  }
+
+  @Before
+  public void setUp() {
+    when(genericClient.longPollHistoryAsync(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              LongPoll longPoll = new LongPoll(invocation.getArgument(0));
+              longPolls.add(longPoll);
+              return longPoll.response;
+            });
+  }
+
+  @Test
+  public void waitsOnTheSameExecutionShareALongPoll() throws Exception {
+    WorkflowResultLongPollMultiplexer multiplexer = newMultiplexer(10);
+    CompletableFuture<HistoryEvent> first =
+        multiplexer.getInstanceCloseEventAsync(EXECUTION1, 1, TimeUnit.MINUTES);
+    CompletableFuture<HistoryEvent> second =
+        multiplexer.getInstanceCloseEventAsync(EXECUTION1, 1, TimeUnit.MINUTES);
+
+    LongPoll longPoll = nextLongPoll();
+    assertEquals(EXECUTION1, longPoll.request.getExecution());
+    longPoll.response.complete(closeResponse(completedEvent()));
+
+    assertEquals(completedEvent(), first.get(5, TimeUnit.SECONDS));
+    assertEquals(completedEvent(), second.get(5, TimeUnit.SECONDS));
+    assertTrue(longPolls.isEmpty());
+  }
+
+  @Test
+  public void executionsArePolledInTurnsWhenLimitIsReached() throws Exception {
+    WorkflowResultLongPollMultiplexer multiplexer = newMultiplexer(1);
+    CompletableFuture<HistoryEvent> first =
+        multiplexer.getInstanceCloseEventAsync(EXECUTION1, 1, TimeUnit.MINUTES);
+    CompletableFuture<HistoryEvent> second =
+        multiplexer.getInstanceCloseEventAsync(EXECUTION2, 1, TimeUnit.MINUTES);
+
+    LongPoll firstPoll = nextLongPoll();
+    assertEquals(EXECUTION1, firstPoll.request.getExecution());
+    assertNull(longPolls.poll(100, TimeUnit.MILLISECONDS));
+
+    // an empty long poll response puts the execution to the back of the queue
+    firstPoll.response.complete(GetWorkflowExecutionHistoryResponse.getDefaultInstance());
+    LongPoll secondPoll = nextLongPoll();
+    assertEquals(EXECUTION2, secondPoll.request.getExecution());
+    secondPoll.response.complete(closeResponse(completedEvent()));
+    assertEquals(completedEvent(), second.get(5, TimeUnit.SECONDS));
+
+    LongPoll thirdPoll = nextLongPoll();
+    assertEquals(EXECUTION1, thirdPoll.request.getExecution());
+    assertFalse(first.isDone());
+  }
+
+  @Test
+  public void continueAsNewExecutionsAreFollowed() throws Exception {
+    WorkflowResultLongPollMultiplexer multiplexer = newMultiplexer(10);
+    CompletableFuture<HistoryEvent> result =
+        multiplexer.getInstanceCloseEventAsync(EXECUTION1, 1, TimeUnit.MINUTES);
+
+    HistoryEvent continuedAsNew =
+        HistoryEvent.newBuilder()
+            .setEventType(EventType.EVENT_TYPE_WORKFLOW_EXECUTION_CONTINUED_AS_NEW)
+            .setWorkflowExecutionContinuedAsNewEventAttributes(
+                WorkflowExecutionContinuedAsNewEventAttributes.newBuilder()
+                    .setNewExecutionRunId("run1-next"))
+            .build();
+    nextLongPoll().response.complete(closeResponse(continuedAsNew));
+
+    LongPoll nextRunPoll = nextLongPoll();
+    assertEquals("workflow1", nextRunPoll.request.getExecution().getWorkflowId());
+    assertEquals("run1-next", nextRunPoll.request.getExecution().getRunId());
+    nextRunPoll.response.complete(closeResponse(completedEvent()));
+    assertEquals(completedEvent(), result.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void waitersTimeOutIndependently() throws Exception {
+    WorkflowResultLongPollMultiplexer multiplexer = newMultiplexer(10);
+    CompletableFuture<HistoryEvent> shortWait =
+        multiplexer.getInstanceCloseEventAsync(EXECUTION1, 100, TimeUnit.MILLISECONDS);
+    CompletableFuture<HistoryEvent> longWait =
+        multiplexer.getInstanceCloseEventAsync(EXECUTION1, 1, TimeUnit.MINUTES);
+    LongPoll longPoll = nextLongPoll();
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> shortWait.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof TimeoutException);
+    assertFalse(longWait.isDone());
+
+    longPoll.response.complete(closeResponse(completedEvent()));
+    assertEquals(completedEvent(), longWait.get(5, TimeUnit.SECONDS));
+  }
+
+  private WorkflowResultLongPollMultiplexer newMultiplexer(int maxConcurrentPolls) {
+    return new WorkflowResultLongPollMultiplexer(
+        genericClient,
+        new WorkflowClientRequestFactory(
+            WorkflowClientOptions.newBuilder().validateAndBuildWithDefaults()),
+        maxConcurrentPolls);
+  }
+
+  private LongPoll nextLongPoll() throws InterruptedException {
+    LongPoll longPoll = longPolls.poll(5, TimeUnit.SECONDS);
+    assertNotNull("long poll is expected", longPoll);
+    return longPoll;
+  }
+
+  private static HistoryEvent completedEvent() {
+    return HistoryEvent.newBuilder()
+        .setEventType(EventType.EVENT_TYPE_WORKFLOW_EXECUTION_COMPLETED)
+        .build();
+  }
+
+  private static GetWorkflowExecutionHistoryResponse closeResponse(HistoryEvent event) {
+    return GetWorkflowExecutionHistoryResponse.newBuilder()
+        .setHistory(History.newBuilder().addEvents(event))
+        .build();
+  }
+}
@@ -0,0 +1,105 @@
+package io.temporal.internal.client.external;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class AsyncCallLimiterTest {
+
+  @Test
+  public void callsOverTheLimitAreStartedInOrderWhenCallsComplete() throws Exception {
+    AsyncCallLimiter limiter = new AsyncCallLimiter(2);
+    List<CompletableFuture<Integer>> calls = new ArrayList<>();
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      results.add(
+          limiter.execute(
+              () -> {
+                CompletableFuture<Integer> call = new CompletableFuture<>();
+                calls.add(call);
+                return call;
+              }));
+    }
+    assertEquals(2, calls.size());
+    assertEquals(2, limiter.getInFlightCalls());
+    assertEquals(2, limiter.getQueuedCalls());
+
+    calls.get(1).complete(1);
+    assertEquals(1, (int) results.get(1).get(5, TimeUnit.SECONDS));
+    assertEquals(3, calls.size());
+    assertFalse(results.get(2).isDone());
+
+    calls.get(0).completeExceptionally(new IllegalStateException("failed"));
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> results.get(0).get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertEquals(4, calls.size());
+    assertEquals(0, limiter.getQueuedCalls());
+
+    calls.get(2).complete(2);
+    calls.get(3).complete(3);
+    assertEquals(2, (int) results.get(2).get(5, TimeUnit.SECONDS));
+    assertEquals(3, (int) results.get(3).get(5, TimeUnit.SECONDS));
+    assertEquals(0, limiter.getInFlightCalls());
+  }
+
+  @Test
+  public void synchronouslyCompletedCallsDontRecurse() throws Exception {
+    AsyncCallLimiter limiter = new AsyncCallLimiter(1);
+    CompletableFuture<Integer> blocker = new CompletableFuture<>();
+    limiter.execute(() -> blocker);
+    List<CompletableFuture<Integer>> results = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      int value = i;
+      results.add(limiter.execute(() -> CompletableFuture.completedFuture(value)));
+    }
+    blocker.complete(-1);
+    for (int i = 0; i < results.size(); i++) {
+      assertEquals(i, (int) results.get(i).get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(0, limiter.getInFlightCalls());
+  }
+
+  @Test
+  public void cancelledQueuedCallsAreNotStarted() throws Exception {
+    AsyncCallLimiter limiter = new AsyncCallLimiter(1);
+    AtomicInteger started = new AtomicInteger();
+    CompletableFuture<Integer> first = new CompletableFuture<>();
+    limiter.execute(
+        () -> {
+          started.incrementAndGet();
+          return first;
+        });
+    CompletableFuture<Integer> queued =
+        limiter.execute(
+            () -> {
+              started.incrementAndGet();
+              return new CompletableFuture<>();
+            });
+    assertTrue(queued.cancel(false));
+    first.complete(1);
+    assertEquals(1, started.get());
+    assertEquals(0, limiter.getInFlightCalls());
+    assertEquals(0, limiter.getQueuedCalls());
+  }
+
+  @Test
+  public void callsThrowingOnStartReleaseTheirPermit() throws Exception {
+    AsyncCallLimiter limiter = new AsyncCallLimiter(1);
+    CompletableFuture<Integer> failed =
+        limiter.execute(
+            () -> {
+              throw new IllegalArgumentException("bad request");
+            });
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+    assertTrue(e.getCause() instanceof IllegalArgumentException);
+    assertEquals(1, (int) limiter.execute(() -> CompletableFuture.completedFuture(1)).get());
+  }
+}
@@ -0,0 +1,91 @@
+package io.temporal.internal.common;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import org.junit.Test;
+
+public class MethodInvokerTest {
+
+  public interface Greeter {
+    String greet(String name, int times);
+
+    void fail(String message);
+  }
+
+  public static class GreeterImpl implements Greeter {
+    private final String greeting;
+
+    public GreeterImpl() {
+      this("Hello");
+    }
+
+    public GreeterImpl(String greeting) {
+      if (greeting.isEmpty()) {
+        throw new IllegalStateException("empty greeting");
+      }
+      this.greeting = greeting;
+    }
+
+    @Override
+    public String greet(String name, int times) {
+      StringBuilder result = new StringBuilder();
+      for (int i = 0; i < times; i++) {
+        result.append(greeting).append(' ').append(name).append('!');
+      }
+      return result.toString();
+    }
+
+    @Override
+    public void fail(String message) {
+      throw new UnsupportedOperationException(message);
+    }
+  }
+
+  @Test
+  public void invokesInterfaceMethodsOnImplementations() throws Exception {
+    MethodInvoker invoker =
+        MethodInvoker.of(Greeter.class.getMethod("greet", String.class, int.class));
+    assertSame(
+        invoker, MethodInvoker.of(Greeter.class.getMethod("greet", String.class, int.class)));
+    assertEquals("Hello World!Hello World!", invoker.invoke(new GreeterImpl(), "World", 2));
+    assertEquals("Hi World!", invoker.invoke(new GreeterImpl("Hi"), "World", 1));
+  }
+
+  @Test
+  public void followsExceptionContractOfReflection() throws Exception {
+    Method fail = Greeter.class.getMethod("fail", String.class);
+    MethodInvoker invoker = MethodInvoker.of(fail);
+
+    InvocationTargetException e =
+        assertThrows(
+            InvocationTargetException.class, () -> invoker.invoke(new GreeterImpl(), "boom"));
+    assertTrue(e.getTargetException() instanceof UnsupportedOperationException);
+    assertEquals("boom", e.getTargetException().getMessage());
+
+    assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new GreeterImpl()));
+    assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new GreeterImpl(), 42));
+    assertThrows(IllegalArgumentException.class, () -> invoker.invoke("not a greeter", "boom"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            MethodInvoker.of(Greeter.class.getMethod("greet", String.class, int.class))
+                .invoke(new GreeterImpl(), "World", null));
+  }
+
+  @Test
+  public void createsInstancesWithConstructors() throws Exception {
+    ConstructorInvoker defaultConstructor =
+        new ConstructorInvoker(GreeterImpl.class.getDeclaredConstructor());
+    assertEquals("Hello A!", ((Greeter) defaultConstructor.newInstance()).greet("A", 1));
+
+    ConstructorInvoker constructor =
+        new ConstructorInvoker(GreeterImpl.class.getDeclaredConstructor(String.class));
+    assertEquals("Hey A!", ((Greeter) constructor.newInstance("Hey")).greet("A", 1));
+
+    InvocationTargetException e =
+        assertThrows(InvocationTargetException.class, () -> constructor.newInstance(""));
+    assertTrue(e.getTargetException() instanceof IllegalStateException);
+  }
+}
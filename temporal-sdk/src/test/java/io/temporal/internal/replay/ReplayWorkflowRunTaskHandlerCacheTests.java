@@ -245,6 +245,49 @@ public class ReplayWorkflowRunTaskHandlerCacheTests {
     assertEquals(1, cache.size());
   }
 
+  @Test
+  public void evictAnyDoesNotScanWorkflowsInProcessing() throws Exception {
+    Map<String, String> tags =
+        new ImmutableMap.Builder<String, String>(2)
+            .put(MetricsTag.NAMESPACE, NAMESPACE)
+            .put(MetricsTag.TASK_QUEUE, HOST_TASK_QUEUE)
+            .put(MetricsTag.WORKFLOW_TYPE, WORKFLOW_TYPE)
+            .build();
+    Scope scope = metricsScope.tagged(tags);
+
+    // Arrange
+    WorkflowRunLockManager runLockManager = new WorkflowRunLockManager();
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(50, runLockManager, scope);
+    PollWorkflowTaskQueueResponse workflowTask1 =
+        HistoryUtils.generateWorkflowTaskWithInitialHistory();
+    PollWorkflowTaskQueueResponse workflowTask2 =
+        HistoryUtils.generateWorkflowTaskWithInitialHistory();
+    PollWorkflowTaskQueueResponse workflowTask3 =
+        HistoryUtils.generateWorkflowTaskWithInitialHistory();
+    cache.addToCache(workflowTask1.getWorkflowExecution(), createFakeExecutor(workflowTask1));
+    cache.addToCache(workflowTask2.getWorkflowExecution(), createFakeExecutor(workflowTask2));
+    WorkflowExecution execution = workflowTask3.getWorkflowExecution();
+    cache.addToCache(execution, createFakeExecutor(workflowTask3));
+
+    // the least recently used workflow is being processed by another worker thread
+    String busyRunId = workflowTask1.getWorkflowExecution().getRunId();
+    Thread otherWorker = new Thread(() -> runLockManager.tryLock(busyRunId));
+    otherWorker.start();
+    otherWorker.join();
+
+    // Act
+    assertTrue(cache.evictAnyNotInProcessing(execution, scope));
+
+    // Assert
+    assertEquals(2, cache.size());
+
+    // Wait for reporter
+    Thread.sleep(100);
+    // the busy workflow is not even inspected
+    reporter.assertCounter(MetricsType.STICKY_CACHE_EVICTION_SCAN_LENGTH, tags, 1);
+    reporter.assertCounter(MetricsType.STICKY_CACHE_THREAD_FORCED_EVICTION, tags, 1);
+  }
+
   private void assertCacheIsEmpty(WorkflowExecutorCache cache, String runId) throws Exception {
     Throwable ex = null;
     try {
@@ -310,6 +353,11 @@ public class ReplayWorkflowRunTaskHandlerCacheTests {
           public WorkflowContext getWorkflowContext() {
             return null;
           }
+
+          @Override
+          public long getEstimatedRetainedSizeBytes() {
+            return 0;
+          }
         },
         response,
         SingleWorkerOptions.newBuilder().build(),
@@ -1,12 +1,17 @@
 package io.temporal.internal.replay;
 
 import com.google.protobuf.ByteString;
+import io.grpc.Deadline;
 import io.temporal.api.history.v1.History;
 import io.temporal.api.workflowservice.v1.GetWorkflowExecutionHistoryResponse;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponse;
 import io.temporal.testUtils.HistoryUtils;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
@@ -84,4 +89,97 @@ public class ServiceWorkflowHistoryIteratorTest {
     Assert.assertThrows(NoSuchElementException.class, iterator::next);
     Assert.assertEquals(4, timesCalledServer.get());
   }
+
+  @Test
+  public void prefetchesPagesAheadOfIterationWithinMemoryLimit() {
+    PollWorkflowTaskQueueResponse workflowTask =
+        PollWorkflowTaskQueueResponse.newBuilder().setNextPageToken(NEXT_PAGE_TOKEN).build();
+    History history = HistoryUtils.generateWorkflowTaskWithInitialHistory().getHistory();
+
+    List<ByteString> requestedTokens = new ArrayList<>();
+    List<CompletableFuture<GetWorkflowExecutionHistoryResponse>> requests = new ArrayList<>();
+    ServiceWorkflowHistoryIterator iterator =
+        new ServiceWorkflowHistoryIterator(null, "default", workflowTask, null, 1) {
+          @Override
+          GetWorkflowExecutionHistoryResponse queryWorkflowExecutionHistory() {
+            throw new AssertionError("all pages are expected to be prefetched");
+          }
+
+          @Override
+          CompletableFuture<GetWorkflowExecutionHistoryResponse> queryWorkflowExecutionHistoryAsync(
+              ByteString pageToken) {
+            requestedTokens.add(pageToken);
+            CompletableFuture<GetWorkflowExecutionHistoryResponse> request =
+                new CompletableFuture<>();
+            requests.add(request);
+            return request;
+          }
+        };
+
+    Assert.assertTrue(requestedTokens.isEmpty());
+    iterator.initDeadline(Deadline.after(1, TimeUnit.MINUTES));
+    Assert.assertEquals(1, requestedTokens.size());
+    Assert.assertEquals(NEXT_PAGE_TOKEN, requestedTokens.get(0));
+
+    requests
+        .get(0)
+        .complete(
+            GetWorkflowExecutionHistoryResponse.newBuilder()
+                .setHistory(history)
+                .setNextPageToken(NEXT_NEXT_PAGE_TOKEN)
+                .build());
+    // the memory limit is reached by the first page, the second one isn't requested yet
+    Assert.assertEquals(1, requestedTokens.size());
+
+    Assert.assertTrue(iterator.hasNext());
+    // the first page is taken by the iteration, so the second one is requested
+    Assert.assertEquals(2, requestedTokens.size());
+    Assert.assertEquals(NEXT_NEXT_PAGE_TOKEN, requestedTokens.get(1));
+
+    requests
+        .get(1)
+        .complete(GetWorkflowExecutionHistoryResponse.newBuilder().setHistory(history).build());
+
+    int eventCount = 0;
+    while (iterator.hasNext()) {
+      Assert.assertNotNull(iterator.next());
+      eventCount++;
+    }
+    Assert.assertEquals(history.getEventsCount() * 2, eventCount);
+    Assert.assertEquals(2, requestedTokens.size());
+  }
+
+  @Test
+  public void closeStopsPrefetching() {
+    PollWorkflowTaskQueueResponse workflowTask =
+        PollWorkflowTaskQueueResponse.newBuilder().setNextPageToken(NEXT_PAGE_TOKEN).build();
+    History history = HistoryUtils.generateWorkflowTaskWithInitialHistory().getHistory();
+
+    List<CompletableFuture<GetWorkflowExecutionHistoryResponse>> requests = new ArrayList<>();
+    ServiceWorkflowHistoryIterator iterator =
+        new ServiceWorkflowHistoryIterator(null, "default", workflowTask, null, Long.MAX_VALUE) {
+          @Override
+          CompletableFuture<GetWorkflowExecutionHistoryResponse> queryWorkflowExecutionHistoryAsync(
+              ByteString pageToken) {
+            CompletableFuture<GetWorkflowExecutionHistoryResponse> request =
+                new CompletableFuture<>();
+            requests.add(request);
+            return request;
+          }
+        };
+
+    iterator.initDeadline(Deadline.after(1, TimeUnit.MINUTES));
+    Assert.assertEquals(1, requests.size());
+
+    // the workflow task is done while a page is in flight
+    iterator.close();
+    requests
+        .get(0)
+        .complete(
+            GetWorkflowExecutionHistoryResponse.newBuilder()
+                .setHistory(history)
+                .setNextPageToken(NEXT_NEXT_PAGE_TOKEN)
+                .build());
+    Assert.assertEquals(1, requests.size());
+  }
 }
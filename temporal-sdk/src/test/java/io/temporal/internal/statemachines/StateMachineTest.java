@@ -0,0 +1,114 @@
+package io.temporal.internal.statemachines;
+
+import static org.junit.Assert.*;
+
+import io.temporal.api.enums.v1.CommandType;
+import io.temporal.api.enums.v1.EventType;
+import org.junit.Test;
+
+public class StateMachineTest {
+
+  enum State {
+    OFF,
+    ON,
+    BROKEN
+  }
+
+  enum ExplicitEvent {
+    FLIP,
+    BREAK
+  }
+
+  private static final StateMachineDefinition<State, ExplicitEvent, Void> DEFINITION =
+      StateMachineDefinition.<State, ExplicitEvent, Void>newInstance(
+              "Switch", State.OFF, State.BROKEN)
+          .add(State.OFF, ExplicitEvent.FLIP, State.ON)
+          .add(State.ON, ExplicitEvent.FLIP, State.OFF)
+          .add(State.ON, ExplicitEvent.BREAK, State.BROKEN)
+          .compile();
+
+  @Test
+  public void keepsOnlyRecentTransitionsByDefault() {
+    StateMachine<State, ExplicitEvent, Void> stateMachine =
+        StateMachine.newInstance(DEFINITION, "switch1");
+    for (int i = 0; i < 100; i++) {
+      stateMachine.handleExplicitEvent(ExplicitEvent.FLIP, null);
+    }
+    assertEquals(State.OFF, stateMachine.getState());
+
+    String history = stateMachine.getHistory();
+    assertTrue(history, history.startsWith("[...68 earlier transitions..., "));
+    assertEquals(32, history.split("->").length - 1);
+    assertThrows(IllegalStateException.class, stateMachine::getTransitionHistory);
+  }
+
+  @Test
+  public void keepsFullTransitionHistoryIfRequested() {
+    StateMachine<State, ExplicitEvent, Void> stateMachine =
+        StateMachine.newInstance(DEFINITION, "switch1", true);
+    for (int i = 0; i < 100; i++) {
+      stateMachine.handleExplicitEvent(ExplicitEvent.FLIP, null);
+    }
+    stateMachine.handleExplicitEvent(ExplicitEvent.FLIP, null);
+    stateMachine.handleExplicitEvent(ExplicitEvent.BREAK, null);
+
+    assertEquals(102, stateMachine.getTransitionHistory().size());
+    assertEquals(
+        new Transition<>(State.ON, new TransitionEvent<>(ExplicitEvent.BREAK)),
+        stateMachine.getTransitionHistory().get(101));
+    assertTrue(stateMachine.isFinalState());
+  }
+
+  @Test
+  public void invalidTransitionReportsRecentTransitions() {
+    StateMachine<State, ExplicitEvent, Void> stateMachine =
+        StateMachine.newInstance(DEFINITION, "switch1");
+    stateMachine.handleExplicitEvent(ExplicitEvent.FLIP, null);
+    stateMachine.handleExplicitEvent(ExplicitEvent.FLIP, null);
+
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> stateMachine.handleExplicitEvent(ExplicitEvent.BREAK, null));
+    assertEquals(
+        "Switch[switch1]: invalid OFF->BREAK, transition history is [OFF->FLIP, ON->FLIP]",
+        e.getMessage());
+  }
+
+  @Test
+  public void looksUpTransitionsOfAllEventKinds() {
+    StateMachineDefinition<State, ExplicitEvent, Void> definition =
+        StateMachineDefinition.<State, ExplicitEvent, Void>newInstance(
+                "Timer switch", State.OFF, State.BROKEN)
+            .add(State.OFF, CommandType.COMMAND_TYPE_START_TIMER, State.OFF)
+            .add(State.OFF, EventType.EVENT_TYPE_TIMER_FIRED, State.ON)
+            .add(State.ON, ExplicitEvent.FLIP, State.OFF)
+            .compile();
+    StateMachine<State, ExplicitEvent, Void> stateMachine =
+        StateMachine.newInstance(definition, null);
+
+    stateMachine.handleCommand(CommandType.COMMAND_TYPE_START_TIMER, null);
+    assertEquals(State.OFF, stateMachine.getState());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> stateMachine.handleHistoryEvent(EventType.EVENT_TYPE_TIMER_STARTED, null));
+    // beyond the last column of history events known to the definition
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> stateMachine.handleHistoryEvent(EventType.EVENT_TYPE_NEXUS_OPERATION_STARTED, null));
+    stateMachine.handleHistoryEvent(EventType.EVENT_TYPE_TIMER_FIRED, null);
+    assertEquals(State.ON, stateMachine.getState());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> stateMachine.handleCommand(CommandType.COMMAND_TYPE_START_TIMER, null));
+    stateMachine.handleExplicitEvent(ExplicitEvent.FLIP, null);
+    assertEquals(State.OFF, stateMachine.getState());
+  }
+
+  @Test
+  public void transitionsCanNotBeAddedAfterCompilation() {
+    assertThrows(
+        IllegalStateException.class,
+        () -> DEFINITION.add(State.OFF, ExplicitEvent.BREAK, State.BROKEN));
+  }
+}
@@ -14,12 +14,14 @@ import io.temporal.api.common.v1.WorkflowType;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponse;
 import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponseOrBuilder;
 import io.temporal.common.RetryOptions;
+import io.temporal.common.reporter.TestStatsReporter;
 import io.temporal.failure.CanceledFailure;
 import io.temporal.internal.Signal;
 import io.temporal.internal.replay.*;
 import io.temporal.internal.worker.WorkflowExecutorCache;
 import io.temporal.internal.worker.WorkflowRunLockManager;
 import io.temporal.serviceclient.MetricsTag;
+import io.temporal.testUtils.Eventually;
 import io.temporal.testUtils.HistoryUtils;
 import io.temporal.worker.MetricsType;
 import io.temporal.workflow.Async;
@@ -35,6 +37,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -102,6 +105,135 @@ public class DeterministicRunnerTest {
     assertTrue(d.isDone());
   }
 
+  @Test
+  public void testSpinningHandOff() {
+    WorkflowThreadExecutor spinningExecutor =
+        new WorkflowThreadExecutor() {
+          @Override
+          public Future<?> submit(Runnable task) {
+            return threadPool.submit(task);
+          }
+
+          @Override
+          public long getHandOffSpinTimeNanos() {
+            return TimeUnit.MILLISECONDS.toNanos(1);
+          }
+        };
+    DeterministicRunner d =
+        new DeterministicRunnerImpl(
+            spinningExecutor,
+            DummySyncWorkflowContext.newDummySyncWorkflowContext(),
+            () -> {
+              status = "started";
+              WorkflowThread.await("reason1", () -> unblock1);
+              List<Promise<Integer>> results = new ArrayList<>();
+              for (int i = 0; i < 10; i++) {
+                int value = i;
+                results.add(Async.function(() -> value));
+              }
+              int sum = 0;
+              for (Promise<Integer> result : results) {
+                sum += result.get();
+              }
+              status = "done " + sum;
+            });
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    assertEquals("started", status);
+    assertFalse(d.isDone());
+    unblock1 = true;
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    assertEquals("done 45", status);
+    assertTrue(d.isDone());
+  }
+
+  @Test
+  public void testSpinningStopsWhenAllThreadsAreBlocked() {
+    WorkflowThreadExecutor spinningExecutor =
+        new WorkflowThreadExecutor() {
+          @Override
+          public Future<?> submit(Runnable task) {
+            return threadPool.submit(task);
+          }
+
+          @Override
+          public long getHandOffSpinTimeNanos() {
+            return TimeUnit.MINUTES.toNanos(1);
+          }
+        };
+    AtomicReference<Thread> workflowThread = new AtomicReference<>();
+    DeterministicRunner d =
+        new DeterministicRunnerImpl(
+            spinningExecutor,
+            DummySyncWorkflowContext.newDummySyncWorkflowContext(),
+            () -> {
+              workflowThread.set(Thread.currentThread());
+              WorkflowThread.await("reason1", () -> unblock1);
+              status = "done";
+            });
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+
+    // the blocked thread waits on the condition instead of spinning for the whole spin time
+    Eventually.assertEventually(
+        Duration.ofSeconds(5),
+        () -> assertEquals(Thread.State.WAITING, workflowThread.get().getState()));
+    unblock1 = true;
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    assertEquals("done", status);
+    assertTrue(d.isDone());
+  }
+
+  @Test
+  public void testThreadsBlockedOnPromisesAreNotEvaluatedUntilCompleted() throws Exception {
+    TestStatsReporter reporter = new TestStatsReporter();
+    Scope scope =
+        new RootScopeBuilder()
+            .reporter(reporter)
+            .reportEvery(com.uber.m3.util.Duration.ofMinutes(1));
+    ReplayWorkflowContext replayWorkflowContext = mock(ReplayWorkflowContext.class);
+    when(replayWorkflowContext.getMetricsScope()).thenReturn(scope);
+    SyncWorkflowContext syncWorkflowContext =
+        DummySyncWorkflowContext.newDummySyncWorkflowContext();
+    syncWorkflowContext.setReplayContext(replayWorkflowContext);
+
+    int threadCount = 10;
+    List<CompletablePromise<Integer>> inputs = new ArrayList<>();
+    DeterministicRunner d =
+        new DeterministicRunnerImpl(
+            threadPool::submit,
+            syncWorkflowContext,
+            () -> {
+              List<Promise<Integer>> outputs = new ArrayList<>();
+              for (int i = 0; i < threadCount; i++) {
+                CompletablePromise<Integer> input = Workflow.newPromise();
+                inputs.add(input);
+                outputs.add(Async.function(input::get));
+              }
+              int sum = 0;
+              for (Promise<Integer> output : outputs) {
+                sum += output.get();
+              }
+              status = "done " + sum;
+            });
+    // root thread and all the threads it started
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    // only the thread waiting for the completed promise
+    inputs.get(threadCount - 1).complete(1);
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    for (int i = 0; i < threadCount - 1; i++) {
+      inputs.get(i).complete(1);
+    }
+    // all the threads and the root thread unblocked by them
+    d.runUntilAllBlocked(DeterministicRunner.DEFAULT_DEADLOCK_DETECTION_TIMEOUT_MS);
+    assertTrue(d.isDone());
+    assertEquals("done " + threadCount, status);
+
+    scope.close();
+    reporter.assertCounter(
+        MetricsType.WORKFLOW_THREADS_EVALUATED,
+        ImmutableMap.EMPTY,
+        (long) (threadCount + 1) + 1 + threadCount);
+  }
+
   /**
    * Async retry cannot be tested here as it relies on timer that is implemented outside of
    * Dispatcher.
@@ -791,6 +923,16 @@ public class DeterministicRunnerTest {
     @Override
     public void resetStartedEventId(Long event) {}
 
+    @Override
+    public long getEstimatedRetainedSizeBytes() {
+      return (long) runner.getWorkflowThreadCount() * 64 * 1024;
+    }
+
+    @Override
+    public long getReplayedHistoryLength() {
+      return 0;
+    }
+
     @Override
     public void close() {
       runner.close();
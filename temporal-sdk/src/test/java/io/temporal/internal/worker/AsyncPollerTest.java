@@ -4,13 +4,22 @@ import static io.temporal.testUtils.Eventually.assertEventually;
 import static org.junit.Assert.*;
 
 import com.uber.m3.tally.NoopScope;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import com.uber.m3.util.ImmutableMap;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.temporal.common.reporter.TestStatsReporter;
+import io.temporal.serviceclient.MetricsTag;
 import io.temporal.testUtils.CountingSlotSupplier;
+import io.temporal.worker.MetricsType;
+import io.temporal.worker.PollerTypeMetricsTag;
 import io.temporal.worker.tuning.*;
 import io.temporal.workflow.Functions;
 import java.time.Duration;
 import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -20,6 +29,9 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 public class AsyncPollerTest {
+  private static final Map<String, String> ACTIVITY_POLLER_TAGS =
+      ImmutableMap.of(
+          MetricsTag.POLLER_TYPE, PollerTypeMetricsTag.PollerType.ACTIVITY_TASK.getValue());
 
   static class TestScalingTask implements ScalingTask {
     final SlotPermit permit;
@@ -122,6 +134,15 @@ public class AsyncPollerTest {
       AsyncPoller.PollTaskAsync<TestScalingTask> pollTask,
       DummyTaskExecutor taskExecutor,
       PollerBehavior pollerBehavior) {
+    return newPoller(slotSupplier, pollTask, taskExecutor, pollerBehavior, new NoopScope());
+  }
+
+  private AsyncPoller<TestScalingTask> newPoller(
+      TrackingSlotSupplier<?> slotSupplier,
+      AsyncPoller.PollTaskAsync<TestScalingTask> pollTask,
+      DummyTaskExecutor taskExecutor,
+      PollerBehavior pollerBehavior,
+      Scope metricsScope) {
     PollerOptions options =
         PollerOptions.newBuilder()
             .setPollThreadNamePrefix("test")
@@ -133,7 +154,7 @@ public class AsyncPollerTest {
         pollTask,
         taskExecutor,
         options,
-        new NoopScope());
+        metricsScope);
   }
 
   private void runOnce(AsyncPoller<TestScalingTask> poller, Runnable task) {
@@ -392,4 +413,112 @@ public class AsyncPollerTest {
     poller.awaitTermination(1, TimeUnit.SECONDS);
     Assert.assertTrue(poller.isShutdown());
   }
+
+  @Test
+  public void localSignalsScalePollersUpWhileSlotsAreFree() throws Exception {
+    TestStatsReporter reporter = new TestStatsReporter();
+    AtomicInteger polls = new AtomicInteger();
+    AsyncPoller<TestScalingTask> poller = startBackloggedPoller(1000, reporter, polls);
+
+    assertEventually(
+        Duration.ofSeconds(5),
+        () ->
+            reporter.assertGauge(
+                MetricsType.TARGET_POLLERS, ACTIVITY_POLLER_TAGS, target -> target > 1));
+
+    poller.shutdown(new ShutdownManager(), false).get();
+    poller.awaitTermination(1, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void localSignalsDontScalePollersUpWithoutFreeSlots() throws Exception {
+    TestStatsReporter reporter = new TestStatsReporter();
+    AtomicInteger polls = new AtomicInteger();
+    // the task held by the executor takes the only slot the supplier reports
+    AsyncPoller<TestScalingTask> poller = startBackloggedPoller(1, reporter, polls);
+
+    // backlogged polls for long enough to scale up several times if there were free slots
+    Thread.sleep(1000);
+    assertTrue(polls.get() > 1);
+    reporter.assertGauge(MetricsType.TARGET_POLLERS, ACTIVITY_POLLER_TAGS, 1);
+
+    poller.shutdown(new ShutdownManager(), false).get();
+    poller.awaitTermination(1, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Starts a poller whose polls always return a task right away, as if the task queue had a
+   * backlog. The executor holds the first task forever and completes the others.
+   */
+  private AsyncPoller<TestScalingTask> startBackloggedPoller(
+      int maximumSlots, TestStatsReporter reporter, AtomicInteger polls)
+      throws AsyncPoller.PollTaskAsyncAbort {
+    TrackingSlotSupplier<?> slotSupplier =
+        new TrackingSlotSupplier<>(new ReportedMaximumSlotSupplier(maximumSlots), new NoopScope());
+    AtomicBoolean holding = new AtomicBoolean();
+    DummyTaskExecutor executor =
+        new DummyTaskExecutor(slotSupplier) {
+          @Override
+          public void process(TestScalingTask task) {
+            if (holding.compareAndSet(false, true)) {
+              return;
+            }
+            super.process(task);
+          }
+        };
+
+    AsyncPoller.PollTaskAsync<TestScalingTask> pollTask =
+        Mockito.mock(AsyncPoller.PollTaskAsync.class);
+    Mockito.when(pollTask.getPollerType())
+        .thenReturn(PollerTypeMetricsTag.PollerType.ACTIVITY_TASK);
+    Mockito.when(pollTask.poll(Mockito.any()))
+        .then(
+            i -> {
+              polls.incrementAndGet();
+              return CompletableFuture.completedFuture(
+                  new TestScalingTask(i.getArgument(0), slotSupplier));
+            });
+
+    AsyncPoller<TestScalingTask> poller =
+        newPoller(
+            slotSupplier,
+            pollTask,
+            executor,
+            new PollerBehaviorAutoscaling(1, 5, 1),
+            new RootScopeBuilder()
+                .reporter(reporter)
+                .reportEvery(com.uber.m3.util.Duration.ofMillis(10)));
+    assertTrue(poller.start());
+    return poller;
+  }
+
+  /** Grants every reservation right away, but reports the given maximum number of slots. */
+  private static class ReportedMaximumSlotSupplier implements SlotSupplier<SlotInfo> {
+    private final int maximumSlots;
+
+    ReportedMaximumSlotSupplier(int maximumSlots) {
+      this.maximumSlots = maximumSlots;
+    }
+
+    @Override
+    public SlotSupplierFuture reserveSlot(SlotReserveContext<SlotInfo> ctx) {
+      return SlotSupplierFuture.completedFuture(new SlotPermit());
+    }
+
+    @Override
+    public Optional<SlotPermit> tryReserveSlot(SlotReserveContext<SlotInfo> ctx) {
+      return Optional.of(new SlotPermit());
+    }
+
+    @Override
+    public void markSlotUsed(SlotMarkUsedContext<SlotInfo> ctx) {}
+
+    @Override
+    public void releaseSlot(SlotReleaseContext<SlotInfo> ctx) {}
+
+    @Override
+    public Optional<Integer> getMaximumSlots() {
+      return Optional.of(maximumSlots);
+    }
+  }
 }
@@ -1,8 +1,10 @@
 package io.temporal.internal.worker;
 
+import com.uber.m3.tally.NoopScope;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.temporal.workflow.Functions;
+import java.util.concurrent.TimeUnit;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -66,4 +68,89 @@ public class PollScaleReportHandleTest {
     // Verify target poller count is updated and callback is invoked
     Mockito.verify(mockScaleCallback).apply(8);
   }
+
+  @Test
+  public void scaleUpOnBackloggedPollsWithFreeSlots() {
+    Functions.Proc1<Integer> mockScaleCallback = Mockito.mock(Functions.Proc1.class);
+    ScalingTask mockTask = Mockito.mock(ScalingTask.class);
+    PollScaleReportHandle<ScalingTask> handle =
+        new PollScaleReportHandle<>(1, 10, 2, mockScaleCallback, () -> true, new NoopScope());
+
+    // Polls that return a task right away, for two periods in a row
+    handle.report(mockTask, null, TimeUnit.MILLISECONDS.toNanos(10));
+    handle.run();
+    Mockito.verifyNoInteractions(mockScaleCallback);
+    handle.report(mockTask, null, TimeUnit.MILLISECONDS.toNanos(15));
+    handle.run();
+
+    Mockito.verify(mockScaleCallback).apply(3);
+  }
+
+  @Test
+  public void unusuallyFastPollDoesNotStopScaleUpForGood() {
+    Functions.Proc1<Integer> mockScaleCallback = Mockito.mock(Functions.Proc1.class);
+    ScalingTask mockTask = Mockito.mock(ScalingTask.class);
+    PollScaleReportHandle<ScalingTask> handle =
+        new PollScaleReportHandle<>(1, 10, 2, mockScaleCallback, () -> true, new NoopScope());
+
+    handle.report(mockTask, null, TimeUnit.MILLISECONDS.toNanos(1));
+    handle.run();
+    // Backlogged polls with the usual latency and jitter, not within 2x of the outlier
+    for (int i = 0; i < 49; i++) {
+      handle.report(mockTask, null, TimeUnit.MILLISECONDS.toNanos(i % 2 == 0 ? 10 : 14));
+      handle.run();
+    }
+    Mockito.verifyNoInteractions(mockScaleCallback);
+
+    // Once the outlier is out of the window, the same polls are recognized as backlogged
+    for (int i = 0; i < 3; i++) {
+      handle.report(mockTask, null, TimeUnit.MILLISECONDS.toNanos(i % 2 == 0 ? 10 : 14));
+      handle.run();
+    }
+    Mockito.verify(mockScaleCallback).apply(3);
+  }
+
+  @Test
+  public void noScaleUpWithoutFreeSlots() {
+    Functions.Proc1<Integer> mockScaleCallback = Mockito.mock(Functions.Proc1.class);
+    ScalingTask mockTask = Mockito.mock(ScalingTask.class);
+    PollScaleReportHandle<ScalingTask> handle =
+        new PollScaleReportHandle<>(1, 10, 2, mockScaleCallback, () -> false, new NoopScope());
+
+    for (int i = 0; i < 5; i++) {
+      handle.report(mockTask, null, TimeUnit.MILLISECONDS.toNanos(10));
+      handle.run();
+    }
+
+    Mockito.verifyNoInteractions(mockScaleCallback);
+  }
+
+  @Test
+  public void emptyPollsScaleDownOnlyAfterCooldown() {
+    Functions.Proc1<Integer> mockScaleCallback = Mockito.mock(Functions.Proc1.class);
+    ScalingTask mockTask = Mockito.mock(ScalingTask.class);
+    PollScaleReportHandle<ScalingTask> handle =
+        new PollScaleReportHandle<>(1, 10, 5, mockScaleCallback, () -> true, new NoopScope());
+
+    // Quiet task queue, even without scaling decisions from the server
+    handle.report(null, null, TimeUnit.SECONDS.toNanos(60));
+    Mockito.verify(mockScaleCallback).apply(4);
+    handle.run();
+
+    for (int i = 0; i < 2; i++) {
+      handle.report(mockTask, null, TimeUnit.MILLISECONDS.toNanos(10));
+      handle.run();
+    }
+    Mockito.verify(mockScaleCallback).apply(5);
+
+    // The pollers that were just added stay through a short lull
+    handle.report(null, null, TimeUnit.SECONDS.toNanos(60));
+    Mockito.verify(mockScaleCallback, Mockito.times(1)).apply(4);
+
+    for (int i = 0; i < 50; i++) {
+      handle.run();
+    }
+    handle.report(null, null, TimeUnit.SECONDS.toNanos(60));
+    Mockito.verify(mockScaleCallback, Mockito.times(2)).apply(4);
+  }
 }
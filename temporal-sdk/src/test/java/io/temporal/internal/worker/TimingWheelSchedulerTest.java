@@ -0,0 +1,105 @@
+package io.temporal.internal.worker;
+
+import static org.junit.Assert.*;
+
+import com.uber.m3.tally.NoopScope;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+
+public class TimingWheelSchedulerTest {
+  // a small wheel makes the tasks of the tests go around the wheel several times
+  private final TimingWheelScheduler scheduler =
+      new TimingWheelScheduler(Thread::new, Duration.ofMillis(1), 8, new NoopScope());
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void tasksAreExecutedAfterTheirDelay() throws Exception {
+    ConcurrentLinkedQueue<String> executed = new ConcurrentLinkedQueue<>();
+    long startNanos = System.nanoTime();
+    ScheduledFuture<?> late =
+        scheduler.schedule(() -> executed.add("late"), 60, TimeUnit.MILLISECONDS);
+    ScheduledFuture<String> early =
+        scheduler.schedule(() -> executed.add("early") ? "done" : null, 20, TimeUnit.MILLISECONDS);
+
+    assertEquals("done", early.get(5, TimeUnit.SECONDS));
+    late.get(5, TimeUnit.SECONDS);
+    assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(60));
+    assertArrayEquals(new String[] {"early", "late"}, executed.toArray());
+    assertEquals(0, scheduler.getScheduledTaskCount());
+  }
+
+  @Test
+  public void cancelledTasksAreNotExecuted() throws Exception {
+    AtomicInteger executed = new AtomicInteger();
+    ScheduledFuture<?> cancelled =
+        scheduler.schedule(executed::incrementAndGet, 30, TimeUnit.MILLISECONDS);
+    ScheduledFuture<?> notCancelled =
+        scheduler.schedule(executed::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+    assertEquals(2, scheduler.getScheduledTaskCount());
+
+    assertTrue(cancelled.cancel(false));
+    notCancelled.get(5, TimeUnit.SECONDS);
+    assertTrue(cancelled.isCancelled());
+    assertEquals(1, executed.get());
+    assertEquals(0, scheduler.getScheduledTaskCount());
+  }
+
+  @Test
+  public void periodicTasksAreRescheduled() throws Exception {
+    CountDownLatch executions = new CountDownLatch(5);
+    ScheduledFuture<?> periodic =
+        scheduler.scheduleAtFixedRate(executions::countDown, 0, 5, TimeUnit.MILLISECONDS);
+    assertTrue(executions.await(5, TimeUnit.SECONDS));
+    assertTrue(periodic.cancel(false));
+  }
+
+  @Test
+  public void tasksScheduledOnIdleWheelAreExecuted() throws Exception {
+    scheduler.schedule(() -> {}, 1, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    // the tick thread parks once the wheel is empty
+    Thread.sleep(50);
+
+    long startNanos = System.nanoTime();
+    scheduler.schedule(() -> {}, 20, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+    assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(20));
+    assertEquals(0, scheduler.getScheduledTaskCount());
+  }
+
+  @Test
+  public void shutdownExecutesScheduledTasks() throws Exception {
+    CountDownLatch executed = new CountDownLatch(1);
+    scheduler.schedule(executed::countDown, 30, TimeUnit.MILLISECONDS);
+    scheduler.shutdown();
+
+    assertTrue(scheduler.isShutdown());
+    assertThrows(
+        RejectedExecutionException.class,
+        () -> scheduler.schedule(() -> {}, 1, TimeUnit.MILLISECONDS));
+    assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    assertEquals(0, executed.getCount());
+  }
+
+  @Test
+  public void shutdownNowCancelsScheduledTasks() throws Exception {
+    ScheduledFuture<?> task = scheduler.schedule(() -> {}, 1, TimeUnit.HOURS);
+    scheduler.shutdownNow();
+
+    assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    assertTrue(task.isCancelled());
+    assertEquals(0, scheduler.getScheduledTaskCount());
+  }
+
+  @Test
+  public void unusedSchedulerTerminatesOnShutdown() {
+    TimingWheelScheduler unused = new TimingWheelScheduler(Thread::new, new NoopScope());
+    unused.shutdown();
+    assertTrue(unused.isTerminated());
+  }
+}
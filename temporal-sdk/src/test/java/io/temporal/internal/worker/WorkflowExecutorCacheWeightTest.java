@@ -0,0 +1,109 @@
+package io.temporal.internal.worker;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import com.uber.m3.tally.NoopScope;
+import com.uber.m3.tally.Scope;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.internal.replay.WorkflowRunTaskHandler;
+import org.junit.Test;
+
+public class WorkflowExecutorCacheWeightTest {
+  private final Scope scope = new NoopScope();
+  private final WorkflowRunLockManager runLockManager = new WorkflowRunLockManager();
+
+  @Test
+  public void evictsEntryReleasingMostBytesPerReplayedEvent() {
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(10, 1000, runLockManager, scope);
+    // 400 bytes over 100 events is cheaper to keep than 400 bytes over 10 events
+    WorkflowRunTaskHandler longHistory = addWeighted(cache, "run1", 400, 100);
+    WorkflowRunTaskHandler shortHistory = addWeighted(cache, "run2", 400, 10);
+    assertEquals(800, cache.weight());
+
+    addWeighted(cache, "run3", 400, 10);
+
+    assertEquals(2, cache.size());
+    assertEquals(800, cache.weight());
+    verify(shortHistory).close();
+    verify(longHistory, never()).close();
+  }
+
+  @Test
+  public void doesNotEvictWorkflowsInProcessing() throws InterruptedException {
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(10, 1000, runLockManager, scope);
+    WorkflowRunTaskHandler inProcessing = addWeighted(cache, "run1", 800, 10);
+    // the run lock is held by another worker thread for the whole test
+    Thread otherWorker = new Thread(() -> runLockManager.tryLock("run1"));
+    otherWorker.start();
+    otherWorker.join();
+
+    addWeighted(cache, "run2", 400, 10);
+
+    assertEquals(2, cache.size());
+    assertEquals(1200, cache.weight());
+    verify(inProcessing, never()).close();
+  }
+
+  @Test
+  public void invalidationReleasesWeight() {
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(10, 1000, runLockManager, scope);
+    addWeighted(cache, "run1", 300, 10);
+    addWeighted(cache, "run2", 200, 10);
+
+    cache.invalidate(execution("run1"), scope, "test", null);
+    assertEquals(200, cache.weight());
+
+    cache.invalidateAll();
+    assertEquals(0, cache.weight());
+  }
+
+  @Test
+  public void entryEvictedDuringWeightUpdateDoesNotKeepItsWeight() {
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(10, 1000, runLockManager, scope);
+    WorkflowExecution execution = execution("run1");
+    WorkflowRunTaskHandler handler = mock(WorkflowRunTaskHandler.class);
+    when(handler.getEstimatedRetainedSizeBytes()).thenReturn(300L);
+    // evicted after the cache membership check, before the weight is recorded
+    when(handler.getReplayedHistoryLength())
+        .then(
+            invocation -> {
+              cache.invalidate(execution, scope, "test", null);
+              return 10L;
+            });
+    cache.addToCache(execution, handler);
+
+    cache.updateWeight(execution, handler, scope);
+
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weight());
+  }
+
+  @Test
+  public void countBoundedCacheIgnoresWeight() {
+    WorkflowExecutorCache cache = new WorkflowExecutorCache(10, runLockManager, scope);
+    addWeighted(cache, "run1", Long.MAX_VALUE / 4, 10);
+    addWeighted(cache, "run2", Long.MAX_VALUE / 4, 10);
+
+    assertEquals(2, cache.size());
+    assertEquals(0, cache.weight());
+  }
+
+  private WorkflowRunTaskHandler addWeighted(
+      WorkflowExecutorCache cache, String runId, long weightBytes, long replayedHistoryLength) {
+    WorkflowRunTaskHandler handler = mock(WorkflowRunTaskHandler.class);
+    when(handler.getEstimatedRetainedSizeBytes()).thenReturn(weightBytes);
+    when(handler.getReplayedHistoryLength()).thenReturn(replayedHistoryLength);
+    WorkflowExecution execution = execution(runId);
+    cache.addToCache(execution, handler);
+    cache.updateWeight(execution, handler, scope);
+    return handler;
+  }
+
+  private static WorkflowExecution execution(String runId) {
+    return WorkflowExecution.newBuilder()
+        .setWorkflowId("workflow-" + runId)
+        .setRunId(runId)
+        .build();
+  }
+}
@@ -34,6 +34,44 @@ public class WorkflowRunLockManagerTest {
     assertArrayEquals(expectedTasks, finishedTasks.toArray(processedTasks));
   }
 
+  @Test
+  public void runsSharingStripeDoNotBlockEachOther() throws Exception {
+    WorkflowRunLockManager singleStripe = new WorkflowRunLockManager(1);
+    assertTrue(singleStripe.tryLock("run1"));
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      assertTrue(
+          executor
+              .submit(
+                  () -> {
+                    boolean locked = singleStripe.tryLock("run2", 1, TimeUnit.SECONDS);
+                    boolean lockedOther = singleStripe.tryLock("run1", 100, TimeUnit.MILLISECONDS);
+                    singleStripe.unlock("run2");
+                    return locked && !lockedOther;
+                  })
+              .get());
+    } finally {
+      executor.shutdown();
+    }
+    singleStripe.unlock("run1");
+    assertEquals(0, singleStripe.totalLocks());
+  }
+
+  @Test
+  public void lockIsReentrant() {
+    assertTrue(runLockManager.tryLock("run1"));
+    assertTrue(runLockManager.tryLock("run1"));
+    runLockManager.unlock("run1");
+    assertEquals(1, runLockManager.totalLocks());
+    runLockManager.unlock("run1");
+    assertEquals(0, runLockManager.totalLocks());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void unlockWithoutLockFails() {
+    runLockManager.unlock("run1");
+  }
+
   private String processTask(String runId, int taskId) {
     try {
       log.info("trying to get a lock runId " + runId + " taskId " + taskId);
@@ -0,0 +1,106 @@
+package io.temporal.payload.codec;
+
+import static org.junit.Assert.*;
+
+import com.google.protobuf.ByteString;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.EncodingKeys;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Test;
+
+public class Lz4PayloadCodecTest {
+  private final PayloadCodec codec = new Lz4PayloadCodec();
+  private final PayloadCodec codecWithoutThreshold = new Lz4PayloadCodec(0);
+
+  @Test
+  public void compressesRepetitiveData() {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      json.append("{\"id\":").append(i).append(",\"name\":\"customer-").append(i).append("\"},");
+    }
+    json.append("]");
+    Payload originalPayload = newPayload(json.toString().getBytes(StandardCharsets.UTF_8));
+
+    Payload encodedPayload = encode(originalPayload);
+
+    assertEquals(
+        Lz4PayloadCodec.METADATA_ENCODING_LZ4,
+        encodedPayload.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null));
+    assertTrue(encodedPayload.getSerializedSize() < originalPayload.getSerializedSize() / 2);
+    assertEquals(originalPayload, decode(encodedPayload));
+  }
+
+  @Test
+  public void leavesIncompressibleAndSmallPayloadsUnencoded() {
+    byte[] random = new byte[10_000];
+    new Random(42).nextBytes(random);
+    Payload randomPayload = newPayload(random);
+    assertSame(randomPayload, encode(randomPayload));
+
+    Payload smallPayload = newPayload(new byte[16]);
+    assertSame(smallPayload, encode(smallPayload));
+    assertSame(smallPayload, decode(smallPayload));
+  }
+
+  @Test
+  public void roundTripsDataOfDifferentShapes() {
+    Random random = new Random(7);
+    for (int size : new int[] {0, 1, 12, 13, 17, 64, 255, 256, 1000, 70_000, 300_000}) {
+      byte[] data = new byte[size];
+      for (int i = 0; i < size; i++) {
+        // runs of repeated bytes produce overlapping matches, random bytes produce literals
+        data[i] = i % 100 < 60 ? (byte) (i / 100) : (byte) random.nextInt();
+      }
+      Payload originalPayload = newPayload(data);
+      Payload encodedPayload =
+          codecWithoutThreshold.encode(Collections.singletonList(originalPayload)).get(0);
+      if (size >= 1000) {
+        assertEquals(
+            Lz4PayloadCodec.METADATA_ENCODING_LZ4,
+            encodedPayload.getMetadataOrDefault(EncodingKeys.METADATA_ENCODING_KEY, null));
+      }
+      assertEquals("size " + size, originalPayload, decode(encodedPayload));
+    }
+  }
+
+  @Test
+  public void rejectsMalformedData() {
+    Payload malformed =
+        Payload.newBuilder()
+            .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, Lz4PayloadCodec.METADATA_ENCODING_LZ4)
+            .setData(ByteString.copyFrom(new byte[] {100, (byte) 0xF0, 1, 2}))
+            .build();
+    assertThrows(PayloadCodecException.class, () -> decode(malformed));
+  }
+
+  @Test
+  public void rejectsDecodedSizeAboveMaximumExpansion() {
+    // varint header claiming Integer.MAX_VALUE bytes followed by a few bytes of a block
+    Payload forged =
+        Payload.newBuilder()
+            .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, Lz4PayloadCodec.METADATA_ENCODING_LZ4)
+            .setData(
+                ByteString.copyFrom(
+                    new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0, 1, 2}))
+            .build();
+    PayloadCodecException e = assertThrows(PayloadCodecException.class, () -> decode(forged));
+    assertTrue(e.getMessage(), e.getMessage().contains("exceeds the maximum"));
+  }
+
+  private Payload encode(Payload payload) {
+    return codec.encode(Collections.singletonList(payload)).get(0);
+  }
+
+  private Payload decode(Payload payload) {
+    return codec.decode(Collections.singletonList(payload)).get(0);
+  }
+
+  private static Payload newPayload(byte[] data) {
+    return Payload.newBuilder()
+        .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ByteString.copyFromUtf8("json/plain"))
+        .setData(ByteString.copyFrom(data))
+        .build();
+  }
+}
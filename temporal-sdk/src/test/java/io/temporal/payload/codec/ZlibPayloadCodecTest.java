@@ -2,12 +2,14 @@ package io.temporal.payload.codec;
 
 import static org.junit.Assert.*;
 
+import com.google.common.base.Strings;
 import com.google.protobuf.ByteString;
 import io.temporal.api.common.v1.Payload;
 import io.temporal.common.converter.EncodingKeys;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.Deflater;
 import org.junit.Test;
 
 public class ZlibPayloadCodecTest {
@@ -50,4 +52,26 @@ public class ZlibPayloadCodecTest {
     Payload decodedPayload = decodedPayloads.get(0);
     assertEquals(originalPayload, decodedPayload);
   }
+
+  @Test
+  public void payloadsBelowThresholdAreNotCompressed() {
+    PayloadCodec codecWithThreshold = new ZlibPayloadCodec(Deflater.DEFAULT_COMPRESSION, 1024);
+    ByteString bytes = ByteString.copyFrom("11111111111", StandardCharsets.UTF_8);
+    Payload originalPayload = Payload.newBuilder().setData(bytes).build();
+
+    List<Payload> encodedPayloads =
+        codecWithThreshold.encode(Collections.singletonList(originalPayload));
+    assertSame(originalPayload, encodedPayloads.get(0));
+  }
+
+  @Test
+  public void pooledDeflatersProduceIndependentResults() {
+    for (int i = 0; i < 100; i++) {
+      ByteString bytes =
+          ByteString.copyFrom(Strings.repeat("payload" + i, i + 1), StandardCharsets.UTF_8);
+      Payload originalPayload = Payload.newBuilder().setData(bytes).build();
+      List<Payload> encodedPayloads = codec.encode(Collections.singletonList(originalPayload));
+      assertEquals(originalPayload, codec.decode(encodedPayloads).get(0));
+    }
+  }
 }
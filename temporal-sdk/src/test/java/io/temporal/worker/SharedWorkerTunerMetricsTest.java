@@ -0,0 +1,56 @@
+package io.temporal.worker;
+
+import static io.temporal.testing.internal.SDKTestWorkflowRule.NAMESPACE;
+
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.util.ImmutableMap;
+import io.temporal.common.reporter.TestStatsReporter;
+import io.temporal.serviceclient.MetricsTag;
+import io.temporal.testUtils.Eventually;
+import io.temporal.testing.internal.SDKTestWorkflowRule;
+import io.temporal.worker.tuning.*;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class SharedWorkerTunerMetricsTest {
+  private final TestStatsReporter reporter = new TestStatsReporter();
+
+  @Rule
+  public SDKTestWorkflowRule testWorkflowRule =
+      SDKTestWorkflowRule.newBuilder()
+          .setWorkerOptions(
+              WorkerOptions.newBuilder()
+                  .setWorkerTuner(
+                      new SharedWorkerTuner(
+                              new CompositeTuner(
+                                  new FixedSizeSlotSupplier<>(10),
+                                  new LatencyBasedSlotSupplier<>(
+                                      LatencyBasedSlotOptions.newBuilder()
+                                          .setInitialSlots(7)
+                                          .build()),
+                                  new FixedSizeSlotSupplier<>(10),
+                                  new FixedSizeSlotSupplier<>(10)))
+                          .newShare())
+                  .build())
+          .setMetricsScope(
+              new RootScopeBuilder()
+                  .reporter(reporter)
+                  .reportEvery(com.uber.m3.util.Duration.ofMillis(10)))
+          .setDoNotStart(true)
+          .build();
+
+  @Test
+  public void budgetMetricsAreNotTaggedWithTaskQueue() {
+    Map<String, String> budgetTags =
+        ImmutableMap.of(
+            MetricsTag.NAMESPACE,
+            NAMESPACE,
+            MetricsTag.WORKER_TYPE,
+            WorkerMetricsTag.WorkerType.ACTIVITY_WORKER.getValue());
+    Eventually.assertEventually(
+        Duration.ofSeconds(2),
+        () -> reporter.assertGauge(MetricsType.LATENCY_SLOTS_LIMIT, budgetTags, 7));
+  }
+}
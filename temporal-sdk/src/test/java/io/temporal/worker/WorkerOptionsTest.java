@@ -91,6 +91,33 @@ public class WorkerOptionsTest {
     assertEquals(w1.getIdentity(), w2.getIdentity());
   }
 
+  @Test
+  public void workflowHistoryPrefetchMaxBytes() {
+    assertEquals(
+        8 * 1024 * 1024, WorkerOptions.newBuilder().build().getWorkflowHistoryPrefetchMaxBytes());
+    assertEquals(
+        8 * 1024 * 1024,
+        WorkerOptions.newBuilder()
+            .validateAndBuildWithDefaults()
+            .getWorkflowHistoryPrefetchMaxBytes());
+    assertEquals(
+        0,
+        WorkerOptions.newBuilder()
+            .setWorkflowHistoryPrefetchMaxBytes(0)
+            .validateAndBuildWithDefaults()
+            .getWorkflowHistoryPrefetchMaxBytes());
+    WorkerOptions disabled =
+        WorkerOptions.newBuilder().setWorkflowHistoryPrefetchMaxBytes(0).build();
+    assertEquals(
+        0,
+        WorkerOptions.newBuilder(disabled)
+            .validateAndBuildWithDefaults()
+            .getWorkflowHistoryPrefetchMaxBytes());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> WorkerOptions.newBuilder().setWorkflowHistoryPrefetchMaxBytes(-1));
+  }
+
   @Test
   public void canBuildMixedSlotSupplierTuner() {
     ResourceBasedController resourceController =
@@ -0,0 +1,161 @@
+package io.temporal.worker.tuning;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CgroupSystemResourceInfoTest {
+  private static final double DELTA = 0.0001;
+  private static final long GB = 1024L * 1024 * 1024;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+  // /proc/self of the process, empty unless a test writes the cgroup and mountinfo files
+  @Rule public TemporaryFolder procSelf = new TemporaryFolder();
+
+  private final AtomicLong nanoClock = new AtomicLong();
+
+  @Test
+  public void cgroupV2CpuUsageIsRelativeToTheQuota() throws IOException {
+    Path root = folder.getRoot().toPath();
+    write(root.resolve("cgroup.controllers"), "cpu memory");
+    write(root.resolve("cpu.max"), "200000 100000");
+    write(root.resolve("cpu.stat"), "usage_usec 1000000\nnr_periods 100\nnr_throttled 0");
+    CgroupSystemResourceInfo info = newResourceInfo(root);
+
+    // 0.5s of CPU time in 1s with a quota of 2 CPUs
+    write(root.resolve("cpu.stat"), "usage_usec 1500000\nnr_periods 110\nnr_throttled 0");
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    info.refresh();
+    assertEquals(0.25, info.getCPUUsagePercent(), DELTA);
+
+    // throttled in half of the periods
+    write(root.resolve("cpu.stat"), "usage_usec 2000000\nnr_periods 120\nnr_throttled 5");
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    info.refresh();
+    assertEquals(0.5, info.getCPUUsagePercent(), DELTA);
+  }
+
+  @Test
+  public void cgroupV2MemoryUsageExcludesInactiveFileCache() throws IOException {
+    Path root = folder.getRoot().toPath();
+    write(root.resolve("cgroup.controllers"), "cpu memory");
+    write(root.resolve("memory.max"), String.valueOf(GB));
+    write(root.resolve("memory.current"), String.valueOf(GB));
+    write(root.resolve("memory.stat"), "anon 1000\ninactive_file " + GB / 10);
+    CgroupSystemResourceInfo info = newResourceInfo(root);
+
+    assertEquals(0.9, info.getMemoryUsagePercent(), DELTA);
+  }
+
+  @Test
+  public void cgroupV2OfTheProcessIsResolvedWithoutCgroupNamespace() throws IOException {
+    Path root = folder.getRoot().toPath();
+    // the host root cgroup, without the memory files
+    write(root.resolve("cgroup.controllers"), "cpu memory");
+    write(root.resolve("cpu.stat"), "usage_usec 1000000000");
+    Path container = Files.createDirectories(root.resolve("kubepods/pod1/container1"));
+    write(container.resolve("cgroup.controllers"), "cpu memory");
+    write(container.resolve("cpu.max"), "100000 100000");
+    write(container.resolve("cpu.stat"), "usage_usec 1000000");
+    write(container.resolve("memory.max"), String.valueOf(GB));
+    write(container.resolve("memory.current"), String.valueOf(GB / 4 * 3));
+    Path proc = procSelf.getRoot().toPath();
+    write(proc.resolve("cgroup"), "0::/kubepods/pod1/container1");
+    write(
+        proc.resolve("mountinfo"),
+        "22 1 8:1 / / rw,relatime - ext4 /dev/sda1 rw\n"
+            + "30 22 0:26 / /sys/fs/cgroup rw,nosuid shared:4 - cgroup2 cgroup2 rw,nsdelegate");
+    CgroupSystemResourceInfo info = newResourceInfo(root);
+    assertEquals(0.75, info.getMemoryUsagePercent(), DELTA);
+
+    write(container.resolve("cpu.stat"), "usage_usec 1600000");
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    info.refresh();
+    assertEquals(0.6, info.getCPUUsagePercent(), DELTA);
+  }
+
+  @Test
+  public void cgroupV1OfTheProcessIsResolvedUnderTheMountRoot() throws IOException {
+    Path root = folder.getRoot().toPath();
+    Files.createDirectories(root.resolve("cpu,cpuacct"));
+    Path memory = Files.createDirectories(root.resolve("memory/container1"));
+    write(memory.resolve("memory.limit_in_bytes"), String.valueOf(2 * GB));
+    write(memory.resolve("memory.usage_in_bytes"), String.valueOf(GB + GB / 2));
+    Path proc = procSelf.getRoot().toPath();
+    write(proc.resolve("cgroup"), "4:cpu,cpuacct:/docker/container0\n7:memory:/docker/container1");
+    // only the /docker subtree of the memory hierarchy is mounted
+    write(
+        proc.resolve("mountinfo"),
+        "40 30 0:35 /docker /sys/fs/cgroup/memory rw - cgroup cgroup rw,memory");
+    CgroupSystemResourceInfo info = newResourceInfo(root);
+
+    assertEquals(0.75, info.getMemoryUsagePercent(), DELTA);
+  }
+
+  @Test
+  public void malformedCpuMaxIsTreatedAsNoQuota() throws IOException {
+    Path root = folder.getRoot().toPath();
+    write(root.resolve("cgroup.controllers"), "cpu memory");
+    write(root.resolve("cpu.max"), "unlimited 100000");
+    write(root.resolve("cpu.stat"), "usage_usec 0");
+    CgroupSystemResourceInfo info = newResourceInfo(root);
+
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    info.refresh();
+    assertTrue(info.getCPUUsagePercent() >= 0 && info.getCPUUsagePercent() <= 1);
+  }
+
+  @Test
+  public void cgroupV1UsageIsRead() throws IOException {
+    Path root = folder.getRoot().toPath();
+    Path cpu = Files.createDirectories(root.resolve("cpu,cpuacct"));
+    Path memory = Files.createDirectories(root.resolve("memory"));
+    write(cpu.resolve("cpu.cfs_quota_us"), "100000");
+    write(cpu.resolve("cpu.cfs_period_us"), "100000");
+    write(cpu.resolve("cpuacct.usage"), "0");
+    write(memory.resolve("memory.limit_in_bytes"), String.valueOf(2 * GB));
+    write(memory.resolve("memory.usage_in_bytes"), String.valueOf(GB + GB / 2));
+    write(memory.resolve("memory.stat"), "total_inactive_file 0");
+    CgroupSystemResourceInfo info = newResourceInfo(root);
+    assertEquals(0.75, info.getMemoryUsagePercent(), DELTA);
+
+    write(cpu.resolve("cpuacct.usage"), String.valueOf(TimeUnit.MILLISECONDS.toNanos(800)));
+    nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    info.refresh();
+    assertEquals(0.8, info.getCPUUsagePercent(), DELTA);
+  }
+
+  @Test
+  public void usageIsWithinBoundsWithoutCgroup() {
+    CgroupSystemResourceInfo info = newResourceInfo(folder.getRoot().toPath());
+    info.refresh();
+    assertTrue(info.getCPUUsagePercent() >= 0 && info.getCPUUsagePercent() <= 1);
+    assertTrue(info.getMemoryUsagePercent() > 0 && info.getMemoryUsagePercent() <= 1);
+  }
+
+  private CgroupSystemResourceInfo newResourceInfo(Path root) {
+    // the test refreshes explicitly instead of on a tick
+    return new CgroupSystemResourceInfo(
+        root,
+        procSelf.getRoot().toPath(),
+        Duration.ofMillis(100),
+        false,
+        mock(ScheduledExecutorService.class),
+        nanoClock::get);
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
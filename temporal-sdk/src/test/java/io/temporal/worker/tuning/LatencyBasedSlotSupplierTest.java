@@ -0,0 +1,117 @@
+package io.temporal.worker.tuning;
+
+import static org.junit.Assert.*;
+
+import com.uber.m3.tally.NoopScope;
+import io.temporal.internal.worker.SlotReservationData;
+import io.temporal.internal.worker.TrackingSlotSupplier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class LatencyBasedSlotSupplierTest {
+  private static final SlotReservationData RESERVATION_DATA =
+      new SlotReservationData("queue", "worker", "build");
+  private static final ActivitySlotInfo SLOT_INFO = new ActivitySlotInfo(null, "worker", "build");
+
+  private final AtomicLong nanoClock = new AtomicLong();
+
+  @Test
+  public void limitGrowsWhileLatencyIsStable() {
+    LatencyBasedSlotSupplier<ActivitySlotInfo> supplier = newSupplier(4, 1.5);
+    TrackingSlotSupplier<ActivitySlotInfo> trackingSS =
+        new TrackingSlotSupplier<>(supplier, new NoopScope());
+
+    assertEquals(4, runTasks(trackingSS, Integer.MAX_VALUE, Duration.ofSeconds(1)));
+    assertEquals(6, supplier.getCurrentLimit());
+    assertEquals(6, runTasks(trackingSS, Integer.MAX_VALUE, Duration.ofSeconds(1)));
+    assertEquals(8, supplier.getCurrentLimit());
+  }
+
+  @Test
+  public void limitShrinksWhenLatencyGrows() {
+    LatencyBasedSlotSupplier<ActivitySlotInfo> supplier = newSupplier(10, 1);
+    TrackingSlotSupplier<ActivitySlotInfo> trackingSS =
+        new TrackingSlotSupplier<>(supplier, new NoopScope());
+
+    runTasks(trackingSS, Integer.MAX_VALUE, Duration.ofSeconds(1));
+    int limit = supplier.getCurrentLimit();
+
+    runTasks(trackingSS, Integer.MAX_VALUE, Duration.ofSeconds(4));
+    runTasks(trackingSS, Integer.MAX_VALUE, Duration.ofSeconds(4));
+    assertTrue(supplier.getCurrentLimit() < limit);
+    assertTrue(supplier.getEstimatedQueue() > 0);
+  }
+
+  @Test
+  public void limitDoesntGrowWhileUnderused() {
+    LatencyBasedSlotSupplier<ActivitySlotInfo> supplier = newSupplier(10, 1.5);
+    TrackingSlotSupplier<ActivitySlotInfo> trackingSS =
+        new TrackingSlotSupplier<>(supplier, new NoopScope());
+
+    for (int i = 0; i < 3; i++) {
+      runTasks(trackingSS, 2, Duration.ofSeconds(1));
+    }
+    assertEquals(10, supplier.getCurrentLimit());
+  }
+
+  @Test
+  public void abortedReservationsDontTakeSlots() throws Exception {
+    LatencyBasedSlotSupplier<ActivitySlotInfo> supplier = newSupplier(1, 1.5);
+    TrackingSlotSupplier<ActivitySlotInfo> trackingSS =
+        new TrackingSlotSupplier<>(supplier, new NoopScope());
+    SlotPermit firstPermit = trackingSS.reserveSlot(RESERVATION_DATA).get();
+    SlotSupplierFuture secondSlotFuture = trackingSS.reserveSlot(RESERVATION_DATA);
+    SlotSupplierFuture thirdSlotFuture = trackingSS.reserveSlot(RESERVATION_DATA);
+    assertFalse(secondSlotFuture.isDone());
+    assertFalse(trackingSS.tryReserveSlot(RESERVATION_DATA).isPresent());
+
+    assertNull(secondSlotFuture.abortReservation());
+    trackingSS.releaseSlot(SlotReleaseReason.neverUsed(), firstPermit);
+
+    assertNotNull(thirdSlotFuture.get(5, TimeUnit.SECONDS));
+    assertEquals(1, trackingSS.getIssuedSlots());
+  }
+
+  private LatencyBasedSlotSupplier<ActivitySlotInfo> newSupplier(
+      int initialSlots, double latencyTolerance) {
+    return new LatencyBasedSlotSupplier<>(
+        LatencyBasedSlotOptions.newBuilder()
+            .setInitialSlots(initialSlots)
+            .setMaximumSlots(100)
+            .setSampleWindow(Duration.ofSeconds(1))
+            .setLatencyTolerance(latencyTolerance)
+            .setSmoothing(1)
+            .build(),
+        nanoClock::get);
+  }
+
+  /**
+   * Runs up to {@code maxTasks} tasks at once on all the slots that can be reserved
+   *
+   * @return number of the tasks that were run
+   */
+  private int runTasks(
+      TrackingSlotSupplier<ActivitySlotInfo> trackingSS, int maxTasks, Duration latency) {
+    List<SlotPermit> permits = new ArrayList<>();
+    while (permits.size() < maxTasks) {
+      Optional<SlotPermit> permit = trackingSS.tryReserveSlot(RESERVATION_DATA);
+      if (!permit.isPresent()) {
+        break;
+      }
+      permits.add(permit.get());
+    }
+    for (SlotPermit permit : permits) {
+      trackingSS.markSlotUsed(SLOT_INFO, permit);
+    }
+    nanoClock.addAndGet(latency.toNanos());
+    for (SlotPermit permit : permits) {
+      trackingSS.releaseSlot(SlotReleaseReason.taskComplete(), permit);
+    }
+    return permits.size();
+  }
+}
@@ -0,0 +1,173 @@
+package io.temporal.worker.tuning;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.uber.m3.tally.NoopScope;
+import io.temporal.internal.worker.SlotReservationData;
+import io.temporal.internal.worker.TrackingSlotSupplier;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class ResourceBasedSlotSupplierTest {
+  private static final SlotReservationData RESERVATION_DATA =
+      new SlotReservationData("queue", "worker", "build");
+
+  private final AtomicBoolean allow = new AtomicBoolean(true);
+  private final AtomicInteger pidDecisions = new AtomicInteger();
+  private ResourceBasedController controller;
+  private ScheduledExecutorService scheduler;
+
+  @Before
+  public void setUp() {
+    controller =
+        new ResourceBasedController(
+            ResourceBasedControllerOptions.newBuilder(0.5, 0.5).build(),
+            new JVMSystemResourceInfo()) {
+          @Override
+          boolean pidDecision() {
+            pidDecisions.incrementAndGet();
+            return allow.get();
+          }
+        };
+    scheduler = mock(ScheduledExecutorService.class);
+    doReturn(mock(ScheduledFuture.class))
+        .when(scheduler)
+        .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void releasedSlotsGoToTheOldestWaiter() throws Exception {
+    TrackingSlotSupplier<ActivitySlotInfo> slots = activitySlots(0, 2);
+    List<SlotPermit> permits = reserve(slots, 2);
+
+    SlotSupplierFuture first = slots.reserveSlot(RESERVATION_DATA);
+    SlotSupplierFuture second = slots.reserveSlot(RESERVATION_DATA);
+    assertFalse(first.isDone());
+    // new reservations don't overtake the waiting ones
+    assertFalse(slots.tryReserveSlot(RESERVATION_DATA).isPresent());
+
+    slots.releaseSlot(SlotReleaseReason.taskComplete(), permits.get(0));
+    assertTrue(first.isDone());
+    assertFalse(second.isDone());
+
+    slots.releaseSlot(SlotReleaseReason.taskComplete(), permits.get(1));
+    assertTrue(second.isDone());
+  }
+
+  @Test
+  public void slotsReleasedByOtherSuppliersWakeUpWaiters() throws Exception {
+    TrackingSlotSupplier<ActivitySlotInfo> activitySlots = activitySlots(0, 10);
+    TrackingSlotSupplier<WorkflowSlotInfo> workflowSlots =
+        new TrackingSlotSupplier<>(
+            ResourceBasedSlotSupplier.createForWorkflow(controller, options(1, 10), scheduler),
+            new NoopScope());
+    SlotPermit workflowPermit = workflowSlots.reserveSlot(RESERVATION_DATA).get();
+
+    allow.set(false);
+    SlotSupplierFuture waiting = activitySlots.reserveSlot(RESERVATION_DATA);
+    assertFalse(waiting.isDone());
+
+    allow.set(true);
+    workflowSlots.releaseSlot(SlotReleaseReason.taskComplete(), workflowPermit);
+    assertTrue(waiting.isDone());
+  }
+
+  @Test
+  public void waitersRecheckResourcesPeriodically() throws Exception {
+    TrackingSlotSupplier<ActivitySlotInfo> slots = activitySlots(0, 10);
+    allow.set(false);
+    SlotSupplierFuture first = slots.reserveSlot(RESERVATION_DATA);
+    SlotSupplierFuture second = slots.reserveSlot(RESERVATION_DATA);
+
+    // one wake-up for all the waiters instead of a polling task per reservation
+    ArgumentCaptor<Runnable> wakeUp = ArgumentCaptor.forClass(Runnable.class);
+    verify(scheduler, times(1)).schedule(wakeUp.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+    int decisionsBefore = pidDecisions.get();
+    wakeUp.getValue().run();
+    assertFalse(first.isDone());
+    // only the oldest waiter checks the resources
+    assertEquals(decisionsBefore + 1, pidDecisions.get());
+
+    allow.set(true);
+    verify(scheduler, times(2)).schedule(wakeUp.capture(), eq(100L), eq(TimeUnit.MILLISECONDS));
+    wakeUp.getValue().run();
+    assertTrue(first.isDone());
+    assertTrue(second.isDone());
+  }
+
+  @Test
+  public void abortedReservationsDontTakeSlots() throws Exception {
+    TrackingSlotSupplier<ActivitySlotInfo> slots = activitySlots(0, 1);
+    SlotPermit permit = reserve(slots, 1).get(0);
+
+    SlotSupplierFuture aborted = slots.reserveSlot(RESERVATION_DATA);
+    SlotSupplierFuture waiting = slots.reserveSlot(RESERVATION_DATA);
+    assertNull(aborted.abortReservation());
+
+    slots.releaseSlot(SlotReleaseReason.taskComplete(), permit);
+    assertTrue(waiting.isDone());
+    assertEquals(1, slots.getIssuedSlots());
+  }
+
+  @Test
+  public void slotsGrantedToWaitersCountBeforeTheirFuturesComplete() throws Exception {
+    ResourceBasedSlotSupplier<ActivitySlotInfo> supplier =
+        ResourceBasedSlotSupplier.createForActivity(controller, options(0, 2), scheduler);
+    // the context doesn't count the slots granted to the waiters, as if their futures haven't
+    // completed yet
+    @SuppressWarnings("unchecked")
+    SlotReserveContext<ActivitySlotInfo> ctx = mock(SlotReserveContext.class);
+    when(ctx.getNumIssuedSlots()).thenReturn(1);
+
+    allow.set(false);
+    SlotSupplierFuture first = supplier.reserveSlot(ctx);
+    SlotSupplierFuture second = supplier.reserveSlot(ctx);
+    // a hand-off running while the first grant is being completed
+    first.thenRun(controller::onSlotReleased);
+
+    allow.set(true);
+    controller.onSlotReleased();
+    assertTrue(first.isDone());
+    assertFalse(second.isDone());
+  }
+
+  private TrackingSlotSupplier<ActivitySlotInfo> activitySlots(int minimumSlots, int maximumSlots) {
+    return new TrackingSlotSupplier<>(
+        ResourceBasedSlotSupplier.createForActivity(
+            controller, options(minimumSlots, maximumSlots), scheduler),
+        new NoopScope());
+  }
+
+  private static ResourceBasedSlotOptions options(int minimumSlots, int maximumSlots) {
+    return ResourceBasedSlotOptions.newBuilder()
+        // negative to bypass the default minimum
+        .setMinimumSlots(minimumSlots == 0 ? -1 : minimumSlots)
+        .setMaximumSlots(maximumSlots)
+        .setRampThrottle(Duration.ZERO)
+        .build();
+  }
+
+  private static List<SlotPermit> reserve(
+      TrackingSlotSupplier<ActivitySlotInfo> slotSupplier, int slots) throws Exception {
+    List<SlotPermit> permits = new ArrayList<>();
+    for (int i = 0; i < slots; i++) {
+      SlotSupplierFuture future = slotSupplier.reserveSlot(RESERVATION_DATA);
+      assertTrue(future.isDone());
+      permits.add(future.get());
+    }
+    return permits;
+  }
+}
@@ -0,0 +1,154 @@
+package io.temporal.worker.tuning;
+
+import static org.junit.Assert.*;
+
+import com.uber.m3.tally.NoopScope;
+import io.temporal.internal.worker.SlotReservationData;
+import io.temporal.internal.worker.TrackingSlotSupplier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class SharedWorkerTunerTest {
+  private static final SlotReservationData RESERVATION_DATA =
+      new SlotReservationData("queue", "worker", "build");
+
+  @Test
+  public void idleSharesLeaveTheBudgetToBusyOnes() throws Exception {
+    SharedWorkerTuner tuner = newTuner(4);
+    TrackingSlotSupplier<ActivitySlotInfo> busy = activitySlots(tuner.newShare());
+    TrackingSlotSupplier<ActivitySlotInfo> idle = activitySlots(tuner.newShare());
+
+    List<SlotPermit> permits = reserve(busy, 4);
+    SlotSupplierFuture overBudget = busy.reserveSlot(RESERVATION_DATA);
+    assertFalse(overBudget.isDone());
+
+    SlotSupplierFuture idleReservation = idle.reserveSlot(RESERVATION_DATA);
+    assertFalse(idleReservation.isDone());
+    busy.releaseSlot(SlotReleaseReason.taskComplete(), permits.get(0));
+    // the share that uses fewer slots goes first
+    assertTrue(idleReservation.isDone());
+    assertFalse(overBudget.isDone());
+
+    idle.releaseSlot(SlotReleaseReason.neverUsed(), idleReservation.get());
+    assertTrue(overBudget.isDone());
+  }
+
+  @Test
+  public void budgetSlotsAreSharedInProportionToWeights() throws Exception {
+    SharedWorkerTuner tuner = newTuner(6);
+    TrackingSlotSupplier<ActivitySlotInfo> light = activitySlots(tuner.newShare());
+    TrackingSlotSupplier<ActivitySlotInfo> heavy =
+        activitySlots(tuner.newShare(SlotShareOptions.newBuilder().setWeight(2).build()));
+
+    List<SlotPermit> permits = reserve(light, 6);
+    List<SlotSupplierFuture> lightReservations = new ArrayList<>();
+    List<SlotSupplierFuture> heavyReservations = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      lightReservations.add(light.reserveSlot(RESERVATION_DATA));
+      heavyReservations.add(heavy.reserveSlot(RESERVATION_DATA));
+    }
+    for (SlotPermit permit : permits) {
+      light.releaseSlot(SlotReleaseReason.taskComplete(), permit);
+    }
+
+    assertEquals(2, lightReservations.stream().filter(SlotSupplierFuture::isDone).count());
+    assertEquals(4, heavyReservations.stream().filter(SlotSupplierFuture::isDone).count());
+  }
+
+  @Test
+  public void minimumSlotsDontNeedTheBudget() throws Exception {
+    SharedWorkerTuner tuner = newTuner(1);
+    TrackingSlotSupplier<ActivitySlotInfo> first = activitySlots(tuner.newShare());
+    TrackingSlotSupplier<ActivitySlotInfo> second =
+        activitySlots(tuner.newShare(SlotShareOptions.newBuilder().setMinimumSlots(2).build()));
+
+    reserve(first, 1);
+    List<SlotPermit> permits = reserve(second, 2);
+    SlotSupplierFuture waiting = second.reserveSlot(RESERVATION_DATA);
+    assertFalse(waiting.isDone());
+    assertFalse(second.tryReserveSlot(RESERVATION_DATA).isPresent());
+
+    // a released minimum slot goes to the waiting reservation of the same share
+    second.releaseSlot(SlotReleaseReason.taskComplete(), permits.get(0));
+    assertTrue(waiting.isDone());
+  }
+
+  @Test
+  public void budgetSlotsStayBudgetSlotsWhenMinimumSlotsAreReleased() throws Exception {
+    SharedWorkerTuner tuner = newTuner(2);
+    TrackingSlotSupplier<ActivitySlotInfo> withMinimum =
+        activitySlots(tuner.newShare(SlotShareOptions.newBuilder().setMinimumSlots(1).build()));
+    TrackingSlotSupplier<ActivitySlotInfo> other = activitySlots(tuner.newShare());
+
+    // one minimum slot and the whole budget
+    List<SlotPermit> permits = reserve(withMinimum, 3);
+    withMinimum.releaseSlot(SlotReleaseReason.taskComplete(), permits.get(0));
+    // the released minimum slot is taken again without the budget
+    reserve(withMinimum, 1);
+
+    SlotSupplierFuture overMinimum = withMinimum.reserveSlot(RESERVATION_DATA);
+    SlotSupplierFuture otherReservation = other.reserveSlot(RESERVATION_DATA);
+    withMinimum.releaseSlot(SlotReleaseReason.taskComplete(), permits.get(1));
+    // the budget slots still held count towards the usage of the share
+    assertTrue(otherReservation.isDone());
+    assertFalse(overMinimum.isDone());
+  }
+
+  @Test
+  public void sharesDontGoOverTheirMaximum() throws Exception {
+    SharedWorkerTuner tuner = newTuner(4);
+    TrackingSlotSupplier<ActivitySlotInfo> limited =
+        activitySlots(tuner.newShare(SlotShareOptions.newBuilder().setMaximumSlots(1).build()));
+    TrackingSlotSupplier<ActivitySlotInfo> other = activitySlots(tuner.newShare());
+    assertEquals(Optional.of(1), limited.maximumSlots());
+    assertEquals(Optional.of(4), other.maximumSlots());
+
+    SlotPermit permit = reserve(limited, 1).get(0);
+    SlotSupplierFuture overMaximum = limited.reserveSlot(RESERVATION_DATA);
+    assertFalse(overMaximum.isDone());
+    reserve(other, 3);
+
+    limited.releaseSlot(SlotReleaseReason.taskComplete(), permit);
+    assertTrue(overMaximum.isDone());
+  }
+
+  @Test
+  public void abortedReservationsDontTakeBudgetSlots() throws Exception {
+    SharedWorkerTuner tuner = newTuner(1);
+    TrackingSlotSupplier<ActivitySlotInfo> first = activitySlots(tuner.newShare());
+    TrackingSlotSupplier<ActivitySlotInfo> second = activitySlots(tuner.newShare());
+
+    SlotPermit permit = reserve(first, 1).get(0);
+    SlotSupplierFuture aborted = second.reserveSlot(RESERVATION_DATA);
+    assertNull(aborted.abortReservation());
+    first.releaseSlot(SlotReleaseReason.taskComplete(), permit);
+
+    assertEquals(1, reserve(first, 1).size());
+  }
+
+  private static SharedWorkerTuner newTuner(int activitySlots) {
+    return new SharedWorkerTuner(
+        new CompositeTuner(
+            new FixedSizeSlotSupplier<>(10),
+            new FixedSizeSlotSupplier<>(activitySlots),
+            new FixedSizeSlotSupplier<>(10),
+            new FixedSizeSlotSupplier<>(10)));
+  }
+
+  private static TrackingSlotSupplier<ActivitySlotInfo> activitySlots(WorkerTuner share) {
+    return new TrackingSlotSupplier<>(share.getActivityTaskSlotSupplier(), new NoopScope());
+  }
+
+  private static List<SlotPermit> reserve(
+      TrackingSlotSupplier<ActivitySlotInfo> slotSupplier, int slots) throws Exception {
+    List<SlotPermit> permits = new ArrayList<>();
+    for (int i = 0; i < slots; i++) {
+      SlotSupplierFuture future = slotSupplier.reserveSlot(RESERVATION_DATA);
+      assertTrue(future.isDone());
+      permits.add(future.get());
+    }
+    return permits;
+  }
+}
@@ -1,6 +1,7 @@
 package io.temporal.serviceclient;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.uber.m3.tally.Scope;
 import io.grpc.*;
 import io.grpc.health.v1.HealthCheckRequest;
 import io.grpc.health.v1.HealthCheckResponse;
@@ -11,7 +12,9 @@ import io.temporal.api.workflowservice.v1.GetSystemInfoResponse.Capabilities;
 import io.temporal.internal.retryer.GrpcRetryer;
 import io.temporal.internal.retryer.GrpcRetryer.GrpcRetryerOptions;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
@@ -67,6 +70,8 @@ final class ChannelManager {
   private final ScheduledExecutorService grpcConnectionManager;
 
   private final ManagedChannel rawChannel;
+  // all channels created by us, the first one is rawChannel
+  private final List<ManagedChannel> rawChannels;
   private final Channel interceptedChannel;
   private final HealthGrpc.HealthBlockingStub healthBlockingStub;
 
@@ -91,11 +96,30 @@ final class ChannelManager {
     this.channelNeedsShutdown = options.getChannel() == null;
 
     this.options = options;
+    Channel channel;
     if (options.getChannel() != null) {
       this.rawChannel = options.getChannel();
+      this.rawChannels = Collections.singletonList(rawChannel);
       this.grpcConnectionManager = null;
+      channel = rawChannel;
     } else {
-      this.rawChannel = prepareChannel();
+      int poolSize =
+          options instanceof WorkflowServiceStubsOptions
+              ? Math.max(1, ((WorkflowServiceStubsOptions) options).getChannelPoolSize())
+              : 1;
+      List<ManagedChannel> rawChannels = new ArrayList<>(poolSize);
+      for (int i = 0; i < poolSize; i++) {
+        rawChannels.add(prepareChannel());
+      }
+      this.rawChannels = Collections.unmodifiableList(rawChannels);
+      this.rawChannel = rawChannels.get(0);
+      if (poolSize > 1) {
+        Scope metricsScope =
+            options.getMetricsScope().tagged(MetricsTag.defaultTags(MetricsTag.DEFAULT_VALUE));
+        channel = new PooledChannel(rawChannels, metricsScope);
+      } else {
+        channel = rawChannel;
+      }
 
       this.grpcConnectionManager = grpcConnectionManager();
       // we can't do it for externally passed channel safely because of grpc race condition bug
@@ -104,7 +128,7 @@ final class ChannelManager {
       initConnectionManagement();
     }
 
-    Channel interceptedChannel = rawChannel;
+    Channel interceptedChannel = channel;
 
     interceptedChannel = applyTailStandardInterceptors(interceptedChannel);
     interceptedChannel = applyCustomInterceptors(interceptedChannel);
@@ -115,6 +139,10 @@ final class ChannelManager {
     this.healthBlockingStub = HealthGrpc.newBlockingStub(interceptedChannel);
   }
 
+  /**
+   * @return the channel passed in the options or the first channel created by this manager if it
+   *     created a pool of channels
+   */
   public ManagedChannel getRawChannel() {
     return rawChannel;
   }
@@ -247,8 +275,10 @@ final class ChannelManager {
   private Runnable enterGrpcIdleChannelStateTask() {
     return () -> {
       try {
-        log.debug("Entering IDLE state on the gRPC channel {}", rawChannel);
-        rawChannel.enterIdle();
+        for (ManagedChannel channel : rawChannels) {
+          log.debug("Entering IDLE state on the gRPC channel {}", channel);
+          channel.enterIdle();
+        }
       } catch (Exception e) {
         log.warn("Unable to enter IDLE state on the gRPC channel.", e);
       }
@@ -258,8 +288,10 @@ final class ChannelManager {
   private Runnable resetGrpcConnectionBackoffTask() {
     return () -> {
       try {
-        log.debug("Resetting gRPC connection backoff on the gRPC channel {}", rawChannel);
-        rawChannel.resetConnectBackoff();
+        for (ManagedChannel channel : rawChannels) {
+          log.debug("Resetting gRPC connection backoff on the gRPC channel {}", channel);
+          channel.resetConnectBackoff();
+        }
       } catch (Exception e) {
         log.warn("Unable to reset gRPC connection backoff.", e);
       }
@@ -284,12 +316,16 @@ final class ChannelManager {
    * @throws IllegalStateException if the channel is already shutdown
    */
   public void connect(String healthCheckServiceName, @Nullable Duration timeout) {
-    ConnectivityState currentState = rawChannel.getState(false);
-    if (ConnectivityState.READY.equals(currentState)) {
-      return;
+    boolean ready = true;
+    for (ManagedChannel channel : rawChannels) {
+      ConnectivityState currentState = channel.getState(false);
+      if (ConnectivityState.SHUTDOWN.equals(currentState)) {
+        throw new IllegalStateException("Can't connect stubs in SHUTDOWN state");
+      }
+      ready &= ConnectivityState.READY.equals(currentState);
     }
-    if (ConnectivityState.SHUTDOWN.equals(currentState)) {
-      throw new IllegalStateException("Can't connect stubs in SHUTDOWN state");
+    if (ready) {
+      return;
     }
     if (timeout == null) {
       timeout = options.getRpcTimeout();
@@ -341,7 +377,7 @@ final class ChannelManager {
       grpcConnectionManager.shutdown();
     }
     if (channelNeedsShutdown) {
-      rawChannel.shutdown();
+      rawChannels.forEach(ManagedChannel::shutdown);
     }
   }
 
@@ -351,14 +387,14 @@ final class ChannelManager {
       grpcConnectionManager.shutdownNow();
     }
     if (channelNeedsShutdown) {
-      rawChannel.shutdownNow();
+      rawChannels.forEach(ManagedChannel::shutdownNow);
     }
   }
 
   public boolean isShutdown() {
     boolean result;
     if (channelNeedsShutdown) {
-      result = rawChannel.isShutdown();
+      result = rawChannels.stream().allMatch(ManagedChannel::isShutdown);
     } else {
       result = shutdownRequested.get();
     }
@@ -371,7 +407,7 @@ final class ChannelManager {
   public boolean isTerminated() {
     boolean result;
     if (channelNeedsShutdown) {
-      result = rawChannel.isTerminated();
+      result = rawChannels.stream().allMatch(ManagedChannel::isTerminated);
     } else {
       result = shutdownRequested.get();
     }
@@ -392,9 +428,13 @@ final class ChannelManager {
         }
       }
 
-      left = deadline - System.currentTimeMillis();
       if (channelNeedsShutdown) {
-        return rawChannel.awaitTermination(left, unit);
+        for (ManagedChannel channel : rawChannels) {
+          left = deadline - System.currentTimeMillis();
+          if (!channel.awaitTermination(left, TimeUnit.MILLISECONDS)) {
+            return false;
+          }
+        }
       }
       return true;
     } catch (InterruptedException e) {
@@ -5,7 +5,6 @@ import static io.temporal.serviceclient.MetricsTag.STATUS_CODE;
 
 import com.uber.m3.tally.Scope;
 import com.uber.m3.tally.Stopwatch;
-import com.uber.m3.util.ImmutableMap;
 import io.grpc.CallOptions;
 import io.grpc.Channel;
 import io.grpc.ClientCall;
@@ -21,26 +20,21 @@ import java.util.*;
 
 /** Reports metrics on GRPC service calls */
 class GrpcMetricsInterceptor implements ClientInterceptor {
-  private static final Map<Status.Code, Map<String, String>> STATUS_CODE_TAGS;
-
   private final Scope defaultScope;
-  private final Map<MethodDescriptor<?, ?>, Map<String, String>> methodTags;
+  private final Map<MethodDescriptor<?, ?>, String> methodNames;
 
   GrpcMetricsInterceptor(Scope scope) {
     this.defaultScope = scope.tagged(MetricsTag.defaultTags(MetricsTag.DEFAULT_VALUE));
     ServiceDescriptor descriptor = WorkflowServiceGrpc.getServiceDescriptor();
     String serviceName = descriptor.getName();
 
-    Map<MethodDescriptor<?, ?>, Map<String, String>> methodTags = new HashMap<>();
+    Map<MethodDescriptor<?, ?>, String> methodNames = new HashMap<>();
     Collection<MethodDescriptor<?, ?>> methods = descriptor.getMethods();
     for (MethodDescriptor<?, ?> method : methods) {
       int beginIndex = serviceName.length() + 1;
-      String name = method.getFullMethodName().substring(beginIndex);
-      Map<String, String> tags =
-          new ImmutableMap.Builder<String, String>(1).put(OPERATION_NAME, name).build();
-      methodTags.put(method, tags);
+      methodNames.put(method, method.getFullMethodName().substring(beginIndex));
     }
-    this.methodTags = Collections.unmodifiableMap(methodTags);
+    this.methodNames = Collections.unmodifiableMap(methodNames);
   }
 
   @Override
@@ -50,8 +44,10 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
     if (scope == null) {
       scope = defaultScope;
     }
-    Map<String, String> tags = methodTags.get(method);
-    scope = scope.tagged(tags);
+    String methodName = methodNames.get(method);
+    if (methodName != null) {
+      scope = MetricsTag.tagged(scope, OPERATION_NAME, methodName);
+    }
     return new MetricsClientCall<>(next, method, callOptions, scope);
   }
 
@@ -99,7 +95,8 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
               } finally {
                 sw.stop();
                 if (!status.isOk()) {
-                  Scope scope = metricsScope.tagged(STATUS_CODE_TAGS.get(status.getCode()));
+                  Scope scope =
+                      MetricsTag.tagged(metricsScope, STATUS_CODE, status.getCode().name());
                   if (longPoll) {
                     scope.counter(MetricsType.TEMPORAL_LONG_REQUEST_FAILURE).inc(1);
                   } else {
@@ -113,17 +110,4 @@ class GrpcMetricsInterceptor implements ClientInterceptor {
       super.start(listener, headers);
     }
   }
-
-  static {
-    Map<Status.Code, Map<String, String>> codeTags = new EnumMap<>(Status.Code.class);
-    Arrays.stream(Status.Code.values())
-        .forEach(
-            code ->
-                codeTags.put(
-                    code,
-                    new ImmutableMap.Builder<String, String>(1)
-                        .put(STATUS_CODE, code.name())
-                        .build()));
-    STATUS_CODE_TAGS = Collections.unmodifiableMap(codeTags);
-  }
 }
@@ -3,7 +3,6 @@ package io.temporal.serviceclient;
 import com.uber.m3.tally.Scope;
 import com.uber.m3.util.ImmutableMap;
 import io.grpc.CallOptions;
-import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -25,6 +24,7 @@ public class MetricsTag {
   public static final String OPERATION_NAME = "operation";
   public static final String TASK_FAILURE_TYPE = "failure_reason";
   public static final String POLLER_TYPE = "poller_type";
+  public static final String GRPC_CHANNEL = "grpc_channel";
 
   /** Used to pass metrics scope to the interceptor */
   public static final CallOptions.Key<Scope> METRICS_TAGS_CALL_OPTIONS_KEY =
@@ -39,6 +39,8 @@ public class MetricsTag {
   private static final ConcurrentMap<String, Map<String, String>> tagsByNamespace =
       new ConcurrentHashMap<>();
 
+  private static final TaggedScopeCache taggedScopes = new TaggedScopeCache();
+
   public interface TagValue {
     String getTag();
 
@@ -65,8 +67,12 @@ public class MetricsTag {
         .build();
   }
 
+  /**
+   * Returns a scope tagged with a single tag. Scopes are cached per parent scope, so calling this
+   * method on hot paths doesn't allocate once the scope for the tag value is created.
+   */
   public static Scope tagged(Scope scope, String tagName, String tagValue) {
-    return scope.tagged(Collections.singletonMap(tagName, tagValue));
+    return taggedScopes.tagged(scope, tagName, tagValue);
   }
 
   public static Scope tagged(Scope scope, TagValue tagValue) {
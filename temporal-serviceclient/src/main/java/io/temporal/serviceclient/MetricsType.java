@@ -11,4 +11,8 @@ public final class MetricsType {
   public static final String TEMPORAL_LONG_REQUEST = TEMPORAL_METRICS_PREFIX + "long_request";
   public static final String TEMPORAL_LONG_REQUEST_FAILURE = TEMPORAL_LONG_REQUEST + "_failure";
   public static final String TEMPORAL_LONG_REQUEST_LATENCY = TEMPORAL_LONG_REQUEST + "_latency";
+
+  /** Number of active calls of a gRPC channel of a channel pool, tagged with the channel */
+  public static final String TEMPORAL_CHANNEL_ACTIVE_CALLS =
+      TEMPORAL_METRICS_PREFIX + "grpc_channel_active_calls";
 }
@@ -0,0 +1,140 @@
+package io.temporal.serviceclient;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.uber.m3.tally.Gauge;
+import com.uber.m3.tally.Scope;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Spreads calls over a pool of channels, each with its own connections. Long polls are sent over
+ * the first half of the channels (rounded up) and all other calls over the rest, so short calls
+ * like task completions never compete for HTTP/2 streams and event loop time with hundreds of
+ * outstanding long polls. Inside its half a call is sent over the channel with the fewest active
+ * calls, which are reported per channel as the {@link MetricsType#TEMPORAL_CHANNEL_ACTIVE_CALLS}
+ * gauge.
+ *
+ * <p>This channel is at the tail of the interceptor chain, so every call still passes through all
+ * standard and custom interceptors exactly once, whichever channel of the pool it's sent over.
+ */
+final class PooledChannel extends Channel {
+  private final PoolMember[] members;
+  private final int longPollMembers;
+
+  PooledChannel(List<ManagedChannel> channels, Scope metricsScope) {
+    Preconditions.checkArgument(channels.size() > 1, "pool should have at least two channels");
+    this.members = new PoolMember[channels.size()];
+    this.longPollMembers = (channels.size() + 1) / 2;
+    for (int i = 0; i < members.length; i++) {
+      String name = (i < longPollMembers ? "long_poll_" : "default_") + i;
+      members[i] =
+          new PoolMember(
+              channels.get(i),
+              MetricsTag.tagged(metricsScope, MetricsTag.GRPC_CHANNEL, name)
+                  .gauge(MetricsType.TEMPORAL_CHANNEL_ACTIVE_CALLS));
+    }
+  }
+
+  @Override
+  public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+      MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+    PoolMember member =
+        LongPollUtil.isLongPoll(method, callOptions)
+            ? leastActive(0, longPollMembers)
+            : leastActive(longPollMembers, members.length);
+    return new ActiveCallTrackingCall<>(member, member.channel.newCall(method, callOptions));
+  }
+
+  @Override
+  public String authority() {
+    return members[0].channel.authority();
+  }
+
+  @VisibleForTesting
+  int getActiveCalls(int channelIndex) {
+    return members[channelIndex].activeCalls.get();
+  }
+
+  private PoolMember leastActive(int from, int to) {
+    PoolMember result = members[from];
+    int resultActiveCalls = result.activeCalls.get();
+    for (int i = from + 1; i < to && resultActiveCalls > 0; i++) {
+      int activeCalls = members[i].activeCalls.get();
+      if (activeCalls < resultActiveCalls) {
+        result = members[i];
+        resultActiveCalls = activeCalls;
+      }
+    }
+    return result;
+  }
+
+  private static final class PoolMember {
+    private final ManagedChannel channel;
+    private final Gauge activeCallsGauge;
+    private final AtomicInteger activeCalls = new AtomicInteger();
+
+    private PoolMember(ManagedChannel channel, Gauge activeCallsGauge) {
+      this.channel = channel;
+      this.activeCallsGauge = activeCallsGauge;
+    }
+
+    private void callStarted() {
+      activeCallsGauge.update(activeCalls.incrementAndGet());
+    }
+
+    private void callClosed() {
+      activeCallsGauge.update(activeCalls.decrementAndGet());
+    }
+  }
+
+  private static final class ActiveCallTrackingCall<ReqT, RespT>
+      extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+    private final PoolMember member;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private ActiveCallTrackingCall(PoolMember member, ClientCall<ReqT, RespT> call) {
+      super(call);
+      this.member = member;
+    }
+
+    @Override
+    public void start(Listener<RespT> responseListener, Metadata headers) {
+      member.callStarted();
+      Listener<RespT> listener =
+          new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+              responseListener) {
+            @Override
+            public void onClose(Status status, Metadata trailers) {
+              try {
+                super.onClose(status, trailers);
+              } finally {
+                callClosed();
+              }
+            }
+          };
+      try {
+        super.start(listener, headers);
+      } catch (RuntimeException e) {
+        callClosed();
+        throw e;
+      }
+    }
+
+    private void callClosed() {
+      if (closed.compareAndSet(false, true)) {
+        member.callClosed();
+      }
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package io.temporal.serviceclient;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.uber.m3.tally.Scope;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches scopes derived from a parent scope by a single tag, so hot paths like workflow task
+ * processing or gRPC calls don't build a tags map and look up the subscope in the metrics registry
+ * every time they report a metric tagged with a workflow type, a status code or a failure type.
+ *
+ * <p>Parent scopes are referenced weakly and compared by identity, so scopes of stopped workers or
+ * finished workflows are not retained by the cache. Number of cached values of one tag of a parent
+ * scope is bounded, scopes for tag values above the limit are created by the parent scope on every
+ * call.
+ */
+final class TaggedScopeCache {
+  static final int DEFAULT_MAX_PARENT_SCOPES = 10_000;
+  static final int DEFAULT_MAX_VALUES_PER_TAG = 1_000;
+
+  private final int maxValuesPerTag;
+
+  /** parent scope -> tag name -> tag value -> tagged scope */
+  private final Cache<Scope, ConcurrentMap<String, ConcurrentMap<String, Scope>>> scopes;
+
+  TaggedScopeCache() {
+    this(DEFAULT_MAX_PARENT_SCOPES, DEFAULT_MAX_VALUES_PER_TAG);
+  }
+
+  @VisibleForTesting
+  TaggedScopeCache(int maxParentScopes, int maxValuesPerTag) {
+    Preconditions.checkArgument(maxParentScopes > 0, "maxParentScopes should be positive");
+    Preconditions.checkArgument(maxValuesPerTag > 0, "maxValuesPerTag should be positive");
+    this.maxValuesPerTag = maxValuesPerTag;
+    this.scopes =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(maxParentScopes)
+            .concurrencyLevel(16)
+            .build();
+  }
+
+  Scope tagged(Scope parent, String tagName, String tagValue) {
+    ConcurrentMap<String, Scope> byValue = getTagValues(parent, tagName);
+    Scope result = byValue.get(tagValue);
+    if (result != null) {
+      return result;
+    }
+    result = parent.tagged(Collections.singletonMap(tagName, tagValue));
+    // the size check is racy, the limit may be exceeded by the number of concurrent callers
+    if (byValue.size() < maxValuesPerTag) {
+      Scope existing = byValue.putIfAbsent(tagValue, result);
+      if (existing != null) {
+        return existing;
+      }
+    }
+    return result;
+  }
+
+  private ConcurrentMap<String, Scope> getTagValues(Scope parent, String tagName) {
+    ConcurrentMap<String, ConcurrentMap<String, Scope>> byTag = scopes.getIfPresent(parent);
+    if (byTag == null) {
+      byTag = new ConcurrentHashMap<>();
+      ConcurrentMap<String, ConcurrentMap<String, Scope>> existing =
+          scopes.asMap().putIfAbsent(parent, byTag);
+      if (existing != null) {
+        byTag = existing;
+      }
+    }
+    // get before computeIfAbsent as on Java 8 the latter locks the bin even if the key is present
+    ConcurrentMap<String, Scope> byValue = byTag.get(tagName);
+    if (byValue == null) {
+      byValue = byTag.computeIfAbsent(tagName, k -> new ConcurrentHashMap<>());
+    }
+    return byValue;
+  }
+
+  @VisibleForTesting
+  long cachedParentScopes() {
+    scopes.cleanUp();
+    return scopes.size();
+  }
+}
@@ -1,9 +1,12 @@
 package io.temporal.serviceclient;
 
+import com.google.common.base.Preconditions;
+import io.grpc.ManagedChannel;
 import io.grpc.health.v1.HealthCheckResponse;
 import io.temporal.serviceclient.rpcretry.DefaultStubServiceOperationRpcRetryOptions;
 import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 
 public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
   /**
@@ -37,6 +40,9 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
   /** Retry options for outgoing RPC calls */
   private final RpcRetryOptions rpcRetryOptions;
 
+  /** Number of gRPC channels the stubs spread their calls over */
+  private final int channelPoolSize;
+
   /** Plugins for customizing service stubs configuration and connection */
   private final WorkflowServiceStubsPlugin[] plugins;
 
@@ -61,12 +67,14 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
       Duration rpcLongPollTimeout,
       Duration rpcQueryTimeout,
       RpcRetryOptions rpcRetryOptions,
+      int channelPoolSize,
       WorkflowServiceStubsPlugin[] plugins) {
     super(serviceStubsOptions);
     this.disableHealthCheck = disableHealthCheck;
     this.rpcLongPollTimeout = rpcLongPollTimeout;
     this.rpcQueryTimeout = rpcQueryTimeout;
     this.rpcRetryOptions = rpcRetryOptions;
+    this.channelPoolSize = channelPoolSize;
     this.plugins = plugins;
   }
 
@@ -105,6 +113,14 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
     return rpcRetryOptions;
   }
 
+  /**
+   * @return number of gRPC channels the stubs spread their calls over.
+   * @see Builder#setChannelPoolSize(int)
+   */
+  public int getChannelPoolSize() {
+    return channelPoolSize;
+  }
+
   /**
    * Returns the service stubs plugins configured for this options.
    *
@@ -123,13 +139,19 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
         && Objects.equals(rpcLongPollTimeout, that.rpcLongPollTimeout)
         && Objects.equals(rpcQueryTimeout, that.rpcQueryTimeout)
         && Objects.equals(rpcRetryOptions, that.rpcRetryOptions)
+        && channelPoolSize == that.channelPoolSize
         && Arrays.equals(plugins, that.plugins);
   }
 
   @Override
   public int hashCode() {
     int result =
-        Objects.hash(disableHealthCheck, rpcLongPollTimeout, rpcQueryTimeout, rpcRetryOptions);
+        Objects.hash(
+            disableHealthCheck,
+            rpcLongPollTimeout,
+            rpcQueryTimeout,
+            rpcRetryOptions,
+            channelPoolSize);
     result = 31 * result + Arrays.hashCode(plugins);
     return result;
   }
@@ -145,6 +167,8 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
         + rpcQueryTimeout
         + ", rpcRetryOptions="
         + rpcRetryOptions
+        + ", channelPoolSize="
+        + channelPoolSize
         + ", plugins="
         + Arrays.toString(plugins)
         + '}';
@@ -156,6 +180,7 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
     private Duration rpcLongPollTimeout = DEFAULT_POLL_RPC_TIMEOUT;
     private Duration rpcQueryTimeout = DEFAULT_QUERY_RPC_TIMEOUT;
     private RpcRetryOptions rpcRetryOptions = DefaultStubServiceOperationRpcRetryOptions.INSTANCE;
+    private int channelPoolSize;
     private WorkflowServiceStubsPlugin[] plugins;
 
     private Builder() {}
@@ -167,6 +192,7 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
         this.rpcLongPollTimeout = castedOptions.rpcLongPollTimeout;
         this.rpcQueryTimeout = castedOptions.rpcQueryTimeout;
         this.rpcRetryOptions = castedOptions.rpcRetryOptions;
+        this.channelPoolSize = castedOptions.channelPoolSize;
         this.plugins = castedOptions.plugins;
       }
     }
@@ -265,6 +291,31 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
       return this;
     }
 
+    /**
+     * Sets the number of gRPC channels, each with its own HTTP/2 connections, that the stubs spread
+     * their calls over. Default is 1.
+     *
+     * <p>A single HTTP/2 connection limits the number of concurrent streams and is served by a
+     * single event loop thread, which may become a bottleneck for workers running hundreds of
+     * pollers. With a pool size of 2 or more, long polls like PollWorkflowTaskQueue and
+     * PollActivityTaskQueue are sent over half of the channels (rounded up) and all other calls,
+     * including task completions, over the rest, so completions never queue behind long polls.
+     * Within each half a call is sent over the channel with the fewest active calls. Number of
+     * active calls per channel is reported as the {@link MetricsType#TEMPORAL_CHANNEL_ACTIVE_CALLS}
+     * gauge.
+     *
+     * <p>The pool is used only if the stubs create their channels themselves, it is ignored if
+     * {@link #setChannel(ManagedChannel)} is set. {@link #setChannelInitializer(Consumer)} is
+     * applied to each of the channels.
+     *
+     * @param channelPoolSize number of channels, 0 means default
+     * @return this builder
+     */
+    public Builder setChannelPoolSize(int channelPoolSize) {
+      this.channelPoolSize = channelPoolSize;
+      return this;
+    }
+
     /**
      * Sets the workflow service stubs plugins to use for customizing configuration and connection.
      *
@@ -302,6 +353,7 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
           this.rpcLongPollTimeout,
           this.rpcQueryTimeout,
           this.rpcRetryOptions,
+          this.channelPoolSize,
           this.plugins);
     }
 
@@ -320,12 +372,14 @@ public final class WorkflowServiceStubsOptions extends ServiceStubsOptions {
       ServiceStubsOptions serviceStubsOptions = super.validateAndBuildWithDefaults();
       RpcRetryOptions retryOptions =
           RpcRetryOptions.newBuilder(this.rpcRetryOptions).validateBuildWithDefaults();
+      Preconditions.checkState(channelPoolSize >= 0, "negative channelPoolSize");
       return new WorkflowServiceStubsOptions(
           serviceStubsOptions,
           this.disableHealthCheck,
           this.rpcLongPollTimeout,
           this.rpcQueryTimeout,
           retryOptions,
+          this.channelPoolSize == 0 ? 1 : this.channelPoolSize,
           this.plugins == null ? EMPTY_PLUGINS : this.plugins);
     }
   }
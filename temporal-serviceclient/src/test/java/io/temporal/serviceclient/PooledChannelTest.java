@@ -0,0 +1,111 @@
+package io.temporal.serviceclient;
+
+import static org.junit.Assert.assertEquals;
+
+import com.uber.m3.tally.NoopScope;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcCleanupRule;
+import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueRequest;
+import io.temporal.api.workflowservice.v1.PollWorkflowTaskQueueResponse;
+import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedRequest;
+import io.temporal.api.workflowservice.v1.RespondWorkflowTaskCompletedResponse;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc;
+import io.temporal.api.workflowservice.v1.WorkflowServiceGrpc.WorkflowServiceImplBase;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PooledChannelTest {
+
+  @Rule public final GrpcCleanupRule grpcCleanupRule = new GrpcCleanupRule();
+
+  private final List<StreamObserver<PollWorkflowTaskQueueResponse>> polls =
+      new CopyOnWriteArrayList<>();
+  private final List<StreamObserver<RespondWorkflowTaskCompletedResponse>> completions =
+      new CopyOnWriteArrayList<>();
+
+  private final WorkflowServiceImplBase workflowImpl =
+      new WorkflowServiceImplBase() {
+        @Override
+        public void pollWorkflowTaskQueue(
+            PollWorkflowTaskQueueRequest request,
+            StreamObserver<PollWorkflowTaskQueueResponse> responseObserver) {
+          polls.add(responseObserver);
+        }
+
+        @Override
+        public void respondWorkflowTaskCompleted(
+            RespondWorkflowTaskCompletedRequest request,
+            StreamObserver<RespondWorkflowTaskCompletedResponse> responseObserver) {
+          completions.add(responseObserver);
+        }
+      };
+
+  private PooledChannel pooledChannel;
+  private WorkflowServiceGrpc.WorkflowServiceStub stub;
+
+  @Before
+  public void setUp() throws Exception {
+    String serverName = InProcessServerBuilder.generateName();
+    grpcCleanupRule.register(
+        InProcessServerBuilder.forName(serverName)
+            .directExecutor()
+            .addService(workflowImpl)
+            .build()
+            .start());
+    List<ManagedChannel> channels = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      channels.add(
+          grpcCleanupRule.register(
+              InProcessChannelBuilder.forName(serverName).directExecutor().build()));
+    }
+    pooledChannel = new PooledChannel(channels, new NoopScope());
+    stub = WorkflowServiceGrpc.newStub(pooledChannel);
+  }
+
+  @Test
+  public void separatesLongPollsFromOtherCalls() {
+    for (int i = 0; i < 3; i++) {
+      stub.pollWorkflowTaskQueue(
+          PollWorkflowTaskQueueRequest.getDefaultInstance(), new NoopObserver<>());
+    }
+    stub.respondWorkflowTaskCompleted(
+        RespondWorkflowTaskCompletedRequest.getDefaultInstance(), new NoopObserver<>());
+
+    // long polls are spread over the first half of the pool by the number of active calls
+    assertEquals(2, pooledChannel.getActiveCalls(0));
+    assertEquals(1, pooledChannel.getActiveCalls(1));
+    assertEquals(1, pooledChannel.getActiveCalls(2));
+    assertEquals(0, pooledChannel.getActiveCalls(3));
+
+    for (StreamObserver<PollWorkflowTaskQueueResponse> poll : polls) {
+      poll.onNext(PollWorkflowTaskQueueResponse.getDefaultInstance());
+      poll.onCompleted();
+    }
+    for (StreamObserver<RespondWorkflowTaskCompletedResponse> completion : completions) {
+      completion.onNext(RespondWorkflowTaskCompletedResponse.getDefaultInstance());
+      completion.onCompleted();
+    }
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(0, pooledChannel.getActiveCalls(i));
+    }
+  }
+
+  private static class NoopObserver<T> implements StreamObserver<T> {
+    @Override
+    public void onNext(T value) {}
+
+    @Override
+    public void onError(Throwable t) {}
+
+    @Override
+    public void onCompleted() {}
+  }
+}
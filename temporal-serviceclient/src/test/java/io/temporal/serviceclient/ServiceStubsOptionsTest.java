@@ -151,4 +151,16 @@ public class ServiceStubsOptionsTest {
         "TLS should be disabled when no API key and no explicit TLS setting",
         options3.getEnableHttps());
   }
+
+  @Test
+  public void testChannelPoolSize() {
+    WorkflowServiceStubsOptions defaultOptions =
+        WorkflowServiceStubsOptions.newBuilder().validateAndBuildWithDefaults();
+    assertEquals(1, defaultOptions.getChannelPoolSize());
+
+    WorkflowServiceStubsOptions options =
+        WorkflowServiceStubsOptions.newBuilder().setChannelPoolSize(4).build();
+    assertEquals(4, options.getChannelPoolSize());
+    assertEquals(4, WorkflowServiceStubsOptions.newBuilder(options).build().getChannelPoolSize());
+  }
 }
@@ -0,0 +1,68 @@
+package io.temporal.serviceclient;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import com.uber.m3.tally.Scope;
+import java.util.Collections;
+import org.junit.Test;
+
+public class TaggedScopeCacheTest {
+
+  @Test
+  public void reusesScopeOfTheSameParentAndTag() {
+    TaggedScopeCache cache = new TaggedScopeCache();
+    Scope parent = mock(Scope.class);
+    Scope workflowA = mock(Scope.class);
+    Scope workflowB = mock(Scope.class);
+    when(parent.tagged(Collections.singletonMap(MetricsTag.WORKFLOW_TYPE, "A")))
+        .thenReturn(workflowA);
+    when(parent.tagged(Collections.singletonMap(MetricsTag.WORKFLOW_TYPE, "B")))
+        .thenReturn(workflowB);
+
+    for (int i = 0; i < 10; i++) {
+      assertSame(workflowA, cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "A"));
+      assertSame(workflowB, cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "B"));
+    }
+
+    verify(parent, times(1)).tagged(Collections.singletonMap(MetricsTag.WORKFLOW_TYPE, "A"));
+    verify(parent, times(1)).tagged(Collections.singletonMap(MetricsTag.WORKFLOW_TYPE, "B"));
+  }
+
+  @Test
+  public void distinguishesParentScopesAndTagNames() {
+    TaggedScopeCache cache = new TaggedScopeCache();
+    Scope parent1 = mock(Scope.class);
+    Scope parent2 = mock(Scope.class);
+    Scope tagged1 = mock(Scope.class);
+    Scope tagged2 = mock(Scope.class);
+    Scope tagged3 = mock(Scope.class);
+    when(parent1.tagged(Collections.singletonMap(MetricsTag.WORKFLOW_TYPE, "A")))
+        .thenReturn(tagged1);
+    when(parent2.tagged(Collections.singletonMap(MetricsTag.WORKFLOW_TYPE, "A")))
+        .thenReturn(tagged2);
+    when(parent1.tagged(Collections.singletonMap(MetricsTag.ACTIVITY_TYPE, "A")))
+        .thenReturn(tagged3);
+
+    assertSame(tagged1, cache.tagged(parent1, MetricsTag.WORKFLOW_TYPE, "A"));
+    assertSame(tagged2, cache.tagged(parent2, MetricsTag.WORKFLOW_TYPE, "A"));
+    assertSame(tagged3, cache.tagged(parent1, MetricsTag.ACTIVITY_TYPE, "A"));
+    assertEquals(2, cache.cachedParentScopes());
+  }
+
+  @Test
+  public void doesNotCacheTagValuesAboveTheLimit() {
+    TaggedScopeCache cache = new TaggedScopeCache(10, 2);
+    Scope parent = mock(Scope.class);
+    when(parent.tagged(any())).thenAnswer(invocation -> mock(Scope.class));
+
+    Scope a = cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "A");
+    Scope b = cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "B");
+    Scope c = cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "C");
+
+    assertSame(a, cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "A"));
+    assertSame(b, cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "B"));
+    assertNotSame(c, cache.tagged(parent, MetricsTag.WORKFLOW_TYPE, "C"));
+    verify(parent, times(2)).tagged(Collections.singletonMap(MetricsTag.WORKFLOW_TYPE, "C"));
+  }
+}
@@ -49,11 +49,21 @@ class TimeLockingInterceptor extends WorkflowClientInterceptorBase {
       next.signal(signalName, args);
     }
 
+    @Override
+    public CompletableFuture<Void> signalAsync(String signalName, Object... args) {
+      return next.signalAsync(signalName, args);
+    }
+
     @Override
     public WorkflowExecution start(Object... args) {
       return next.start(args);
     }
 
+    @Override
+    public CompletableFuture<WorkflowExecution> startAsync(Object... args) {
+      return next.startAsync(args);
+    }
+
     @Override
     public <R> WorkflowUpdateHandle<R> startUpdateWithStart(
         UpdateOptions<R> options, Object[] updateArgs, Object[] startArgs) {
@@ -72,6 +82,12 @@ class TimeLockingInterceptor extends WorkflowClientInterceptorBase {
       return next.signalWithStart(signalName, signalArgs, startArgs);
     }
 
+    @Override
+    public CompletableFuture<WorkflowExecution> signalWithStartAsync(
+        String signalName, Object[] signalArgs, Object[] startArgs) {
+      return next.signalWithStartAsync(signalName, signalArgs, startArgs);
+    }
+
     @Override
     public Optional<String> getWorkflowType() {
       return next.getWorkflowType();
@@ -159,6 +175,18 @@ class TimeLockingInterceptor extends WorkflowClientInterceptorBase {
       return next.query(queryType, resultClass, resultType, args);
     }
 
+    @Override
+    public <R> CompletableFuture<R> queryAsync(
+        String queryType, Class<R> resultClass, Object... args) {
+      return next.queryAsync(queryType, resultClass, args);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> queryAsync(
+        String queryType, Class<R> resultClass, Type resultType, Object... args) {
+      return next.queryAsync(queryType, resultClass, resultType, args);
+    }
+
     @Override
     public void cancel() {
       next.cancel();
@@ -174,6 +202,11 @@ class TimeLockingInterceptor extends WorkflowClientInterceptorBase {
       next.terminate(reason, details);
     }
 
+    @Override
+    public CompletableFuture<Void> terminateAsync(@Nullable String reason, Object... details) {
+      return next.terminateAsync(reason, details);
+    }
+
     @Override
     public Optional<WorkflowOptions> getOptions() {
       return next.getOptions();
@@ -189,6 +222,11 @@ class TimeLockingInterceptor extends WorkflowClientInterceptorBase {
       return next.describe();
     }
 
+    @Override
+    public CompletableFuture<WorkflowExecutionDescription> describeAsync() {
+      return next.describeAsync();
+    }
+
     /** Unlocks time skipping before blocking calls and locks back after completion. */
     private class TimeLockingFuture<R> extends CompletableFuture<R> {
 
@@ -253,6 +291,12 @@ class TimeLockingInterceptor extends WorkflowClientInterceptorBase {
       return next.startUpdate(options, args);
     }
 
+    @Override
+    public <R> CompletableFuture<WorkflowUpdateHandle<R>> startUpdateAsync(
+        UpdateOptions<R> options, Object... args) {
+      return next.startUpdateAsync(options, args);
+    }
+
     @Override
     public <R> WorkflowUpdateHandle<R> getUpdateHandle(String updateId, Class<R> resultClass) {
       return next.getUpdateHandle(updateId, resultClass);